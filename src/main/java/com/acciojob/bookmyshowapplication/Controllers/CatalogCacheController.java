@@ -0,0 +1,42 @@
+package com.acciojob.bookmyshowapplication.Controllers;
+
+import com.acciojob.bookmyshowapplication.Responses.ApiResponse;
+import com.acciojob.bookmyshowapplication.Service.CatalogCacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST Controller for the catalog cache
+ */
+@RestController
+@RequestMapping("/api/v1/cache")
+@Tag(name = "Catalog Cache", description = "APIs for inspecting and evicting the catalog cache")
+public class CatalogCacheController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCacheController.class);
+
+    @Autowired
+    private CatalogCacheService catalogCacheService;
+
+    @GetMapping("/metrics")
+    @Operation(summary = "Catalog cache metrics", description = "Size, hits and misses of the movie, theater and user cache regions")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getMetrics() {
+        return ResponseEntity.ok(ApiResponse.success(catalogCacheService.getMetrics()));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Evict catalog cache", description = "Clear all cache regions, needed only after changing catalog tables outside the application")
+    public ResponseEntity<ApiResponse<String>> evictAll() {
+        logger.info("Evicting the catalog cache");
+
+        catalogCacheService.evictAll();
+        return ResponseEntity.ok(ApiResponse.success("Catalog cache evicted", "All cache regions cleared"));
+    }
+}
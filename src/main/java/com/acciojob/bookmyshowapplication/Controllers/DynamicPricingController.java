@@ -38,10 +38,7 @@ public class DynamicPricingController {
     public ResponseEntity<ApiResponse<PricingResponse>> getShowPricing(@PathVariable Integer showId) {
         logger.info("Fetching pricing for show: {}", showId);
         
-        Show show = showRepository.findById(showId)
-                .orElseThrow(() -> new com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException("Show", "showId", showId));
-        
-        PricingResponse response = dynamicPricingService.calculateDynamicPricing(show);
+        PricingResponse response = dynamicPricingService.getShowPricing(showId);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -3,6 +3,9 @@ package com.acciojob.bookmyshowapplication.Controllers;
 import com.acciojob.bookmyshowapplication.Models.Movie;
 import com.acciojob.bookmyshowapplication.Requests.UpdateMovieRequest;
 import com.acciojob.bookmyshowapplication.Responses.ApiResponse;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.MovieSummary;
+import com.acciojob.bookmyshowapplication.Service.ExportService;
 import com.acciojob.bookmyshowapplication.Service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,10 +14,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST Controller for movie management operations
@@ -29,6 +32,9 @@ public class MovieController {
     @Autowired
     private MovieService movieService;
 
+    @Autowired
+    private ExportService exportService;
+
     @PostMapping
     @Operation(summary = "Add movie", description = "Add a new movie to the catalog")
     public ResponseEntity<ApiResponse<String>> addMovie(@Valid @RequestBody Movie movie) {
@@ -53,13 +59,23 @@ public class MovieController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all movies", description = "Retrieve list of all movies")
-    public ResponseEntity<ApiResponse<List<Movie>>> getAllMovies() {
-        logger.info("Fetching all movies");
-        
-        List<Movie> movies = movieService.getAllMovies();
+    @Operation(summary = "Get movies", description = "Retrieve a page of movies; pass nextCursor as 'after' for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<MovieSummary>>> getMovies(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<MovieSummary> movies = movieService.getMovies(after, limit);
         return ResponseEntity.ok(ApiResponse.success(movies));
     }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export movies", description = "Stream all movies as NDJSON, one movie per line")
+    public ResponseEntity<StreamingResponseBody> exportMovies() {
+        logger.info("Exporting all movies");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportService.NDJSON))
+                .body(exportService.exportMovies());
+    }
     
     @GetMapping("/{movieId}")
     @Operation(summary = "Get movie by ID", description = "Retrieve movie details by ID")
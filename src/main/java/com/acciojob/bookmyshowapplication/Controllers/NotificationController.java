@@ -0,0 +1,29 @@
+package com.acciojob.bookmyshowapplication.Controllers;
+
+import com.acciojob.bookmyshowapplication.Responses.ApiResponse;
+import com.acciojob.bookmyshowapplication.Service.NotificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST Controller for the notification outbox
+ */
+@RestController
+@RequestMapping("/api/v1/notifications")
+@Tag(name = "Notifications", description = "APIs for inspecting the notification outbox")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @GetMapping("/metrics")
+    @Operation(summary = "Notification metrics", description = "Pending outbox rows and the sent, retried and failed notifications of the dispatcher")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getMetrics() {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getMetrics()));
+    }
+}
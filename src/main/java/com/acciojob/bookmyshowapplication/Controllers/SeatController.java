@@ -1,18 +1,24 @@
 package com.acciojob.bookmyshowapplication.Controllers;
 
+import com.acciojob.bookmyshowapplication.Engine.SeatMap;
 import com.acciojob.bookmyshowapplication.Requests.GetAvailableSeatsRequest;
 import com.acciojob.bookmyshowapplication.Requests.SeatSelectionRequest;
 import com.acciojob.bookmyshowapplication.Responses.ApiResponse;
+import com.acciojob.bookmyshowapplication.Service.SeatEventService;
 import com.acciojob.bookmyshowapplication.Service.SeatService;
+import com.acciojob.bookmyshowapplication.Service.ShowLookupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -29,16 +35,88 @@ public class SeatController {
     @Autowired
     private SeatService seatService;
 
+    @Autowired
+    private SeatEventService seatEventService;
+
+    @Autowired
+    private ShowLookupService showLookupService;
+
     @PostMapping("/available")
-    @Operation(summary = "Get available seats", description = "Retrieve available seats for a show with pricing")
+    @Operation(summary = "Get available seats", description = "Retrieve available seats for a show with pricing. "
+            + "Send If-None-Match to get 304 when nothing changed, or sinceVersion to get only the changed seats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getAvailableSeats(
-            @Valid @RequestBody GetAvailableSeatsRequest request) {
+            @Valid @RequestBody GetAvailableSeatsRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         logger.info("Fetching available seats for movie: {} on {} at {}", 
                 request.getMovieName(), request.getShowDate(), request.getShowTime());
-        
+
+        if (ifNoneMatch != null) {
+            String eTag = eTag(seatService.getSeatMapTag(request), "");
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
         Map<String, Object> seatLayout = seatService.getAvailableSeatsWithLayout(request);
-        return ResponseEntity.ok(ApiResponse.success(seatLayout));
+        String tag = SeatService.seatMapTag((Integer) seatLayout.get("showId"), (Long) seatLayout.get("version"));
+        // A delta is not the full layout, so it only gets a weak tag
+        String eTag = Boolean.TRUE.equals(seatLayout.get("delta")) ? "W/" + eTag(tag, "") : eTag(tag, "");
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(seatLayout));
+    }
+
+    @PostMapping(value = "/available", produces = SeatMap.JSON_MEDIA_TYPE)
+    @Operation(summary = "Get compact seat map", description = "Seat layout with run-length encoded statuses and a seat number template")
+    public ResponseEntity<ApiResponse<SeatMap>> getCompactSeatMap(
+            @Valid @RequestBody GetAvailableSeatsRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = eTag(seatService.getSeatMapTag(request), "-c");
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
+        SeatMap seatMap = seatService.getSeatMap(request);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(SeatMap.JSON_MEDIA_TYPE))
+                .eTag(eTag(SeatService.seatMapTag(seatMap.getShowId(), seatMap.getVersion()), "-c"))
+                .body(ApiResponse.success(seatMap));
+    }
+
+    @PostMapping(value = "/available", produces = SeatMap.MEDIA_TYPE)
+    @Operation(summary = "Get binary seat map", description = "Seat layout in the binary seat map format, two bits per seat status")
+    public ResponseEntity<byte[]> getBinarySeatMap(
+            @Valid @RequestBody GetAvailableSeatsRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = eTag(seatService.getSeatMapTag(request), "-b");
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
+        SeatMap seatMap = seatService.getSeatMap(request);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(SeatMap.MEDIA_TYPE))
+                .eTag(eTag(SeatService.seatMapTag(seatMap.getShowId(), seatMap.getVersion()), "-b"))
+                .body(seatMap.toBytes());
+    }
+
+    @GetMapping(value = "/stream/{showId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream seat availability", description = "Server-Sent Events with the show's seat map, then the seats whose status changed. "
+            + "Reconnect with Last-Event-ID to resume from the last seat map version received")
+    public SseEmitter streamSeats(
+            @PathVariable Integer showId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        logger.info("Streaming seat events for show ID: {}", showId);
+        return seatEventService.subscribe(showLookupService.getShow(showId), lastEventId);
+    }
+
+    @GetMapping("/stream/metrics")
+    @Operation(summary = "Seat stream metrics", description = "Subscriber and event counters of the seat availability streams")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStreamMetrics() {
+        return ResponseEntity.ok(ApiResponse.success(seatEventService.getMetrics()));
     }
 
     @PostMapping("/select")
@@ -64,4 +142,23 @@ public class SeatController {
         String result = seatService.releaseTemporarySeats(request);
         return ResponseEntity.ok(ApiResponse.success("Seats released successfully", result));
     }
+
+    // Each representation gets its own tag, so a cached binary map never validates the JSON layout
+    private String eTag(String seatMapTag, String representation) {
+        return "\"" + seatMapTag + representation + "\"";
+    }
+
+    // Weak comparison against an If-None-Match list, this endpoint is a POST so Spring does not do it
+    private boolean matches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -3,7 +3,14 @@ package com.acciojob.bookmyshowapplication.Controllers;
 import com.acciojob.bookmyshowapplication.Models.Show;
 import com.acciojob.bookmyshowapplication.Requests.AddShowRequest;
 import com.acciojob.bookmyshowapplication.Requests.AddShowSeatsRequest;
+import com.acciojob.bookmyshowapplication.Requests.BulkScheduleRequest;
 import com.acciojob.bookmyshowapplication.Responses.ApiResponse;
+import com.acciojob.bookmyshowapplication.Responses.BulkScheduleResponse;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.ShowSummary;
+import com.acciojob.bookmyshowapplication.Service.ExportService;
+import com.acciojob.bookmyshowapplication.Service.ShowInventoryService;
+import com.acciojob.bookmyshowapplication.Service.ShowScheduleService;
 import com.acciojob.bookmyshowapplication.Service.ShowService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,10 +19,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST Controller for show management operations
@@ -30,6 +37,15 @@ public class ShowController {
     @Autowired
     private ShowService showService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ShowScheduleService showScheduleService;
+
+    @Autowired
+    private ShowInventoryService showInventoryService;
+
     @PostMapping
     @Operation(summary = "Create show", description = "Schedule a new movie show")
     public ResponseEntity<ApiResponse<String>> createShow(@Valid @RequestBody AddShowRequest request) {
@@ -55,6 +71,32 @@ public class ShowController {
                 .body(ApiResponse.success("Show seats added successfully", response));
     }
     
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk schedule shows", description = "Schedule a movie in several theaters on every day of a date range at the given times, with seats. Runs in the background")
+    public ResponseEntity<ApiResponse<BulkScheduleResponse>> bulkSchedule(@Valid @RequestBody BulkScheduleRequest request) {
+        logger.info("Bulk scheduling movie: {}", request.getMovieName());
+
+        BulkScheduleResponse response = showScheduleService.submit(request);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Bulk schedule accepted", response));
+    }
+
+    @GetMapping("/bulk/{jobId}")
+    @Operation(summary = "Get bulk schedule progress", description = "Progress of a bulk scheduling job")
+    public ResponseEntity<ApiResponse<BulkScheduleResponse>> getBulkSchedule(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(showScheduleService.getJob(jobId)));
+    }
+
+    @PostMapping("/seats/migrate")
+    @Operation(summary = "Migrate show seats", description = "Move shows still stored as one show_seats row per seat onto seat layouts")
+    public ResponseEntity<ApiResponse<Integer>> migrateShowSeats() {
+        logger.info("Migrating legacy show seats");
+
+        int migrated = showInventoryService.migrateLegacyShows();
+        return ResponseEntity.ok(ApiResponse.success("Migrated " + migrated + " shows", migrated));
+    }
+
     @GetMapping("/{showId}")
     @Operation(summary = "Get show by ID", description = "Retrieve show details by ID")
     public ResponseEntity<ApiResponse<Show>> getShowById(@PathVariable Integer showId) {
@@ -65,11 +107,21 @@ public class ShowController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all shows", description = "Retrieve list of all shows")
-    public ResponseEntity<ApiResponse<List<Show>>> getAllShows() {
-        logger.info("Fetching all shows");
-        
-        List<Show> shows = showService.getAllShows();
+    @Operation(summary = "Get shows", description = "Retrieve a page of shows; pass nextCursor as 'after' for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<ShowSummary>>> getShows(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<ShowSummary> shows = showService.getShows(after, limit);
         return ResponseEntity.ok(ApiResponse.success(shows));
     }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export shows", description = "Stream all shows as NDJSON, one show per line")
+    public ResponseEntity<StreamingResponseBody> exportShows() {
+        logger.info("Exporting all shows");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportService.NDJSON))
+                .body(exportService.exportShows());
+    }
 }
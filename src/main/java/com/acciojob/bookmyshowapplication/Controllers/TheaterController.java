@@ -4,6 +4,9 @@ import com.acciojob.bookmyshowapplication.Models.Theater;
 import com.acciojob.bookmyshowapplication.Requests.AddTheaterRequest;
 import com.acciojob.bookmyshowapplication.Requests.AddTheaterSeatsRequest;
 import com.acciojob.bookmyshowapplication.Responses.ApiResponse;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.TheaterSummary;
+import com.acciojob.bookmyshowapplication.Service.ExportService;
 import com.acciojob.bookmyshowapplication.Service.TheaterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,10 +15,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST Controller for theater management operations
@@ -30,6 +33,9 @@ public class TheaterController {
     @Autowired
     private TheaterService theaterService;
 
+    @Autowired
+    private ExportService exportService;
+
     @PostMapping
     @Operation(summary = "Add theater", description = "Register a new theater in the system")
     public ResponseEntity<ApiResponse<String>> addTheater(@Valid @RequestBody AddTheaterRequest request) {
@@ -56,13 +62,23 @@ public class TheaterController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all theaters", description = "Retrieve list of all theaters")
-    public ResponseEntity<ApiResponse<List<Theater>>> getAllTheaters() {
-        logger.info("Fetching all theaters");
-        
-        List<Theater> theaters = theaterService.getAllTheaters();
+    @Operation(summary = "Get theaters", description = "Retrieve a page of theaters; pass nextCursor as 'after' for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<TheaterSummary>>> getTheaters(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<TheaterSummary> theaters = theaterService.getTheaters(after, limit);
         return ResponseEntity.ok(ApiResponse.success(theaters));
     }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export theaters", description = "Stream all theaters as NDJSON, one theater per line")
+    public ResponseEntity<StreamingResponseBody> exportTheaters() {
+        logger.info("Exporting all theaters");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportService.NDJSON))
+                .body(exportService.exportTheaters());
+    }
     
     @GetMapping("/{theaterId}")
     @Operation(summary = "Get theater by ID", description = "Retrieve theater details by ID")
@@ -3,6 +3,10 @@ package com.acciojob.bookmyshowapplication.Controllers;
 import com.acciojob.bookmyshowapplication.Models.Ticket;
 import com.acciojob.bookmyshowapplication.Requests.BookTicketRequest;
 import com.acciojob.bookmyshowapplication.Responses.ApiResponse;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.TicketSummary;
+import com.acciojob.bookmyshowapplication.Service.ExportService;
+import com.acciojob.bookmyshowapplication.Service.PostBookingService;
 import com.acciojob.bookmyshowapplication.Service.TicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,10 +15,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for ticket booking and management
@@ -29,6 +35,12 @@ public class TicketController {
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private PostBookingService postBookingService;
+
+    @Autowired
+    private ExportService exportService;
+
     @PostMapping("/book")
     @Operation(summary = "Book ticket", description = "Book tickets for a movie show")
     public ResponseEntity<ApiResponse<Ticket>> bookTicket(@Valid @RequestBody BookTicketRequest request) {
@@ -50,11 +62,28 @@ public class TicketController {
     }
     
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Get user tickets", description = "Retrieve all tickets for a user")
-    public ResponseEntity<ApiResponse<List<Ticket>>> getUserTickets(@PathVariable Integer userId) {
-        logger.info("Fetching tickets for user ID: {}", userId);
-        
-        List<Ticket> tickets = ticketService.getUserTickets(userId);
+    @Operation(summary = "Get user tickets", description = "Retrieve a page of a user's tickets, newest first; pass nextCursor as 'after' for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<TicketSummary>>> getUserTickets(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<TicketSummary> tickets = ticketService.getUserTickets(userId, after, limit);
         return ResponseEntity.ok(ApiResponse.success(tickets));
     }
+
+    @GetMapping("/user/{userId}/export")
+    @Operation(summary = "Export user tickets", description = "Stream all tickets of a user as NDJSON, newest first, one ticket per line")
+    public ResponseEntity<StreamingResponseBody> exportUserTickets(@PathVariable Integer userId) {
+        logger.info("Exporting tickets for user ID: {}", userId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportService.NDJSON))
+                .body(exportService.exportUserTickets(userId));
+    }
+
+    @GetMapping("/post-booking/metrics")
+    @Operation(summary = "Get post-booking pipeline metrics", description = "Queue depth and event counters of the asynchronous post-booking work")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPostBookingMetrics() {
+        return ResponseEntity.ok(ApiResponse.success(postBookingService.getMetrics()));
+    }
 }
\ No newline at end of file
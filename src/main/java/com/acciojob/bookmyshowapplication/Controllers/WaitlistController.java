@@ -1,8 +1,10 @@
 package com.acciojob.bookmyshowapplication.Controllers;
 
+import com.acciojob.bookmyshowapplication.Models.Ticket;
 import com.acciojob.bookmyshowapplication.Requests.AddToWaitlistRequest;
 import com.acciojob.bookmyshowapplication.Responses.ApiResponse;
 import com.acciojob.bookmyshowapplication.Responses.WaitlistResponse;
+import com.acciojob.bookmyshowapplication.Service.WaitlistMatchingService;
 import com.acciojob.bookmyshowapplication.Service.WaitlistService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for waitlist management
@@ -29,6 +32,9 @@ public class WaitlistController {
     @Autowired
     private WaitlistService waitlistService;
 
+    @Autowired
+    private WaitlistMatchingService waitlistMatchingService;
+
     @PostMapping
     @Operation(summary = "Add to waitlist", description = "Add user to waitlist when seats are unavailable")
     public ResponseEntity<ApiResponse<WaitlistResponse>> addToWaitlist(
@@ -42,6 +48,17 @@ public class WaitlistController {
                 .body(ApiResponse.success("Added to waitlist successfully", response));
     }
 
+    @PostMapping("/{waitlistId}/book")
+    @Operation(summary = "Book offered seats", description = "Book the seats held for a notified waitlist entry")
+    public ResponseEntity<ApiResponse<Ticket>> bookOffer(@PathVariable Integer waitlistId) {
+        logger.info("Booking seat offer of waitlist entry: {}", waitlistId);
+
+        Ticket ticket = waitlistService.bookOffer(waitlistId);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Ticket booked successfully", ticket));
+    }
+
     @DeleteMapping("/{waitlistId}")
     @Operation(summary = "Cancel waitlist entry", description = "Cancel a user's waitlist entry")
     public ResponseEntity<ApiResponse<String>> cancelWaitlistEntry(@PathVariable Integer waitlistId) {
@@ -59,4 +76,10 @@ public class WaitlistController {
         List<WaitlistResponse> waitlists = waitlistService.getUserWaitlists(userId);
         return ResponseEntity.ok(ApiResponse.success(waitlists));
     }
+
+    @GetMapping("/matching/metrics")
+    @Operation(summary = "Get waitlist matching metrics", description = "Seat releases, coalesced releases, passes and seat offers of the asynchronous waitlist matching")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getMatchingMetrics() {
+        return ResponseEntity.ok(ApiResponse.success(waitlistMatchingService.getMetrics()));
+    }
 }
@@ -0,0 +1,164 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import com.acciojob.bookmyshowapplication.Models.PricingConfig;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Active pricing rules compiled into lookup arrays.
+ * Demand rules are indexed by occupancy percent, time rules by hour of the show
+ * and day rules by day of week, so a lookup is a single array access. A table
+ * never changes once compiled; rule updates compile and publish a new one.
+ */
+public final class PricingRuleTable {
+
+    private static final int MAX_OCCUPANCY_PERCENT = 100;
+    private static final int HOURS_PER_DAY = 24;
+    private static final String WEEKEND_KEY = "WEEKEND";
+    private static final String WEEKDAY_KEY = "WEEKDAY";
+
+    /**
+     * One compiled pricing rule
+     */
+    public static final class Rule {
+        private final double multiplier;
+        private final String description;
+
+        private Rule(PricingConfig config) {
+            this.multiplier = config.getMultiplier();
+            this.description = config.getDescription();
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final Rule[] demandByOccupancy = new Rule[MAX_OCCUPANCY_PERCENT + 1];
+    // Occupancy range [min, max) around each percent that resolves to the same demand rule
+    private final int[] demandBandMin = new int[MAX_OCCUPANCY_PERCENT + 1];
+    private final int[] demandBandMax = new int[MAX_OCCUPANCY_PERCENT + 1];
+    private final Rule[] timeByHour = new Rule[HOURS_PER_DAY];
+    private final Rule[] dayByDayOfWeek = new Rule[DayOfWeek.values().length];
+
+    private PricingRuleTable(List<PricingConfig> configs) {
+        // Where rules overlap the oldest one wins
+        for (PricingConfig config : configs) {
+            switch (config.getFactorType()) {
+                case DEMAND_BASED -> fill(demandByOccupancy, new Rule(config),
+                        config.getMinOccupancyPercent(), config.getMaxOccupancyPercent());
+                case TIME_BASED -> fill(timeByHour, new Rule(config), config.getStartHour(), config.getEndHour());
+                case DAY_BASED -> fillDays(config);
+                default -> { }
+            }
+        }
+
+        int bandStart = 0;
+        for (int percent = 1; percent <= demandByOccupancy.length; percent++) {
+            if (percent == demandByOccupancy.length || demandByOccupancy[percent] != demandByOccupancy[bandStart]) {
+                for (int i = bandStart; i < percent; i++) {
+                    demandBandMin[i] = bandStart;
+                    demandBandMax[i] = percent;
+                }
+                bandStart = percent;
+            }
+        }
+    }
+
+    /**
+     * Compiles the active rules out of the given pricing configs
+     */
+    public static PricingRuleTable compile(Collection<PricingConfig> configs) {
+        List<PricingConfig> activeConfigs = new ArrayList<>();
+        for (PricingConfig config : configs) {
+            if (Boolean.TRUE.equals(config.getIsActive()) && config.getFactorType() != null
+                    && config.getMultiplier() != null) {
+                activeConfigs.add(config);
+            }
+        }
+        activeConfigs.sort(Comparator.comparing(PricingConfig::getConfigId,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return new PricingRuleTable(activeConfigs);
+    }
+
+    /**
+     * A table without any rule, every price stays at its base
+     */
+    public static PricingRuleTable empty() {
+        return compile(Collections.emptyList());
+    }
+
+    /**
+     * Demand rule for an occupancy percent, null if none applies
+     */
+    public Rule demandRule(int occupancyPercent) {
+        return demandByOccupancy[clampOccupancy(occupancyPercent)];
+    }
+
+    /**
+     * Lowest occupancy percent that still resolves to the same demand rule
+     */
+    public int demandBandMin(int occupancyPercent) {
+        return demandBandMin[clampOccupancy(occupancyPercent)];
+    }
+
+    /**
+     * First occupancy percent above the given one that resolves to a different demand rule
+     */
+    public int demandBandMax(int occupancyPercent) {
+        return demandBandMax[clampOccupancy(occupancyPercent)];
+    }
+
+    /**
+     * Time rule for the hour a show starts at, null if none applies
+     */
+    public Rule timeRule(int hour) {
+        return timeByHour[hour];
+    }
+
+    /**
+     * Day rule for the day a show runs on, null if none applies
+     */
+    public Rule dayRule(DayOfWeek dayOfWeek) {
+        return dayByDayOfWeek[dayOfWeek.ordinal()];
+    }
+
+    private void fillDays(PricingConfig config) {
+        boolean weekend = WEEKEND_KEY.equals(config.getConfigKey());
+        if (!weekend && !WEEKDAY_KEY.equals(config.getConfigKey())) {
+            return;
+        }
+        Rule rule = new Rule(config);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            boolean weekendDay = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+            if (weekendDay == weekend && dayByDayOfWeek[day.ordinal()] == null) {
+                dayByDayOfWeek[day.ordinal()] = rule;
+            }
+        }
+    }
+
+    // Fills the empty slots in [from, to) with the rule
+    private static void fill(Rule[] slots, Rule rule, Integer from, Integer to) {
+        if (from == null || to == null) {
+            return;
+        }
+        for (int i = Math.max(from, 0); i < Math.min(to, slots.length); i++) {
+            if (slots[i] == null) {
+                slots[i] = rule;
+            }
+        }
+    }
+
+    private static int clampOccupancy(int occupancyPercent) {
+        return Math.max(0, Math.min(occupancyPercent, MAX_OCCUPANCY_PERCENT));
+    }
+}
@@ -0,0 +1,93 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Immutable result of a dynamic price calculation for one show.
+ * It stays valid while the show's occupancy remains inside the demand band it
+ * was priced in and the pricing rules have not changed since.
+ */
+public class PricingSnapshot {
+
+    private final LocalDate showDate;
+    private final long rulesVersion;
+    private final int bandMinOccupancy;
+    private final int bandMaxOccupancy;
+    private final int occupancyPercent;
+    private final double totalMultiplier;
+    private final Map<String, Integer> basePrices;
+    private final Map<String, Integer> dynamicPrices;
+    private final List<String> appliedFactors;
+    private final String timeSlot;
+    private final String dayType;
+    private final AtomicBoolean applied = new AtomicBoolean();
+
+    public PricingSnapshot(LocalDate showDate, long rulesVersion, int bandMinOccupancy, int bandMaxOccupancy, int occupancyPercent,
+                           double totalMultiplier, Map<String, Integer> basePrices,
+                           Map<String, Integer> dynamicPrices, List<String> appliedFactors,
+                           String timeSlot, String dayType) {
+        this.showDate = showDate;
+        this.rulesVersion = rulesVersion;
+        this.bandMinOccupancy = bandMinOccupancy;
+        this.bandMaxOccupancy = bandMaxOccupancy;
+        this.occupancyPercent = occupancyPercent;
+        this.totalMultiplier = totalMultiplier;
+        this.basePrices = Collections.unmodifiableMap(basePrices);
+        this.dynamicPrices = Collections.unmodifiableMap(dynamicPrices);
+        this.appliedFactors = Collections.unmodifiableList(appliedFactors);
+        this.timeSlot = timeSlot;
+        this.dayType = dayType;
+    }
+
+    /**
+     * True if the snapshot still prices a show at this occupancy under these rules
+     */
+    public boolean covers(int occupancyPercent, long rulesVersion) {
+        return this.rulesVersion == rulesVersion
+                && occupancyPercent >= bandMinOccupancy
+                && occupancyPercent < bandMaxOccupancy;
+    }
+
+    /**
+     * Marks the dynamic prices as written to the seats, returns false if that already happened
+     */
+    public boolean markApplied() {
+        return applied.compareAndSet(false, true);
+    }
+
+    public LocalDate getShowDate() {
+        return showDate;
+    }
+
+    public int getOccupancyPercent() {
+        return occupancyPercent;
+    }
+
+    public double getTotalMultiplier() {
+        return totalMultiplier;
+    }
+
+    public Map<String, Integer> getBasePrices() {
+        return basePrices;
+    }
+
+    public Map<String, Integer> getDynamicPrices() {
+        return dynamicPrices;
+    }
+
+    public List<String> getAppliedFactors() {
+        return appliedFactors;
+    }
+
+    public String getTimeSlot() {
+        return timeSlot;
+    }
+
+    public String getDayType() {
+        return dayType;
+    }
+}
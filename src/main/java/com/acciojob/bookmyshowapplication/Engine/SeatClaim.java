@@ -0,0 +1,48 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of claiming seats from a {@link ShowSeatInventory}
+ */
+public class SeatClaim {
+
+    private static final int[] NONE = new int[0];
+
+    private final boolean successful;
+    private final int[] ordinals;
+    private final int totalAmount;
+    private final List<String> unavailableSeats;
+
+    private SeatClaim(boolean successful, int[] ordinals, int totalAmount, List<String> unavailableSeats) {
+        this.successful = successful;
+        this.ordinals = ordinals;
+        this.totalAmount = totalAmount;
+        this.unavailableSeats = unavailableSeats;
+    }
+
+    static SeatClaim accepted(int[] ordinals, int totalAmount) {
+        return new SeatClaim(true, ordinals, totalAmount, new ArrayList<>());
+    }
+
+    static SeatClaim rejected(List<String> unavailableSeats) {
+        return new SeatClaim(false, NONE, 0, unavailableSeats);
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public int[] getOrdinals() {
+        return ordinals;
+    }
+
+    public int getTotalAmount() {
+        return totalAmount;
+    }
+
+    public List<String> getUnavailableSeats() {
+        return unavailableSeats;
+    }
+}
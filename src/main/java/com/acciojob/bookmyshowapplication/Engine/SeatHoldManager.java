@@ -0,0 +1,213 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory temporary seat holds.
+ * Each user has at most one hold per show; a seat can only be held by one user.
+ * State is striped by showId so holds on different shows never contend, and
+ * every hold owns one timer on a {@link TimingWheel} which releases it as soon
+ * as it expires.
+ */
+public class SeatHoldManager {
+
+    /**
+     * Notified, outside of any lock, after a hold has expired
+     */
+    public interface ExpiryListener {
+        void onExpired(Integer showId, String userMobNo, Set<String> seatNos);
+    }
+
+    /**
+     * Notified under the show's lock once a hold is placed, with the seats of the
+     * user's hold it replaced, so mirrors of the hold are updated in hold order
+     */
+    public interface PlacementListener {
+        void onPlaced(Set<String> replacedSeats, Set<String> seatNos);
+    }
+
+    private static final int STRIPES = 64;
+
+    private final Object[] stripes = new Object[STRIPES];
+    private final Map<Integer, ShowHolds> holdsByShow = new ConcurrentHashMap<>();
+    private final TimingWheel timingWheel;
+    private final ExpiryListener expiryListener;
+
+    public SeatHoldManager(long tickMs, int wheelSize, ExpiryListener expiryListener) {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.timingWheel = new TimingWheel(tickMs, wheelSize);
+        this.expiryListener = expiryListener;
+    }
+
+    /**
+     * Replaces the user's hold on a show with a hold on the given seats.
+     * Nothing changes if any seat is held by another user.
+     *
+     * @return the seats held by other users, empty if the hold was placed
+     */
+    public List<String> hold(Integer showId, String userMobNo, Collection<String> seatNos, long ttlMs) {
+        return hold(showId, userMobNo, seatNos, ttlMs, null);
+    }
+
+    /**
+     * Same as {@link #hold(Integer, String, Collection, long)}, notifying the listener if the hold was placed
+     */
+    public List<String> hold(Integer showId, String userMobNo, Collection<String> seatNos, long ttlMs,
+                             PlacementListener placementListener) {
+        synchronized (stripeFor(showId)) {
+            ShowHolds showHolds = holdsByShow.computeIfAbsent(showId, id -> new ShowHolds());
+
+            List<String> heldByOthers = new ArrayList<>();
+            for (String seatNo : seatNos) {
+                SeatHold holder = showHolds.bySeat.get(seatNo);
+                if (holder != null && !holder.userMobNo.equals(userMobNo)) {
+                    heldByOthers.add(seatNo);
+                }
+            }
+            if (!heldByOthers.isEmpty()) {
+                return heldByOthers;
+            }
+
+            SeatHold replaced = showHolds.byUser.get(userMobNo);
+            Set<String> replacedSeats = replaced == null ? Collections.emptySet() : new HashSet<>(replaced.seatNos);
+            if (removeHold(showHolds, replaced)) {
+                // Removing the user's old hold may have dropped the show's entry
+                showHolds = holdsByShow.computeIfAbsent(showId, id -> new ShowHolds());
+            }
+
+            SeatHold hold = new SeatHold(showId, userMobNo, new LinkedHashSet<>(seatNos));
+            hold.timeout = timingWheel.schedule(ttlMs, () -> expire(hold));
+            showHolds.byUser.put(userMobNo, hold);
+            for (String seatNo : hold.seatNos) {
+                showHolds.bySeat.put(seatNo, hold);
+            }
+            if (placementListener != null) {
+                placementListener.onPlaced(replacedSeats, Collections.unmodifiableSet(new HashSet<>(hold.seatNos)));
+            }
+            return heldByOthers;
+        }
+    }
+
+    /**
+     * Drops the user's hold on a show
+     */
+    public boolean release(Integer showId, String userMobNo) {
+        synchronized (stripeFor(showId)) {
+            ShowHolds showHolds = holdsByShow.get(showId);
+            return showHolds != null && removeHold(showHolds, showHolds.byUser.get(userMobNo));
+        }
+    }
+
+    /**
+     * Removes booked seats from the user's hold, the rest of the hold stays until it expires
+     */
+    public void confirm(Integer showId, String userMobNo, Collection<String> seatNos) {
+        synchronized (stripeFor(showId)) {
+            ShowHolds showHolds = holdsByShow.get(showId);
+            SeatHold hold = showHolds == null ? null : showHolds.byUser.get(userMobNo);
+            if (hold == null) {
+                return;
+            }
+            for (String seatNo : seatNos) {
+                if (hold.seatNos.remove(seatNo)) {
+                    showHolds.bySeat.remove(seatNo);
+                }
+            }
+            if (hold.seatNos.isEmpty()) {
+                removeHold(showHolds, hold);
+            }
+        }
+    }
+
+    /**
+     * Seats currently held by anyone on a show
+     */
+    public Set<String> getHeldSeats(Integer showId) {
+        synchronized (stripeFor(showId)) {
+            ShowHolds showHolds = holdsByShow.get(showId);
+            return showHolds == null ? Collections.emptySet() : new HashSet<>(showHolds.bySeat.keySet());
+        }
+    }
+
+    /**
+     * Seats currently held by the user on a show
+     */
+    public Set<String> getHeldSeats(Integer showId, String userMobNo) {
+        synchronized (stripeFor(showId)) {
+            ShowHolds showHolds = holdsByShow.get(showId);
+            SeatHold hold = showHolds == null ? null : showHolds.byUser.get(userMobNo);
+            return hold == null ? Collections.emptySet() : new HashSet<>(hold.seatNos);
+        }
+    }
+
+    /**
+     * Fires the holds that have expired, waiting up to the given time for the next one
+     */
+    public int expireDue(long maxWaitMs) throws InterruptedException {
+        return timingWheel.advance(maxWaitMs);
+    }
+
+    private void expire(SeatHold hold) {
+        Set<String> expiredSeats;
+        synchronized (stripeFor(hold.showId)) {
+            ShowHolds showHolds = holdsByShow.get(hold.showId);
+            if (showHolds == null || showHolds.byUser.get(hold.userMobNo) != hold) {
+                return;
+            }
+            expiredSeats = new HashSet<>(hold.seatNos);
+            removeHold(showHolds, hold);
+        }
+        if (expiryListener != null) {
+            expiryListener.onExpired(hold.showId, hold.userMobNo, expiredSeats);
+        }
+    }
+
+    // Caller holds the show's stripe
+    private boolean removeHold(ShowHolds showHolds, SeatHold hold) {
+        if (hold == null) {
+            return false;
+        }
+        hold.timeout.cancel();
+        showHolds.byUser.remove(hold.userMobNo);
+        for (String seatNo : hold.seatNos) {
+            showHolds.bySeat.remove(seatNo);
+        }
+        if (showHolds.byUser.isEmpty()) {
+            holdsByShow.remove(hold.showId);
+        }
+        return true;
+    }
+
+    private Object stripeFor(Integer showId) {
+        return stripes[Math.floorMod(showId.hashCode(), STRIPES)];
+    }
+
+    private static final class ShowHolds {
+        private final Map<String, SeatHold> byUser = new HashMap<>();
+        private final Map<String, SeatHold> bySeat = new HashMap<>();
+    }
+
+    private static final class SeatHold {
+        private final Integer showId;
+        private final String userMobNo;
+        private final Set<String> seatNos;
+        private TimingWheel.Timeout timeout;
+
+        private SeatHold(Integer showId, String userMobNo, Set<String> seatNos) {
+            this.showId = showId;
+            this.userMobNo = userMobNo;
+            this.seatNos = seatNos;
+        }
+    }
+}
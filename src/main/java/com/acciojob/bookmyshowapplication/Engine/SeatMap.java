@@ -0,0 +1,258 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact snapshot of a show's seat layout, an alternative to one JSON object per seat.
+ * Seat numbers come from a {@link SeatNoTemplate}, seat type and price from a small
+ * dictionary of price classes, and seat statuses are run-length encoded in JSON or
+ * packed two bits per seat in the binary form. Seats are listed in ordinal order.
+ *
+ * Binary layout (big-endian): "SM", format version, showId, seat map version, seat count, seat number runs
+ * (prefix, start, count), price classes (seat type, price), price class runs
+ * (class index, count), then the status of each seat in two bits, four seats per byte.
+ */
+public final class SeatMap {
+
+    public static final String MEDIA_TYPE = "application/x-seatmap";
+    public static final String JSON_MEDIA_TYPE = "application/vnd.seatmap+json";
+
+    public static final byte AVAILABLE = 0;
+    public static final byte BOOKED = 1;
+    public static final byte TEMP_SELECTED = 2;
+    private static final List<String> STATUS_LEGEND = List.of("AVAILABLE", "BOOKED", "TEMP_SELECTED");
+
+    private static final short MAGIC = 0x534D; // "SM"
+    private static final byte VERSION = 1;
+
+    /**
+     * A seat type at a price, shared by every seat that has both
+     */
+    public record PriceClass(SeatType seatType, int price) {
+    }
+
+    private final Integer showId;
+    private final long version;
+    private final SeatNoTemplate seatNos;
+    private final List<PriceClass> priceClasses;
+    private final int[] priceClassRuns;
+    private final byte[] statuses;
+    private final int[] changedOrdinals;
+
+    private SeatMap(Integer showId, long version, SeatNoTemplate seatNos, List<PriceClass> priceClasses,
+                    int[] priceClassRuns, byte[] statuses, int[] changedOrdinals) {
+        this.showId = showId;
+        this.version = version;
+        this.seatNos = seatNos;
+        this.priceClasses = Collections.unmodifiableList(priceClasses);
+        this.priceClassRuns = priceClassRuns;
+        this.statuses = statuses;
+        this.changedOrdinals = changedOrdinals;
+    }
+
+    /**
+     * Built by the inventory under its lock, from its per-ordinal arrays
+     */
+    static SeatMap of(Integer showId, long version, SeatNoTemplate seatNos, SeatType[] seatTypes, int[] prices,
+                      byte[] statuses, int[] changedOrdinals) {
+        List<PriceClass> priceClasses = new ArrayList<>();
+        List<Integer> runs = new ArrayList<>();
+        int currentClass = -1;
+        for (int ordinal = 0; ordinal < statuses.length; ordinal++) {
+            PriceClass priceClass = new PriceClass(seatTypes[ordinal], prices[ordinal]);
+            int index = priceClasses.indexOf(priceClass);
+            if (index < 0) {
+                index = priceClasses.size();
+                priceClasses.add(priceClass);
+            }
+            if (index == currentClass) {
+                runs.set(runs.size() - 1, runs.get(runs.size() - 1) + 1);
+            } else {
+                runs.add(index);
+                runs.add(1);
+                currentClass = index;
+            }
+        }
+        return new SeatMap(showId, version, seatNos, priceClasses, runs.stream().mapToInt(Integer::intValue).toArray(),
+                statuses, changedOrdinals);
+    }
+
+    public Integer getShowId() {
+        return showId;
+    }
+
+    /**
+     * Seat map version of the show, increases with every seat status or price change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getSeatCount() {
+        return statuses.length;
+    }
+
+    public SeatNoTemplate getSeatNos() {
+        return seatNos;
+    }
+
+    public List<PriceClass> getPriceClasses() {
+        return priceClasses;
+    }
+
+    /**
+     * Pairs of (index into the price classes, number of consecutive seats)
+     */
+    public int[] getPriceClassRuns() {
+        return priceClassRuns;
+    }
+
+    /**
+     * Names of the status codes, by code
+     */
+    public List<String> getStatusLegend() {
+        return STATUS_LEGEND;
+    }
+
+    /**
+     * Pairs of (status code, number of consecutive seats)
+     */
+    public int[] getStatusRuns() {
+        List<Integer> runs = new ArrayList<>();
+        for (int ordinal = 0; ordinal < statuses.length; ordinal++) {
+            if (ordinal > 0 && statuses[ordinal] == statuses[ordinal - 1]) {
+                runs.set(runs.size() - 1, runs.get(runs.size() - 1) + 1);
+            } else {
+                runs.add((int) statuses[ordinal]);
+                runs.add(1);
+            }
+        }
+        return runs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public byte statusOf(int ordinal) {
+        return statuses[ordinal];
+    }
+
+    /**
+     * Seats changed after the version the snapshot was asked for, null for a full snapshot
+     */
+    @JsonIgnore
+    public int[] getChangedOrdinals() {
+        return changedOrdinals;
+    }
+
+    /**
+     * Price class of every seat, by ordinal
+     */
+    public PriceClass[] expandPriceClasses() {
+        PriceClass[] byOrdinal = new PriceClass[statuses.length];
+        int ordinal = 0;
+        for (int i = 0; i < priceClassRuns.length; i += 2) {
+            for (int n = 0; n < priceClassRuns[i + 1]; n++) {
+                byOrdinal[ordinal++] = priceClasses.get(priceClassRuns[i]);
+            }
+        }
+        return byOrdinal;
+    }
+
+    public PriceClass priceClassOf(int ordinal) {
+        int seat = 0;
+        for (int i = 0; i < priceClassRuns.length; i += 2) {
+            seat += priceClassRuns[i + 1];
+            if (ordinal < seat) {
+                return priceClasses.get(priceClassRuns[i]);
+            }
+        }
+        throw new IndexOutOfBoundsException(ordinal);
+    }
+
+    @JsonIgnore
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + statuses.length / 4);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeShort(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(showId);
+            out.writeLong(version);
+            out.writeInt(statuses.length);
+
+            out.writeInt(seatNos.getRuns().size());
+            for (SeatNoTemplate.Run run : seatNos.getRuns()) {
+                out.writeUTF(run.getPrefix());
+                out.writeUTF(run.getStart());
+                out.writeInt(run.getCount());
+            }
+
+            out.writeByte(priceClasses.size());
+            for (PriceClass priceClass : priceClasses) {
+                out.writeByte(priceClass.seatType().ordinal());
+                out.writeInt(priceClass.price());
+            }
+            out.writeInt(priceClassRuns.length / 2);
+            for (int i = 0; i < priceClassRuns.length; i += 2) {
+                out.writeByte(priceClassRuns[i]);
+                out.writeInt(priceClassRuns[i + 1]);
+            }
+
+            byte[] packed = new byte[(statuses.length + 3) / 4];
+            for (int ordinal = 0; ordinal < statuses.length; ordinal++) {
+                packed[ordinal / 4] |= (byte) (statuses[ordinal] << ((ordinal % 4) * 2));
+            }
+            out.write(packed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SeatMap fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readShort() != MAGIC || in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Not a version " + VERSION + " seat map");
+            }
+            Integer showId = in.readInt();
+            long version = in.readLong();
+            int seatCount = in.readInt();
+
+            List<SeatNoTemplate.Run> runs = new ArrayList<>();
+            int runCount = in.readInt();
+            for (int i = 0; i < runCount; i++) {
+                runs.add(new SeatNoTemplate.Run(in.readUTF(), in.readUTF(), in.readInt()));
+            }
+
+            SeatType[] seatTypes = SeatType.values();
+            List<PriceClass> priceClasses = new ArrayList<>();
+            int classCount = in.readUnsignedByte();
+            for (int i = 0; i < classCount; i++) {
+                priceClasses.add(new PriceClass(seatTypes[in.readUnsignedByte()], in.readInt()));
+            }
+            int[] priceClassRuns = new int[in.readInt() * 2];
+            for (int i = 0; i < priceClassRuns.length; i += 2) {
+                priceClassRuns[i] = in.readUnsignedByte();
+                priceClassRuns[i + 1] = in.readInt();
+            }
+
+            byte[] packed = new byte[(seatCount + 3) / 4];
+            in.readFully(packed);
+            byte[] statuses = new byte[seatCount];
+            for (int ordinal = 0; ordinal < seatCount; ordinal++) {
+                statuses[ordinal] = (byte) ((packed[ordinal / 4] >> ((ordinal % 4) * 2)) & 0b11);
+            }
+            return new SeatMap(showId, version, new SeatNoTemplate(runs), priceClasses, priceClassRuns, statuses, null);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed seat map", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Seat numbers of a show, in ordinal order, written as runs of a shared prefix
+ * and an incrementing suffix: "12A".."12E" is the single run ["12", "A", 5].
+ * A numeric suffix counts up as a number ("1-9", "1-10"), any other suffix is
+ * one letter. Seat numbers that fit no run become runs of one.
+ */
+public final class SeatNoTemplate {
+
+    /**
+     * Consecutive seats numbered prefix + start, prefix + (start + 1), ...
+     */
+    public static final class Run {
+        private final String prefix;
+        private final String start;
+        private int count;
+
+        Run(String prefix, String start, int count) {
+            this.prefix = prefix;
+            this.start = start;
+            this.count = count;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public String getStart() {
+            return start;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Seat number at the given offset into the run
+         */
+        public String seatNo(int offset) {
+            if (offset == 0 || start.isEmpty()) {
+                return prefix + start;
+            }
+            if (Character.isDigit(start.charAt(0))) {
+                return prefix + (Integer.parseInt(start) + offset);
+            }
+            return prefix + (char) (start.charAt(0) + offset);
+        }
+
+        @JsonValue
+        Object[] toJson() {
+            return new Object[]{prefix, start, count};
+        }
+    }
+
+    private final List<Run> runs;
+    private final int size;
+
+    SeatNoTemplate(List<Run> runs) {
+        this.runs = Collections.unmodifiableList(runs);
+        this.size = runs.stream().mapToInt(Run::getCount).sum();
+    }
+
+    public static SeatNoTemplate of(String[] seatNos) {
+        List<Run> runs = new ArrayList<>();
+        Run current = null;
+        for (String seatNo : seatNos) {
+            if (current != null && !current.start.isEmpty() && seatNo.equals(current.seatNo(current.count))) {
+                current.count++;
+            } else {
+                current = startRun(seatNo);
+                runs.add(current);
+            }
+        }
+        return new SeatNoTemplate(runs);
+    }
+
+    @JsonValue
+    public List<Run> getRuns() {
+        return runs;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Seat numbers in ordinal order
+     */
+    public String[] expand() {
+        String[] seatNos = new String[size];
+        int ordinal = 0;
+        for (Run run : runs) {
+            for (int offset = 0; offset < run.count; offset++) {
+                seatNos[ordinal++] = run.seatNo(offset);
+            }
+        }
+        return seatNos;
+    }
+
+    private static Run startRun(String seatNo) {
+        int digitsFrom = seatNo.length();
+        while (digitsFrom > 0 && Character.isDigit(seatNo.charAt(digitsFrom - 1))) {
+            digitsFrom--;
+        }
+        int digits = seatNo.length() - digitsFrom;
+        // A leading zero would not survive counting up, and long numbers could overflow
+        if (digits > 0 && digits < 9 && (digits == 1 || seatNo.charAt(digitsFrom) != '0')) {
+            return new Run(seatNo.substring(0, digitsFrom), seatNo.substring(digitsFrom), 1);
+        }
+        if (digits == 0 && !seatNo.isEmpty() && Character.isLetter(seatNo.charAt(seatNo.length() - 1))) {
+            return new Run(seatNo.substring(0, seatNo.length() - 1), seatNo.substring(seatNo.length() - 1), 1);
+        }
+        return new Run(seatNo, "", 1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Seat counters of a single show, split by seat type.
+ * Counters are only written by the owning {@link ShowSeatInventory} while it
+ * holds its lock, but can be read at any time without locking.
+ */
+public class ShowOccupancy {
+
+    private static final SeatType[] SEAT_TYPES = SeatType.values();
+
+    private final int[] totalByType = new int[SEAT_TYPES.length];
+    private final int totalSeats;
+    private final AtomicIntegerArray bookedByType = new AtomicIntegerArray(SEAT_TYPES.length);
+    private final AtomicIntegerArray heldByType = new AtomicIntegerArray(SEAT_TYPES.length);
+
+    ShowOccupancy(SeatType[] seatTypes) {
+        for (SeatType seatType : seatTypes) {
+            totalByType[seatType.ordinal()]++;
+        }
+        this.totalSeats = seatTypes.length;
+    }
+
+    void addBooked(SeatType seatType, int delta) {
+        bookedByType.addAndGet(seatType.ordinal(), delta);
+    }
+
+    void addHeld(SeatType seatType, int delta) {
+        heldByType.addAndGet(seatType.ordinal(), delta);
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    public int getTotalSeats(SeatType seatType) {
+        return totalByType[seatType.ordinal()];
+    }
+
+    public int getBookedSeats() {
+        int booked = 0;
+        for (int i = 0; i < SEAT_TYPES.length; i++) {
+            booked += bookedByType.get(i);
+        }
+        return booked;
+    }
+
+    public int getBookedSeats(SeatType seatType) {
+        return bookedByType.get(seatType.ordinal());
+    }
+
+    public int getHeldSeats() {
+        int held = 0;
+        for (int i = 0; i < SEAT_TYPES.length; i++) {
+            held += heldByType.get(i);
+        }
+        return held;
+    }
+
+    public int getHeldSeats(SeatType seatType) {
+        return heldByType.get(seatType.ordinal());
+    }
+
+    /**
+     * Seats of the type that are neither booked nor held
+     */
+    public int getAvailableSeats(SeatType seatType) {
+        int available = getTotalSeats(seatType) - getBookedSeats(seatType) - getHeldSeats(seatType);
+        return Math.max(available, 0);
+    }
+
+    /**
+     * Share of booked seats, 0 for a show without seats
+     */
+    public int getOccupancyPercent() {
+        return totalSeats == 0 ? 0 : getBookedSeats() * 100 / totalSeats;
+    }
+}
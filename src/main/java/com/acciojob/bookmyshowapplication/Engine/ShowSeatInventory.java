@@ -0,0 +1,488 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Models.SeatLayout;
+import com.acciojob.bookmyshowapplication.Models.ShowInventory;
+import com.acciojob.bookmyshowapplication.Models.ShowSeat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory seat inventory for a single show.
+ * Every seat gets an ordinal (its position in the show's seat layout), the seat
+ * attributes are kept in primitive arrays indexed by that ordinal and the
+ * booked and held states are BitSets, so a booking touches only the requested seats.
+ * Every state change also updates the show's {@link ShowOccupancy} counters,
+ * bumps the seat map version and appends the changed seats to a bounded change
+ * log, so pollers can fetch just the seats that changed since their version.
+ * The seats that are neither booked nor held are also kept in a BitSet per seat type,
+ * so free seats of a type are found without looking at the others.
+ */
+public class ShowSeatInventory {
+
+    private static final int CHANGE_LOG_CAPACITY = 1024;
+
+    private final Integer showId;
+    private final String[] seatNos;
+    private final SeatType[] seatTypes;
+    private final int[] prices;
+    // Seat type -> price before dynamic pricing, fixed for the life of the inventory
+    private final Map<String, Integer> basePrices;
+    private final Map<String, Integer> ordinalBySeatNo;
+    private final int[] firstOrdinalByType = new int[SeatType.values().length];
+    private final ShowOccupancy occupancy;
+    private final SeatNoTemplate seatNoTemplate;
+
+    // Guarded by "this"
+    private final BitSet booked;
+    private final BitSet held;
+    private final BitSet[] availableByType = new BitSet[SeatType.values().length];
+    // First ordinal of every run of consecutively numbered seats, a row of the layout
+    private final BitSet rowStarts;
+    private long version;
+    // Version of the last price change, and of the newest change dropped from the log
+    private long pricesChangedAt;
+    private long droppedVersion;
+    // Ring buffer of (version, ordinal) per changed seat
+    private final long[] changeVersions = new long[CHANGE_LOG_CAPACITY];
+    private final int[] changeOrdinals = new int[CHANGE_LOG_CAPACITY];
+    private long changeCount;
+
+    public ShowSeatInventory(Integer showId, List<ShowSeat> showSeats) {
+        this(showId, showSeats, 0);
+    }
+
+    /**
+     * @param initialVersion last version of the inventory this one replaces, so a rebuilt inventory never
+     *                       reuses a version. Its seats may differ in any way from that version, so the
+     *                       change log starts out covering none of the earlier versions.
+     */
+    public ShowSeatInventory(Integer showId, List<ShowSeat> showSeats, long initialVersion) {
+        this(showId, showSeats.stream().map(ShowSeat::getSeatNo).toArray(String[]::new),
+                showSeats.stream().map(ShowSeat::getSeatType).toArray(SeatType[]::new), null,
+                showSeats.stream().mapToInt(seat -> seat.getPrice() == null ? 0 : seat.getPrice()).toArray(),
+                null, bookedOf(showSeats), initialVersion);
+    }
+
+    /**
+     * Inventory of a show stored on a shared seat layout. The layout's seat arrays are
+     * used as they are, they are never modified.
+     */
+    public ShowSeatInventory(Integer showId, SeatLayout layout, ShowInventory state, long initialVersion) {
+        this(showId, layout.getSeatNos(), layout.getSeatTypes(), layout.getOrdinalBySeatNo(),
+                pricesOf(layout.getSeatTypes(), state), state, state.booked(), initialVersion);
+    }
+
+    private ShowSeatInventory(Integer showId, String[] seatNos, SeatType[] seatTypes,
+                              Map<String, Integer> ordinalBySeatNo, int[] prices, ShowInventory state,
+                              BitSet booked, long initialVersion) {
+        int size = seatNos.length;
+        this.showId = showId;
+        this.seatNos = seatNos;
+        this.seatTypes = seatTypes;
+        this.prices = prices;
+        this.booked = booked;
+        this.held = new BitSet(size);
+        this.version = initialVersion + 1;
+        this.pricesChangedAt = version;
+        this.droppedVersion = version;
+        Arrays.fill(firstOrdinalByType, -1);
+
+        if (ordinalBySeatNo == null) {
+            ordinalBySeatNo = new HashMap<>(size * 2);
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                ordinalBySeatNo.put(seatNos[ordinal], ordinal);
+            }
+        }
+        this.ordinalBySeatNo = ordinalBySeatNo;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (firstOrdinalByType[seatTypes[ordinal].ordinal()] < 0) {
+                firstOrdinalByType[seatTypes[ordinal].ordinal()] = ordinal;
+            }
+        }
+        // Seats given without a stored state carry their base price themselves
+        Map<String, Integer> basePrices = new HashMap<>();
+        for (SeatType seatType : SeatType.values()) {
+            int ordinal = firstOrdinalByType[seatType.ordinal()];
+            if (ordinal >= 0) {
+                basePrices.put(seatType.toString(), state == null ? prices[ordinal] : state.basePriceOf(seatType));
+            }
+        }
+        this.basePrices = Collections.unmodifiableMap(basePrices);
+
+        this.occupancy = new ShowOccupancy(seatTypes);
+        this.seatNoTemplate = SeatNoTemplate.of(seatNos);
+        for (int ordinal = booked.nextSetBit(0); ordinal >= 0 && ordinal < size; ordinal = booked.nextSetBit(ordinal + 1)) {
+            occupancy.addBooked(seatTypes[ordinal], 1);
+        }
+
+        for (int type = 0; type < availableByType.length; type++) {
+            availableByType[type] = new BitSet(size);
+        }
+        for (int ordinal = booked.nextClearBit(0); ordinal < size; ordinal = booked.nextClearBit(ordinal + 1)) {
+            availableByType[seatTypes[ordinal].ordinal()].set(ordinal);
+        }
+        this.rowStarts = new BitSet(size);
+        int rowStart = 0;
+        for (SeatNoTemplate.Run run : seatNoTemplate.getRuns()) {
+            rowStarts.set(rowStart);
+            rowStart += run.getCount();
+        }
+    }
+
+    private static BitSet bookedOf(List<ShowSeat> showSeats) {
+        BitSet booked = new BitSet(showSeats.size());
+        for (int ordinal = 0; ordinal < showSeats.size(); ordinal++) {
+            if (Boolean.FALSE.equals(showSeats.get(ordinal).getIsAvailable())) {
+                booked.set(ordinal);
+            }
+        }
+        return booked;
+    }
+
+    private static int[] pricesOf(SeatType[] seatTypes, ShowInventory state) {
+        int[] prices = new int[seatTypes.length];
+        for (int ordinal = 0; ordinal < seatTypes.length; ordinal++) {
+            prices[ordinal] = state.priceOf(seatTypes[ordinal]);
+        }
+        return prices;
+    }
+
+    /**
+     * Atomically marks all requested seats as booked.
+     * Either every seat is claimed or none is; unknown and already booked
+     * seats are reported back in the result.
+     */
+    public synchronized SeatClaim claim(Collection<String> requestedSeats) {
+        int[] ordinals = new int[requestedSeats.size()];
+        List<String> unavailableSeats = new ArrayList<>();
+        BitSet requested = new BitSet(seatNos.length);
+
+        int i = 0;
+        for (String seatNo : requestedSeats) {
+            Integer ordinal = ordinalBySeatNo.get(seatNo);
+            if (ordinal == null || booked.get(ordinal) || requested.get(ordinal)) {
+                unavailableSeats.add(seatNo);
+                continue;
+            }
+            requested.set(ordinal);
+            ordinals[i++] = ordinal;
+        }
+
+        if (!unavailableSeats.isEmpty()) {
+            return SeatClaim.rejected(unavailableSeats);
+        }
+
+        int totalAmount = 0;
+        long changeVersion = version + 1;
+        for (int ordinal : ordinals) {
+            recordChange(changeVersion, ordinal);
+            booked.set(ordinal);
+            occupancy.addBooked(seatTypes[ordinal], 1);
+            // A booked seat is no longer held, whoever confirms the hold later
+            if (held.get(ordinal)) {
+                held.clear(ordinal);
+                occupancy.addHeld(seatTypes[ordinal], -1);
+            }
+            refreshAvailable(ordinal);
+            totalAmount += prices[ordinal];
+        }
+        return SeatClaim.accepted(ordinals, totalAmount);
+    }
+
+    /**
+     * Returns previously claimed seats to the available pool
+     */
+    public synchronized void release(int[] ordinals) {
+        long changeVersion = version + 1;
+        for (int ordinal : ordinals) {
+            if (booked.get(ordinal)) {
+                recordChange(changeVersion, ordinal);
+                booked.clear(ordinal);
+                occupancy.addBooked(seatTypes[ordinal], -1);
+                refreshAvailable(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Marks seats as temporarily held, booked and unknown seats are ignored
+     */
+    public synchronized void markHeld(Collection<String> seatNos) {
+        long changeVersion = version + 1;
+        for (String seatNo : seatNos) {
+            Integer ordinal = ordinalBySeatNo.get(seatNo);
+            if (ordinal != null && !booked.get(ordinal) && !held.get(ordinal)) {
+                recordChange(changeVersion, ordinal);
+                held.set(ordinal);
+                occupancy.addHeld(seatTypes[ordinal], 1);
+                refreshAvailable(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Clears the temporary hold on seats
+     */
+    public synchronized void clearHeld(Collection<String> seatNos) {
+        long changeVersion = version + 1;
+        for (String seatNo : seatNos) {
+            Integer ordinal = ordinalBySeatNo.get(seatNo);
+            if (ordinal != null && held.get(ordinal)) {
+                recordChange(changeVersion, ordinal);
+                held.clear(ordinal);
+                occupancy.addHeld(seatTypes[ordinal], -1);
+                refreshAvailable(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Replaces the held seats with the given set
+     *
+     * @return the number of seats whose held state changed
+     */
+    public synchronized int syncHeld(Set<String> heldSeatNos) {
+        int changed = 0;
+        long changeVersion = version + 1;
+        for (int ordinal = 0; ordinal < seatNos.length; ordinal++) {
+            boolean shouldBeHeld = !booked.get(ordinal) && heldSeatNos.contains(seatNos[ordinal]);
+            if (shouldBeHeld != held.get(ordinal)) {
+                recordChange(changeVersion, ordinal);
+                held.set(ordinal, shouldBeHeld);
+                occupancy.addHeld(seatTypes[ordinal], shouldBeHeld ? 1 : -1);
+                refreshAvailable(ordinal);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Up to limit seats of the type that are neither booked nor held
+     */
+    public synchronized List<String> findAvailable(SeatType seatType, int limit) {
+        List<String> available = new ArrayList<>();
+        BitSet free = availableByType[seatType.ordinal()];
+        for (int ordinal = free.nextSetBit(0); ordinal >= 0 && available.size() < limit; ordinal = free.nextSetBit(ordinal + 1)) {
+            available.add(seatNos[ordinal]);
+        }
+        return available;
+    }
+
+    /**
+     * Picks seats of one type for a run of requests, given in queue order, in a single pass.
+     * Each request gets seats that are neither booked, held nor picked for an earlier request,
+     * side by side in one row when such a block is left, and an empty list when too few seats are.
+     * Only picks the seats, their state does not change.
+     */
+    public synchronized List<List<String>> pickSeats(SeatType seatType, List<Integer> seatCounts) {
+        BitSet free = (BitSet) availableByType[seatType.ordinal()].clone();
+        int left = free.cardinality();
+        List<List<String>> picked = new ArrayList<>(seatCounts.size());
+        for (int count : seatCounts) {
+            if (count <= 0 || count > left) {
+                picked.add(List.of());
+                continue;
+            }
+            List<String> seats = new ArrayList<>(count);
+            int start = findBlock(free, count);
+            if (start >= 0) {
+                for (int ordinal = start; ordinal < start + count; ordinal++) {
+                    seats.add(seatNos[ordinal]);
+                }
+                free.clear(start, start + count);
+            } else {
+                // No block that long is left, the first free seats of the type
+                for (int ordinal = free.nextSetBit(0); seats.size() < count; ordinal = free.nextSetBit(ordinal + 1)) {
+                    seats.add(seatNos[ordinal]);
+                    free.clear(ordinal);
+                }
+            }
+            left -= count;
+            picked.add(seats);
+        }
+        return picked;
+    }
+
+    /**
+     * Current price of each seat type in the show
+     */
+    public synchronized Map<String, Integer> pricesBySeatType() {
+        Map<String, Integer> pricesByType = new HashMap<>();
+        for (SeatType seatType : SeatType.values()) {
+            int ordinal = firstOrdinalByType[seatType.ordinal()];
+            if (ordinal >= 0) {
+                pricesByType.put(seatType.toString(), prices[ordinal]);
+            }
+        }
+        return pricesByType;
+    }
+
+    /**
+     * Base price of each seat type in the show, which dynamic pricing multiplies
+     */
+    public Map<String, Integer> basePricesBySeatType() {
+        return basePrices;
+    }
+
+    /**
+     * Read-only availability check, returns the seats that cannot be booked
+     */
+    public synchronized List<String> findUnavailable(Collection<String> requestedSeats) {
+        List<String> unavailableSeats = new ArrayList<>();
+        for (String seatNo : requestedSeats) {
+            Integer ordinal = ordinalBySeatNo.get(seatNo);
+            if (ordinal == null || booked.get(ordinal)) {
+                unavailableSeats.add(seatNo);
+            }
+        }
+        return unavailableSeats;
+    }
+
+    /**
+     * Applies a new price to every seat of the given type
+     */
+    public synchronized void updatePrices(Map<String, Integer> pricesBySeatType) {
+        boolean changed = false;
+        for (int ordinal = 0; ordinal < prices.length; ordinal++) {
+            Integer price = pricesBySeatType.get(seatTypes[ordinal].toString());
+            if (price != null && price != prices[ordinal]) {
+                prices[ordinal] = price;
+                changed = true;
+            }
+        }
+        // Price changes are not logged per seat, pollers behind this version get the full map
+        if (changed) {
+            version++;
+            pricesChangedAt = version;
+        }
+    }
+
+    /**
+     * Compact snapshot of the layout at the current version
+     */
+    public synchronized SeatMap seatMap() {
+        return SeatMap.of(showId, version, seatNoTemplate, seatTypes, prices, statuses(), null);
+    }
+
+    /**
+     * Snapshot of the layout that also lists the seats changed after the given version.
+     * The list is left out when the change log no longer covers that version.
+     */
+    public synchronized SeatMap seatMap(long sinceVersion) {
+        return SeatMap.of(showId, version, seatNoTemplate, seatTypes, prices, statuses(), changedSince(sinceVersion));
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public int ordinalOf(String seatNo) {
+        Integer ordinal = ordinalBySeatNo.get(seatNo);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public synchronized boolean isBooked(int ordinal) {
+        return booked.get(ordinal);
+    }
+
+    public synchronized boolean isHeld(int ordinal) {
+        return held.get(ordinal);
+    }
+
+    public int bookedCount() {
+        return occupancy.getBookedSeats();
+    }
+
+    public ShowOccupancy getOccupancy() {
+        return occupancy;
+    }
+
+    public synchronized int priceOf(int ordinal) {
+        return prices[ordinal];
+    }
+
+    public String seatNoOf(int ordinal) {
+        return seatNos[ordinal];
+    }
+
+    public SeatType seatTypeOf(int ordinal) {
+        return seatTypes[ordinal];
+    }
+
+    public int size() {
+        return seatNos.length;
+    }
+
+    private byte[] statuses() {
+        byte[] statuses = new byte[seatNos.length];
+        for (int ordinal = booked.nextSetBit(0); ordinal >= 0; ordinal = booked.nextSetBit(ordinal + 1)) {
+            statuses[ordinal] = SeatMap.BOOKED;
+        }
+        for (int ordinal = held.nextSetBit(0); ordinal >= 0; ordinal = held.nextSetBit(ordinal + 1)) {
+            statuses[ordinal] = SeatMap.TEMP_SELECTED;
+        }
+        return statuses;
+    }
+
+    private void refreshAvailable(int ordinal) {
+        availableByType[seatTypes[ordinal].ordinal()].set(ordinal, !booked.get(ordinal) && !held.get(ordinal));
+    }
+
+    // First ordinal of count free seats side by side in one row, -1 if there is no such block
+    private int findBlock(BitSet free, int count) {
+        for (int start = free.nextSetBit(0); start >= 0; ) {
+            int end = free.nextClearBit(start);
+            int rowEnd = rowStarts.nextSetBit(start + 1);
+            if (rowEnd >= 0 && rowEnd < end) {
+                end = rowEnd;
+            }
+            if (end - start >= count) {
+                return start;
+            }
+            start = free.nextSetBit(end);
+        }
+        return -1;
+    }
+
+    private void recordChange(long changeVersion, int ordinal) {
+        int slot = (int) (changeCount % CHANGE_LOG_CAPACITY);
+        if (changeCount >= CHANGE_LOG_CAPACITY) {
+            droppedVersion = changeVersions[slot];
+        }
+        changeVersions[slot] = changeVersion;
+        changeOrdinals[slot] = ordinal;
+        changeCount++;
+        version = changeVersion;
+    }
+
+    // Ordinals changed after the given version, null if the log cannot tell
+    private int[] changedSince(long sinceVersion) {
+        if (sinceVersion > version || sinceVersion < droppedVersion || sinceVersion < pricesChangedAt) {
+            return null;
+        }
+        BitSet changed = new BitSet(seatNos.length);
+        long retained = Math.min(changeCount, CHANGE_LOG_CAPACITY);
+        for (long i = changeCount - 1; i >= changeCount - retained; i--) {
+            int slot = (int) (i % CHANGE_LOG_CAPACITY);
+            if (changeVersions[slot] <= sinceVersion) {
+                break;
+            }
+            changed.set(changeOrdinals[slot]);
+        }
+        return changed.stream().toArray();
+    }
+
+    public Integer getShowId() {
+        return showId;
+    }
+}
@@ -0,0 +1,200 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hierarchical timing wheel.
+ * The lowest wheel has a resolution of one tick, timers further out are put on
+ * coarser overflow wheels and cascade down as their bucket comes due. Scheduling
+ * and cancelling a timer is O(1) and the driving thread only wakes up when a
+ * bucket actually expires, however many timers are pending.
+ */
+public class TimingWheel {
+
+    private final DelayQueue<Bucket> dueBuckets = new DelayQueue<>();
+    private final Queue<Timeout> dueTimeouts = new ConcurrentLinkedQueue<>();
+
+    // Guarded by "this"
+    private final Wheel rootWheel;
+
+    public TimingWheel(long tickMs, int wheelSize) {
+        this.rootWheel = new Wheel(tickMs, wheelSize, now());
+    }
+
+    /**
+     * Runs the task once the delay has elapsed, unless the returned timeout is cancelled first
+     */
+    public Timeout schedule(long delayMs, Runnable task) {
+        Timeout timeout = new Timeout(now() + Math.max(delayMs, 0), task);
+        synchronized (this) {
+            if (!rootWheel.add(timeout)) {
+                dueTimeouts.add(timeout);
+            }
+        }
+        return timeout;
+    }
+
+    /**
+     * Waits up to the given time for a bucket to expire and runs every timer that is due.
+     * Meant to be called in a loop by a single driver thread.
+     *
+     * @return the number of timers that fired
+     */
+    public int advance(long maxWaitMs) throws InterruptedException {
+        List<Timeout> expired = new ArrayList<>();
+        Bucket bucket = dueTimeouts.isEmpty()
+                ? dueBuckets.poll(maxWaitMs, TimeUnit.MILLISECONDS)
+                : dueBuckets.poll();
+
+        if (bucket != null) {
+            synchronized (this) {
+                while (bucket != null) {
+                    rootWheel.advanceClock(bucket.getExpiration());
+                    // Re-inserting cascades a timer to a finer wheel, or reports it as due
+                    for (Timeout timeout : bucket.drain()) {
+                        if (!rootWheel.add(timeout)) {
+                            dueTimeouts.add(timeout);
+                        }
+                    }
+                    bucket = dueBuckets.poll();
+                }
+            }
+        }
+
+        Timeout timeout;
+        while ((timeout = dueTimeouts.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                expired.add(timeout);
+            }
+        }
+        for (Timeout due : expired) {
+            due.task.run();
+        }
+        return expired.size();
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * Handle to a scheduled task
+     */
+    public static final class Timeout {
+        private final long expirationMs;
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        private Timeout(long expirationMs, Runnable task) {
+            this.expirationMs = expirationMs;
+            this.task = task;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * One level of the hierarchy, all access happens under the timing wheel's lock
+     */
+    private final class Wheel {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private Wheel overflowWheel;
+
+        private Wheel(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        /**
+         * @return false if the timeout is already due (or cancelled) and was not added
+         */
+        private boolean add(Timeout timeout) {
+            long expiration = timeout.expirationMs;
+            if (timeout.isCancelled() || expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(timeout);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    dueBuckets.offer(bucket);
+                }
+                return true;
+            }
+            if (overflowWheel == null) {
+                overflowWheel = new Wheel(interval, wheelSize, currentTime);
+            }
+            return overflowWheel.add(timeout);
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflowWheel != null) {
+                    overflowWheel.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket implements Delayed {
+        private final AtomicLong expiration = new AtomicLong(-1);
+        private final List<Timeout> timeouts = new ArrayList<>();
+
+        private void add(Timeout timeout) {
+            timeouts.add(timeout);
+        }
+
+        /**
+         * @return true if the bucket moved to a new expiration and has to be re-queued
+         */
+        private boolean setExpiration(long expirationMs) {
+            return expiration.getAndSet(expirationMs) != expirationMs;
+        }
+
+        private long getExpiration() {
+            return expiration.get();
+        }
+
+        private List<Timeout> drain() {
+            List<Timeout> drained = new ArrayList<>(timeouts);
+            timeouts.clear();
+            expiration.set(-1);
+            return drained;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration.get() - now(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration.get(), ((Bucket) other).expiration.get());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter that refills at a fixed rate up to one second's worth of permits.
+ * Callers take what is left instead of waiting for it, so a caller serving several
+ * limits can move on to the others while this one refills.
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+    private final int capacity;
+    private final LongSupplier nanoClock;
+
+    // Guarded by "this"
+    private double permits;
+    private long refilledAt;
+
+    public TokenBucket(int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    public TokenBucket(int permitsPerSecond, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / 1e9;
+        this.capacity = permitsPerSecond;
+        this.nanoClock = nanoClock;
+        this.permits = permitsPerSecond;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take up to the requested number of permits
+     *
+     * @return the number of permits taken, 0 when the bucket is empty
+     */
+    public synchronized int tryAcquire(int requested) {
+        refill();
+        int taken = (int) Math.min(requested, Math.floor(permits));
+        permits -= taken;
+        return taken;
+    }
+
+    /**
+     * Milliseconds until at least one permit is available
+     */
+    public synchronized long millisUntilAvailable() {
+        refill();
+        if (permits >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - permits) / permitsPerNano / 1_000_000);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        permits = Math.min(capacity, permits + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,321 @@
+package com.acciojob.bookmyshowapplication.Engine;
+
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Pending waitlist entries of a single show, in the order they joined.
+ * Entries are ordered by waitlist ID, which comes from a sequence. A Fenwick tree
+ * counts the entries still pending, so a queue position is a prefix sum: looking
+ * one up, adding an entry at the tail and removing any entry are all O(log n).
+ * Entries that leave the queue keep their slot until slots outnumber pending entries,
+ * the queue is then compacted. The users with a pending entry, or with a seat offer
+ * made from the queue, are kept in maps as well, so a user still waiting or holding
+ * an offer is found in constant time.
+ * For matching, entries are also kept in FIFO buckets per seat type and number of
+ * seats, so freed seats are offered without looking at entries that cannot take them.
+ */
+public class WaitlistQueue {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * A pending entry, seatType is null if the requested seat type is unknown
+     */
+    public record Entry(int waitlistId, int userId, SeatType seatType, int seats) {
+    }
+
+    private final Integer showId;
+    // Waitlist IDs in ascending order, including ones that left the queue
+    private int[] ids;
+    private boolean[] pending;
+    // Fenwick tree over the pending flags, 1-based
+    private int[] tree;
+    private int slots;
+    private int pendingCount;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<Integer, Integer> waitlistIdsByUser = new HashMap<>();
+    // Entries that left the queue with a seat offer, by user, until the offer is closed
+    private final Map<Integer, Integer> offeredWaitlistIdsByUser = new HashMap<>();
+    // Pending waitlist IDs by seat type, then by number of seats
+    private final Map<SeatType, NavigableMap<Integer, TreeSet<Integer>>> buckets = new EnumMap<>(SeatType.class);
+
+    /**
+     * @param pendingEntries the show's pending entries, in any order
+     */
+    public WaitlistQueue(Integer showId, Collection<Entry> pendingEntries) {
+        this(showId, pendingEntries, List.of());
+    }
+
+    /**
+     * @param pendingEntries the show's pending entries, in any order
+     * @param offeredEntries the show's entries holding a seat offer
+     */
+    public WaitlistQueue(Integer showId, Collection<Entry> pendingEntries, Collection<Entry> offeredEntries) {
+        this.showId = showId;
+        for (Entry entry : offeredEntries) {
+            offeredWaitlistIdsByUser.put(entry.userId(), entry.waitlistId());
+        }
+        int[] sorted = pendingEntries.stream().mapToInt(Entry::waitlistId).sorted().distinct().toArray();
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, sorted.length)) << 1);
+        ids = Arrays.copyOf(sorted, capacity);
+        pending = new boolean[capacity];
+        Arrays.fill(pending, 0, sorted.length, true);
+        slots = sorted.length;
+        pendingCount = sorted.length;
+        for (Entry entry : pendingEntries) {
+            track(entry);
+        }
+        rebuildTree();
+    }
+
+    public Integer getShowId() {
+        return showId;
+    }
+
+    /**
+     * Put an entry in the queue. Adding an entry that is already pending changes nothing.
+     */
+    public synchronized void add(Entry entry) {
+        int waitlistId = entry.waitlistId();
+        int slot = Arrays.binarySearch(ids, 0, slots, waitlistId);
+        if (slot >= 0) {
+            if (!pending[slot]) {
+                pending[slot] = true;
+                update(slot + 1, 1);
+                pendingCount++;
+                track(entry);
+            }
+            return;
+        }
+
+        int insertAt = -slot - 1;
+        ensureCapacity(slots + 1);
+        if (insertAt == slots) {
+            // IDs come from a sequence, so this is the usual case: append and fill in the new tree node
+            ids[slots] = waitlistId;
+            pending[slots] = true;
+            int node = slots + 1;
+            tree[node] = 1 + prefixSum(node - 1) - prefixSum(node - (node & -node));
+            slots++;
+        } else {
+            // An entry that committed after a later one, rare enough to rebuild for
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, slots - insertAt);
+            System.arraycopy(pending, insertAt, pending, insertAt + 1, slots - insertAt);
+            ids[insertAt] = waitlistId;
+            pending[insertAt] = true;
+            slots++;
+            rebuildTree();
+        }
+        pendingCount++;
+        track(entry);
+    }
+
+    /**
+     * Take an entry out of the queue
+     *
+     * @return false if the entry was not pending
+     */
+    public synchronized boolean remove(int waitlistId) {
+        int slot = Arrays.binarySearch(ids, 0, slots, waitlistId);
+        if (slot < 0 || !pending[slot]) {
+            return false;
+        }
+        pending[slot] = false;
+        update(slot + 1, -1);
+        pendingCount--;
+        untrack(waitlistId);
+        if (slots - pendingCount > Math.max(pendingCount, MIN_CAPACITY)) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Take an entry out of the queue because its user got a seat offer. The user stays a
+     * member of the queue, see {@link #containsUser}, until the offer is closed.
+     *
+     * @return false if the entry was not pending
+     */
+    public synchronized boolean offer(int waitlistId) {
+        Entry entry = entries.get(waitlistId);
+        if (entry == null || !remove(waitlistId)) {
+            return false;
+        }
+        offeredWaitlistIdsByUser.put(entry.userId(), waitlistId);
+        return true;
+    }
+
+    /**
+     * Forget the seat offer of an entry once it is booked, expired or cancelled
+     */
+    public synchronized void closeOffer(int userId, int waitlistId) {
+        offeredWaitlistIdsByUser.remove(userId, waitlistId);
+    }
+
+    /**
+     * Entries that the given number of free seats of a type go to, in queue order: each one is
+     * the earliest entry that still fits in the seats left, as if the queue were walked from the front.
+     * Entries stay in the queue until they are removed.
+     */
+    public synchronized List<Entry> match(SeatType seatType, int availableSeats) {
+        List<Entry> matched = new ArrayList<>();
+        NavigableMap<Integer, TreeSet<Integer>> bySeats = buckets.get(seatType);
+        if (bySeats == null) {
+            return matched;
+        }
+
+        // Cursor into each bucket, the bucket heads compete for the seats left
+        Map<Integer, Iterator<Integer>> cursors = new HashMap<>();
+        Map<Integer, Integer> heads = new HashMap<>();
+        for (Map.Entry<Integer, TreeSet<Integer>> bucket : bySeats.entrySet()) {
+            Iterator<Integer> cursor = bucket.getValue().iterator();
+            cursors.put(bucket.getKey(), cursor);
+            heads.put(bucket.getKey(), cursor.next());
+        }
+
+        int remaining = availableSeats;
+        while (remaining > 0) {
+            int bestSeats = 0;
+            int bestId = Integer.MAX_VALUE;
+            for (Integer seats : bySeats.headMap(remaining, true).keySet()) {
+                Integer head = heads.get(seats);
+                if (head != null && head < bestId) {
+                    bestId = head;
+                    bestSeats = seats;
+                }
+            }
+            if (bestSeats == 0) {
+                break;
+            }
+            matched.add(entries.get(bestId));
+            remaining -= bestSeats;
+            Iterator<Integer> cursor = cursors.get(bestSeats);
+            heads.put(bestSeats, cursor.hasNext() ? cursor.next() : null);
+        }
+        return matched;
+    }
+
+    /**
+     * 1-based position of a pending entry, or the position an entry with this ID would take if it were added
+     */
+    public synchronized int positionOf(int waitlistId) {
+        int slot = Arrays.binarySearch(ids, 0, slots, waitlistId);
+        int ahead = prefixSum(slot >= 0 ? slot : -slot - 1);
+        return ahead + 1;
+    }
+
+    public synchronized boolean contains(int waitlistId) {
+        int slot = Arrays.binarySearch(ids, 0, slots, waitlistId);
+        return slot >= 0 && pending[slot];
+    }
+
+    /**
+     * Whether the user has a pending entry in this queue or holds a seat offer made from it
+     */
+    public synchronized boolean containsUser(int userId) {
+        return waitlistIdsByUser.containsKey(userId) || offeredWaitlistIdsByUser.containsKey(userId);
+    }
+
+    /**
+     * Number of pending entries
+     */
+    public synchronized int size() {
+        return pendingCount;
+    }
+
+    /**
+     * True if no entry is pending and no seat offer is open
+     */
+    public synchronized boolean isEmpty() {
+        return pendingCount == 0 && offeredWaitlistIdsByUser.isEmpty();
+    }
+
+    private void track(Entry entry) {
+        entries.put(entry.waitlistId(), entry);
+        waitlistIdsByUser.put(entry.userId(), entry.waitlistId());
+        if (entry.seatType() != null && entry.seats() > 0) {
+            buckets.computeIfAbsent(entry.seatType(), type -> new TreeMap<>())
+                    .computeIfAbsent(entry.seats(), seats -> new TreeSet<>())
+                    .add(entry.waitlistId());
+        }
+    }
+
+    private void untrack(int waitlistId) {
+        Entry entry = entries.remove(waitlistId);
+        if (entry == null) {
+            return;
+        }
+        waitlistIdsByUser.remove(entry.userId(), waitlistId);
+        NavigableMap<Integer, TreeSet<Integer>> bySeats = buckets.get(entry.seatType());
+        if (bySeats != null) {
+            TreeSet<Integer> bucket = bySeats.get(entry.seats());
+            if (bucket != null && bucket.remove(waitlistId) && bucket.isEmpty()) {
+                bySeats.remove(entry.seats());
+            }
+        }
+    }
+
+    // Sum of the pending flags of the first count slots
+    private int prefixSum(int count) {
+        int sum = 0;
+        for (int node = count; node > 0; node -= node & -node) {
+            sum += tree[node];
+        }
+        return sum;
+    }
+
+    private void update(int node, int delta) {
+        for (; node <= slots; node += node & -node) {
+            tree[node] += delta;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = ids.length << 1;
+        ids = Arrays.copyOf(ids, newCapacity);
+        pending = Arrays.copyOf(pending, newCapacity);
+        // Nodes up to slots only cover slots below them, growing does not change them
+        tree = Arrays.copyOf(tree, newCapacity + 1);
+    }
+
+    private void compact() {
+        int kept = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (pending[slot]) {
+                ids[kept] = ids[slot];
+                pending[kept] = true;
+                kept++;
+            }
+        }
+        Arrays.fill(pending, kept, slots, false);
+        slots = kept;
+        rebuildTree();
+    }
+
+    // O(n) build: each node adds itself to its parent
+    private void rebuildTree() {
+        tree = new int[ids.length + 1];
+        for (int node = 1; node <= slots; node++) {
+            tree[node] += pending[node - 1] ? 1 : 0;
+            int parent = node + (node & -node);
+            if (parent <= slots) {
+                tree[parent] += tree[node];
+            }
+        }
+    }
+}
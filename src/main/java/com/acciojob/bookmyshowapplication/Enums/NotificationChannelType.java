@@ -0,0 +1,7 @@
+package com.acciojob.bookmyshowapplication.Enums;
+
+public enum NotificationChannelType {
+    EMAIL,
+    SMS,
+    PUSH
+}
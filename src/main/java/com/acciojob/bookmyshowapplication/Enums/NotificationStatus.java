@@ -0,0 +1,7 @@
+package com.acciojob.bookmyshowapplication.Enums;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
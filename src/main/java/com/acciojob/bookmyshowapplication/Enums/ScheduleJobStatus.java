@@ -0,0 +1,8 @@
+package com.acciojob.bookmyshowapplication.Enums;
+
+public enum ScheduleJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -65,6 +65,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
     
+    /**
+     * Handle exports refused while the export limit is reached
+     */
+    @ExceptionHandler(TooManyExportsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyExportsException(
+            TooManyExportsException ex,
+            HttpServletRequest request) {
+
+        logger.warn("Export refused: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Busy",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handle business exceptions
      */
@@ -0,0 +1,11 @@
+package com.acciojob.bookmyshowapplication.Exceptions;
+
+/**
+ * Exception thrown when an export is requested while the most exports allowed at once are running
+ */
+public class TooManyExportsException extends RuntimeException {
+
+    public TooManyExportsException(String message) {
+        super(message);
+    }
+}
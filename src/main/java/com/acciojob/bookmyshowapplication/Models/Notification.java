@@ -0,0 +1,59 @@
+package com.acciojob.bookmyshowapplication.Models;
+
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Enums.NotificationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+// Outbox: written in the transaction that decides to notify, sent once that transaction has committed
+@Table(name = "notifications",
+        indexes = @Index(name = "idx_notifications_due", columnList = "status, channel, next_attempt_at"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Notification {
+
+    // Sequence IDs let a burst of notifications be inserted in JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
+    private Long notificationId;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationChannelType channel;
+
+    private String recipient;  // Email address, mobile number or user ID, depending on the channel
+    private String subject;
+
+    @Column(length = 2000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private NotificationStatus status = NotificationStatus.PENDING;
+
+    @Builder.Default
+    private Integer attempts = 0;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
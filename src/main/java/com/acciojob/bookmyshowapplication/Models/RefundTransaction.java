@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -21,8 +23,10 @@ public class RefundTransaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer refundId;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Ticket ticket;
 
     private Integer originalAmount;
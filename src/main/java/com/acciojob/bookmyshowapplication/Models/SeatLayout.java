@@ -0,0 +1,93 @@
+package com.acciojob.bookmyshowapplication.Models;
+
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Seat layout of a theater, stored once and shared by every show scheduled on it.
+ * Seat numbers are stored comma separated and seat types one byte per seat, both in
+ * ordinal order. A layout never changes: adding seats to a theater publishes a new
+ * layout and the shows created before keep theirs.
+ */
+@Entity
+@Table(name = "seat_layouts")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class SeatLayout {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer layoutId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn
+    private Theater theater;
+
+    private Integer seatCount;
+
+    @Column(length = 1_000_000)
+    private String seatNumbers;
+
+    // SeatType ordinal of each seat
+    @Column(length = 100_000)
+    private byte[] seatTypeCodes;
+
+    private LocalDateTime createdAt;
+
+    // Decoded once per instance and shared read-only by the inventories built on it
+    @Transient
+    private String[] seatNos;
+    @Transient
+    private SeatType[] seatTypes;
+    @Transient
+    private Map<String, Integer> ordinalBySeatNo;
+
+    public static SeatLayout of(Theater theater, String[] seatNos, SeatType[] seatTypes) {
+        SeatLayout layout = new SeatLayout();
+        layout.theater = theater;
+        layout.seatCount = seatNos.length;
+        layout.seatNumbers = String.join(",", seatNos);
+        layout.seatTypeCodes = new byte[seatTypes.length];
+        for (int ordinal = 0; ordinal < seatTypes.length; ordinal++) {
+            layout.seatTypeCodes[ordinal] = (byte) seatTypes[ordinal].ordinal();
+        }
+        layout.createdAt = LocalDateTime.now();
+        layout.decode();
+        return layout;
+    }
+
+    @PostLoad
+    void decode() {
+        seatNos = seatCount == 0 ? new String[0] : seatNumbers.split(",", -1);
+        seatTypes = new SeatType[seatCount];
+        ordinalBySeatNo = new HashMap<>(seatCount * 2);
+        for (int ordinal = 0; ordinal < seatCount; ordinal++) {
+            seatTypes[ordinal] = SeatType.values()[seatTypeCodes[ordinal]];
+            ordinalBySeatNo.put(seatNos[ordinal], ordinal);
+        }
+    }
+
+    /**
+     * Ordinal of the seat in this layout, -1 if there is no such seat
+     */
+    public int ordinalOf(String seatNo) {
+        Integer ordinal = ordinalBySeatNo.get(seatNo);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Whether the layout has exactly these seats, in this order
+     */
+    public boolean hasSeats(String[] seatNos, SeatType[] seatTypes) {
+        return Arrays.equals(this.seatNos, seatNos) && Arrays.equals(this.seatTypes, seatTypes);
+    }
+}
@@ -15,8 +15,10 @@ public class SeatSelection {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer selectionId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Show show;
 
     private String seatNo;
@@ -4,12 +4,17 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
 @Table(name = "shows")
+// Single show lookups are displayed or matched by movie and theater, so they load both
+@NamedEntityGraph(name = "Show.movieAndTheater",
+        attributeNodes = {@NamedAttributeNode("movie"), @NamedAttributeNode("theater")})
 @Data
 @Builder
 @AllArgsConstructor
@@ -17,16 +22,22 @@ import java.time.LocalTime;
 
 public class Show {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence IDs let bulk scheduling insert shows in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shows_seq")
+    @SequenceGenerator(name = "shows_seq", sequenceName = "shows_seq", allocationSize = 50)
     private Integer showId;
     private LocalDate showDate; //"YYYY-MM-DD"
     private LocalTime showTime; //"HH:MM:SS"
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Movie movie;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Theater theater;
 }
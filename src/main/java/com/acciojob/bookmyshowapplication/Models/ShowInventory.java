@@ -0,0 +1,89 @@
+package com.acciojob.bookmyshowapplication.Models;
+
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.BitSet;
+
+/**
+ * Seat state of one show on top of its theater's {@link SeatLayout}: which seats are
+ * booked, as a bitmap by layout ordinal, and one base and one current price per seat
+ * type. A single row replaces the show_seats row every seat used to have.
+ */
+@Entity
+@Table(name = "show_inventories")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShowInventory {
+
+    // Same as the show's ID
+    @Id
+    private Integer showId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn
+    private SeatLayout layout;
+
+    // BitSet.toByteArray() of the booked ordinals
+    @Column(length = 12_500)
+    private byte[] bookedSeats;
+
+    // Current prices, the base prices with dynamic pricing applied
+    private Integer priceOfClassicSeats;
+    private Integer priceOfPremiumSeats;
+
+    // Prices the show was scheduled with, dynamic pricing never changes them
+    private Integer basePriceOfClassicSeats;
+    private Integer basePriceOfPremiumSeats;
+
+    // Also tells Spring Data a new row from an existing one, so new rows are inserted without a select
+    @Version
+    private Long version;
+
+    public BitSet booked() {
+        return bookedSeats == null ? new BitSet() : BitSet.valueOf(bookedSeats);
+    }
+
+    public void setBooked(BitSet booked) {
+        this.bookedSeats = booked.toByteArray();
+    }
+
+    public int priceOf(SeatType seatType) {
+        Integer price = seatType == SeatType.CLASSIC ? priceOfClassicSeats : priceOfPremiumSeats;
+        return price == null ? 0 : price;
+    }
+
+    /**
+     * Base price of a seat type. Rows stored before base prices were kept have none
+     * until their first reprice, see {@link #setPrice}.
+     */
+    public int basePriceOf(SeatType seatType) {
+        Integer basePrice = seatType == SeatType.CLASSIC ? basePriceOfClassicSeats : basePriceOfPremiumSeats;
+        return basePrice == null ? priceOf(seatType) : basePrice;
+    }
+
+    public void setBasePrice(SeatType seatType, int basePrice) {
+        if (seatType == SeatType.CLASSIC) {
+            basePriceOfClassicSeats = basePrice;
+        } else {
+            basePriceOfPremiumSeats = basePrice;
+        }
+    }
+
+    /**
+     * Set the current price of a seat type. A row without a base price keeps the price
+     * it had until now as its base, so later reprices never build on a repriced value.
+     */
+    public void setPrice(SeatType seatType, int price) {
+        setBasePrice(seatType, basePriceOf(seatType));
+        if (seatType == SeatType.CLASSIC) {
+            priceOfClassicSeats = price;
+        } else {
+            priceOfPremiumSeats = price;
+        }
+    }
+}
@@ -4,6 +4,10 @@ import com.acciojob.bookmyshowapplication.Enums.SeatType;
 import jakarta.persistence.*;
 import lombok.*;
 
+/**
+ * A show's seat in the original one-row-per-seat storage. Seat state now lives in
+ * {@link ShowInventory}; these rows are only read to migrate shows created before.
+ */
 @Entity
 @Table(name = "show_seats")
 @Getter
@@ -15,7 +19,8 @@ import lombok.*;
 public class ShowSeat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "show_seats_seq")
+    @SequenceGenerator(name = "show_seats_seq", sequenceName = "show_seats_seq", allocationSize = 50)
     private Integer showSeatId;
 
     private String seatNo;
@@ -26,7 +31,7 @@ public class ShowSeat {
     private Integer price;
     private Boolean isAvailable;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
     private Show show;
 }
@@ -1,5 +1,6 @@
 package com.acciojob.bookmyshowapplication.Models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -24,6 +25,8 @@ public class Theater {
     private String address;
 
     private Integer noOfScreens;
+    // Not serialized: theaters are cached detached, and the seats refer back to their theater
+    @JsonIgnore
     @OneToMany(mappedBy = "theater",cascade = CascadeType.ALL)
     private List<TheaterSeat> theaterSeatList = new ArrayList<>();
 }
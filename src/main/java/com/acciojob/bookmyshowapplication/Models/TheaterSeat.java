@@ -14,7 +14,8 @@ import lombok.*;
 
 public class TheaterSeat {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "theater_seats_seq")
+    @SequenceGenerator(name = "theater_seats_seq", sequenceName = "theater_seats_seq", allocationSize = 50)
     private Integer theaterSeatId;
 
     private String seatNo;
@@ -23,7 +24,7 @@ public class TheaterSeat {
     private SeatType seatType;
 
     @JoinColumn
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Theater theater;
 
 }
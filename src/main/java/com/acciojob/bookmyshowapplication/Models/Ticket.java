@@ -6,14 +6,21 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 //import org.apache.catalina.User;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "tickets")
+// Keyset pagination of a user's tickets, newest first, reads this index
+@Table(name = "tickets", indexes = @Index(name = "idx_tickets_user_booked_at", columnList = "user_user_id, booked_at, ticket_id"))
+// Everything a ticket is shown with: its user, its show and the show's movie and theater
+@NamedEntityGraph(name = "Ticket.userAndShow",
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode(value = "show", subgraph = "show")},
+        subgraphs = @NamedSubgraph(name = "show", attributeNodes = {@NamedAttributeNode("movie"), @NamedAttributeNode("theater")}))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -45,12 +52,16 @@ public class Ticket {
     private String cancellationReason;
     private Double refundPercentage;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Show show;
 
     @PrePersist
@@ -0,0 +1,29 @@
+package com.acciojob.bookmyshowapplication.Models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One seat booked on a ticket, so a cancellation can release exactly the ticket's seats
+ */
+@Entity
+@Table(name = "ticket_seats")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketSeat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seats_seq")
+    @SequenceGenerator(name = "ticket_seats_seq", sequenceName = "ticket_seats_seq", allocationSize = 50)
+    private Integer ticketSeatId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn
+    private Ticket ticket;
+
+    private String seatNo;
+    private Integer price;
+}
@@ -5,28 +5,44 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "waitlists")
+// Queue of a show: its pending entries in ID order
+@Table(name = "waitlists",
+        indexes = @Index(name = "idx_waitlists_show_status", columnList = "show_show_id, status, waitlist_id"),
+        // One active entry per user and show, see activeEntry
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlists_active_entry",
+                columnNames = {"show_show_id", "user_user_id", "active_entry"}))
+// What a user's waitlist listing shows: the show with its movie and theater
+@NamedEntityGraph(name = "Waitlist.showDetails",
+        attributeNodes = @NamedAttributeNode(value = "show", subgraph = "show"),
+        subgraphs = @NamedSubgraph(name = "show", attributeNodes = {@NamedAttributeNode("movie"), @NamedAttributeNode("theater")}))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Waitlist {
 
+    // Also the queue order: identity IDs come from a sequence, so they increase in the order entries join
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer waitlistId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Show show;
 
     private String requestedSeatType;  // Can be "CLASSIC" or "PREMIUM"
@@ -43,9 +59,23 @@ public class Waitlist {
 
     private String notificationMessage;
 
+    // Seats held for the user while the entry is notified, comma separated, and when that hold runs out
+    private String offeredSeats;
+    private LocalDateTime offerExpiresAt;
+
+    // TRUE while the entry is pending or holds a seat offer, NULL otherwise. NULLs never collide in a unique constraint,
+    // so the constraint above acts as a partial unique index over active entries on any database.
+    private Boolean activeEntry;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        onUpdate();
         // Waitlist expires after the show time
     }
+
+    @PreUpdate
+    protected void onUpdate() {
+        activeEntry = status == WaitlistStatus.PENDING || status == WaitlistStatus.NOTIFIED ? Boolean.TRUE : null;
+    }
 }
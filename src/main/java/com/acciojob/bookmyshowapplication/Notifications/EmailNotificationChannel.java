@@ -0,0 +1,84 @@
+package com.acciojob.bookmyshowapplication.Notifications;
+
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Models.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends email through JavaMailSender, a whole batch over one SMTP connection.
+ * Without spring.mail.host there is no mail sender, as in development, and emails are logged instead.
+ */
+@Component
+public class EmailNotificationChannel implements NotificationChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailNotificationChannel.class);
+
+    @Autowired
+    private ObjectProvider<JavaMailSender> mailSenderProvider;
+
+    @Value("${notification.email.rate-per-second:50}")
+    private int ratePerSecond;
+
+    @Value("${notification.email.from:noreply@bookmyshow.local}")
+    private String from;
+
+    @Override
+    public NotificationChannelType getType() {
+        return NotificationChannelType.EMAIL;
+    }
+
+    @Override
+    public int getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    @Override
+    public Map<Long, String> send(List<Notification> batch) {
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            batch.forEach(notification -> logger.info("Email to {}: {} - {}",
+                    notification.getRecipient(), notification.getSubject(), notification.getBody()));
+            return Map.of();
+        }
+
+        Map<SimpleMailMessage, Long> idsByMessage = new IdentityHashMap<>();
+        for (Notification notification : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(notification.getRecipient());
+            message.setSubject(notification.getSubject());
+            message.setText(notification.getBody());
+            idsByMessage.put(message, notification.getNotificationId());
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        try {
+            mailSender.send(idsByMessage.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // Failed messages are keyed by the messages that were passed in
+            e.getFailedMessages().forEach((message, error) ->
+                    failures.put(idsByMessage.get(message), String.valueOf(error.getMessage())));
+            if (failures.isEmpty()) {
+                idsByMessage.values().forEach(id -> failures.put(id, String.valueOf(e.getMessage())));
+            }
+        } catch (MailException e) {
+            // Could not connect or authenticate, nothing was sent
+            idsByMessage.values().forEach(id -> failures.put(id, String.valueOf(e.getMessage())));
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,26 @@
+package com.acciojob.bookmyshowapplication.Notifications;
+
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Models.Notification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A way of reaching users. NotificationService picks up every channel bean and hands it
+ * its due notifications in batches, at most getRatePerSecond() of them per second.
+ * A channel that fails a notification gets it again later, so sends should be safe to repeat.
+ */
+public interface NotificationChannel {
+
+    NotificationChannelType getType();
+
+    int getRatePerSecond();
+
+    /**
+     * Send a batch of notifications
+     *
+     * @return why each notification that could not be sent failed, by notification ID; empty if all were sent
+     */
+    Map<Long, String> send(List<Notification> batch);
+}
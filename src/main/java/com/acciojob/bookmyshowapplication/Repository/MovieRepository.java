@@ -1,12 +1,58 @@
 package com.acciojob.bookmyshowapplication.Repository;
 
 import com.acciojob.bookmyshowapplication.Models.Movie;
+import com.acciojob.bookmyshowapplication.Responses.MovieSummary;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookups are served from the "movies" cache, MovieService evicts it on every write.
+ * Cached movies are shared between callers and must not be modified.
+ */
 public interface MovieRepository extends JpaRepository<Movie,Integer> {
 
+    @Cacheable(cacheNames = "movies", key = "'name:' + #p0", unless = "#result == null")
     Movie findMovieByMovieName(String movieName);
+
+    @Cacheable(cacheNames = "movies", key = "'name:' + #p0", unless = "#result == null")
     @Query(value = "select * from movies where movie_name = :movieName", nativeQuery = true)
     Movie findMovie(String movieName);
+
+    @Override
+    @Cacheable(cacheNames = "movies", key = "'id:' + #p0", unless = "#result == null")
+    Optional<Movie> findById(Integer movieId);
+
+    /**
+     * Movies after the given ID in ID order, the page of a keyset-paginated listing
+     */
+    @Cacheable(cacheNames = "movies", key = "'page:' + #p0 + ':' + #p1.max()")
+    @Query("SELECT new com.acciojob.bookmyshowapplication.Responses.MovieSummary(m.movieId, m.movieName, m.genre, " +
+            "m.language, m.releaseDate, m.duration, m.rating) FROM Movie m WHERE m.movieId > :afterId ORDER BY m.movieId")
+    List<MovieSummary> findPage(@Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Movies after the given ID in ID order, a page of an export; not cached, unlike findPage,
+     * so an export does not push the listing pages out of the cache
+     */
+    @Query("SELECT new com.acciojob.bookmyshowapplication.Responses.MovieSummary(m.movieId, m.movieName, m.genre, " +
+            "m.language, m.releaseDate, m.duration, m.rating) FROM Movie m WHERE m.movieId > :afterId ORDER BY m.movieId")
+    List<MovieSummary> findExportPage(@Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Updates rating and duration in place, without loading (and modifying) a cached movie
+     *
+     * @return the number of movies updated, 0 if there is no movie with this ID
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Movie m SET m.rating = :rating, m.duration = :duration WHERE m.movieId = :movieId")
+    int updateAttributes(@Param("movieId") Integer movieId, @Param("rating") double rating, @Param("duration") double duration);
 }
@@ -0,0 +1,38 @@
+package com.acciojob.bookmyshowapplication.Repository;
+
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Enums.NotificationStatus;
+import com.acciojob.bookmyshowapplication.Models.Notification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /**
+     * Pending notifications of the given channels that are due, oldest first (index idx_notifications_due)
+     */
+    @Query("SELECT n FROM Notification n WHERE n.status = :status AND n.channel IN :channels " +
+            "AND n.nextAttemptAt <= :now ORDER BY n.notificationId")
+    List<Notification> findDue(@Param("status") NotificationStatus status,
+                               @Param("channels") Collection<NotificationChannelType> channels,
+                               @Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Mark a sent batch in one statement
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.acciojob.bookmyshowapplication.Enums.NotificationStatus.SENT, " +
+            "n.attempts = n.attempts + 1, n.sentAt = :sentAt, n.lastError = null WHERE n.notificationId IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    long countByStatus(NotificationStatus status);
+}
@@ -3,6 +3,7 @@ package com.acciojob.bookmyshowapplication.Repository;
 import com.acciojob.bookmyshowapplication.Enums.RefundStatus;
 import com.acciojob.bookmyshowapplication.Models.RefundTransaction;
 import com.acciojob.bookmyshowapplication.Models.Ticket;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -14,5 +15,7 @@ public interface RefundTransactionRepository extends JpaRepository<RefundTransac
 
     List<RefundTransaction> findByRefundStatus(RefundStatus refundStatus);
 
+    // Returned as is by the refund status endpoint, so the whole ticket comes along
+    @EntityGraph(attributePaths = {"ticket.user", "ticket.show.movie", "ticket.show.theater"})
     Optional<RefundTransaction> findByTicketTicketId(String ticketId);
 }
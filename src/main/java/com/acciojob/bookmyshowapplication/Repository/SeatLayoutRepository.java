@@ -0,0 +1,15 @@
+package com.acciojob.bookmyshowapplication.Repository;
+
+import com.acciojob.bookmyshowapplication.Models.SeatLayout;
+import com.acciojob.bookmyshowapplication.Models.Theater;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface SeatLayoutRepository extends JpaRepository<SeatLayout, Integer> {
+
+    /**
+     * The theater's current layout, the one published last
+     */
+    Optional<SeatLayout> findFirstByTheaterOrderByLayoutIdDesc(Theater theater);
+}
@@ -1,7 +1,6 @@
 package com.acciojob.bookmyshowapplication.Repository;
 
 import com.acciojob.bookmyshowapplication.Models.SeatSelection;
-import com.acciojob.bookmyshowapplication.Models.Show;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,14 +9,20 @@ import java.util.Date;
 import java.util.List;
 
 public interface SeatSelectionRepository extends JpaRepository<SeatSelection, Integer> {
-    List<SeatSelection> findByShowAndStatusAndCreatedAtAfter(Show show, String status, Date cutoffTime);
+    List<SeatSelection> findByStatusAndCreatedAtAfter(String status, Date cutoffTime);
 
     @Modifying
     @Transactional
-    void deleteByUserMobNoAndShow(String userMobNo, Show show);
+    @Query("DELETE FROM SeatSelection s WHERE s.show.showId = :showId AND s.userMobNo = :userMobNo AND s.status = 'TEMP'")
+    void deleteTempSelections(Integer showId, String userMobNo);
 
     @Modifying
     @Transactional
     @Query("DELETE FROM SeatSelection s WHERE s.status = 'TEMP' AND s.createdAt < :cutoffTime")
     void deleteExpiredTempSelections(Date cutoffTime);
+
+    // Bookings made before tickets recorded their seats marked the user's selections CONFIRMED
+    @Query("SELECT s FROM SeatSelection s WHERE s.show.showId = :showId AND s.userMobNo = :userMobNo " +
+            "AND s.status = 'CONFIRMED' AND s.createdAt BETWEEN :from AND :to")
+    List<SeatSelection> findConfirmedSelections(Integer showId, String userMobNo, Date from, Date to);
 }
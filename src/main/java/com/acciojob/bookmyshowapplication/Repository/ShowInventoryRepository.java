@@ -0,0 +1,22 @@
+package com.acciojob.bookmyshowapplication.Repository;
+
+import com.acciojob.bookmyshowapplication.Models.ShowInventory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ShowInventoryRepository extends JpaRepository<ShowInventory, Integer> {
+
+    /**
+     * Reads the show's seat state and locks its row until the transaction ends,
+     * so concurrent bookings of the show update the bitmap one after another.
+     * Take it as the last write of a transaction to keep the lock short.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM ShowInventory i WHERE i.showId = :showId")
+    Optional<ShowInventory> findForUpdate(@Param("showId") Integer showId);
+}
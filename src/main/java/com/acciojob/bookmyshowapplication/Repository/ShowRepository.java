@@ -3,14 +3,39 @@ package com.acciojob.bookmyshowapplication.Repository;
 import com.acciojob.bookmyshowapplication.Models.Movie;
 import com.acciojob.bookmyshowapplication.Models.Show;
 import com.acciojob.bookmyshowapplication.Models.Theater;
+import com.acciojob.bookmyshowapplication.Responses.ShowSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface ShowRepository extends JpaRepository<Show,Integer> {
 
+    @Override
+    @EntityGraph("Show.movieAndTheater")
+    Optional<Show> findById(Integer showId);
+
+    @EntityGraph("Show.movieAndTheater")
     public Show findShowByShowDateAndShowTimeAndMovieAndTheater(LocalDate showDate,
                                                                 LocalTime showTime,
                                                                 Movie movie,
                                                                 Theater theater);
+
+    List<Show> findByMovieAndTheaterAndShowDateBetween(Movie movie, Theater theater, LocalDate fromDate, LocalDate toDate);
+
+    @Query("SELECT s FROM Show s JOIN FETCH s.movie JOIN FETCH s.theater WHERE s.showDate >= :fromDate")
+    List<Show> findUpcomingShows(@Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Shows after the given ID in ID order with their movie and theater names, the page of a keyset-paginated listing
+     */
+    @Query("SELECT new com.acciojob.bookmyshowapplication.Responses.ShowSummary(s.showId, s.showDate, s.showTime, " +
+            "m.movieId, m.movieName, t.theaterId, t.name) " +
+            "FROM Show s JOIN s.movie m JOIN s.theater t WHERE s.showId > :afterId ORDER BY s.showId")
+    List<ShowSummary> findPage(@Param("afterId") int afterId, Limit limit);
 }
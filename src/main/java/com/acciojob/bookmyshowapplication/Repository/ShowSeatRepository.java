@@ -3,7 +3,10 @@ package com.acciojob.bookmyshowapplication.Repository;
 import com.acciojob.bookmyshowapplication.Models.Show;
 import com.acciojob.bookmyshowapplication.Models.ShowSeat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 public interface ShowSeatRepository extends JpaRepository<ShowSeat,Integer> {
@@ -11,4 +14,19 @@ public interface ShowSeatRepository extends JpaRepository<ShowSeat,Integer> {
     public List<ShowSeat> findAllByShow(Show show);
     @Query(nativeQuery = true,value = "select * from show_seats where show_show_id = :showId")
     public List<ShowSeat> findShowSeats(Integer showId);
+
+    /**
+     * Shows that still keep one row per seat and have no show_inventories row yet
+     */
+    @Query(nativeQuery = true, value = "select distinct s.show_show_id from show_seats s where not exists " +
+            "(select 1 from show_inventories i where i.show_id = s.show_show_id)")
+    List<Integer> findLegacyShowIds();
+
+    /**
+     * Drops a show's show_seats rows once its seats have been migrated to show_inventories
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from show_seats where show_show_id = :showId")
+    int deleteByShowId(@Param("showId") Integer showId);
 }
@@ -1,8 +1,39 @@
 package com.acciojob.bookmyshowapplication.Repository;
 
 import com.acciojob.bookmyshowapplication.Models.Theater;
+import com.acciojob.bookmyshowapplication.Responses.TheaterSummary;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookups are served from the "theaters" cache, TheaterService evicts it on every write.
+ * Cached theaters are shared between callers and must not be modified.
+ */
 public interface TheaterRepository extends JpaRepository<Theater,Integer> {
 
+    @Override
+    @Cacheable(cacheNames = "theaters", key = "'id:' + #p0", unless = "#result == null")
+    Optional<Theater> findById(Integer theaterId);
+
+    /**
+     * Theaters after the given ID in ID order, the page of a keyset-paginated listing
+     */
+    @Cacheable(cacheNames = "theaters", key = "'page:' + #p0 + ':' + #p1.max()")
+    @Query("SELECT new com.acciojob.bookmyshowapplication.Responses.TheaterSummary(t.theaterId, t.name, t.address, " +
+            "t.noOfScreens) FROM Theater t WHERE t.theaterId > :afterId ORDER BY t.theaterId")
+    List<TheaterSummary> findPage(@Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Theaters after the given ID in ID order, a page of an export; not cached, unlike findPage,
+     * so an export does not push the listing pages out of the cache
+     */
+    @Query("SELECT new com.acciojob.bookmyshowapplication.Responses.TheaterSummary(t.theaterId, t.name, t.address, " +
+            "t.noOfScreens) FROM Theater t WHERE t.theaterId > :afterId ORDER BY t.theaterId")
+    List<TheaterSummary> findExportPage(@Param("afterId") int afterId, Limit limit);
 }
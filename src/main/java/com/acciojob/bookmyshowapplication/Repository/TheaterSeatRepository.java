@@ -1,7 +1,15 @@
 package com.acciojob.bookmyshowapplication.Repository;
 
+import com.acciojob.bookmyshowapplication.Models.Theater;
 import com.acciojob.bookmyshowapplication.Models.TheaterSeat;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface TheaterSeatRepository extends JpaRepository<TheaterSeat,Integer> {
+
+    /**
+     * The theater's seats in the order they were added, which is their order in a seat layout
+     */
+    List<TheaterSeat> findByTheaterOrderByTheaterSeatId(Theater theater);
 }
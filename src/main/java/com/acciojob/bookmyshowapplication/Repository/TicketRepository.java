@@ -1,10 +1,16 @@
 package com.acciojob.bookmyshowapplication.Repository;
 
 import com.acciojob.bookmyshowapplication.Models.Ticket;
-import com.acciojob.bookmyshowapplication.Models.User;
+import com.acciojob.bookmyshowapplication.Responses.TicketSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Ticket entity
@@ -12,7 +18,36 @@ import java.util.List;
 public interface TicketRepository extends JpaRepository<Ticket, String> {
     
     /**
-     * Find all tickets for a specific user
+     * The ticket with its user, show, movie and theater, in one statement
      */
-    List<Ticket> findByUser(User user);
+    @Override
+    @EntityGraph("Ticket.userAndShow")
+    Optional<Ticket> findById(String ticketId);
+
+    /**
+     * The user's latest tickets, newest first: the first page of their keyset-paginated listing
+     */
+    @Query("SELECT new com.acciojob.bookmyshowapplication.Responses.TicketSummary(t.ticketId, t.movieName, t.showDate, " +
+            "t.showTime, t.theaterNameAndAddress, t.totalAmtPaid, t.ticketStatus, t.refundStatus, t.bookedAt) " +
+            "FROM Ticket t WHERE t.user.userId = :userId ORDER BY t.bookedAt DESC, t.ticketId DESC")
+    List<TicketSummary> findFirstPageByUser(@Param("userId") Integer userId, Limit limit);
+
+    /**
+     * The user's tickets booked before the given ticket, newest first: the following pages of their listing
+     */
+    @Query("SELECT new com.acciojob.bookmyshowapplication.Responses.TicketSummary(t.ticketId, t.movieName, t.showDate, " +
+            "t.showTime, t.theaterNameAndAddress, t.totalAmtPaid, t.ticketStatus, t.refundStatus, t.bookedAt) " +
+            "FROM Ticket t WHERE t.user.userId = :userId " +
+            "AND (t.bookedAt < :bookedAt OR (t.bookedAt = :bookedAt AND t.ticketId < :ticketId)) " +
+            "ORDER BY t.bookedAt DESC, t.ticketId DESC")
+    List<TicketSummary> findPageByUser(@Param("userId") Integer userId, @Param("bookedAt") LocalDateTime bookedAt,
+                                       @Param("ticketId") String ticketId, Limit limit);
+
+    /**
+     * When the user's last ticket on the show before the given time was booked, null if there is none
+     */
+    @Query("SELECT MAX(t.bookedAt) FROM Ticket t WHERE t.show.showId = :showId AND t.user.userId = :userId " +
+            "AND t.bookedAt < :bookedAt")
+    LocalDateTime findPreviousBookedAt(@Param("showId") Integer showId, @Param("userId") Integer userId,
+                                       @Param("bookedAt") LocalDateTime bookedAt);
 }
@@ -0,0 +1,11 @@
+package com.acciojob.bookmyshowapplication.Repository;
+
+import com.acciojob.bookmyshowapplication.Models.TicketSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TicketSeatRepository extends JpaRepository<TicketSeat, Integer> {
+
+    List<TicketSeat> findByTicketTicketId(String ticketId);
+}
@@ -1,8 +1,21 @@
 package com.acciojob.bookmyshowapplication.Repository;
 
 import com.acciojob.bookmyshowapplication.Models.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
+/**
+ * Lookups are served from the "users" cache. Users are never updated, so only misses
+ * are left uncached (a user added later is found on the next lookup).
+ */
 public interface UserRepository extends JpaRepository<User,Integer> {
+
+    @Cacheable(cacheNames = "users", key = "'mobNo:' + #p0", unless = "#result == null")
     public User findUserByMobNo(String mobNo);
+
+    @Override
+    @Cacheable(cacheNames = "users", key = "'id:' + #p0", unless = "#result == null")
+    Optional<User> findById(Integer userId);
 }
\ No newline at end of file
@@ -3,23 +3,53 @@ package com.acciojob.bookmyshowapplication.Repository;
 import com.acciojob.bookmyshowapplication.Enums.WaitlistStatus;
 import com.acciojob.bookmyshowapplication.Models.Show;
 import com.acciojob.bookmyshowapplication.Models.Waitlist;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface WaitlistRepository extends JpaRepository<Waitlist, Integer> {
 
-    List<Waitlist> findByShowAndStatusOrderByCreatedAtAsc(Show show, WaitlistStatus status);
+    List<Waitlist> findByShowAndStatusOrderByWaitlistIdAsc(Show show, WaitlistStatus status);
 
-    List<Waitlist> findByShowAndStatus(Show show, WaitlistStatus status);
+    // Notifying matched entries reads each waitlister's contact details
+    @EntityGraph(attributePaths = "user")
+    List<Waitlist> findByWaitlistIdInOrderByWaitlistIdAsc(Collection<Integer> waitlistIds);
+
+    /**
+     * The show's entries with the given status as waitlist and user IDs and the seats they ask for, in queue order
+     */
+    @Query("SELECT w.waitlistId AS waitlistId, w.user.userId AS userId, w.requestedSeatType AS requestedSeatType, " +
+            "w.numberOfSeats AS numberOfSeats FROM Waitlist w " +
+            "WHERE w.show.showId = :showId AND w.status = :status ORDER BY w.waitlistId")
+    List<QueueEntry> findQueueEntries(@Param("showId") Integer showId, @Param("status") WaitlistStatus status);
+
+    // Open seat offers of a user, at most one per show
+    List<Waitlist> findByShowShowIdAndUserMobNoAndStatus(Integer showId, String mobNo, WaitlistStatus status);
+
+    // Restoring open seat offers holds their seats for the user
+    @EntityGraph(attributePaths = {"user", "show"})
+    List<Waitlist> findByStatus(WaitlistStatus status);
 
     @Query("SELECT w FROM Waitlist w WHERE w.status = :status AND w.expiresAt < :now")
     List<Waitlist> findExpiredWaitlists(@Param("status") WaitlistStatus status, @Param("now") LocalDateTime now);
 
+    @EntityGraph("Waitlist.showDetails")
     List<Waitlist> findByUserUserIdAndStatus(Integer userId, WaitlistStatus status);
 
     Long countByShowAndStatus(Show show, WaitlistStatus status);
+
+    interface QueueEntry {
+        Integer getWaitlistId();
+
+        Integer getUserId();
+
+        String getRequestedSeatType();
+
+        Integer getNumberOfSeats();
+    }
 }
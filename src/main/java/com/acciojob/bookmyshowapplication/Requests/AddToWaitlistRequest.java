@@ -1,5 +1,6 @@
 package com.acciojob.bookmyshowapplication.Requests;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import java.time.LocalDate;
@@ -10,23 +11,23 @@ import java.time.LocalTime;
  */
 @Data
 public class AddToWaitlistRequest {
-    
+
+    // Identifies the show directly, instead of movie name, theater, date and time
+    @Positive(message = "Show ID must be positive")
+    private Integer showId;
+
     @NotBlank(message = "Mobile number is required")
     @Pattern(regexp = "^[0-9]{10}$", message = "Mobile number must be 10 digits")
     private String mobNo;
     
-    @NotNull(message = "Theater ID is required")
     @Positive(message = "Theater ID must be positive")
     private Integer theaterId;
     
-    @NotBlank(message = "Movie name is required")
     private String movieName;
     
-    @NotNull(message = "Show date is required")
     @FutureOrPresent(message = "Show date must be today or in the future")
     private LocalDate showDate;
     
-    @NotNull(message = "Show time is required")
     private LocalTime showTime;
     
     @NotBlank(message = "Seat type is required")
@@ -37,4 +38,11 @@ public class AddToWaitlistRequest {
     @Min(value = 1, message = "At least 1 seat required")
     @Max(value = 10, message = "Maximum 10 seats allowed")
     private Integer numberOfSeats;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either showId or movie name, show date, show time and theater ID are required")
+    public boolean isShowIdentified() {
+        return showId != null || (movieName != null && !movieName.isBlank() && showDate != null
+                && showTime != null && theaterId != null);
+    }
 }
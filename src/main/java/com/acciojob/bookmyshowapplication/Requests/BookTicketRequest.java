@@ -1,5 +1,6 @@
 package com.acciojob.bookmyshowapplication.Requests;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import java.time.LocalDate;
@@ -12,24 +13,31 @@ import java.util.List;
 @Data
 public class BookTicketRequest {
 
-    @NotBlank(message = "Movie name is required")
+    // Identifies the show directly, instead of movie name, theater, date and time
+    @Positive(message = "Show ID must be positive")
+    private Integer showId;
+
     private String movieName;
     
-    @NotNull(message = "Show date is required")
     @FutureOrPresent(message = "Show date must be today or in the future")
     private LocalDate showDate;
     
-    @NotNull(message = "Show time is required")
     private LocalTime showTime;
     
     @NotEmpty(message = "At least one seat must be requested")
     private List<String> requestedSeats;
     
-    @NotNull(message = "Theater ID is required")
     @Positive(message = "Theater ID must be positive")
     private Integer theaterId;
     
     @NotBlank(message = "Mobile number is required")
     @Pattern(regexp = "^[0-9]{10}$", message = "Mobile number must be 10 digits")
     private String mobNo;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either showId or movie name, show date, show time and theater ID are required")
+    public boolean isShowIdentified() {
+        return showId != null || (movieName != null && !movieName.isBlank() && showDate != null
+                && showTime != null && theaterId != null);
+    }
 }
\ No newline at end of file
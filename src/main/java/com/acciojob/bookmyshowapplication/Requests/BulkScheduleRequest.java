@@ -0,0 +1,45 @@
+package com.acciojob.bookmyshowapplication.Requests;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Request DTO for scheduling a movie in several theaters, every day of a date range at the same times
+ */
+@Data
+public class BulkScheduleRequest {
+
+    @NotBlank(message = "Movie name is required")
+    private String movieName;
+
+    @NotEmpty(message = "At least one theater ID is required")
+    private List<@NotNull @Positive Integer> theaterIds;
+
+    @NotNull(message = "From date is required")
+    @FutureOrPresent(message = "From date must be today or in the future")
+    private LocalDate fromDate;
+
+    @NotNull(message = "To date is required")
+    private LocalDate toDate;
+
+    @NotEmpty(message = "At least one show time is required")
+    private List<@NotNull LocalTime> showTimes;
+
+    @NotNull(message = "Price of classic seats is required")
+    @Positive(message = "Price of classic seats must be positive")
+    private Integer priceOfClassicSeats;
+
+    @NotNull(message = "Price of premium seats is required")
+    @Positive(message = "Price of premium seats must be positive")
+    private Integer priceOfPremiumSeats;
+
+    @JsonIgnore
+    @AssertTrue(message = "To date must not be before from date")
+    public boolean isDateRangeValid() {
+        return fromDate == null || toDate == null || !toDate.isBefore(fromDate);
+    }
+}
@@ -6,8 +6,10 @@ import java.time.LocalTime;
 
 @Data
 public class GetAvailableSeatsRequest {
+    private Integer showId; // Identifies the show directly, instead of the fields below
     private String movieName;
     private LocalDate showDate;
     private LocalTime showTime;
     private Integer theaterId;
+    private Long sinceVersion; // Seat map version the client already has, to get only the seats changed since
 }
@@ -0,0 +1,31 @@
+package com.acciojob.bookmyshowapplication.Responses;
+
+import com.acciojob.bookmyshowapplication.Enums.ScheduleJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk scheduling job
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkScheduleResponse {
+    private String jobId;
+    private ScheduleJobStatus status;
+    private String movieName;
+    private Integer totalShows;
+    private Integer processedShows;
+    private Integer createdShows;
+    private Integer skippedShows;
+    private Long createdSeats;
+    private Integer percentComplete;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+}
@@ -0,0 +1,46 @@
+package com.acciojob.bookmyshowapplication.Responses;
+
+import com.acciojob.bookmyshowapplication.Exceptions.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pass nextCursor back as the "after"
+ * parameter to get the following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Rows to query for a page of the given size: one more than the page, to tell whether another page follows
+     */
+    public static int fetchSize(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit + 1;
+    }
+
+    /**
+     * Page of the rows queried with {@link #fetchSize(int)}, the cursor taken from its last item
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(List.copyOf(rows), null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)));
+    }
+}
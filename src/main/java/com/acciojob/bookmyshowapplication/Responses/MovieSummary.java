@@ -0,0 +1,25 @@
+package com.acciojob.bookmyshowapplication.Responses;
+
+import com.acciojob.bookmyshowapplication.Enums.Genre;
+import com.acciojob.bookmyshowapplication.Enums.Language;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A movie as listed in the catalog, queried as a projection
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovieSummary {
+    private Integer movieId;
+    private String movieName;
+    private Genre genre;
+    private Language language;
+    private LocalDate releaseDate;
+    private double duration;
+    private double rating;
+}
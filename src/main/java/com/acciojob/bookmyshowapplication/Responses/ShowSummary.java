@@ -0,0 +1,24 @@
+package com.acciojob.bookmyshowapplication.Responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A show as listed, with the name of its movie and theater instead of the entities
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShowSummary {
+    private Integer showId;
+    private LocalDate showDate;
+    private LocalTime showTime;
+    private Integer movieId;
+    private String movieName;
+    private Integer theaterId;
+    private String theaterName;
+}
@@ -0,0 +1,18 @@
+package com.acciojob.bookmyshowapplication.Responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A theater as listed, without its seats, queried as a projection
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TheaterSummary {
+    private Integer theaterId;
+    private String name;
+    private String address;
+    private Integer noOfScreens;
+}
@@ -0,0 +1,29 @@
+package com.acciojob.bookmyshowapplication.Responses;
+
+import com.acciojob.bookmyshowapplication.Enums.RefundStatus;
+import com.acciojob.bookmyshowapplication.Enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A ticket as listed for its user, without the user and show entities
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketSummary {
+    private String ticketId;
+    private String movieName;
+    private LocalDate showDate;
+    private LocalTime showTime;
+    private String theaterNameAndAddress;
+    private Integer totalAmtPaid;
+    private TicketStatus ticketStatus;
+    private RefundStatus refundStatus;
+    private LocalDateTime bookedAt;
+}
@@ -1,16 +1,20 @@
 package com.acciojob.bookmyshowapplication.Service;
 
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
 import com.acciojob.bookmyshowapplication.Enums.RefundStatus;
 import com.acciojob.bookmyshowapplication.Enums.TicketStatus;
 import com.acciojob.bookmyshowapplication.Exceptions.BusinessException;
 import com.acciojob.bookmyshowapplication.Exceptions.CancellationException;
 import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
 import com.acciojob.bookmyshowapplication.Models.RefundTransaction;
-import com.acciojob.bookmyshowapplication.Models.ShowSeat;
+import com.acciojob.bookmyshowapplication.Models.SeatSelection;
+import com.acciojob.bookmyshowapplication.Models.Show;
 import com.acciojob.bookmyshowapplication.Models.Ticket;
+import com.acciojob.bookmyshowapplication.Models.TicketSeat;
 import com.acciojob.bookmyshowapplication.Repository.RefundTransactionRepository;
-import com.acciojob.bookmyshowapplication.Repository.ShowSeatRepository;
+import com.acciojob.bookmyshowapplication.Repository.SeatSelectionRepository;
 import com.acciojob.bookmyshowapplication.Repository.TicketRepository;
+import com.acciojob.bookmyshowapplication.Repository.TicketSeatRepository;
 import com.acciojob.bookmyshowapplication.Requests.CancelTicketRequest;
 import com.acciojob.bookmyshowapplication.Responses.CancellationResponse;
 import jakarta.transaction.Transactional;
@@ -21,6 +25,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,13 +43,25 @@ public class CancellationService {
     private TicketRepository ticketRepository;
 
     @Autowired
-    private ShowSeatRepository showSeatRepository;
+    private ShowInventoryService showInventoryService;
+
+    @Autowired
+    private TicketSeatRepository ticketSeatRepository;
 
     @Autowired
     private RefundTransactionRepository refundTransactionRepository;
 
     @Autowired
-    private WaitlistService waitlistService;
+    private WaitlistMatchingService waitlistMatchingService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatEventService seatEventService;
+
+    @Autowired
+    private SeatSelectionRepository seatSelectionRepository;
 
     /**
      * Calculate refund percentage based on time remaining until show
@@ -126,13 +145,17 @@ public class CancellationService {
         // Release seats back to inventory
         releaseSeatsForShow(ticket);
 
-        // Notify waitlisted users
-        try {
-            waitlistService.processWaitlistForShow(ticket.getShow());
-        } catch (Exception e) {
-            // Log the error but don't fail the cancellation
-            logger.error("Error processing waitlist: {}", e.getMessage());
-        }
+        // Notify waitlisted users once the seats are released for good, cancellations of the
+        // show that commit while its waitlist pass is queued are matched in that same pass
+        Show show = ticket.getShow();
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                waitlistMatchingService.seatsReleased(show);
+            } catch (Exception e) {
+                // Log the error but don't fail the cancellation
+                logger.error("Error processing waitlist: {}", e.getMessage());
+            }
+        });
 
         logger.info("Ticket {} cancelled successfully with {}% refund", ticket.getTicketId(), refundPercentage * 100);
 
@@ -188,24 +211,70 @@ public class CancellationService {
     }
 
     /**
-     * Releases seats back to available inventory when ticket is cancelled
+     * Releases the ticket's seats back to available inventory when ticket is cancelled
      */
     private void releaseSeatsForShow(Ticket ticket) {
-        // Get all seats for the show
-        List<ShowSeat> showSeats = showSeatRepository.findAllByShow(ticket.getShow());
-        
-        // Note: In the current implementation, we don't track which specific seats 
-        // were booked for a ticket. In production, you would need to maintain this mapping.
-        // For now, we'll mark seats as available based on the ticket amount
-        
-        // This is a simplified implementation. In production, you should maintain
-        // a separate TicketSeats table to track seat-ticket relationships
-        for (ShowSeat seat : showSeats) {
-            if (!seat.getIsAvailable()) {
-                seat.setIsAvailable(Boolean.TRUE);
-            }
+        List<TicketSeat> ticketSeats = ticketSeatRepository.findByTicketTicketId(ticket.getTicketId());
+        List<String> seatNos = new ArrayList<>();
+        for (TicketSeat ticketSeat : ticketSeats) {
+            seatNos.add(ticketSeat.getSeatNo());
+        }
+        if (seatNos.isEmpty()) {
+            seatNos = legacySeatNos(ticket);
         }
-        showSeatRepository.saveAll(showSeats);
+        if (seatNos.isEmpty()) {
+            logger.warn("No seats recorded for ticket: {}, nothing to release", ticket.getTicketId());
+            return;
+        }
+        Integer showId = ticket.getShow().getShowId();
+        // Released last, after the ticket and refund are flushed, as it locks the show's row until commit
+        ticketRepository.flush();
+        showInventoryService.releaseSeats(showId, seatNos);
+
+        // Free the seats in memory right away so the waitlist sees them
+        ShowSeatInventory inventory = seatInventoryService.findInventory(showId);
+        if (inventory != null) {
+            int[] ordinals = seatNos.stream().mapToInt(inventory::ordinalOf).filter(ordinal -> ordinal >= 0).toArray();
+            inventory.release(ordinals);
+            seatEventService.seatsChanged(showId);
+            evictInventoryOnRollback(showId);
+        }
+    }
+
+    /**
+     * Seats of a ticket booked before tickets recorded their seats. Such a booking marked the
+     * user's seat selections CONFIRMED, the ones made within a hold's lifetime before the ticket,
+     * and after the user's previous ticket on the show, are its seats. They are deleted, so
+     * another ticket of the user on the show cannot release them again.
+     */
+    private List<String> legacySeatNos(Ticket ticket) {
+        if (ticket.getBookedAt() == null || ticket.getUser() == null) {
+            return List.of();
+        }
+        Integer showId = ticket.getShow().getShowId();
+        Date bookedAt = toDate(ticket.getBookedAt());
+        Date from = new Date(bookedAt.getTime() - SeatHoldService.HOLD_TTL_MS);
+        // Selections up to the previous booking are that ticket's seats
+        LocalDateTime previousBookedAt = ticketRepository.findPreviousBookedAt(
+                showId, ticket.getUser().getUserId(), ticket.getBookedAt());
+        if (previousBookedAt != null && !toDate(previousBookedAt).before(from)) {
+            from = new Date(toDate(previousBookedAt).getTime() + 1);
+        }
+        List<SeatSelection> selections = seatSelectionRepository.findConfirmedSelections(
+                showId, ticket.getUser().getMobNo(), from, bookedAt);
+        seatSelectionRepository.deleteAll(selections);
+        return selections.stream().map(SeatSelection::getSeatNo).toList();
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Rebuild the show's inventory from the database if the cancellation transaction rolls back
+     */
+    private void evictInventoryOnRollback(Integer showId) {
+        TransactionCallbacks.afterRollback(() -> seatInventoryService.evict(showId));
     }
 
     /**
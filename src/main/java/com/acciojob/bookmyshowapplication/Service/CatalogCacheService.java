@@ -0,0 +1,62 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statistics and eviction of the catalog cache regions (movies, theaters, users).
+ * The regions are filled by the cached repository lookups and evicted by the
+ * service write methods; evicting by hand is only needed after editing the
+ * catalog tables outside the application.
+ */
+@Service
+public class CatalogCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCacheService.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Size and hit/miss counters per region
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) {
+                continue;
+            }
+            CacheStats stats = cache.getNativeCache().stats();
+            Map<String, Object> region = new LinkedHashMap<>();
+            region.put("size", cache.getNativeCache().estimatedSize());
+            region.put("hits", stats.hitCount());
+            region.put("misses", stats.missCount());
+            region.put("hitRate", stats.hitRate());
+            region.put("evictions", stats.evictionCount());
+            metrics.put(name, region);
+        }
+        return metrics;
+    }
+
+    /**
+     * Clear every region, the next lookups read from the database again
+     */
+    public void evictAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        logger.info("Evicted catalog cache regions: {}", cacheManager.getCacheNames());
+    }
+}
@@ -1,22 +1,31 @@
 package com.acciojob.bookmyshowapplication.Service;
 
+import com.acciojob.bookmyshowapplication.Engine.PricingRuleTable;
+import com.acciojob.bookmyshowapplication.Engine.PricingSnapshot;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
 import com.acciojob.bookmyshowapplication.Enums.PricingFactorType;
 import com.acciojob.bookmyshowapplication.Enums.SeatType;
 import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
 import com.acciojob.bookmyshowapplication.Models.PricingConfig;
 import com.acciojob.bookmyshowapplication.Models.Show;
-import com.acciojob.bookmyshowapplication.Models.ShowSeat;
 import com.acciojob.bookmyshowapplication.Repository.PricingConfigRepository;
-import com.acciojob.bookmyshowapplication.Repository.ShowSeatRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
 import com.acciojob.bookmyshowapplication.Responses.PricingResponse;
 import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Service for managing dynamic pricing
@@ -30,7 +39,23 @@ public class DynamicPricingService {
     private PricingConfigRepository pricingConfigRepository;
 
     @Autowired
-    private ShowSeatRepository showSeatRepository;
+    private ShowInventoryService showInventoryService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    // Pricing snapshot per show ID, see PricingSnapshot for when an entry is still valid.
+    // Snapshots of past shows are dropped daily by evictPastShows.
+    private final Map<Integer, PricingSnapshot> pricingSnapshots = new ConcurrentHashMap<>();
+
+    // Bumped whenever a pricing rule changes, snapshots priced under an older version are stale
+    private final AtomicLong rulesVersion = new AtomicLong();
+
+    // Active pricing rules, recompiled and swapped whenever a rule changes
+    private final AtomicReference<PricingRuleTable> ruleTable = new AtomicReference<>(PricingRuleTable.empty());
 
     /**
      * Initialize default pricing configurations
@@ -39,6 +64,7 @@ public class DynamicPricingService {
     public void initializeDefaultPricingRules() {
         // Check if pricing rules already exist
         if (pricingConfigRepository.count() > 0) {
+            reloadPricingRules();
             return;
         }
 
@@ -134,106 +160,172 @@ public class DynamicPricingService {
                 .build());
 
         pricingConfigRepository.saveAll(defaultConfigs);
+        reloadPricingRules();
+    }
+
+    /**
+     * Compile the active pricing rules and publish them to the pricing read path
+     */
+    public void reloadPricingRules() {
+        ruleTable.set(PricingRuleTable.compile(pricingConfigRepository.findByIsActiveTrue()));
+        // Published after the table, so a snapshot never carries the new version with the old rules
+        rulesVersion.incrementAndGet();
     }
 
     /**
      * Calculate dynamic price for a show
      */
     public PricingResponse calculateDynamicPricing(Show show) {
-        List<ShowSeat> allSeats = showSeatRepository.findAllByShow(show);
-        
-        // Calculate occupancy
-        long totalSeats = allSeats.size();
-        long bookedSeats = allSeats.stream().filter(seat -> !seat.getIsAvailable()).count();
-        int occupancyPercent = (int) ((bookedSeats * 100) / totalSeats);
+        ShowSeatInventory inventory = seatInventoryService.getInventory(show);
+        PricingResponse cached = findCachedPricing(show.getShowId(), inventory);
+        if (cached != null) {
+            return cached;
+        }
+        PricingSnapshot snapshot = computePricingSnapshot(show, inventory);
+        return toPricingResponse(snapshot, snapshot.getOccupancyPercent());
+    }
+
+    /**
+     * Get the current pricing for a show, served from the snapshot cache when it is still valid
+     */
+    public PricingResponse getShowPricing(Integer showId) {
+        PricingResponse cached = findCachedPricing(showId, seatInventoryService.findInventory(showId));
+        if (cached != null) {
+            return cached;
+        }
+        Show show = showRepository.findById(showId)
+                .orElseThrow(() -> new ResourceNotFoundException("Show", "showId", showId));
+        return calculateDynamicPricing(show);
+    }
+
+    /**
+     * Apply dynamic pricing to show seats.
+     * Runs in its own transaction as it is also triggered after a booking has committed.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void applyDynamicPricingToShow(Show show) {
+        calculateDynamicPricing(show);
+        PricingSnapshot snapshot = pricingSnapshots.get(show.getShowId());
+
+        // Prices only change when the snapshot does, so each snapshot is written once
+        if (snapshot == null || !snapshot.markApplied()) {
+            return;
+        }
+
+        // One price per seat type in the show's stored seat state
+        showInventoryService.updatePrices(show.getShowId(), snapshot.getDynamicPrices());
+        seatInventoryService.updatePrices(show.getShowId(), snapshot.getDynamicPrices());
+    }
+
+    /**
+     * Calculate price for specific seat considering dynamic factors
+     */
+    public Integer calculateSeatPrice(Show show, SeatType seatType, Integer basePrice) {
+        PricingResponse pricingResponse = calculateDynamicPricing(show);
+        return (int) (basePrice * pricingResponse.getTotalMultiplier());
+    }
+
+    /**
+     * Drop the cached pricing of a show, e.g. when its seat layout changes
+     */
+    public void evictPricing(Integer showId) {
+        pricingSnapshots.remove(showId);
+    }
+
+    @Scheduled(cron = "0 0 3 * * *") // Run daily at 3 AM
+    public void evictPastShows() {
+        LocalDate today = LocalDate.now();
+        pricingSnapshots.values().removeIf(snapshot -> snapshot.getShowDate().isBefore(today));
+    }
+
+    /**
+     * Returns the cached pricing if the show's occupancy is still inside the snapshot's demand band
+     */
+    private PricingResponse findCachedPricing(Integer showId, ShowSeatInventory inventory) {
+        PricingSnapshot snapshot = pricingSnapshots.get(showId);
+        if (snapshot == null || inventory == null) {
+            return null;
+        }
+        int occupancyPercent = inventory.getOccupancy().getOccupancyPercent();
+        if (!snapshot.covers(occupancyPercent, rulesVersion.get())) {
+            return null;
+        }
+        return toPricingResponse(snapshot, occupancyPercent);
+    }
+
+    private PricingSnapshot computePricingSnapshot(Show show, ShowSeatInventory inventory) {
+        long version = rulesVersion.get();
+
+        // Occupancy comes from the inventory's counters, 0 for a show without seats
+        int occupancyPercent = inventory.getOccupancy().getOccupancyPercent();
 
         // Collect applied pricing factors
         List<String> appliedFactors = new ArrayList<>();
         double totalMultiplier = 1.0;
 
-        // 1. Demand-based pricing
-        Optional<PricingConfig> demandConfig = pricingConfigRepository
-                .findDemandBasedPricing(PricingFactorType.DEMAND_BASED, occupancyPercent);
-        if (demandConfig.isPresent()) {
-            totalMultiplier *= demandConfig.get().getMultiplier();
-            appliedFactors.add(demandConfig.get().getDescription());
+        PricingRuleTable rules = ruleTable.get();
+        for (PricingRuleTable.Rule rule : matchingRules(rules, show, occupancyPercent)) {
+            totalMultiplier *= rule.getMultiplier();
+            appliedFactors.add(rule.getDescription());
         }
-
-        // 2. Time-based pricing
         int showHour = show.getShowTime().getHour();
-        Optional<PricingConfig> timeConfig = pricingConfigRepository
-                .findTimeBasedPricing(PricingFactorType.TIME_BASED, showHour);
-        if (timeConfig.isPresent()) {
-            totalMultiplier *= timeConfig.get().getMultiplier();
-            appliedFactors.add(timeConfig.get().getDescription());
-        }
-
-        // 3. Day-based pricing
         DayOfWeek dayOfWeek = show.getShowDate().getDayOfWeek();
         boolean isWeekend = (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY);
-        Optional<PricingConfig> dayConfig = pricingConfigRepository
-                .findByConfigKeyAndIsActiveTrue(isWeekend ? "WEEKEND" : "WEEKDAY");
-        if (dayConfig.isPresent()) {
-            totalMultiplier *= dayConfig.get().getMultiplier();
-            appliedFactors.add(dayConfig.get().getDescription());
-        }
 
-        // Calculate base and dynamic prices by seat type
-        Map<String, Integer> basePrices = new HashMap<>();
+        // Dynamic prices by seat type, always from the stored base prices: the seats'
+        // current prices already carry an earlier multiplier
+        Map<String, Integer> basePrices = inventory.basePricesBySeatType();
         Map<String, Integer> dynamicPrices = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : basePrices.entrySet()) {
+            dynamicPrices.put(entry.getKey(), (int) (entry.getValue() * totalMultiplier));
+        }
+
+        PricingSnapshot snapshot = new PricingSnapshot(show.getShowDate(), version,
+                rules.demandBandMin(occupancyPercent), rules.demandBandMax(occupancyPercent),
+                occupancyPercent, totalMultiplier, basePrices, dynamicPrices, appliedFactors,
+                getTimeSlotName(showHour), isWeekend ? "Weekend" : "Weekday");
+        pricingSnapshots.put(show.getShowId(), snapshot);
+        return snapshot;
+    }
 
-        // Get base prices from existing seats
-        for (ShowSeat seat : allSeats) {
-            String seatTypeKey = seat.getSeatType().toString();
-            if (!basePrices.containsKey(seatTypeKey)) {
-                basePrices.put(seatTypeKey, seat.getPrice());
-                dynamicPrices.put(seatTypeKey, (int) (seat.getPrice() * totalMultiplier));
-            }
+    /**
+     * Multiplier the active rules give a show at the given occupancy
+     */
+    public double multiplierAt(Show show, int occupancyPercent) {
+        double multiplier = 1.0;
+        for (PricingRuleTable.Rule rule : matchingRules(ruleTable.get(), show, occupancyPercent)) {
+            multiplier *= rule.getMultiplier();
         }
+        return multiplier;
+    }
+
+    // Demand, time and day rules that apply to the show, the matched demand band decides how long a snapshot stays valid
+    private List<PricingRuleTable.Rule> matchingRules(PricingRuleTable rules, Show show, int occupancyPercent) {
+        return Stream.of(rules.demandRule(occupancyPercent),
+                        rules.timeRule(show.getShowTime().getHour()),
+                        rules.dayRule(show.getShowDate().getDayOfWeek()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
 
+    private PricingResponse toPricingResponse(PricingSnapshot snapshot, int occupancyPercent) {
         // Build justification message
         String justification = String.format(
                 "Pricing calculated based on: %d%% occupancy, %s time slot, %s",
                 occupancyPercent,
-                getTimeSlotName(showHour),
-                isWeekend ? "Weekend" : "Weekday"
+                snapshot.getTimeSlot(),
+                snapshot.getDayType()
         );
 
         return PricingResponse.builder()
-                .basePrices(basePrices)
-                .dynamicPrices(dynamicPrices)
-                .appliedFactors(appliedFactors)
-                .totalMultiplier(totalMultiplier)
+                .basePrices(snapshot.getBasePrices())
+                .dynamicPrices(snapshot.getDynamicPrices())
+                .appliedFactors(snapshot.getAppliedFactors())
+                .totalMultiplier(snapshot.getTotalMultiplier())
                 .priceJustification(justification)
                 .build();
     }
 
-    /**
-     * Apply dynamic pricing to show seats
-     */
-    public void applyDynamicPricingToShow(Show show) {
-        PricingResponse pricingResponse = calculateDynamicPricing(show);
-        List<ShowSeat> showSeats = showSeatRepository.findAllByShow(show);
-
-        for (ShowSeat seat : showSeats) {
-            String seatTypeKey = seat.getSeatType().toString();
-            Integer dynamicPrice = pricingResponse.getDynamicPrices().get(seatTypeKey);
-            if (dynamicPrice != null) {
-                seat.setPrice(dynamicPrice);
-            }
-        }
-
-        showSeatRepository.saveAll(showSeats);
-    }
-
-    /**
-     * Calculate price for specific seat considering dynamic factors
-     */
-    public Integer calculateSeatPrice(Show show, SeatType seatType, Integer basePrice) {
-        PricingResponse pricingResponse = calculateDynamicPricing(show);
-        return (int) (basePrice * pricingResponse.getTotalMultiplier());
-    }
-
     /**
      * Get pricing configuration
      */
@@ -266,6 +358,8 @@ public class DynamicPricingService {
         existing.setEndHour(updatedConfig.getEndHour());
 
         PricingConfig saved = pricingConfigRepository.save(existing);
+        // Every cached snapshot was priced with the old rule
+        reloadPricingRules();
         logger.info("Pricing config {} updated successfully", configId);
         
         return saved;
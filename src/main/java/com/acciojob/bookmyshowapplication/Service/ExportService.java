@@ -0,0 +1,136 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
+import com.acciojob.bookmyshowapplication.Exceptions.TooManyExportsException;
+import com.acciojob.bookmyshowapplication.Repository.MovieRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
+import com.acciojob.bookmyshowapplication.Repository.TheaterRepository;
+import com.acciojob.bookmyshowapplication.Repository.TicketRepository;
+import com.acciojob.bookmyshowapplication.Repository.UserRepository;
+import com.acciojob.bookmyshowapplication.Responses.MovieSummary;
+import com.acciojob.bookmyshowapplication.Responses.ShowSummary;
+import com.acciojob.bookmyshowapplication.Responses.TheaterSummary;
+import com.acciojob.bookmyshowapplication.Responses.TicketSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Exports full listings as NDJSON, one JSON object per line. Rows are read in keyset
+ * pages, each page in its own short read, so an export never holds the whole listing
+ * in memory and holds a database connection only while a page is fetched, not while
+ * a slow client receives it. At most export.max-concurrent exports run at once, a
+ * request beyond that is refused before its response starts.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.page-size:500}")
+    private int pageSize;
+
+    @Value("${export.max-concurrent:4}")
+    private int maxConcurrent;
+
+    private Semaphore running;
+
+    @PostConstruct
+    public void createLimit() {
+        running = new Semaphore(maxConcurrent);
+    }
+
+    public StreamingResponseBody exportMovies() {
+        return export("movies", (MovieSummary last) ->
+                movieRepository.findExportPage(last == null ? 0 : last.getMovieId(), Limit.of(pageSize)));
+    }
+
+    public StreamingResponseBody exportTheaters() {
+        return export("theaters", (TheaterSummary last) ->
+                theaterRepository.findExportPage(last == null ? 0 : last.getTheaterId(), Limit.of(pageSize)));
+    }
+
+    public StreamingResponseBody exportShows() {
+        return export("shows", (ShowSummary last) ->
+                showRepository.findPage(last == null ? 0 : last.getShowId(), Limit.of(pageSize)));
+    }
+
+    /**
+     * Checks the user exists before the response starts, the export itself can no longer fail with a 404
+     */
+    public StreamingResponseBody exportUserTickets(Integer userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "userId", userId));
+        return export("tickets of user ID: " + userId, (TicketSummary last) -> last == null
+                ? ticketRepository.findFirstPageByUser(userId, Limit.of(pageSize))
+                : ticketRepository.findPageByUser(userId, last.getBookedAt(), last.getTicketId(), Limit.of(pageSize)));
+    }
+
+    /**
+     * Take an export slot and return the body that writes the listing, the slot is freed once it is written
+     *
+     * @param pageAfter reads the page after the given row, or the first page given null
+     */
+    private <T> StreamingResponseBody export(String listing, Function<T, List<T>> pageAfter) {
+        if (!running.tryAcquire()) {
+            throw new TooManyExportsException("Too many exports are running, please try again shortly");
+        }
+        return out -> {
+            try {
+                logger.info("Exported {} {}", write(pageAfter, out), listing);
+            } finally {
+                running.release();
+            }
+        };
+    }
+
+    private <T> long write(Function<T, List<T>> pageAfter, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer();
+        long count = 0;
+        List<T> page = pageAfter.apply(null);
+        while (!page.isEmpty()) {
+            for (T row : page) {
+                out.write(writer.writeValueAsBytes(row));
+                out.write('\n');
+            }
+            count += page.size();
+            // A short page is the last one
+            page = page.size() < pageSize ? List.of() : pageAfter.apply(page.get(page.size() - 1));
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -4,9 +4,13 @@ import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
 import com.acciojob.bookmyshowapplication.Models.Movie;
 import com.acciojob.bookmyshowapplication.Repository.MovieRepository;
 import com.acciojob.bookmyshowapplication.Requests.UpdateMovieRequest;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.MovieSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -25,6 +29,7 @@ public class MovieService {
     /**
      * Add a new movie to the catalog
      */
+    @CacheEvict(cacheNames = "movies", allEntries = true)
     public String addMovie(Movie movie) {
         logger.info("Adding new movie: {}", movie.getMovieName());
         
@@ -37,27 +42,27 @@ public class MovieService {
     /**
      * Update movie attributes (rating and duration)
      */
+    @CacheEvict(cacheNames = "movies", allEntries = true)
     public String updateMovieAttributes(UpdateMovieRequest movieRequest) {
         logger.info("Updating movie with ID: {}", movieRequest.getMovieId());
-        
-        Movie movie = movieRepository.findById(movieRequest.getMovieId())
-                .orElseThrow(() -> new ResourceNotFoundException("Movie", "movieId", movieRequest.getMovieId()));
-
-        movie.setDuration(movieRequest.getDuration());
-        movie.setRating(movieRequest.getRating());
 
-        movieRepository.save(movie);
-        logger.info("Movie updated successfully: {}", movie.getMovieName());
+        int updated = movieRepository.updateAttributes(movieRequest.getMovieId(),
+                movieRequest.getRating(), movieRequest.getDuration());
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Movie", "movieId", movieRequest.getMovieId());
+        }
+        logger.info("Movie updated successfully with ID: {}", movieRequest.getMovieId());
         
         return "Movie attributes updated successfully";
     }
     
     /**
-     * Get all movies
+     * Get a page of movies in ID order, starting after the given movie ID (from the start if null)
      */
-    public List<Movie> getAllMovies() {
-        logger.info("Fetching all movies");
-        return movieRepository.findAll();
+    public CursorPage<MovieSummary> getMovies(Integer afterId, int limit) {
+        logger.info("Fetching {} movies after ID: {}", limit, afterId);
+        List<MovieSummary> rows = movieRepository.findPage(afterId == null ? 0 : afterId, Limit.of(CursorPage.fetchSize(limit)));
+        return CursorPage.of(rows, limit, movie -> movie.getMovieId().toString());
     }
     
     /**
@@ -0,0 +1,230 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Engine.TokenBucket;
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Enums.NotificationStatus;
+import com.acciojob.bookmyshowapplication.Models.Notification;
+import com.acciojob.bookmyshowapplication.Notifications.NotificationChannel;
+import com.acciojob.bookmyshowapplication.Repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox for user notifications and its dispatcher.
+ * Notifications are inserted in the caller's transaction and sent once it has committed,
+ * so a rolled back change notifies no one and a committed one is never lost. A single
+ * thread drains the outbox in batches per channel, each channel at its own rate; a
+ * failed notification is tried again with exponential backoff until MAX_ATTEMPTS.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_BASE_MS = 30 * 1000; // doubles with every failed attempt
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private List<NotificationChannel> channels;
+
+    private final Map<NotificationChannelType, NotificationChannel> channelsByType = new EnumMap<>(NotificationChannelType.class);
+    private final Map<NotificationChannelType, TokenBucket> rateLimits = new EnumMap<>(NotificationChannelType.class);
+
+    // Set while a drain is queued and has not started, commits in the meantime join it
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedDrains = new AtomicLong();
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable ->
+            Thread.ofPlatform().name("notification-dispatcher").daemon().unstarted(runnable));
+
+    @PostConstruct
+    public void registerChannels() {
+        for (NotificationChannel channel : channels) {
+            channelsByType.put(channel.getType(), channel);
+            rateLimits.put(channel.getType(), new TokenBucket(channel.getRatePerSecond()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Unsent notifications stay in the outbox for the next start
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Whether a channel bean sends notifications of this type
+     */
+    public boolean supports(NotificationChannelType type) {
+        return channelsByType.containsKey(type);
+    }
+
+    /**
+     * Add notifications to the outbox in the current transaction, they are sent once it commits
+     */
+    public void enqueue(Collection<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        for (Notification notification : notifications) {
+            // Without a channel the row would never leave the outbox
+            if (!supports(notification.getChannel())) {
+                throw new IllegalArgumentException("No notification channel for " + notification.getChannel());
+            }
+        }
+        notificationRepository.saveAll(notifications);
+        enqueued.addAndGet(notifications.size());
+        TransactionCallbacks.afterCommit(this::wake);
+    }
+
+    /**
+     * Queue a drain of the outbox, unless one is already queued
+     */
+    public void wake() {
+        if (!dispatcher.isShutdown() && drainQueued.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    /**
+     * Picks up retries that have come due and notifications left in the outbox by a restart
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void pollOutbox() {
+        wake();
+    }
+
+    /**
+     * Outbox and dispatch counters
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pending", notificationRepository.countByStatus(NotificationStatus.PENDING));
+        metrics.put("enqueued", enqueued.get());
+        metrics.put("sent", sent.get());
+        metrics.put("retried", retried.get());
+        metrics.put("failed", failed.get());
+        metrics.put("batches", batches.get());
+        metrics.put("failedDrains", failedDrains.get());
+        return metrics;
+    }
+
+    private void drain() {
+        drainQueued.set(false);
+        try {
+            while (true) {
+                // Only channels with permits left are read, the others wait for their bucket to refill
+                List<NotificationChannelType> ready = new ArrayList<>();
+                long waitMs = Long.MAX_VALUE;
+                for (Map.Entry<NotificationChannelType, TokenBucket> limit : rateLimits.entrySet()) {
+                    long untilAvailable = limit.getValue().millisUntilAvailable();
+                    if (untilAvailable == 0) {
+                        ready.add(limit.getKey());
+                    } else {
+                        waitMs = Math.min(waitMs, untilAvailable);
+                    }
+                }
+
+                List<Notification> due = ready.isEmpty() ? List.of() : notificationRepository.findDue(
+                        NotificationStatus.PENDING, ready, LocalDateTime.now(), Limit.of(BATCH_SIZE));
+                if (due.isEmpty()) {
+                    if (waitMs != Long.MAX_VALUE) {
+                        // A channel ran out of permits, its notifications may still be due
+                        dispatcher.schedule(this::wake, waitMs, TimeUnit.MILLISECONDS);
+                    }
+                    return;
+                }
+
+                Map<NotificationChannelType, List<Notification>> byChannel = new EnumMap<>(NotificationChannelType.class);
+                for (Notification notification : due) {
+                    byChannel.computeIfAbsent(notification.getChannel(), type -> new ArrayList<>()).add(notification);
+                }
+                for (Map.Entry<NotificationChannelType, List<Notification>> entry : byChannel.entrySet()) {
+                    List<Notification> batch = entry.getValue();
+                    int permits = rateLimits.get(entry.getKey()).tryAcquire(batch.size());
+                    if (permits > 0) {
+                        send(channelsByType.get(entry.getKey()), batch.subList(0, permits));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            failedDrains.incrementAndGet();
+            logger.error("Error dispatching notifications: {}", e.getMessage());
+        }
+    }
+
+    private void send(NotificationChannel channel, List<Notification> batch) {
+        Map<Long, String> failures;
+        try {
+            failures = channel.send(batch);
+        } catch (Exception e) {
+            failures = new HashMap<>();
+            for (Notification notification : batch) {
+                failures.put(notification.getNotificationId(), String.valueOf(e.getMessage()));
+            }
+        }
+        batches.incrementAndGet();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sentIds = new ArrayList<>();
+        List<Notification> unsent = new ArrayList<>();
+        for (Notification notification : batch) {
+            if (!failures.containsKey(notification.getNotificationId())) {
+                sentIds.add(notification.getNotificationId());
+                continue;
+            }
+            String error = failures.get(notification.getNotificationId());
+            int attempts = notification.getAttempts() + 1;
+            notification.setAttempts(attempts);
+            notification.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (attempts >= MAX_ATTEMPTS) {
+                notification.setStatus(NotificationStatus.FAILED);
+                failed.incrementAndGet();
+                logger.warn("Giving up on {} notification {} after {} attempts: {}",
+                        channel.getType(), notification.getNotificationId(), attempts, error);
+            } else {
+                notification.setNextAttemptAt(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_BASE_MS << (attempts - 1))));
+                retried.incrementAndGet();
+            }
+            unsent.add(notification);
+        }
+
+        if (!sentIds.isEmpty()) {
+            notificationRepository.markSent(sentIds, now);
+            sent.addAndGet(sentIds.size());
+        }
+        if (!unsent.isEmpty()) {
+            notificationRepository.saveAll(unsent);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Engine.ShowOccupancy;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodically checks the in-memory occupancy counters against the database.
+ * Held seats are re-synced from the live holds; a show whose booked counts
+ * disagree with the stored seat state on two runs in a row is reloaded, as a single
+ * mismatch may just be a booking that has not committed yet.
+ */
+@Service
+public class OccupancyReconcileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyReconcileService.class);
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatEventService seatEventService;
+
+    @Autowired
+    private ShowInventoryService showInventoryService;
+
+    // Shows whose booked counts disagreed with the database on the previous run
+    private final Set<Integer> driftedShows = ConcurrentHashMap.newKeySet();
+
+    @Scheduled(fixedRate = 60000) // Run every minute
+    public void reconcileOccupancy() {
+        for (ShowSeatInventory inventory : seatInventoryService.getLoadedInventories()) {
+            try {
+                reconcile(inventory);
+            } catch (Exception e) {
+                logger.error("Error reconciling occupancy for show ID: {}: {}", inventory.getShowId(), e.getMessage());
+            }
+        }
+    }
+
+    private void reconcile(ShowSeatInventory inventory) {
+        Integer showId = inventory.getShowId();
+
+        int resyncedHolds = inventory.syncHeld(seatHoldService.getHeldSeats(showId));
+        if (resyncedHolds > 0) {
+            logger.warn("Re-synced {} held seats for show ID: {}", resyncedHolds, showId);
+            seatEventService.seatsChanged(showId);
+        }
+
+        Map<SeatType, Long> bookedInDatabase = showInventoryService.countBookedSeatsBySeatType(showId);
+
+        ShowOccupancy occupancy = inventory.getOccupancy();
+        boolean drifted = false;
+        for (SeatType seatType : SeatType.values()) {
+            if (occupancy.getBookedSeats(seatType) != bookedInDatabase.getOrDefault(seatType, 0L)) {
+                drifted = true;
+                break;
+            }
+        }
+
+        if (!drifted) {
+            driftedShows.remove(showId);
+        } else if (!driftedShows.add(showId)) {
+            logger.warn("Booked seat counts for show ID: {} drifted from the database, reloading inventory", showId);
+            driftedShows.remove(showId);
+            seatInventoryService.evict(showId);
+        }
+    }
+}
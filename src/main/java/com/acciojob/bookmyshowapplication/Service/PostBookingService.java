@@ -0,0 +1,249 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Models.Notification;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Models.Ticket;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the work that follows a committed booking off the request thread:
+ * hold cleanup, repricing of the show and the booking confirmation, which goes
+ * to the notification outbox as one email per ticket.
+ * Bookings for a show that arrive while earlier ones are still queued are
+ * merged into the same batch, so the show is repriced once per batch. When the
+ * queue is full the booking thread runs the batch itself, which slows down
+ * producers instead of dropping work.
+ */
+@Service
+public class PostBookingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostBookingService.class);
+
+    private static final int WORKER_THREADS = 2;
+    private static final int QUEUE_CAPACITY = 1000;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private DynamicPricingService dynamicPricingService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Batch per show ID that is queued but not picked up by a worker yet
+    private final Map<Integer, ShowBatch> pendingBatches = new ConcurrentHashMap<>();
+
+    private final AtomicLong submittedEvents = new AtomicLong();
+    private final AtomicLong coalescedEvents = new AtomicLong();
+    private final AtomicLong duplicateEvents = new AtomicLong();
+    private final AtomicLong processedBatches = new AtomicLong();
+    private final AtomicLong failedTasks = new AtomicLong();
+    private final AtomicLong callerRunsBatches = new AtomicLong();
+    private final AtomicInteger workerCount = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            WORKER_THREADS, WORKER_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            this::newWorkerThread,
+            (task, pool) -> {
+                if (pool.isShutdown()) {
+                    throw new RejectedExecutionException("Post-booking pipeline is shut down");
+                }
+                callerRunsBatches.incrementAndGet();
+                task.run();
+            });
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Dropped {} pending post-booking batches on shutdown", executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queue the follow-up work of a booking, meant to be called once the booking has committed
+     */
+    public void bookingCommitted(Show show, Ticket ticket, String userMobNo, Collection<String> seatNos) {
+        submittedEvents.incrementAndGet();
+        Integer showId = show.getShowId();
+
+        boolean[] newBatch = new boolean[1];
+        pendingBatches.compute(showId, (id, batch) -> {
+            if (batch == null) {
+                batch = new ShowBatch(show);
+                newBatch[0] = true;
+            }
+            if (!batch.add(ticket, userMobNo, seatNos)) {
+                duplicateEvents.incrementAndGet();
+            }
+            return batch;
+        });
+
+        if (newBatch[0]) {
+            try {
+                executor.execute(() -> process(showId));
+            } catch (RejectedExecutionException e) {
+                // Nothing will run the batch, later bookings must not coalesce into it
+                pendingBatches.remove(showId);
+                logger.warn("Dropped post-booking work of show ID: {}: {}", showId, e.getMessage());
+            }
+        } else {
+            coalescedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * Queue depth and event counters of the pipeline
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queuedBatches", executor.getQueue().size());
+        metrics.put("queueCapacity", QUEUE_CAPACITY);
+        metrics.put("activeWorkers", executor.getActiveCount());
+        metrics.put("pendingShows", pendingBatches.size());
+        metrics.put("submittedEvents", submittedEvents.get());
+        metrics.put("coalescedEvents", coalescedEvents.get());
+        metrics.put("duplicateEvents", duplicateEvents.get());
+        metrics.put("processedBatches", processedBatches.get());
+        metrics.put("failedTasks", failedTasks.get());
+        metrics.put("callerRunsBatches", callerRunsBatches.get());
+        return metrics;
+    }
+
+    private void process(Integer showId) {
+        // Taking the batch out lets bookings that arrive from now on start a new one
+        ShowBatch batch = pendingBatches.remove(showId);
+        if (batch == null) {
+            return;
+        }
+
+        // Drop the booked seats from each user's hold
+        for (Map.Entry<String, Set<String>> entry : batch.confirmedSeatsByUser.entrySet()) {
+            runTask("hold cleanup", () -> seatHoldService.confirm(showId, entry.getKey(), entry.getValue()));
+        }
+
+        // Reprice once for every booking in the batch
+        runTask("dynamic pricing", () -> dynamicPricingService.applyDynamicPricingToShow(batch.show));
+
+        runTask("booking notification", () -> enqueueConfirmations(batch.tickets.values()));
+        processedBatches.incrementAndGet();
+    }
+
+    private void runTask(String name, Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            failedTasks.incrementAndGet();
+            logger.error("Error running post-booking {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * One outbox write for the confirmations of the whole batch, in its own transaction.
+     * A batch the booking thread runs itself is inside the booking's after-commit callback,
+     * where a joined transaction has already committed and would never flush the rows.
+     */
+    private void enqueueConfirmations(Collection<Ticket> tickets) {
+        List<Notification> notifications = confirmations(tickets);
+        if (notifications.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> notificationService.enqueue(notifications));
+    }
+
+    /**
+     * Confirmation emails for the tickets whose user has an email address
+     */
+    private List<Notification> confirmations(Collection<Ticket> tickets) {
+        List<Notification> notifications = new ArrayList<>();
+        if (!notificationService.supports(NotificationChannelType.EMAIL)) {
+            logger.warn("No email channel, skipped {} booking confirmations", tickets.size());
+            return notifications;
+        }
+        for (Ticket ticket : tickets) {
+            if (ticket.getUser() == null || ticket.getUser().getEmailId() == null) {
+                continue;
+            }
+            notifications.add(Notification.builder()
+                    .channel(NotificationChannelType.EMAIL)
+                    .recipient(ticket.getUser().getEmailId())
+                    .subject("Booking Confirmed: " + ticket.getMovieName())
+                    .body(String.format("Your ticket %s for %s on %s at %s, %s, is confirmed. Amount paid: Rs. %d",
+                            ticket.getTicketId(), ticket.getMovieName(), ticket.getShowDate(),
+                            ticket.getShowTime(), ticket.getTheaterNameAndAddress(), ticket.getTotalAmtPaid()))
+                    .build());
+        }
+        return notifications;
+    }
+
+    // Workers stay bounded in the virtual-thread mode too, the pool size is what limits the load on the database
+    private Thread newWorkerThread(Runnable runnable) {
+        String name = "post-booking-" + workerCount.incrementAndGet();
+        return virtualThreads
+                ? Thread.ofVirtual().name(name).unstarted(runnable)
+                : Thread.ofPlatform().name(name).daemon().unstarted(runnable);
+    }
+
+    /**
+     * Follow-up work of every booking on one show that is waiting for a worker.
+     * Only touched inside the pending map's compute, or by the worker after removal.
+     */
+    private static final class ShowBatch {
+        private final Show show;
+        private final Map<String, Ticket> tickets = new LinkedHashMap<>();
+        private final Map<String, Set<String>> confirmedSeatsByUser = new LinkedHashMap<>();
+
+        private ShowBatch(Show show) {
+            this.show = show;
+        }
+
+        /**
+         * @return false if the ticket was already in the batch
+         */
+        private boolean add(Ticket ticket, String userMobNo, Collection<String> seatNos) {
+            if (tickets.putIfAbsent(ticket.getTicketId(), ticket) != null) {
+                return false;
+            }
+            confirmedSeatsByUser.computeIfAbsent(userMobNo, user -> new LinkedHashSet<>()).addAll(seatNos);
+            return true;
+        }
+    }
+}
@@ -6,6 +6,10 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import java.util.Date;
 
+/**
+ * Prunes seat_selections rows whose asynchronous delete never ran (e.g. after a crash).
+ * The holds themselves are expired in memory by SeatHoldService.
+ */
 @Service
 public class SeatCleanupService {
     @Autowired
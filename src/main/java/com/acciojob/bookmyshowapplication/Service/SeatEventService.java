@@ -0,0 +1,305 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Engine.SeatMap;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes seat status changes of a show to its Server-Sent Events subscribers.
+ * The booking, hold, expiry and cancellation paths only mark a show as changed;
+ * a publisher thread picks the changes up after a short delay, reads the seats
+ * changed since the last published seat map version and serializes them once
+ * into an event that every subscriber of the show is sent as is.
+ *
+ * Each subscriber has a small queue of events drained by its own virtual thread,
+ * so a client that stops reading blocks only itself. A subscriber whose queue
+ * fills up is disconnected and can reconnect with Last-Event-ID to catch up.
+ */
+@Service
+public class SeatEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatEventService.class);
+
+    private static final long PUBLISH_DELAY_MS = 100;
+    private static final long HEARTBEAT_SECONDS = 30;
+    private static final long SUBSCRIPTION_TIMEOUT_MS = 30 * 60 * 1000; // 30 minutes
+    private static final int SUBSCRIBER_QUEUE_CAPACITY = 16;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Integer, ShowChannel> channels = new ConcurrentHashMap<>();
+
+    private final AtomicLong publishedEvents = new AtomicLong();
+    private final AtomicLong deliveredEvents = new AtomicLong();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(runnable ->
+            Thread.ofPlatform().name("seat-event-publisher").daemon().unstarted(runnable));
+
+    // A send blocks for as long as the client's socket is full, which costs a virtual thread next to nothing
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("seat-event-sender-", 0).factory());
+
+    private final Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+
+    public SeatEventService() {
+        publisher.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+        for (ShowChannel channel : channels.values()) {
+            channel.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        channels.clear();
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(10, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Subscribe to the seat status changes of a show
+     *
+     * @param lastEventId the last seat map version the client has seen, when reconnecting
+     */
+    public SseEmitter subscribe(Show show, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(SUBSCRIPTION_TIMEOUT_MS);
+        subscribe(show, lastEventId, emitter);
+        return emitter;
+    }
+
+    /**
+     * Subscribe an emitter to the seat status changes of a show.
+     * The first event is the full seat map, or the seats changed since lastEventId when that is still known.
+     */
+    public void subscribe(Show show, Long lastEventId, SseEmitter emitter) {
+        ShowSeatInventory inventory = seatInventoryService.getInventory(show);
+        SeatMap seatMap = lastEventId == null ? inventory.seatMap() : inventory.seatMap(lastEventId);
+        Subscriber subscriber = new Subscriber(show.getShowId(), emitter, seatMap.getVersion());
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        // Join before taking the first event, so no change falls between the two. Joined under the
+        // map's lock, which unsubscribe drops an empty channel under, so a dropped channel is never joined.
+        ShowChannel channel = channels.compute(show.getShowId(), (id, current) -> {
+            ShowChannel joined = current != null ? current : new ShowChannel(seatMap.getVersion());
+            joined.subscribers.add(subscriber);
+            return joined;
+        });
+        subscriber.enqueue(toEvent(inventory, seatMap, lastEventId));
+        logger.debug("Subscribed to seat events of show ID: {}, {} subscribers", show.getShowId(), channel.subscribers.size());
+    }
+
+    /**
+     * Mark the seats of a show as changed; subscribers get the changes within PUBLISH_DELAY_MS
+     */
+    public void seatsChanged(Integer showId) {
+        ShowChannel channel = channels.get(showId);
+        if (channel != null && channel.scheduled.compareAndSet(false, true)) {
+            try {
+                publisher.schedule(() -> publish(showId), PUBLISH_DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                channel.scheduled.set(false);
+                logger.warn("Could not schedule seat events for show ID: {}: {}", showId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Send the changes since the last published version to the show's subscribers, normally run by the publisher
+     */
+    public void publish(Integer showId) {
+        ShowChannel channel = channels.get(showId);
+        if (channel == null) {
+            return;
+        }
+        // Cleared first, so a change made while publishing schedules the next event
+        channel.scheduled.set(false);
+        ShowSeatInventory inventory = seatInventoryService.findInventory(showId);
+        if (inventory == null || channel.subscribers.isEmpty()) {
+            return;
+        }
+
+        long since = channel.publishedVersion;
+        SeatMap seatMap = inventory.seatMap(since);
+        if (seatMap.getVersion() == since) {
+            return;
+        }
+        channel.publishedVersion = seatMap.getVersion();
+
+        Set<ResponseBodyEmitter.DataWithMediaType> event = toEvent(inventory, seatMap, since);
+        publishedEvents.incrementAndGet();
+        for (Subscriber subscriber : channel.subscribers) {
+            if (subscriber.version < seatMap.getVersion()) {
+                subscriber.enqueue(event);
+            }
+        }
+    }
+
+    /**
+     * Subscriber and event counters
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("shows", channels.size());
+        metrics.put("subscribers", channels.values().stream().mapToInt(channel -> channel.subscribers.size()).sum());
+        metrics.put("publishedEvents", publishedEvents.get());
+        metrics.put("deliveredEvents", deliveredEvents.get());
+        metrics.put("droppedSubscribers", droppedSubscribers.get());
+        return metrics;
+    }
+
+    // "seats" lists the seats changed since the given version, "snapshot" is the whole seat map
+    private Set<ResponseBodyEmitter.DataWithMediaType> toEvent(ShowSeatInventory inventory, SeatMap seatMap, Long since) {
+        int[] changedOrdinals = since == null ? null : seatMap.getChangedOrdinals();
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().id(Long.toString(seatMap.getVersion()));
+            if (changedOrdinals == null) {
+                return event.name("snapshot")
+                        .data(objectMapper.writeValueAsString(seatMap), MediaType.APPLICATION_JSON)
+                        .build();
+            }
+
+            List<Map<String, Object>> seats = new ArrayList<>();
+            for (int ordinal : changedOrdinals) {
+                Map<String, Object> seatInfo = new LinkedHashMap<>();
+                seatInfo.put("seatNo", inventory.seatNoOf(ordinal));
+                seatInfo.put("status", seatMap.getStatusLegend().get(seatMap.statusOf(ordinal)));
+                seats.add(seatInfo);
+            }
+            Map<String, Object> changes = new LinkedHashMap<>();
+            changes.put("showId", seatMap.getShowId());
+            changes.put("sinceVersion", since);
+            changes.put("version", seatMap.getVersion());
+            changes.put("seats", seats);
+            return event.name("seats")
+                    .data(objectMapper.writeValueAsString(changes), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (ShowChannel channel : channels.values()) {
+            channel.subscribers.forEach(subscriber -> subscriber.enqueue(heartbeat));
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        // A subscriber only ever joins the show's current channel, and it is dropped with its last subscriber
+        channels.computeIfPresent(subscriber.showId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    /**
+     * Subscribers of one show and the last seat map version sent to them
+     */
+    private static final class ShowChannel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Only written by the publisher thread
+        private volatile long publishedVersion;
+
+        private ShowChannel(long publishedVersion) {
+            this.publishedVersion = publishedVersion;
+        }
+    }
+
+    private final class Subscriber {
+        private final Integer showId;
+        private final SseEmitter emitter;
+        // Version of the first event, later events at or below it carry nothing new
+        private final long version;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue =
+                new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Integer showId, SseEmitter emitter, long version) {
+            this.showId = showId;
+            this.emitter = emitter;
+            this.version = version;
+        }
+
+        private void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!queue.offer(event)) {
+                // Too far behind, the client reconnects with Last-Event-ID and catches up from there
+                droppedSubscribers.incrementAndGet();
+                unsubscribe(this);
+                queue.clear();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    unsubscribe(this);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = queue.poll();
+                if (event == null) {
+                    draining.set(false);
+                    // An event queued after the poll may have seen draining still set
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                    deliveredEvents.incrementAndGet();
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(this);
+                    queue.clear();
+                    draining.set(false);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Engine.SeatHoldManager;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Models.SeatSelection;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Repository.SeatSelectionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporary seat holds taken while a user goes from seat selection to booking.
+ * Holds live in memory and expire on a timing wheel; the seat_selections table
+ * is written asynchronously and only read back on startup to recover holds.
+ * Held seats are mirrored into the show's seat inventory for its occupancy counters.
+ * A hold can also be a seat offer to a notified waitlister; offers are not written to
+ * seat_selections, the waitlist entry records them. An offer that ends without a
+ * booking is handed back to waitlist matching, so the seats go to the next waitlister;
+ * that includes a waitlister giving up the offer by selecting seats of their own.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldService.class);
+
+    public static final long HOLD_TTL_MS = 10 * 60 * 1000; // 10 minutes
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 64;
+
+    @Autowired
+    private SeatSelectionRepository seatSelectionRepository;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatEventService seatEventService;
+
+    @Autowired
+    private ShowLookupService showLookupService;
+
+    // Provider, waitlist matching depends on this service through WaitlistService
+    @Autowired
+    private ObjectProvider<WaitlistMatchingService> waitlistMatchingServiceProvider;
+
+    // Holds that are waitlist offers, as showId:userMobNo
+    private final Set<String> offers = ConcurrentHashMap.newKeySet();
+
+    private final SeatHoldManager seatHoldManager = new SeatHoldManager(TICK_MS, WHEEL_SIZE, this::onHoldExpired);
+
+    // Follows the virtual-thread execution mode; the expiry driver stays a platform thread
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final ExecutorService persistenceExecutor = Executors.newSingleThreadExecutor(runnable ->
+            virtualThreads
+                    ? Thread.ofVirtual().name("seat-hold-persistence").unstarted(runnable)
+                    : Thread.ofPlatform().name("seat-hold-persistence").daemon().unstarted(runnable));
+
+    private volatile Thread expiryThread;
+
+    @PostConstruct
+    public void startExpiryThread() {
+        expiryThread = new Thread(this::runExpiryLoop, "seat-hold-expiry");
+        expiryThread.setDaemon(true);
+        expiryThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = expiryThread;
+        expiryThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        // Flush queued writes while the repositories are still available
+        persistenceExecutor.shutdown();
+        try {
+            if (!persistenceExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Dropped {} pending seat hold writes on shutdown", persistenceExecutor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hold seats for a user, replacing any previous hold of that user on the show.
+     * A seat offer the user held on the show ends, its seats go to the next waitlister.
+     *
+     * @return the seats already held by other users, empty if the hold was placed
+     */
+    public List<String> hold(Show show, String userMobNo, List<String> seatNos) {
+        List<String> heldByOthers = place(show, userMobNo, seatNos, HOLD_TTL_MS);
+        if (heldByOthers.isEmpty()) {
+            Date createdAt = new Date();
+            persist(() -> {
+                seatSelectionRepository.deleteTempSelections(show.getShowId(), userMobNo);
+                List<SeatSelection> selections = new ArrayList<>();
+                for (String seatNo : seatNos) {
+                    selections.add(SeatSelection.builder()
+                            .show(show)
+                            .seatNo(seatNo)
+                            .userMobNo(userMobNo)
+                            .status("TEMP")
+                            .createdAt(createdAt)
+                            .build());
+                }
+                seatSelectionRepository.saveAll(selections);
+            });
+            endOffer(show.getShowId(), userMobNo, false);
+        }
+        return heldByOthers;
+    }
+
+    /**
+     * Hold seats for a notified waitlister, replacing any previous hold of that user on the show.
+     * A seat selection the user makes afterwards replaces the offer and ends it.
+     *
+     * @return the seats already held by other users, empty if the offer was placed
+     */
+    public List<String> offer(Show show, String userMobNo, List<String> seatNos, long ttlMs) {
+        List<String> heldByOthers = place(show, userMobNo, seatNos, ttlMs);
+        if (heldByOthers.isEmpty()) {
+            offers.add(offerKey(show.getShowId(), userMobNo));
+            persist(() -> seatSelectionRepository.deleteTempSelections(show.getShowId(), userMobNo));
+        }
+        return heldByOthers;
+    }
+
+    /**
+     * Take back an offer whose waitlist entry was not updated, without passing the seats on
+     */
+    public void withdrawOffer(Integer showId, String userMobNo) {
+        if (offers.remove(offerKey(showId, userMobNo))) {
+            release(showId, userMobNo);
+        }
+    }
+
+    /**
+     * Whether the user's hold on a show is a waitlist offer
+     */
+    public boolean isOffer(Integer showId, String userMobNo) {
+        return offers.contains(offerKey(showId, userMobNo));
+    }
+
+    /**
+     * Release the user's hold on a show
+     */
+    public void release(Integer showId, String userMobNo) {
+        Set<String> seatNos = seatHoldManager.getHeldSeats(showId, userMobNo);
+        if (seatHoldManager.release(showId, userMobNo)) {
+            clearHeld(showId, seatNos);
+            persist(() -> seatSelectionRepository.deleteTempSelections(showId, userMobNo));
+            endOffer(showId, userMobNo, false);
+        }
+    }
+
+    /**
+     * Drop booked seats from the user's hold
+     */
+    public void confirm(Integer showId, String userMobNo, Collection<String> seatNos) {
+        seatHoldManager.confirm(showId, userMobNo, seatNos);
+        if (seatHoldManager.getHeldSeats(showId, userMobNo).isEmpty()) {
+            persist(() -> seatSelectionRepository.deleteTempSelections(showId, userMobNo));
+            endOffer(showId, userMobNo, true);
+        }
+    }
+
+    /**
+     * Seats held by anyone on a show
+     */
+    public Set<String> getHeldSeats(Integer showId) {
+        return seatHoldManager.getHeldSeats(showId);
+    }
+
+    /**
+     * Seats held by the user on a show
+     */
+    public Set<String> getHeldSeats(Integer showId, String userMobNo) {
+        return seatHoldManager.getHeldSeats(showId, userMobNo);
+    }
+
+    /**
+     * Rebuild the holds that were still live when the application went down
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        long now = System.currentTimeMillis();
+        List<SeatSelection> selections = seatSelectionRepository.findByStatusAndCreatedAtAfter(
+                "TEMP", new Date(now - HOLD_TTL_MS));
+
+        Map<String, List<SeatSelection>> selectionsByHold = new LinkedHashMap<>();
+        for (SeatSelection selection : selections) {
+            String key = selection.getShow().getShowId() + ":" + selection.getUserMobNo();
+            selectionsByHold.computeIfAbsent(key, k -> new ArrayList<>()).add(selection);
+        }
+
+        int restored = 0;
+        for (List<SeatSelection> holdSelections : selectionsByHold.values()) {
+            SeatSelection first = holdSelections.get(0);
+            // The selection's show is a lazy proxy without a session, the lookup returns a loaded show
+            Integer showId = first.getShow().getShowId();
+            List<String> seatNos = holdSelections.stream().map(SeatSelection::getSeatNo).toList();
+            long remainingMs = first.getCreatedAt().getTime() + HOLD_TTL_MS - now;
+            try {
+                Show show = showLookupService.getShow(showId);
+                if (seatHoldManager.hold(showId, first.getUserMobNo(), seatNos, remainingMs).isEmpty()) {
+                    seatInventoryService.getInventory(show).markHeld(seatNos);
+                    restored++;
+                }
+            } catch (RuntimeException e) {
+                // One broken hold must not keep the application from starting, it expires on its own
+                logger.warn("Could not restore seat hold of show ID: {} user: {}: {}",
+                        showId, first.getUserMobNo(), e.getMessage());
+            }
+        }
+        logger.info("Restored {} seat holds from seat_selections", restored);
+    }
+
+    private void onHoldExpired(Integer showId, String userMobNo, Set<String> seatNos) {
+        logger.debug("Seat hold expired for show ID: {} user: {} seats: {}", showId, userMobNo, seatNos);
+        clearHeld(showId, seatNos);
+        persist(() -> seatSelectionRepository.deleteTempSelections(showId, userMobNo));
+        endOffer(showId, userMobNo, false);
+    }
+
+    // Places the hold in memory and mirrors it into the inventory. The mirror is updated under the
+    // hold's lock, so overlapping selections of one user clear exactly the seats each one replaced.
+    private List<String> place(Show show, String userMobNo, List<String> seatNos, long ttlMs) {
+        ShowSeatInventory inventory = seatInventoryService.getInventory(show);
+        List<String> heldByOthers = seatHoldManager.hold(show.getShowId(), userMobNo, seatNos, ttlMs,
+                (replacedSeats, heldSeats) -> {
+                    inventory.clearHeld(replacedSeats);
+                    inventory.markHeld(heldSeats);
+                });
+        if (heldByOthers.isEmpty()) {
+            seatEventService.seatsChanged(show.getShowId());
+        }
+        return heldByOthers;
+    }
+
+    private void endOffer(Integer showId, String userMobNo, boolean booked) {
+        if (offers.remove(offerKey(showId, userMobNo))) {
+            waitlistMatchingServiceProvider.getObject().offerEnded(showId, userMobNo, booked);
+        }
+    }
+
+    private static String offerKey(Integer showId, String userMobNo) {
+        return showId + ":" + userMobNo;
+    }
+
+    private void clearHeld(Integer showId, Set<String> seatNos) {
+        ShowSeatInventory inventory = seatInventoryService.findInventory(showId);
+        if (inventory != null) {
+            inventory.clearHeld(seatNos);
+            seatEventService.seatsChanged(showId);
+        }
+    }
+
+    private void persist(Runnable write) {
+        persistenceExecutor.execute(() -> {
+            try {
+                write.run();
+            } catch (Exception e) {
+                logger.error("Error persisting seat hold: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void runExpiryLoop() {
+        while (expiryThread == Thread.currentThread()) {
+            try {
+                seatHoldManager.expireDue(1000);
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                logger.error("Error expiring seat holds: {}", e.getMessage());
+            }
+        }
+    }
+}
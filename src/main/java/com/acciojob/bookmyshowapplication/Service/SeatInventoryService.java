@@ -0,0 +1,112 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one shared in-memory seat inventory per show.
+ * The inventory is built from the show's stored seat state the first time a show is
+ * touched and is then kept in sync by the booking and pricing flows. A rebuilt
+ * inventory continues the seat map version of the one it replaces.
+ */
+@Service
+public class SeatInventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryService.class);
+
+    @Autowired
+    private ShowInventoryService showInventoryService;
+
+    // Provider, SeatHoldService itself depends on this service
+    @Autowired
+    private ObjectProvider<SeatHoldService> seatHoldServiceProvider;
+
+    private final Map<Integer, ShowSeatInventory> inventories = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<ShowSeatInventory>> pendingLoads = new ConcurrentHashMap<>();
+    // Last seat map version of evicted inventories
+    private final Map<Integer, Long> versionFloors = new ConcurrentHashMap<>();
+
+    /**
+     * Get the inventory for a show, loading it from the database on first access
+     */
+    public ShowSeatInventory getInventory(Show show) {
+        Integer showId = show.getShowId();
+        ShowSeatInventory inventory = inventories.get(showId);
+        if (inventory != null) {
+            return inventory;
+        }
+
+        // Load outside the map's bin lock: a virtual thread holding a monitor during
+        // JDBC I/O pins its carrier. Concurrent callers wait on the same pending load.
+        CompletableFuture<ShowSeatInventory> load = new CompletableFuture<>();
+        CompletableFuture<ShowSeatInventory> pending = pendingLoads.putIfAbsent(showId, load);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            inventory = inventories.get(showId);
+            if (inventory == null) {
+                inventory = showInventoryService.loadInventory(show, versionFloors.getOrDefault(showId, 0L));
+                inventory.syncHeld(seatHoldServiceProvider.getObject().getHeldSeats(showId));
+                inventories.put(showId, inventory);
+                logger.info("Built seat inventory for show ID: {} with {} seats", showId, inventory.size());
+            }
+            load.complete(inventory);
+            return inventory;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingLoads.remove(showId, load);
+        }
+    }
+
+    /**
+     * Get the inventory for a show if it is already loaded, null otherwise
+     */
+    public ShowSeatInventory findInventory(Integer showId) {
+        return inventories.get(showId);
+    }
+
+    /**
+     * Inventories currently loaded in memory
+     */
+    public Collection<ShowSeatInventory> getLoadedInventories() {
+        return inventories.values();
+    }
+
+    /**
+     * Push new per-seat-type prices into an already loaded inventory
+     */
+    public void updatePrices(Integer showId, Map<String, Integer> pricesBySeatType) {
+        ShowSeatInventory inventory = inventories.get(showId);
+        if (inventory != null) {
+            inventory.updatePrices(pricesBySeatType);
+        }
+    }
+
+    /**
+     * Drop the inventory of a show so that it is rebuilt on next access
+     */
+    public void evict(Integer showId) {
+        ShowSeatInventory inventory = inventories.remove(showId);
+        if (inventory != null) {
+            versionFloors.merge(showId, inventory.getVersion(), Math::max);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
+import com.acciojob.bookmyshowapplication.Models.SeatLayout;
+import com.acciojob.bookmyshowapplication.Models.Theater;
+import com.acciojob.bookmyshowapplication.Models.TheaterSeat;
+import com.acciojob.bookmyshowapplication.Repository.SeatLayoutRepository;
+import com.acciojob.bookmyshowapplication.Repository.TheaterSeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes and caches theater seat layouts. A layout never changes once saved,
+ * so each one is read from the database once and then shared by all its shows.
+ */
+@Service
+public class SeatLayoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatLayoutService.class);
+
+    @Autowired
+    private SeatLayoutRepository seatLayoutRepository;
+
+    @Autowired
+    private TheaterSeatRepository theaterSeatRepository;
+
+    private final Map<Integer, SeatLayout> layouts = new ConcurrentHashMap<>();
+
+    /**
+     * Get a layout by ID, from the cache after the first read
+     */
+    public SeatLayout getLayout(Integer layoutId) {
+        SeatLayout layout = layouts.get(layoutId);
+        if (layout != null) {
+            return layout;
+        }
+        return cache(seatLayoutRepository.findById(layoutId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat layout", "layoutId", layoutId)));
+    }
+
+    /**
+     * The theater's current layout, published from its seats if it has none yet
+     */
+    public SeatLayout currentLayout(Theater theater) {
+        return seatLayoutRepository.findFirstByTheaterOrderByLayoutIdDesc(theater)
+                .map(this::cache)
+                .orElseGet(() -> publishLayout(theater));
+    }
+
+    /**
+     * Publish the theater's seats as its new current layout, shows created earlier keep their layout
+     */
+    public SeatLayout publishLayout(Theater theater) {
+        List<TheaterSeat> theaterSeats = theaterSeatRepository.findByTheaterOrderByTheaterSeatId(theater);
+        String[] seatNos = new String[theaterSeats.size()];
+        SeatType[] seatTypes = new SeatType[theaterSeats.size()];
+        for (int ordinal = 0; ordinal < seatNos.length; ordinal++) {
+            seatNos[ordinal] = theaterSeats.get(ordinal).getSeatNo();
+            seatTypes[ordinal] = theaterSeats.get(ordinal).getSeatType();
+        }
+        SeatLayout layout = cache(seatLayoutRepository.save(SeatLayout.of(theater, seatNos, seatTypes)));
+        logger.info("Published seat layout ID: {} with {} seats for theater ID: {}",
+                layout.getLayoutId(), layout.getSeatCount(), theater.getTheaterId());
+        return layout;
+    }
+
+    /**
+     * A layout with exactly these seats, the theater's current one when it matches
+     */
+    public SeatLayout layoutFor(Theater theater, String[] seatNos, SeatType[] seatTypes) {
+        SeatLayout current = seatLayoutRepository.findFirstByTheaterOrderByLayoutIdDesc(theater).orElse(null);
+        if (current != null && current.hasSeats(seatNos, seatTypes)) {
+            return cache(current);
+        }
+        return cache(seatLayoutRepository.save(SeatLayout.of(theater, seatNos, seatTypes)));
+    }
+
+    private SeatLayout cache(SeatLayout layout) {
+        SeatLayout cached = layouts.putIfAbsent(layout.getLayoutId(), layout);
+        return cached == null ? layout : cached;
+    }
+}
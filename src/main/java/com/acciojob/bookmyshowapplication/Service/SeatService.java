@@ -1,99 +1,113 @@
 package com.acciojob.bookmyshowapplication.Service;
 
+import com.acciojob.bookmyshowapplication.Engine.SeatMap;
+import com.acciojob.bookmyshowapplication.Engine.ShowOccupancy;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
 import com.acciojob.bookmyshowapplication.Models.*;
-import com.acciojob.bookmyshowapplication.Repository.*;
 import com.acciojob.bookmyshowapplication.Requests.GetAvailableSeatsRequest;
 import com.acciojob.bookmyshowapplication.Requests.SeatSelectionRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class SeatService {
 
     @Autowired
-    private ShowRepository showRepository;
+    private ShowLookupService showLookupService;
 
     @Autowired
-    private ShowSeatRepository showSeatRepository;
+    private SeatHoldService seatHoldService;
 
     @Autowired
-    private MovieRepository movieRepository;
-
-    @Autowired
-    private TheaterRepository theaterRepository;
-
-    @Autowired
-    private SeatSelectionRepository seatSelectionRepository;
+    private SeatInventoryService seatInventoryService;
 
     public Map<String, Object> getAvailableSeatsWithLayout(GetAvailableSeatsRequest request) {
         // Find the show
-        Movie movie = movieRepository.findMovieByMovieName(request.getMovieName());
-        Theater theater = theaterRepository.findById(request.getTheaterId()).get();
-        Show show = showRepository.findShowByShowDateAndShowTimeAndMovieAndTheater(
-                request.getShowDate(), request.getShowTime(), movie, theater);
-
-        // Get all show seats
-        List<ShowSeat> showSeats = showSeatRepository.findAllByShow(show);
-
-        // Get temporarily selected seats
-        List<SeatSelection> tempSelections = seatSelectionRepository.findByShowAndStatusAndCreatedAtAfter(
-                show, "TEMP", new Date(System.currentTimeMillis() - 10 * 60 * 1000)); // 10 minutes
-
-        Set<String> tempSelectedSeats = tempSelections.stream()
-                .map(SeatSelection::getSeatNo)
-                .collect(Collectors.toSet());
+        Show show = showLookupService.resolveShow(request.getShowId(), request.getMovieName(),
+                request.getTheaterId(), request.getShowDate(), request.getShowTime());
+
+        // Snapshot statuses and prices at one seat map version
+        ShowSeatInventory inventory = seatInventoryService.getInventory(show);
+        SeatMap seatMap = request.getSinceVersion() == null
+                ? inventory.seatMap() : inventory.seatMap(request.getSinceVersion());
+
+        // A delta lists only the seats changed since the client's version
+        int[] changedOrdinals = seatMap.getChangedOrdinals();
+        boolean delta = changedOrdinals != null;
+        if (!delta) {
+            changedOrdinals = IntStream.range(0, seatMap.getSeatCount()).toArray();
+        }
 
         // Create seat layout
         Map<String, Object> seatLayout = new HashMap<>();
         List<Map<String, Object>> seats = new ArrayList<>();
+        List<String> statusLegend = seatMap.getStatusLegend();
+        SeatMap.PriceClass[] priceClasses = seatMap.expandPriceClasses();
 
-        for (ShowSeat seat : showSeats) {
+        for (int ordinal : changedOrdinals) {
             Map<String, Object> seatInfo = new HashMap<>();
-            seatInfo.put("seatNo", seat.getSeatNo());
-            seatInfo.put("seatType", seat.getSeatType().toString());
-            seatInfo.put("price", seat.getPrice());
-
-            if (!seat.getIsAvailable()) {
-                seatInfo.put("status", "BOOKED");
-            } else if (tempSelectedSeats.contains(seat.getSeatNo())) {
-                seatInfo.put("status", "TEMP_SELECTED");
-            } else {
-                seatInfo.put("status", "AVAILABLE");
-            }
-
+            seatInfo.put("seatNo", inventory.seatNoOf(ordinal));
+            seatInfo.put("seatType", priceClasses[ordinal].seatType().toString());
+            seatInfo.put("price", priceClasses[ordinal].price());
+            seatInfo.put("status", statusLegend.get(seatMap.statusOf(ordinal)));
             seats.add(seatInfo);
         }
 
+        // Seat counts per type, read straight from the occupancy counters
+        ShowOccupancy occupancy = inventory.getOccupancy();
+        Map<String, Object> seatCounts = new HashMap<>();
+        for (SeatType seatType : SeatType.values()) {
+            Map<String, Integer> counts = new HashMap<>();
+            counts.put("total", occupancy.getTotalSeats(seatType));
+            counts.put("booked", occupancy.getBookedSeats(seatType));
+            counts.put("held", occupancy.getHeldSeats(seatType));
+            counts.put("available", occupancy.getAvailableSeats(seatType));
+            seatCounts.put(seatType.toString(), counts);
+        }
+
         seatLayout.put("seats", seats);
+        seatLayout.put("seatCounts", seatCounts);
+        seatLayout.put("occupancyPercent", occupancy.getOccupancyPercent());
         seatLayout.put("showId", show.getShowId());
-        seatLayout.put("movieName", movie.getMovieName());
-        seatLayout.put("theaterName", theater.getName());
+        seatLayout.put("version", seatMap.getVersion());
+        seatLayout.put("delta", delta);
+        seatLayout.put("movieName", show.getMovie().getMovieName());
+        seatLayout.put("theaterName", show.getTheater().getName());
 
         return seatLayout;
     }
 
+    /**
+     * Same layout as getAvailableSeatsWithLayout, as a compact seat map
+     */
+    public SeatMap getSeatMap(GetAvailableSeatsRequest request) {
+        Show show = showLookupService.resolveShow(request.getShowId(), request.getMovieName(),
+                request.getTheaterId(), request.getShowDate(), request.getShowTime());
+        return seatInventoryService.getInventory(show).seatMap();
+    }
+
+    /**
+     * Entity tag of the show's current seat layout, "showId-version"
+     */
+    public String getSeatMapTag(GetAvailableSeatsRequest request) {
+        Show show = showLookupService.resolveShow(request.getShowId(), request.getMovieName(),
+                request.getTheaterId(), request.getShowDate(), request.getShowTime());
+        return seatMapTag(show.getShowId(), seatInventoryService.getInventory(show).getVersion());
+    }
+
+    public static String seatMapTag(Integer showId, long version) {
+        return showId + "-" + version;
+    }
+
     public Map<String, Object> selectSeats(SeatSelectionRequest request) {
-        Show show = showRepository.findById(request.getShowId()).get();
-        List<ShowSeat> showSeats = showSeatRepository.findAllByShow(show);
+        Show show = showLookupService.getShow(request.getShowId());
+        ShowSeatInventory inventory = seatInventoryService.getInventory(show);
 
         // Check if seats are available
-        List<String> unavailableSeats = new ArrayList<>();
-        int totalAmount = 0;
-
-        for (String seatNo : request.getSelectedSeats()) {
-            ShowSeat seat = showSeats.stream()
-                    .filter(s -> s.getSeatNo().equals(seatNo))
-                    .findFirst()
-                    .orElse(null);
-
-            if (seat == null || !seat.getIsAvailable()) {
-                unavailableSeats.add(seatNo);
-            } else {
-                totalAmount += seat.getPrice();
-            }
-        }
+        List<String> unavailableSeats = inventory.findUnavailable(request.getSelectedSeats());
 
         if (!unavailableSeats.isEmpty()) {
             Map<String, Object> response = new HashMap<>();
@@ -103,19 +117,20 @@ public class SeatService {
             return response;
         }
 
-        // Clear previous temp selections for this user
-        seatSelectionRepository.deleteByUserMobNoAndShow(request.getUserMobNo(), show);
+        // Hold the seats, this replaces any previous hold of the user on this show
+        List<String> heldByOthers = seatHoldService.hold(show, request.getUserMobNo(), request.getSelectedSeats());
 
-        // Create temporary selections
+        if (!heldByOthers.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Some seats are temporarily selected by another user");
+            response.put("unavailableSeats", heldByOthers);
+            return response;
+        }
+
+        int totalAmount = 0;
         for (String seatNo : request.getSelectedSeats()) {
-            SeatSelection selection = SeatSelection.builder()
-                    .show(show)
-                    .seatNo(seatNo)
-                    .userMobNo(request.getUserMobNo())
-                    .status("TEMP")
-                    .createdAt(new Date())
-                    .build();
-            seatSelectionRepository.save(selection);
+            totalAmount += inventory.priceOf(inventory.ordinalOf(seatNo));
         }
 
         Map<String, Object> response = new HashMap<>();
@@ -128,8 +143,7 @@ public class SeatService {
     }
 
     public String releaseTemporarySeats(SeatSelectionRequest request) {
-        Show show = showRepository.findById(request.getShowId()).get();
-        seatSelectionRepository.deleteByUserMobNoAndShow(request.getUserMobNo(), show);
+        seatHoldService.release(request.getShowId(), request.getUserMobNo());
         return "Temporary seat selections released";
     }
 }
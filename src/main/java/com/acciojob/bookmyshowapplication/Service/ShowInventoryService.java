@@ -0,0 +1,269 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Exceptions.InvalidRequestException;
+import com.acciojob.bookmyshowapplication.Models.SeatLayout;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Models.ShowInventory;
+import com.acciojob.bookmyshowapplication.Models.ShowSeat;
+import com.acciojob.bookmyshowapplication.Repository.ShowInventoryRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowSeatRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Stores the seat state of each show as a single show_inventories row on top of the
+ * theater's shared {@link SeatLayout}. Bookings and cancellations lock the show's row
+ * and flip bits of its booked bitmap, prices are kept once per seat type. Shows still
+ * stored as one show_seats row per seat are migrated the first time they are loaded,
+ * or all at once through {@link #migrateLegacyShows()}; their show_seats rows are
+ * deleted in the same transaction.
+ * <p>
+ * The row lock serializes every booking of a show, so callers claim and release seats
+ * as the last write of their transaction: the lock is then held for one update and the
+ * commit, not for the rest of the booking. BookingBenchmark measures that contention.
+ */
+@Service
+public class ShowInventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShowInventoryService.class);
+
+    @Autowired
+    private ShowInventoryRepository showInventoryRepository;
+
+    @Autowired
+    private ShowSeatRepository showSeatRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Provider, DynamicPricingService itself depends on this service
+    @Autowired
+    private ObjectProvider<DynamicPricingService> dynamicPricingServiceProvider;
+
+    /**
+     * Seat state for new shows, all on the same layout and prices
+     */
+    public List<ShowInventory> createInventories(List<Show> shows, SeatLayout layout,
+                                                 int priceOfClassicSeats, int priceOfPremiumSeats) {
+        List<ShowInventory> inventories = new ArrayList<>(shows.size());
+        for (Show show : shows) {
+            inventories.add(ShowInventory.builder()
+                    .showId(show.getShowId())
+                    .layout(layout)
+                    .priceOfClassicSeats(priceOfClassicSeats)
+                    .priceOfPremiumSeats(priceOfPremiumSeats)
+                    .basePriceOfClassicSeats(priceOfClassicSeats)
+                    .basePriceOfPremiumSeats(priceOfPremiumSeats)
+                    .build());
+        }
+        return showInventoryRepository.saveAll(inventories);
+    }
+
+    /**
+     * Put a show on the given layout and prices, as long as none of its seats has been booked
+     */
+    @Transactional
+    public ShowInventory initializeShow(Show show, SeatLayout layout, int priceOfClassicSeats, int priceOfPremiumSeats) {
+        ShowInventory state = showInventoryRepository.findForUpdate(show.getShowId()).orElse(null);
+        if (state == null) {
+            return createInventories(List.of(show), layout, priceOfClassicSeats, priceOfPremiumSeats).get(0);
+        }
+        if (!state.booked().isEmpty()) {
+            throw new InvalidRequestException("Seats of show " + show.getShowId() + " have already been booked");
+        }
+        state.setLayout(layout);
+        state.setPriceOfClassicSeats(priceOfClassicSeats);
+        state.setPriceOfPremiumSeats(priceOfPremiumSeats);
+        state.setBasePriceOfClassicSeats(priceOfClassicSeats);
+        state.setBasePriceOfPremiumSeats(priceOfPremiumSeats);
+        return state;
+    }
+
+    /**
+     * Build the in-memory inventory of a show from its stored state, migrating a show that is still
+     * stored as show_seats rows. A show without seats gets an empty inventory.
+     */
+    public ShowSeatInventory loadInventory(Show show, long initialVersion) {
+        Integer showId = show.getShowId();
+        ShowInventory state = showInventoryRepository.findById(showId).orElseGet(() -> migrate(showId));
+        if (state == null) {
+            return new ShowSeatInventory(showId, List.of(), initialVersion);
+        }
+        SeatLayout layout = seatLayoutService.getLayout(state.getLayout().getLayoutId());
+        return new ShowSeatInventory(showId, layout, state, initialVersion);
+    }
+
+    /**
+     * Mark the seats as booked, only if every one of them is still available.
+     * Locks the show's row until the caller's transaction ends, so call it last.
+     *
+     * @return false if any seat is unknown or already booked, nothing is changed then
+     */
+    @Transactional
+    public boolean claimSeats(Integer showId, Collection<String> seatNos) {
+        ShowInventory state = showInventoryRepository.findForUpdate(showId).orElse(null);
+        if (state == null) {
+            return false;
+        }
+        SeatLayout layout = seatLayoutService.getLayout(state.getLayout().getLayoutId());
+        BitSet booked = state.booked();
+        BitSet claimed = new BitSet(layout.getSeatCount());
+        for (String seatNo : seatNos) {
+            int ordinal = layout.ordinalOf(seatNo);
+            if (ordinal < 0 || booked.get(ordinal) || claimed.get(ordinal)) {
+                return false;
+            }
+            claimed.set(ordinal);
+        }
+        booked.or(claimed);
+        state.setBooked(booked);
+        return true;
+    }
+
+    /**
+     * Return booked seats to the available pool.
+     * Locks the show's row until the caller's transaction ends, so call it last.
+     *
+     * @return the number of seats released
+     */
+    @Transactional
+    public int releaseSeats(Integer showId, Collection<String> seatNos) {
+        ShowInventory state = showInventoryRepository.findForUpdate(showId).orElse(null);
+        if (state == null) {
+            return 0;
+        }
+        SeatLayout layout = seatLayoutService.getLayout(state.getLayout().getLayoutId());
+        BitSet booked = state.booked();
+        int released = 0;
+        for (String seatNo : seatNos) {
+            int ordinal = layout.ordinalOf(seatNo);
+            if (ordinal >= 0 && booked.get(ordinal)) {
+                booked.clear(ordinal);
+                released++;
+            }
+        }
+        state.setBooked(booked);
+        return released;
+    }
+
+    /**
+     * Reprice seat types of a show, their base prices stay as they are.
+     * Done under the row lock, so booked seats are never overwritten with stale values.
+     */
+    @Transactional
+    public void updatePrices(Integer showId, Map<String, Integer> pricesBySeatType) {
+        showInventoryRepository.findForUpdate(showId).ifPresent(state -> pricesBySeatType.forEach(
+                (seatType, price) -> state.setPrice(SeatType.valueOf(seatType), price)));
+    }
+
+    /**
+     * Booked seat count per seat type of a show, as stored
+     */
+    public Map<SeatType, Long> countBookedSeatsBySeatType(Integer showId) {
+        Map<SeatType, Long> bookedBySeatType = new EnumMap<>(SeatType.class);
+        ShowInventory state = showInventoryRepository.findById(showId).orElse(null);
+        if (state == null) {
+            return bookedBySeatType;
+        }
+        SeatType[] seatTypes = seatLayoutService.getLayout(state.getLayout().getLayoutId()).getSeatTypes();
+        BitSet booked = state.booked();
+        for (int ordinal = booked.nextSetBit(0); ordinal >= 0 && ordinal < seatTypes.length; ordinal = booked.nextSetBit(ordinal + 1)) {
+            bookedBySeatType.merge(seatTypes[ordinal], 1L, Long::sum);
+        }
+        return bookedBySeatType;
+    }
+
+    /**
+     * Migrate every show still stored as show_seats rows, one transaction per show
+     *
+     * @return the number of shows migrated
+     */
+    public int migrateLegacyShows() {
+        int migrated = 0;
+        for (Integer showId : showSeatRepository.findLegacyShowIds()) {
+            try {
+                if (migrate(showId) != null) {
+                    migrated++;
+                }
+            } catch (RuntimeException e) {
+                // Most likely migrated concurrently on first access, it is picked up by the next run otherwise
+                logger.warn("Could not migrate seats of show ID: {}: {}", showId, e.getMessage());
+            }
+        }
+        logger.info("Migrated {} shows from show_seats to seat layouts", migrated);
+        return migrated;
+    }
+
+    // In its own transaction, so the migration stands even if the caller's transaction rolls back.
+    // The show is read again in it, a caller's instance may be a detached proxy that cannot load its theater.
+    private ShowInventory migrate(Integer showId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction.execute(status -> {
+            Optional<ShowInventory> migrated = showInventoryRepository.findById(showId);
+            if (migrated.isPresent()) {
+                return migrated.get();
+            }
+            Show show = showRepository.findById(showId).orElse(null);
+            if (show == null) {
+                return null;
+            }
+            List<ShowSeat> showSeats = showSeatRepository.findAllByShow(show);
+            if (showSeats.isEmpty()) {
+                return null;
+            }
+
+            String[] seatNos = new String[showSeats.size()];
+            SeatType[] seatTypes = new SeatType[showSeats.size()];
+            BitSet booked = new BitSet(showSeats.size());
+            Map<SeatType, Integer> prices = new EnumMap<>(SeatType.class);
+            for (int ordinal = 0; ordinal < seatNos.length; ordinal++) {
+                ShowSeat seat = showSeats.get(ordinal);
+                seatNos[ordinal] = seat.getSeatNo();
+                seatTypes[ordinal] = seat.getSeatType();
+                booked.set(ordinal, Boolean.FALSE.equals(seat.getIsAvailable()));
+                if (seat.getPrice() != null) {
+                    prices.putIfAbsent(seat.getSeatType(), seat.getPrice());
+                }
+            }
+
+            // show_seats only kept the price last charged. Every booking repriced the show at its
+            // occupancy after the booking, so that multiplier is taken back out to get the base price.
+            double multiplier = booked.isEmpty() ? 1.0
+                    : dynamicPricingServiceProvider.getObject().multiplierAt(show, booked.cardinality() * 100 / seatNos.length);
+            SeatLayout layout = seatLayoutService.layoutFor(show.getTheater(), seatNos, seatTypes);
+            ShowInventory state = ShowInventory.builder()
+                    .showId(show.getShowId())
+                    .layout(layout)
+                    .build();
+            for (Map.Entry<SeatType, Integer> price : prices.entrySet()) {
+                state.setPrice(price.getKey(), price.getValue());
+                state.setBasePrice(price.getKey(), (int) Math.round(price.getValue() / multiplier));
+            }
+            state.setBooked(booked);
+            showInventoryRepository.save(state);
+            showSeatRepository.deleteByShowId(show.getShowId());
+            logger.info("Migrated {} show_seats rows of show ID: {} to seat layout ID: {}",
+                    seatNos.length, show.getShowId(), layout.getLayoutId());
+            return state;
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
+import com.acciojob.bookmyshowapplication.Models.Movie;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Models.Theater;
+import com.acciojob.bookmyshowapplication.Repository.MovieRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
+import com.acciojob.bookmyshowapplication.Repository.TheaterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index from (movie name, theater ID, date, time) to show.
+ * Booking, seat layout and waitlist requests resolve their show here instead of
+ * running the movie, theater and show queries one after another. Upcoming shows
+ * are loaded on startup and new shows are added by ShowService; a miss falls
+ * back to the database and caches what it finds.
+ */
+@Service
+public class ShowLookupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShowLookupService.class);
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    private final Map<ShowKey, Integer> showIdsByKey = new ConcurrentHashMap<>();
+
+    // Detached shows with their movie and theater loaded; only their IDs, names and schedule are read
+    private final Map<Integer, Show> showsById = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUpcomingShows() {
+        List<Show> shows = showRepository.findUpcomingShows(LocalDate.now());
+        shows.forEach(this::register);
+        logger.info("Indexed {} upcoming shows", shows.size());
+    }
+
+    /**
+     * Add a show to the index, called when a show is created
+     */
+    public void register(Show show) {
+        showsById.put(show.getShowId(), show);
+        showIdsByKey.put(ShowKey.of(show), show.getShowId());
+    }
+
+    /**
+     * Resolve a show by ID when one is given, otherwise by movie name, theater, date and time
+     */
+    public Show resolveShow(Integer showId, String movieName, Integer theaterId, LocalDate showDate, LocalTime showTime) {
+        return showId != null ? getShow(showId) : getShow(movieName, theaterId, showDate, showTime);
+    }
+
+    /**
+     * Get a show by ID
+     */
+    public Show getShow(Integer showId) {
+        Show show = showsById.get(showId);
+        if (show == null) {
+            show = showRepository.findById(showId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Show", "showId", showId));
+            register(show);
+        }
+        return show;
+    }
+
+    /**
+     * Get a show by movie name, theater, date and time
+     */
+    public Show getShow(String movieName, Integer theaterId, LocalDate showDate, LocalTime showTime) {
+        Integer showId = showIdsByKey.get(new ShowKey(movieName, theaterId, showDate, showTime));
+        Show show = showId == null ? null : showsById.get(showId);
+        if (show != null) {
+            return show;
+        }
+
+        Movie movie = movieRepository.findMovieByMovieName(movieName);
+        if (movie == null) {
+            throw new ResourceNotFoundException("Movie", "movieName", movieName);
+        }
+
+        Theater theater = theaterRepository.findById(theaterId)
+                .orElseThrow(() -> new ResourceNotFoundException("Theater", "theaterId", theaterId));
+
+        show = showRepository.findShowByShowDateAndShowTimeAndMovieAndTheater(showDate, showTime, movie, theater);
+        if (show == null) {
+            throw new ResourceNotFoundException("Show not found for the given date, time, movie and theater");
+        }
+        register(show);
+        return show;
+    }
+
+    @Scheduled(cron = "0 0 3 * * *") // Run daily at 3 AM
+    public void evictPastShows() {
+        LocalDate today = LocalDate.now();
+        showsById.values().removeIf(show -> show.getShowDate().isBefore(today));
+        showIdsByKey.keySet().removeIf(key -> key.showDate().isBefore(today));
+    }
+
+    private record ShowKey(String movieName, Integer theaterId, LocalDate showDate, LocalTime showTime) {
+        static ShowKey of(Show show) {
+            return new ShowKey(show.getMovie().getMovieName(), show.getTheater().getTheaterId(),
+                    show.getShowDate(), show.getShowTime());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Enums.ScheduleJobStatus;
+import com.acciojob.bookmyshowapplication.Exceptions.InvalidRequestException;
+import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
+import com.acciojob.bookmyshowapplication.Models.*;
+import com.acciojob.bookmyshowapplication.Repository.MovieRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
+import com.acciojob.bookmyshowapplication.Repository.TheaterRepository;
+import com.acciojob.bookmyshowapplication.Requests.BulkScheduleRequest;
+import com.acciojob.bookmyshowapplication.Responses.BulkScheduleResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedules a movie in several theaters on every day of a date range at fixed times,
+ * putting each show on the theater's seat layout with the given prices. The work runs as
+ * a background job with one transaction per theater and day, each inserting its shows and
+ * their seat state in JDBC batches, and its progress can be polled while it runs. Shows that already exist are
+ * skipped, so an upload that failed halfway can simply be submitted again.
+ */
+@Service
+public class ShowScheduleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShowScheduleService.class);
+
+    private static final int MAX_DAYS = 31;
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+
+    @Autowired
+    private ShowInventoryService showInventoryService;
+
+    @Autowired
+    private ShowLookupService showLookupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, ScheduleJob> jobs = new ConcurrentHashMap<>();
+
+    // One job at a time, so bulk uploads never take more than one connection from bookings
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable ->
+            virtualThreads
+                    ? Thread.ofVirtual().name("show-schedule").unstarted(runnable)
+                    : Thread.ofPlatform().name("show-schedule").daemon().unstarted(runnable));
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Interrupting bulk schedule jobs on shutdown, {} still queued", executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Validate the schedule and queue the job that creates its shows and seats
+     */
+    public BulkScheduleResponse submit(BulkScheduleRequest request) {
+        logger.info("Bulk scheduling movie: {} in {} theaters from {} to {}",
+                request.getMovieName(), request.getTheaterIds().size(), request.getFromDate(), request.getToDate());
+
+        long days = ChronoUnit.DAYS.between(request.getFromDate(), request.getToDate()) + 1;
+        if (days > MAX_DAYS) {
+            throw new InvalidRequestException("A bulk schedule can cover at most " + MAX_DAYS + " days");
+        }
+
+        Movie movie = movieRepository.findMovie(request.getMovieName());
+        if (movie == null) {
+            throw new ResourceNotFoundException("Movie", "movieName", request.getMovieName());
+        }
+
+        List<Theater> theaters = new ArrayList<>();
+        for (Integer theaterId : new LinkedHashSet<>(request.getTheaterIds())) {
+            theaters.add(theaterRepository.findById(theaterId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Theater", "theaterId", theaterId)));
+        }
+        List<LocalTime> showTimes = new ArrayList<>(new TreeSet<>(request.getShowTimes()));
+
+        ScheduleJob job = new ScheduleJob(request, movie, theaters, showTimes,
+                Math.toIntExact(theaters.size() * days * showTimes.size()));
+        evictFinishedJobs();
+        jobs.put(job.jobId, job);
+        executor.execute(() -> run(job));
+        return job.toResponse();
+    }
+
+    /**
+     * Progress of a bulk scheduling job
+     */
+    public BulkScheduleResponse getJob(String jobId) {
+        ScheduleJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Schedule job", "jobId", jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void run(ScheduleJob job) {
+        job.status = ScheduleJobStatus.RUNNING;
+        try {
+            for (Theater theater : job.theaters) {
+                SeatLayout layout = seatLayoutService.currentLayout(theater);
+                if (layout.getSeatCount() == 0) {
+                    logger.warn("Theater ID: {} has no seats, its shows are scheduled without seats", theater.getTheaterId());
+                }
+                Set<LocalDateTime> existingShows = new HashSet<>();
+                for (Show show : showRepository.findByMovieAndTheaterAndShowDateBetween(
+                        job.movie, theater, job.request.getFromDate(), job.request.getToDate())) {
+                    existingShows.add(LocalDateTime.of(show.getShowDate(), show.getShowTime()));
+                }
+
+                for (LocalDate date = job.request.getFromDate(); !date.isAfter(job.request.getToDate()); date = date.plusDays(1)) {
+                    LocalDate showDate = date;
+                    List<Show> shows = transactionTemplate.execute(status ->
+                            createShows(job, theater, layout, showDate, existingShows));
+                    shows.forEach(showLookupService::register);
+
+                    job.createdShows.addAndGet(shows.size());
+                    job.skippedShows.addAndGet(job.showTimes.size() - shows.size());
+                    job.createdSeats.addAndGet((long) shows.size() * layout.getSeatCount());
+                    job.processedShows.addAndGet(job.showTimes.size());
+                }
+            }
+            job.message = "Scheduled " + job.createdShows.get() + " shows with " + job.createdSeats.get() + " seats";
+            job.status = ScheduleJobStatus.COMPLETED;
+            logger.info("Bulk schedule {} completed: {}", job.jobId, job.message);
+        } catch (Exception e) {
+            job.message = "Stopped after " + job.processedShows.get() + " of " + job.totalShows
+                    + " shows: " + e.getMessage();
+            job.status = ScheduleJobStatus.FAILED;
+            logger.error("Bulk schedule {} failed: {}", job.jobId, e.getMessage());
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // The shows of one theater and day with their seat state, in one transaction
+    private List<Show> createShows(ScheduleJob job, Theater theater, SeatLayout layout,
+                                   LocalDate showDate, Set<LocalDateTime> existingShows) {
+        List<Show> shows = new ArrayList<>();
+        for (LocalTime showTime : job.showTimes) {
+            if (!existingShows.contains(LocalDateTime.of(showDate, showTime))) {
+                shows.add(Show.builder()
+                        .showDate(showDate)
+                        .showTime(showTime)
+                        .movie(job.movie)
+                        .theater(theater)
+                        .build());
+            }
+        }
+        showRepository.saveAll(shows);
+        showInventoryService.createInventories(shows, layout,
+                job.request.getPriceOfClassicSeats(), job.request.getPriceOfPremiumSeats());
+        return shows;
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < MAX_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing(job -> job.finishedAt))
+                .limit(jobs.size() - MAX_RETAINED_JOBS + 1)
+                .forEach(job -> jobs.remove(job.jobId));
+    }
+
+    private static final class ScheduleJob {
+        private final String jobId = UUID.randomUUID().toString();
+        private final BulkScheduleRequest request;
+        private final Movie movie;
+        private final List<Theater> theaters;
+        private final List<LocalTime> showTimes;
+        private final int totalShows;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private final AtomicInteger processedShows = new AtomicInteger();
+        private final AtomicInteger createdShows = new AtomicInteger();
+        private final AtomicInteger skippedShows = new AtomicInteger();
+        private final AtomicLong createdSeats = new AtomicLong();
+        private volatile ScheduleJobStatus status = ScheduleJobStatus.QUEUED;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+
+        private ScheduleJob(BulkScheduleRequest request, Movie movie, List<Theater> theaters,
+                            List<LocalTime> showTimes, int totalShows) {
+            this.request = request;
+            this.movie = movie;
+            this.theaters = theaters;
+            this.showTimes = showTimes;
+            this.totalShows = totalShows;
+        }
+
+        private BulkScheduleResponse toResponse() {
+            int processed = processedShows.get();
+            return BulkScheduleResponse.builder()
+                    .jobId(jobId)
+                    .status(status)
+                    .movieName(movie.getMovieName())
+                    .totalShows(totalShows)
+                    .processedShows(processed)
+                    .createdShows(createdShows.get())
+                    .skippedShows(skippedShows.get())
+                    .createdSeats(createdSeats.get())
+                    .percentComplete(totalShows == 0 ? 100 : processed * 100 / totalShows)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .message(message)
+                    .build();
+        }
+    }
+}
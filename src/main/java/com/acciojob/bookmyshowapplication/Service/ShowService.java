@@ -1,19 +1,19 @@
 package com.acciojob.bookmyshowapplication.Service;
 
-import com.acciojob.bookmyshowapplication.Enums.SeatType;
 import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
 import com.acciojob.bookmyshowapplication.Models.*;
 import com.acciojob.bookmyshowapplication.Repository.MovieRepository;
 import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
-import com.acciojob.bookmyshowapplication.Repository.ShowSeatRepository;
 import com.acciojob.bookmyshowapplication.Repository.TheaterRepository;
 import com.acciojob.bookmyshowapplication.Requests.AddShowRequest;
 import com.acciojob.bookmyshowapplication.Requests.AddShowSeatsRequest;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.ShowSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,7 +34,19 @@ public class ShowService {
     private TheaterRepository theaterRepository;
 
     @Autowired
-    private ShowSeatRepository showSeatRepository;
+    private SeatLayoutService seatLayoutService;
+
+    @Autowired
+    private ShowInventoryService showInventoryService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private DynamicPricingService dynamicPricingService;
+
+    @Autowired
+    private ShowLookupService showLookupService;
 
     /**
      * Schedule a new movie show
@@ -59,7 +71,8 @@ public class ShowService {
                 .theater(theater)
                 .build();
         show = showRepository.save(show);
-        
+        showLookupService.register(show);
+
         logger.info("Show created successfully with ID: {}", show.getShowId());
         return "Show has been saved to the database with showId: " + show.getShowId();
     }
@@ -73,41 +86,24 @@ public class ShowService {
         Integer showId = showSeatsRequest.getShowId();
         Show show = showRepository.findById(showId)
                 .orElseThrow(() -> new ResourceNotFoundException("Show", "showId", showId));
-        Theater theater = show.getTheater();
-        List<TheaterSeat> theaterSeatList = theater.getTheaterSeatList();
-
-        //Your goal is generation of show Seat List
-        List<ShowSeat> showSeatList = new ArrayList<>();
-
-        for(TheaterSeat theaterSeat:theaterSeatList){
-            ShowSeat showSeat = ShowSeat.builder()
-                    .seatNo(theaterSeat.getSeatNo())
-                    .seatType(theaterSeat.getSeatType())
-                    .isAvailable(Boolean.TRUE)
-                    .show(show)
-                    .build();
-
-            if(theaterSeat.getSeatType().equals(SeatType.CLASSIC)){
-                showSeat.setPrice(showSeatsRequest.getPriceOfClassicSeats());
-            }
-            else
-                showSeat.setPrice(showSeatsRequest.getPriceOfPremiumSeats());
-
-            showSeatList.add(showSeat);
-        }
-
-        showSeatRepository.saveAll(showSeatList);
-        logger.info("Generated {} seats for show ID: {}", showSeatList.size(), showId);
+        // The show references the theater's seat layout and only stores its own prices and booked seats
+        SeatLayout layout = seatLayoutService.currentLayout(show.getTheater());
+        showInventoryService.initializeShow(show, layout,
+                showSeatsRequest.getPriceOfClassicSeats(), showSeatsRequest.getPriceOfPremiumSeats());
+        seatInventoryService.evict(showId);
+        dynamicPricingService.evictPricing(showId);
+        logger.info("Generated {} seats for show ID: {} on seat layout ID: {}", layout.getSeatCount(), showId, layout.getLayoutId());
         
         return "Show seats have been generated successfully for showId: " + showId;
     }
     
     /**
-     * Get all shows
+     * Get a page of shows in ID order, starting after the given show ID (from the start if null)
      */
-    public List<Show> getAllShows() {
-        logger.info("Fetching all shows");
-        return showRepository.findAll();
+    public CursorPage<ShowSummary> getShows(Integer afterId, int limit) {
+        logger.info("Fetching {} shows after ID: {}", limit, afterId);
+        List<ShowSummary> rows = showRepository.findPage(afterId == null ? 0 : afterId, Limit.of(CursorPage.fetchSize(limit)));
+        return CursorPage.of(rows, limit, show -> show.getShowId().toString());
     }
     
     /**
@@ -8,9 +8,13 @@ import com.acciojob.bookmyshowapplication.Repository.TheaterRepository;
 import com.acciojob.bookmyshowapplication.Repository.TheaterSeatRepository;
 import com.acciojob.bookmyshowapplication.Requests.AddTheaterRequest;
 import com.acciojob.bookmyshowapplication.Requests.AddTheaterSeatsRequest;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.TheaterSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,9 +33,13 @@ public class TheaterService {
     @Autowired
     private TheaterSeatRepository theaterSeatRepository;
 
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+
     /**
      * Add a new theater to the system
      */
+    @CacheEvict(cacheNames = "theaters", allEntries = true)
     public String addTheater(AddTheaterRequest addTheaterRequest) {
         logger.info("Adding new theater: {}", addTheaterRequest.getName());
         // Convert this addRequest to an Entity
@@ -113,23 +121,23 @@ public class TheaterService {
             premiumSeatCounter++;
         }
 
-        theater.setTheaterSeatList(theaterSeatList);
-        theaterRepository.save(theater);
-        
+        theaterSeatRepository.saveAll(theaterSeatList);
+        // Shows scheduled from now on use the new layout, existing shows keep theirs
+        seatLayoutService.publishLayout(theater);
+
         logger.info("Added {} classic and {} premium seats to theater ID: {}", 
                 noOfClassicSeats, noOfPremiumSeats, theaterId);
 
-        //Theater seats will get automatically saved
-        //because of cascading property written in the parent table
         return "Theater seats have been generated successfully";
     }
     
     /**
-     * Get all theaters
+     * Get a page of theaters in ID order, starting after the given theater ID (from the start if null)
      */
-    public List<Theater> getAllTheaters() {
-        logger.info("Fetching all theaters");
-        return theaterRepository.findAll();
+    public CursorPage<TheaterSummary> getTheaters(Integer afterId, int limit) {
+        logger.info("Fetching {} theaters after ID: {}", limit, afterId);
+        List<TheaterSummary> rows = theaterRepository.findPage(afterId == null ? 0 : afterId, Limit.of(CursorPage.fetchSize(limit)));
+        return CursorPage.of(rows, limit, theater -> theater.getTheaterId().toString());
     }
     
     /**
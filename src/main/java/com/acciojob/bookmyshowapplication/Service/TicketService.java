@@ -1,18 +1,27 @@
 package com.acciojob.bookmyshowapplication.Service;
 
+import com.acciojob.bookmyshowapplication.Engine.SeatClaim;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
 import com.acciojob.bookmyshowapplication.Enums.TicketStatus;
+import com.acciojob.bookmyshowapplication.Exceptions.InvalidRequestException;
 import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
 import com.acciojob.bookmyshowapplication.Exceptions.SeatUnavailableException;
 import com.acciojob.bookmyshowapplication.Models.*;
 import com.acciojob.bookmyshowapplication.Repository.*;
 import com.acciojob.bookmyshowapplication.Requests.BookTicketRequest;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.TicketSummary;
+import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Service layer for ticket booking and management
@@ -23,166 +32,123 @@ public class TicketService {
     private static final Logger logger = LoggerFactory.getLogger(TicketService.class);
 
     @Autowired
-    private MovieRepository movieRepository;
+    private ShowLookupService showLookupService;
 
     @Autowired
-    private TheaterRepository theaterRepository;
+    private ShowInventoryService showInventoryService;
 
     @Autowired
-    private ShowRepository showRepository;
+    private UserRepository userRepository;
 
     @Autowired
-    private ShowSeatRepository showSeatRepository;
+    private TicketRepository ticketRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private TicketSeatRepository ticketSeatRepository;
 
     @Autowired
-    private TicketRepository ticketRepository;
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private PostBookingService postBookingService;
 
-    // NEW: Add SeatSelectionRepository
     @Autowired
-    private SeatSelectionRepository seatSelectionRepository;
+    private SeatInventoryService seatInventoryService;
 
-    // NEW: Add DynamicPricingService
     @Autowired
-    private DynamicPricingService dynamicPricingService;
+    private SeatEventService seatEventService;
 
     /**
      * Book tickets for a movie show
      */
+    @Transactional
     public Ticket bookTicket(BookTicketRequest bookTicketRequest) {
-        logger.info("Booking ticket for movie: {} by user: {}", 
-                bookTicketRequest.getMovieName(), bookTicketRequest.getMobNo());
+        logger.info("Booking ticket for movie: {} (show ID: {}) by user: {}",
+                bookTicketRequest.getMovieName(), bookTicketRequest.getShowId(), bookTicketRequest.getMobNo());
 
         // NEW: First, get the show and check temporary seat selections
-        Movie movie = movieRepository.findMovieByMovieName(bookTicketRequest.getMovieName());
-        if (movie == null) {
-            throw new ResourceNotFoundException("Movie", "movieName", bookTicketRequest.getMovieName());
-        }
-        
-        Theater theater = theaterRepository.findById(bookTicketRequest.getTheaterId())
-                .orElseThrow(() -> new ResourceNotFoundException("Theater", "theaterId", bookTicketRequest.getTheaterId()));
-
-        //1.1 Find the ShowEntity with this date and Time
-        Show show = showRepository.findShowByShowDateAndShowTimeAndMovieAndTheater(
-                bookTicketRequest.getShowDate(),
-                bookTicketRequest.getShowTime(),
-                movie,
-                theater
-        );
-        
-        if (show == null) {
-            throw new ResourceNotFoundException("Show not found for the given date, time, movie and theater");
-        }
+        Show show = showLookupService.resolveShow(bookTicketRequest.getShowId(), bookTicketRequest.getMovieName(),
+                bookTicketRequest.getTheaterId(), bookTicketRequest.getShowDate(), bookTicketRequest.getShowTime());
+        Theater theater = show.getTheater();
 
         // NEW: Check if seats are temporarily selected by the user
-        Date cutoffTime = new Date(System.currentTimeMillis() - 10 * 60 * 1000); // 10 minutes ago
-        List<SeatSelection> userTempSelections = seatSelectionRepository.findByShowAndStatusAndCreatedAtAfter(
-                show, "TEMP", cutoffTime
-        );
-
-        List<String> userSelectedSeats = userTempSelections.stream()
-                .filter(s -> s.getUserMobNo().equals(bookTicketRequest.getMobNo()))
-                .map(SeatSelection::getSeatNo)
-                .collect(Collectors.toList());
+        Set<String> userSelectedSeats = seatHoldService.getHeldSeats(show.getShowId(), bookTicketRequest.getMobNo());
 
         // NEW: Verify requested seats match temp selections (Optional - you can remove this check if you want to allow direct booking)
         if (!userSelectedSeats.containsAll(bookTicketRequest.getRequestedSeats())) {
             throw new SeatUnavailableException("Please select seats first through the seat selection interface. Some requested seats are not in your temporary selection.");
         }
 
-        // EXISTING CODE: Calculate the total cost of the tickets
-        Integer showId = show.getShowId();
-        List<ShowSeat> showSeatList = showSeatRepository.findShowSeats(showId);
-
-        //Calculate the total Amt and if all seats mentioned are available or not
-        int totalAmount = 0;
-        Boolean areAllSeatsAvailable = Boolean.TRUE;
-
-        for(String seatNo:bookTicketRequest.getRequestedSeats()) {
-            for(ShowSeat showSeat:showSeatList) {
-                if(showSeat.getSeatNo().equals(seatNo))
-                {
-                    if(showSeat.getIsAvailable()==Boolean.FALSE){
-                        areAllSeatsAvailable = Boolean.FALSE;
-                        break;
-                    }
-                    totalAmount = totalAmount+showSeat.getPrice();
-                }
-            }
-        }
-
-        if(areAllSeatsAvailable==Boolean.FALSE){
-            throw new SeatUnavailableException("The requested Seats are unavailable");
-        }
-
-        // EXISTING CODE: Make the seats booked:(Only if seats are available : otherwise throw exception)
-        for(String seatNo:bookTicketRequest.getRequestedSeats()) {
-            for(ShowSeat showSeat:showSeatList) {
-                if(showSeat.getSeatNo().equals(seatNo))
-                {
-                    showSeat.setIsAvailable(Boolean.FALSE);
-                }
-            }
-        }
-
-        // EXISTING CODE: Save updated show seats
-        showSeatRepository.saveAll(showSeatList);
-
         User user = userRepository.findUserByMobNo(bookTicketRequest.getMobNo());
         if (user == null) {
             throw new ResourceNotFoundException("User", "mobile number", bookTicketRequest.getMobNo());
         }
 
+        // Validate and flip only the requested seats in the shared show inventory
+        ShowSeatInventory inventory = seatInventoryService.getInventory(show);
+        SeatClaim claim = inventory.claim(bookTicketRequest.getRequestedSeats());
+
+        if (!claim.isSuccessful()) {
+            throw new SeatUnavailableException("The requested Seats are unavailable");
+        }
+        releaseClaimOnRollback(inventory, claim);
+        seatEventService.seatsChanged(show.getShowId());
+        int totalAmount = claim.getTotalAmount();
+
         // EXISTING CODE: Save the ticketEntity
         Ticket ticket = Ticket.builder()
                 .user(user)
-                .movieName(bookTicketRequest.getMovieName())
-                .showDate(bookTicketRequest.getShowDate())
+                .movieName(show.getMovie().getMovieName())
+                .showDate(show.getShowDate())
                 .theaterNameAndAddress(theater.getName()+" "+theater.getAddress())
-                .showTime(bookTicketRequest.getShowTime())
+                .showTime(show.getShowTime())
                 .totalAmtPaid(totalAmount)
                 .show(show)
                 .ticketStatus(TicketStatus.CONFIRMED)
                 .build();
 
         ticket = ticketRepository.save(ticket);
-        logger.info("Ticket booked successfully with ID: {}", ticket.getTicketId());
 
-        // NEW: Apply dynamic pricing for future bookings (optional - can be done periodically)
-        // This ensures prices are updated based on current demand
-        try {
-            dynamicPricingService.applyDynamicPricingToShow(show);
-        } catch (Exception e) {
-            // Log error but don't fail the booking
-            logger.error("Error applying dynamic pricing: {}", e.getMessage());
+        // Record which seats the ticket holds, so a cancellation releases exactly these
+        List<TicketSeat> ticketSeats = new ArrayList<>();
+        for (int ordinal : claim.getOrdinals()) {
+            ticketSeats.add(TicketSeat.builder()
+                    .ticket(ticket)
+                    .seatNo(inventory.seatNoOf(ordinal))
+                    .price(inventory.priceOf(ordinal))
+                    .build());
         }
-
-        // NEW: After successful booking, update temp selections to CONFIRMED and clean up
-        for (SeatSelection selection : userTempSelections) {
-            if (bookTicketRequest.getRequestedSeats().contains(selection.getSeatNo())
-                    && selection.getUserMobNo().equals(bookTicketRequest.getMobNo())) {
-                selection.setStatus("CONFIRMED");
-                seatSelectionRepository.save(selection);
-            }
+        ticketSeatRepository.saveAll(ticketSeats);
+        ticketSeatRepository.flush();
+
+        // Claim the seats in the database, this succeeds only if no one else got there first.
+        // Done last, after the inserts are flushed, as it locks the show's row until commit.
+        if (!showInventoryService.claimSeats(show.getShowId(), bookTicketRequest.getRequestedSeats())) {
+            // The in-memory inventory was behind the database, rebuild it on next access
+            seatInventoryService.evict(show.getShowId());
+            throw new SeatUnavailableException("The requested Seats are unavailable");
         }
+        logger.info("Ticket booked successfully with ID: {}", ticket.getTicketId());
 
-        // NEW: Clean up any other temporary selections for these seats from other users
-        List<SeatSelection> allTempSelections = seatSelectionRepository.findByShowAndStatusAndCreatedAtAfter(
-                show, "TEMP", cutoffTime
-        );
-
-        for (SeatSelection selection : allTempSelections) {
-            if (bookTicketRequest.getRequestedSeats().contains(selection.getSeatNo())
-                    && !selection.getUserMobNo().equals(bookTicketRequest.getMobNo())) {
-                seatSelectionRepository.delete(selection);
-            }
-        }
+        // Hold cleanup, repricing and the confirmation run asynchronously once the booking has
+        // committed, so they stay off the request latency and never contend with booking transactions
+        Ticket bookedTicket = ticket;
+        TransactionCallbacks.afterCommit(() -> postBookingService.bookingCommitted(
+                show, bookedTicket, bookTicketRequest.getMobNo(), bookTicketRequest.getRequestedSeats()));
 
         return ticket;
     }
     
+    /**
+     * Return the in-memory claim to the inventory if the booking transaction rolls back
+     */
+    private void releaseClaimOnRollback(ShowSeatInventory inventory, SeatClaim claim) {
+        TransactionCallbacks.afterRollback(() -> {
+            inventory.release(claim.getOrdinals());
+            seatEventService.seatsChanged(inventory.getShowId());
+        });
+    }
+
     /**
      * Get ticket by ID
      */
@@ -194,14 +160,28 @@ public class TicketService {
     }
     
     /**
-     * Get all tickets for a user
+     * Get a page of a user's tickets, newest first, starting after the ticket the cursor points at (from the latest if null)
      */
-    public List<Ticket> getUserTickets(Integer userId) {
-        logger.info("Fetching tickets for user ID: {}", userId);
+    public CursorPage<TicketSummary> getUserTickets(Integer userId, String after, int limit) {
+        logger.info("Fetching {} tickets for user ID: {} after: {}", limit, userId, after);
         
-        User user = userRepository.findById(userId)
+        userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "userId", userId));
-        
-        return ticketRepository.findByUser(user);
+
+        Limit fetchSize = Limit.of(CursorPage.fetchSize(limit));
+        List<TicketSummary> rows;
+        if (after == null) {
+            rows = ticketRepository.findFirstPageByUser(userId, fetchSize);
+        } else {
+            // The cursor is "<bookedAt>,<ticketId>" of the last ticket of the previous page
+            String[] cursor = after.split(",", 2);
+            try {
+                rows = ticketRepository.findPageByUser(userId, LocalDateTime.parse(cursor[0]),
+                        cursor.length == 2 ? cursor[1] : "", fetchSize);
+            } catch (DateTimeParseException e) {
+                throw new InvalidRequestException("Invalid ticket cursor: " + after);
+            }
+        }
+        return CursorPage.of(rows, limit, ticket -> ticket.getBookedAt() + "," + ticket.getTicketId());
     }
 }
\ No newline at end of file
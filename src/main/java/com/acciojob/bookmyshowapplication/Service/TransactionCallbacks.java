@@ -0,0 +1,48 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ties in-memory side effects to the outcome of the current transaction.
+ * Shared by the services that keep caches, holds and queues next to the database,
+ * so a change reaches memory only once committed and is undone if it rolls back.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Run the task once the current transaction has committed, or right away outside a transaction
+     */
+    public static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Run the task if the current transaction rolls back; outside a transaction there is nothing to undo
+     */
+    public static void afterRollback(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    task.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Models.Show;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Matches freed seats against the waitlist off the cancellation thread.
+ * Seats released for a show while an earlier release is still queued are merged
+ * into the same pass, so a burst of cancellations is matched once. Passes run on
+ * a single thread, so no two passes offer the same seats or entries.
+ * Seat offers that end without a booking are closed on the same thread and their
+ * seats matched again, which cascades them down the queue.
+ */
+@Service
+public class WaitlistMatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistMatchingService.class);
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    // Shows with released seats that no pass has picked up yet
+    private final Map<Integer, Show> pendingShows = new ConcurrentHashMap<>();
+
+    private final AtomicLong releases = new AtomicLong();
+    private final AtomicLong coalescedReleases = new AtomicLong();
+    private final AtomicLong passes = new AtomicLong();
+    private final AtomicLong failedPasses = new AtomicLong();
+    private final AtomicLong expiredOffers = new AtomicLong();
+    private final AtomicLong bookedOffers = new AtomicLong();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable ->
+            Thread.ofPlatform().name("waitlist-matching").daemon().unstarted(runnable));
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Dropped {} pending waitlist passes on shutdown", executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queue a waitlist pass for a show whose seats were released, meant to be called once the release has committed
+     */
+    public void seatsReleased(Show show) {
+        releases.incrementAndGet();
+        Integer showId = show.getShowId();
+        if (pendingShows.putIfAbsent(showId, show) == null) {
+            executor.execute(() -> process(showId));
+        } else {
+            coalescedReleases.incrementAndGet();
+        }
+    }
+
+    /**
+     * Close the waitlist entry of a seat offer that ended, and pass its seats on unless they were booked
+     */
+    public void offerEnded(Integer showId, String userMobNo, boolean booked) {
+        executor.execute(() -> {
+            try {
+                Show show = waitlistService.closeOffer(showId, userMobNo, booked);
+                if (booked) {
+                    bookedOffers.incrementAndGet();
+                } else {
+                    expiredOffers.incrementAndGet();
+                    seatsReleased(show);
+                }
+            } catch (Exception e) {
+                logger.error("Error closing seat offer for show ID {}: {}", showId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Hold the seats of offers that were still open when the application went down,
+     * and pass on the seats of the ones that ran out meanwhile
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOffers() {
+        waitlistService.restoreOffers().forEach(this::seatsReleased);
+    }
+
+    /**
+     * Release, pass and seat offer counters
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pendingShows", pendingShows.size());
+        metrics.put("releases", releases.get());
+        metrics.put("coalescedReleases", coalescedReleases.get());
+        metrics.put("passes", passes.get());
+        metrics.put("failedPasses", failedPasses.get());
+        metrics.put("expiredOffers", expiredOffers.get());
+        metrics.put("bookedOffers", bookedOffers.get());
+        return metrics;
+    }
+
+    private void process(Integer showId) {
+        // Taking the show out lets releases that arrive from now on queue another pass
+        Show show = pendingShows.remove(showId);
+        if (show == null) {
+            return;
+        }
+        try {
+            waitlistService.processWaitlistForShow(show);
+            passes.incrementAndGet();
+        } catch (Exception e) {
+            failedPasses.incrementAndGet();
+            logger.error("Error processing waitlist for show ID {}: {}", showId, e.getMessage());
+        }
+    }
+}
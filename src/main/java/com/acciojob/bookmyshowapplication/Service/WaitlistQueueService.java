@@ -0,0 +1,142 @@
+package com.acciojob.bookmyshowapplication.Service;
+
+import com.acciojob.bookmyshowapplication.Engine.WaitlistQueue;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Enums.WaitlistStatus;
+import com.acciojob.bookmyshowapplication.Models.Waitlist;
+import com.acciojob.bookmyshowapplication.Repository.WaitlistRepository;
+import com.acciojob.bookmyshowapplication.Repository.WaitlistRepository.QueueEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the queue of pending waitlist entries of each show in memory.
+ * A queue is built from the show's pending and notified entries the first time it is
+ * needed and is then kept in sync as entries join, are cancelled, notified or expire.
+ * Changes made in a transaction are applied once it commits, so a rolled back change never reaches the queue.
+ */
+@Service
+public class WaitlistQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistQueueService.class);
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    private final Map<Integer, WaitlistQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Get the queue of a show, building it from the database on first access
+     */
+    public WaitlistQueue getQueue(Integer showId) {
+        WaitlistQueue queue = queues.get(showId);
+        if (queue != null) {
+            return queue;
+        }
+        // Built outside the map's bin lock; of two concurrent builds the first one stored wins
+        WaitlistQueue built = new WaitlistQueue(showId, loadEntries(showId, WaitlistStatus.PENDING),
+                loadEntries(showId, WaitlistStatus.NOTIFIED));
+        queue = queues.putIfAbsent(showId, built);
+        if (queue == null) {
+            logger.info("Built waitlist queue for show ID: {} with {} entries", showId, built.size());
+            return built;
+        }
+        return queue;
+    }
+
+    /**
+     * 1-based queue position of a pending entry, also for one added in the current transaction
+     */
+    public int positionOf(Integer showId, Integer waitlistId) {
+        return getQueue(showId).positionOf(waitlistId);
+    }
+
+    /**
+     * Whether the user has a pending entry on the show's waitlist or holds a seat offer from it,
+     * not counting one added in the current transaction
+     */
+    public boolean isQueued(Integer showId, Integer userId) {
+        return getQueue(showId).containsUser(userId);
+    }
+
+    /**
+     * Add a new pending entry to its show's queue
+     */
+    public void enqueue(Waitlist waitlist) {
+        Integer showId = waitlist.getShow().getShowId();
+        WaitlistQueue.Entry entry = entryOf(waitlist.getWaitlistId(), waitlist.getUser().getUserId(),
+                waitlist.getRequestedSeatType(), waitlist.getNumberOfSeats());
+        TransactionCallbacks.afterCommit(() -> getQueue(showId).add(entry));
+    }
+
+    /**
+     * Take an entry that is no longer pending out of its show's queue
+     */
+    public void dequeue(Integer showId, Integer waitlistId) {
+        TransactionCallbacks.afterCommit(() -> {
+            WaitlistQueue queue = getQueue(showId);
+            if (queue.remove(waitlistId) && queue.isEmpty()) {
+                // Rebuilt from the database if the show gets new entries
+                queues.remove(showId, queue);
+            }
+        });
+    }
+
+    /**
+     * Take an entry whose user got a seat offer out of its show's queue, the user stays in it until the offer is closed
+     */
+    public void offerMade(Integer showId, Integer waitlistId) {
+        TransactionCallbacks.afterCommit(() -> getQueue(showId).offer(waitlistId));
+    }
+
+    /**
+     * Let the user of a seat offer that was booked, expired or cancelled join the show's waitlist again
+     */
+    public void offerClosed(Waitlist waitlist) {
+        Integer showId = waitlist.getShow().getShowId();
+        Integer userId = waitlist.getUser().getUserId();
+        Integer waitlistId = waitlist.getWaitlistId();
+        TransactionCallbacks.afterCommit(() -> {
+            WaitlistQueue queue = getQueue(showId);
+            queue.closeOffer(userId, waitlistId);
+            if (queue.isEmpty()) {
+                queues.remove(showId, queue);
+            }
+        });
+    }
+
+    /**
+     * Drop the queue of a show so that it is rebuilt from the database on next access
+     */
+    public void evict(Integer showId) {
+        queues.remove(showId);
+    }
+
+    private List<WaitlistQueue.Entry> loadEntries(Integer showId, WaitlistStatus status) {
+        List<WaitlistQueue.Entry> entries = new ArrayList<>();
+        for (QueueEntry entry : waitlistRepository.findQueueEntries(showId, status)) {
+            entries.add(entryOf(entry.getWaitlistId(), entry.getUserId(), entry.getRequestedSeatType(),
+                    entry.getNumberOfSeats()));
+        }
+        return entries;
+    }
+
+    // An entry asking for an unknown seat type is queued but never matched
+    private static WaitlistQueue.Entry entryOf(Integer waitlistId, Integer userId, String requestedSeatType,
+                                               Integer numberOfSeats) {
+        SeatType seatType = null;
+        try {
+            seatType = requestedSeatType == null ? null : SeatType.valueOf(requestedSeatType);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Waitlist ID {} asks for unknown seat type {}", waitlistId, requestedSeatType);
+        }
+        return new WaitlistQueue.Entry(waitlistId, userId, seatType, numberOfSeats == null ? 0 : numberOfSeats);
+    }
+}
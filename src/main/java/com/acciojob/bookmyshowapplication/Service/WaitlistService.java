@@ -1,5 +1,9 @@
 package com.acciojob.bookmyshowapplication.Service;
 
+import com.acciojob.bookmyshowapplication.Engine.ShowOccupancy;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Engine.WaitlistQueue;
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
 import com.acciojob.bookmyshowapplication.Enums.SeatType;
 import com.acciojob.bookmyshowapplication.Enums.WaitlistStatus;
 import com.acciojob.bookmyshowapplication.Exceptions.BusinessException;
@@ -8,16 +12,24 @@ import com.acciojob.bookmyshowapplication.Exceptions.WaitlistException;
 import com.acciojob.bookmyshowapplication.Models.*;
 import com.acciojob.bookmyshowapplication.Repository.*;
 import com.acciojob.bookmyshowapplication.Requests.AddToWaitlistRequest;
+import com.acciojob.bookmyshowapplication.Requests.BookTicketRequest;
 import com.acciojob.bookmyshowapplication.Responses.WaitlistResponse;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +40,8 @@ public class WaitlistService {
     
     private static final Logger logger = LoggerFactory.getLogger(WaitlistService.class);
 
+    public static final long OFFER_TTL_MS = 15 * 60 * 1000; // 15 minutes
+
     @Autowired
     private WaitlistRepository waitlistRepository;
 
@@ -35,16 +49,22 @@ public class WaitlistService {
     private UserRepository userRepository;
 
     @Autowired
-    private MovieRepository movieRepository;
+    private ShowLookupService showLookupService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private WaitlistQueueService waitlistQueueService;
 
     @Autowired
-    private TheaterRepository theaterRepository;
+    private SeatHoldService seatHoldService;
 
     @Autowired
-    private ShowRepository showRepository;
+    private TicketService ticketService;
 
     @Autowired
-    private ShowSeatRepository showSeatRepository;
+    private NotificationService notificationService;
 
     /**
      * Add user to waitlist when seats are unavailable
@@ -60,24 +80,8 @@ public class WaitlistService {
         }
 
         // Find show
-        Movie movie = movieRepository.findMovieByMovieName(request.getMovieName());
-        if (movie == null) {
-            throw new ResourceNotFoundException("Movie", "movieName", request.getMovieName());
-        }
-        
-        Theater theater = theaterRepository.findById(request.getTheaterId())
-                .orElseThrow(() -> new ResourceNotFoundException("Theater", "theaterId", request.getTheaterId()));
-
-        Show show = showRepository.findShowByShowDateAndShowTimeAndMovieAndTheater(
-                request.getShowDate(),
-                request.getShowTime(),
-                movie,
-                theater
-        );
-
-        if (show == null) {
-            throw new ResourceNotFoundException("Show not found for the given date, time, movie and theater");
-        }
+        Show show = showLookupService.resolveShow(request.getShowId(), request.getMovieName(),
+                request.getTheaterId(), request.getShowDate(), request.getShowTime());
 
         // Check if show has already passed
         LocalDateTime showDateTime = LocalDateTime.of(show.getShowDate(), show.getShowTime());
@@ -86,11 +90,7 @@ public class WaitlistService {
         }
 
         // Check if user already has active waitlist for this show
-        List<Waitlist> existingWaitlists = waitlistRepository.findByShowAndStatus(show, WaitlistStatus.PENDING);
-        boolean userAlreadyWaitlisted = existingWaitlists.stream()
-                .anyMatch(w -> w.getUser().getUserId().equals(user.getUserId()));
-
-        if (userAlreadyWaitlisted) {
+        if (waitlistQueueService.isQueued(show.getShowId(), user.getUserId())) {
             throw new WaitlistException("You are already on the waitlist for this show");
         }
 
@@ -104,18 +104,22 @@ public class WaitlistService {
                 .expiresAt(showDateTime.minusHours(1)) // Expire 1 hour before show
                 .build();
 
-        waitlist = waitlistRepository.save(waitlist);
+        try {
+            // Inserted right away for its identity ID, so a concurrent double-add fails here on the unique constraint
+            waitlist = waitlistRepository.save(waitlist);
+        } catch (DataIntegrityViolationException e) {
+            throw new WaitlistException("You are already on the waitlist for this show");
+        }
+        waitlistQueueService.enqueue(waitlist);
 
         // Calculate position in queue
-        List<Waitlist> allWaitlists = waitlistRepository.findByShowAndStatusOrderByCreatedAtAsc(
-                show, WaitlistStatus.PENDING);
-        int position = allWaitlists.indexOf(waitlist) + 1;
+        int position = waitlistQueueService.positionOf(show.getShowId(), waitlist.getWaitlistId());
 
         return WaitlistResponse.builder()
                 .waitlistId(waitlist.getWaitlistId())
                 .status(waitlist.getStatus())
-                .movieName(movie.getMovieName())
-                .theaterName(theater.getName())
+                .movieName(show.getMovie().getMovieName())
+                .theaterName(show.getTheater().getName())
                 .showDateTime(showDateTime.toString())
                 .requestedSeatType(waitlist.getRequestedSeatType())
                 .numberOfSeats(waitlist.getNumberOfSeats())
@@ -126,78 +130,203 @@ public class WaitlistService {
     }
 
     /**
-     * Process waitlist when seats become available (called after cancellation)
+     * Process waitlist when seats become available (called after cancellation).
+     * All free seats of the show are matched in one pass: for each seat type the show's queue
+     * hands out the entries that get seats, in FIFO order, and the inventory picks their seats,
+     * side by side where it can. Only the matched entries are loaded.
+     * Each notified user gets the picked seats as an offer: a hold that runs out after
+     * OFFER_TTL_MS and then passes the seats on to the next waitlister.
      */
     @Transactional
     public void processWaitlistForShow(Show show) {
-        // Get all pending waitlists for this show (ordered by creation time - FIFO)
-        List<Waitlist> pendingWaitlists = waitlistRepository
-                .findByShowAndStatusOrderByCreatedAtAsc(show, WaitlistStatus.PENDING);
+        WaitlistQueue queue = waitlistQueueService.getQueue(show.getShowId());
+        if (queue.size() == 0) {
+            return;
+        }
 
-        if (pendingWaitlists.isEmpty()) {
+        // Match the free seats of each type, counted by the occupancy counters
+        ShowSeatInventory inventory = seatInventoryService.getInventory(show);
+        ShowOccupancy occupancy = inventory.getOccupancy();
+        Map<Integer, List<String>> seatsByWaitlistId = new HashMap<>();
+        for (SeatType seatType : SeatType.values()) {
+            int available = occupancy.getAvailableSeats(seatType);
+            if (available == 0) {
+                continue;
+            }
+            List<WaitlistQueue.Entry> matched = queue.match(seatType, available);
+            List<List<String>> seats = inventory.pickSeats(seatType,
+                    matched.stream().map(WaitlistQueue.Entry::seats).toList());
+            for (int i = 0; i < matched.size(); i++) {
+                if (!seats.get(i).isEmpty()) {
+                    seatsByWaitlistId.put(matched.get(i).waitlistId(), seats.get(i));
+                }
+            }
+        }
+        if (seatsByWaitlistId.isEmpty()) {
             return;
         }
 
-        // Get available seats
-        List<ShowSeat> availableSeats = showSeatRepository.findAllByShow(show).stream()
-                .filter(ShowSeat::getIsAvailable)
-                .collect(Collectors.toList());
-
-        // Process each waitlist entry
-        for (Waitlist waitlist : pendingWaitlists) {
-            try {
-                // Check if enough seats of requested type are available
-                SeatType requestedType = SeatType.valueOf(waitlist.getRequestedSeatType());
-                List<ShowSeat> matchingSeats = availableSeats.stream()
-                        .filter(seat -> seat.getSeatType() == requestedType)
-                        .limit(waitlist.getNumberOfSeats())
-                        .collect(Collectors.toList());
-
-                if (matchingSeats.size() >= waitlist.getNumberOfSeats()) {
-                    // Notify user
-                    notifyWaitlistedUser(waitlist, matchingSeats);
-                    
-                    // Update waitlist status
-                    waitlist.setStatus(WaitlistStatus.NOTIFIED);
-                    waitlist.setNotifiedAt(LocalDateTime.now());
-                    waitlist.setNotificationMessage(
-                            String.format("Seats are now available for your waitlisted show! " +
-                                    "Please book within 15 minutes. Movie: %s, Show: %s at %s",
-                                    show.getMovie().getMovieName(),
-                                    show.getShowDate(),
-                                    show.getShowTime())
-                    );
-                    waitlistRepository.save(waitlist);
-
-                    // Remove these seats from available pool for next iteration
-                    availableSeats.removeAll(matchingSeats);
+        List<Waitlist> waitlists = waitlistRepository.findByWaitlistIdInOrderByWaitlistIdAsc(seatsByWaitlistId.keySet());
+        List<Waitlist> notified = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Waitlist waitlist : waitlists) {
+            // Left the queue since it was matched, its dequeue is still waiting for a commit
+            if (waitlist.getStatus() != WaitlistStatus.PENDING) {
+                continue;
+            }
+
+            // Hold the seats before telling the user about them; seats taken since the match wait for the next pass
+            List<String> seats = seatsByWaitlistId.get(waitlist.getWaitlistId());
+            String mobNo = waitlist.getUser().getMobNo();
+            if (!seatHoldService.offer(show, mobNo, seats, OFFER_TTL_MS).isEmpty()) {
+                continue;
+            }
+            withdrawOfferOnRollback(show.getShowId(), mobNo);
+
+            waitlist.setStatus(WaitlistStatus.NOTIFIED);
+            waitlist.setNotifiedAt(now);
+            waitlist.setOfferedSeats(String.join(",", seats));
+            waitlist.setOfferExpiresAt(now.plus(Duration.ofMillis(OFFER_TTL_MS)));
+            waitlist.setNotificationMessage(
+                    String.format("Seats are now available for your waitlisted show! " +
+                            "Seats %s are held for you for 15 minutes. Movie: %s, Show: %s at %s",
+                            String.join(", ", seats),
+                            show.getMovie().getMovieName(),
+                            show.getShowDate(),
+                            show.getShowTime())
+            );
+            notifications.addAll(offerNotifications(waitlist));
+            notified.add(waitlist);
+            waitlistQueueService.offerMade(show.getShowId(), waitlist.getWaitlistId());
+        }
+        waitlistRepository.saveAll(notified);
+        // Sent from the outbox once the pass commits, so a rolled back pass notifies no one
+        notificationService.enqueue(notifications);
+        logger.info("Notified {} waitlist entries for show ID: {}", notified.size(), show.getShowId());
+    }
+
+    /**
+     * Book the seats offered to a notified waitlist entry, in the same transaction that converts the entry
+     */
+    @Transactional
+    public Ticket bookOffer(Integer waitlistId) {
+        logger.info("Booking seat offer of waitlist entry: {}", waitlistId);
+
+        Waitlist waitlist = waitlistRepository.findById(waitlistId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist", "waitlistId", waitlistId));
+
+        if (waitlist.getStatus() != WaitlistStatus.NOTIFIED || waitlist.getOfferedSeats() == null) {
+            throw new WaitlistException("No seat offer to book for waitlist entry with status: " + waitlist.getStatus());
+        }
+
+        Integer showId = waitlist.getShow().getShowId();
+        String mobNo = waitlist.getUser().getMobNo();
+        List<String> seats = offeredSeats(waitlist);
+        if (!seatHoldService.getHeldSeats(showId, mobNo).containsAll(seats)) {
+            throw new WaitlistException("The seat offer for this waitlist entry has expired");
+        }
+
+        BookTicketRequest request = new BookTicketRequest();
+        request.setShowId(showId);
+        request.setMobNo(mobNo);
+        request.setRequestedSeats(seats);
+        Ticket ticket = ticketService.bookTicket(request);
+
+        waitlist.setStatus(WaitlistStatus.CONVERTED);
+        waitlist.setConvertedAt(LocalDateTime.now());
+        waitlistRepository.save(waitlist);
+        waitlistQueueService.offerClosed(waitlist);
+
+        logger.info("Waitlist entry {} converted to ticket {}", waitlistId, ticket.getTicketId());
+        return ticket;
+    }
+
+    /**
+     * Close the user's open seat offer on a show once its hold has ended: converted if the seats
+     * were booked, expired otherwise
+     *
+     * @return the show, for the pass that offers the seats to the next waitlister
+     */
+    @Transactional
+    public Show closeOffer(Integer showId, String userMobNo, boolean booked) {
+        List<Waitlist> offered = waitlistRepository.findByShowShowIdAndUserMobNoAndStatus(
+                showId, userMobNo, WaitlistStatus.NOTIFIED);
+        for (Waitlist waitlist : offered) {
+            waitlist.setStatus(booked ? WaitlistStatus.CONVERTED : WaitlistStatus.EXPIRED);
+            if (booked) {
+                waitlist.setConvertedAt(LocalDateTime.now());
+            }
+            waitlistQueueService.offerClosed(waitlist);
+        }
+        waitlistRepository.saveAll(offered);
+        return showLookupService.getShow(showId);
+    }
+
+    /**
+     * Hold the seats of the seat offers still open, on startup. Offers that ran out while the
+     * application was down, or whose seats were booked meanwhile, are expired.
+     *
+     * @return the shows of the expired offers, their seats go to the next waitlisters
+     */
+    @Transactional
+    public List<Show> restoreOffers() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, Show> lapsedShows = new LinkedHashMap<>();
+        int restored = 0;
+        int expired = 0;
+        for (Waitlist waitlist : waitlistRepository.findByStatus(WaitlistStatus.NOTIFIED)) {
+            Show show = showLookupService.getShow(waitlist.getShow().getShowId());
+            long remainingMs = waitlist.getOfferExpiresAt() == null || waitlist.getOfferedSeats() == null
+                    ? 0 : Duration.between(now, waitlist.getOfferExpiresAt()).toMillis();
+            if (remainingMs > 0) {
+                List<String> seats = offeredSeats(waitlist);
+                if (seatInventoryService.getInventory(show).findUnavailable(seats).isEmpty()
+                        && seatHoldService.offer(show, waitlist.getUser().getMobNo(), seats, remainingMs).isEmpty()) {
+                    restored++;
+                    continue;
                 }
-            } catch (Exception e) {
-                System.err.println("Error processing waitlist ID " + waitlist.getWaitlistId() + ": " + e.getMessage());
             }
+            waitlist.setStatus(WaitlistStatus.EXPIRED);
+            waitlistQueueService.offerClosed(waitlist);
+            lapsedShows.put(show.getShowId(), show);
+            expired++;
         }
+        logger.info("Restored {} waitlist seat offers, expired {}", restored, expired);
+        return new ArrayList<>(lapsedShows.values());
+    }
+
+    private static List<String> offeredSeats(Waitlist waitlist) {
+        return Arrays.asList(waitlist.getOfferedSeats().split(","));
     }
 
     /**
-     * Notify waitlisted user (via email/SMS)
-     * In production, this would integrate with notification service
+     * Take the offer back if the pass that made it rolls back, the entry then stays in the queue
      */
-    private void notifyWaitlistedUser(Waitlist waitlist, List<ShowSeat> availableSeats) {
-        // Simulate notification
-        System.out.println("=== WAITLIST NOTIFICATION ===");
-        System.out.println("To: " + waitlist.getUser().getEmailId());
-        System.out.println("Subject: Seats Available for Your Waitlisted Show!");
-        System.out.println("Message: " + waitlist.getNotificationMessage());
-        System.out.println("Available Seats: " + availableSeats.stream()
-                .map(ShowSeat::getSeatNo)
-                .collect(Collectors.joining(", ")));
-        System.out.println("============================");
-
-        // In production:
-        // - Send email via EmailService
-        // - Send SMS via SMS Gateway
-        // - Send push notification
-        // - Create in-app notification
+    private void withdrawOfferOnRollback(Integer showId, String userMobNo) {
+        TransactionCallbacks.afterRollback(() -> seatHoldService.withdrawOffer(showId, userMobNo));
+    }
+
+    /**
+     * Notification of a seat offer, by email as that is the only channel with a gateway
+     */
+    private List<Notification> offerNotifications(Waitlist waitlist) {
+        User user = waitlist.getUser();
+        String subject = "Seats Available for Your Waitlisted Show!";
+        List<Notification> notifications = new ArrayList<>();
+        if (user.getEmailId() != null && notificationService.supports(NotificationChannelType.EMAIL)) {
+            notifications.add(notification(NotificationChannelType.EMAIL, user.getEmailId(), subject, waitlist));
+        }
+        return notifications;
+    }
+
+    private static Notification notification(NotificationChannelType channel, String recipient, String subject, Waitlist waitlist) {
+        return Notification.builder()
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(waitlist.getNotificationMessage())
+                .build();
     }
 
     /**
@@ -213,6 +342,7 @@ public class WaitlistService {
         for (Waitlist waitlist : expiredWaitlists) {
             waitlist.setStatus(WaitlistStatus.EXPIRED);
             waitlistRepository.save(waitlist);
+            waitlistQueueService.dequeue(waitlist.getShow().getShowId(), waitlist.getWaitlistId());
         }
 
         if (!expiredWaitlists.isEmpty()) {
@@ -234,22 +364,30 @@ public class WaitlistService {
             throw new WaitlistException("Cannot cancel waitlist entry with status: " + waitlist.getStatus());
         }
 
+        WaitlistStatus previousStatus = waitlist.getStatus();
         waitlist.setStatus(WaitlistStatus.CANCELLED);
         waitlistRepository.save(waitlist);
+        if (previousStatus == WaitlistStatus.PENDING) {
+            waitlistQueueService.dequeue(waitlist.getShow().getShowId(), waitlist.getWaitlistId());
+        } else {
+            // Give up the offered seats once the cancellation is in, they are then offered to the next waitlister
+            Integer showId = waitlist.getShow().getShowId();
+            String mobNo = waitlist.getUser().getMobNo();
+            waitlistQueueService.offerClosed(waitlist);
+            TransactionCallbacks.afterCommit(() -> seatHoldService.release(showId, mobNo));
+        }
         
         logger.info("Waitlist entry {} cancelled successfully", waitlistId);
     }
 
     /**
-     * Get user's waitlist entries
+     * Get user's waitlist entries with their shows, queue positions come from the in-memory show queues
      */
     public List<WaitlistResponse> getUserWaitlists(Integer userId) {
         List<Waitlist> waitlists = waitlistRepository.findByUserUserIdAndStatus(userId, WaitlistStatus.PENDING);
 
         return waitlists.stream().map(waitlist -> {
-            List<Waitlist> allWaitlists = waitlistRepository
-                    .findByShowAndStatusOrderByCreatedAtAsc(waitlist.getShow(), WaitlistStatus.PENDING);
-            int position = allWaitlists.indexOf(waitlist) + 1;
+            int position = waitlistQueueService.positionOf(waitlist.getShow().getShowId(), waitlist.getWaitlistId());
 
             return WaitlistResponse.builder()
                     .waitlistId(waitlist.getWaitlistId())
@@ -0,0 +1,144 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import com.acciojob.bookmyshowapplication.BookMyShowApplication;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.Genre;
+import com.acciojob.bookmyshowapplication.Enums.Language;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Models.*;
+import com.acciojob.bookmyshowapplication.Repository.*;
+import com.acciojob.bookmyshowapplication.Service.SeatInventoryService;
+import com.acciojob.bookmyshowapplication.Service.SeatLayoutService;
+import com.acciojob.bookmyshowapplication.Service.ShowInventoryService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application against an in-memory H2 database and seeds one show,
+ * shared by the benchmarks so they exercise the real services and repositories
+ */
+class BenchmarkFixture {
+
+    static final String MOVIE_NAME = "Benchmark Movie";
+    static final LocalDate SHOW_DATE = LocalDate.now().plusDays(7);
+    static final LocalTime SHOW_TIME = LocalTime.of(19, 30);
+    static final int MAX_USERS = 64;
+    static final int SEATS_PER_ROW = 20;
+
+    final ConfigurableApplicationContext context;
+    final JdbcTemplate jdbcTemplate;
+    final Theater theater;
+    final Show show;
+    final List<String> seatNos = new ArrayList<>();
+    final List<User> users = new ArrayList<>();
+
+    /**
+     * @param seats         number of seats in the show
+     * @param bookedPercent share of seats that is already booked
+     */
+    BenchmarkFixture(int seats, int bookedPercent) {
+        this(seats, bookedPercent, new String[0]);
+    }
+
+    /**
+     * @param properties extra application properties, overriding the fixture defaults and application.properties
+     */
+    BenchmarkFixture(int seats, int bookedPercent, String... properties) {
+        context = new SpringApplicationBuilder(BookMyShowApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Movie movie = new Movie();
+        movie.setMovieName(MOVIE_NAME);
+        movie.setDuration(2.5);
+        movie.setGenre(Genre.values()[0]);
+        movie.setLanguage(Language.values()[0]);
+        movie.setReleaseDate(LocalDate.now().minusDays(7));
+        movie.setRating(8.0);
+        movie = bean(MovieRepository.class).save(movie);
+
+        theater = bean(TheaterRepository.class).save(Theater.builder()
+                .name("Benchmark Theater")
+                .address("Benchmark Street")
+                .noOfScreens(1)
+                .theaterSeatList(new ArrayList<>())
+                .build());
+
+        show = bean(ShowRepository.class).save(Show.builder()
+                .showDate(SHOW_DATE)
+                .showTime(SHOW_TIME)
+                .movie(movie)
+                .theater(theater)
+                .build());
+
+        SeatType[] seatTypes = new SeatType[seats];
+        for (int i = 0; i < seats; i++) {
+            seatNos.add((i / SEATS_PER_ROW + 1) + "-" + (i % SEATS_PER_ROW + 1));
+            seatTypes[i] = i >= seats * 4 / 5 ? SeatType.PREMIUM : SeatType.CLASSIC;
+        }
+        SeatLayout layout = bean(SeatLayoutService.class).layoutFor(theater, seatNos.toArray(String[]::new), seatTypes);
+        ShowInventory state = ShowInventory.builder()
+                .showId(show.getShowId())
+                .layout(layout)
+                .priceOfClassicSeats(200)
+                .priceOfPremiumSeats(400)
+                .basePriceOfClassicSeats(200)
+                .basePriceOfPremiumSeats(400)
+                .build();
+        BitSet booked = new BitSet(seats);
+        booked.set(0, seats * bookedPercent / 100);
+        state.setBooked(booked);
+        bean(ShowInventoryRepository.class).save(state);
+
+        for (int i = 0; i < MAX_USERS; i++) {
+            User user = new User();
+            user.setName("Benchmark User " + i);
+            user.setEmailId("bench" + i + "@example.com");
+            user.setMobNo(String.format("90000000%02d", i));
+            users.add(bean(UserRepository.class).save(user));
+        }
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Seats reserved for one benchmark thread, so threads contend on the show but never on a seat
+     */
+    List<String> seatSliceFor(int threadIndex, int threadCount) {
+        List<String> slice = new ArrayList<>();
+        for (int i = threadIndex; i < seatNos.size(); i += threadCount) {
+            slice.add(seatNos.get(i));
+        }
+        return slice;
+    }
+
+    /**
+     * Marks a seat available again without going through the cancellation flow
+     */
+    void resetSeat(String seatNo) {
+        bean(ShowInventoryService.class).releaseSeats(show.getShowId(), List.of(seatNo));
+        ShowSeatInventory inventory = bean(SeatInventoryService.class).getInventory(show);
+        inventory.release(new int[]{inventory.ordinalOf(seatNo)});
+    }
+
+    void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,32 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks once per contention level.
+ * Used by the "benchmark" Maven profile; -Djmh.include selects benchmarks by
+ * regex and -Djmh.threads lists the thread counts to run them with.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = System.getProperty("jmh.include", ".*Benchmark.*");
+        String[] threadCounts = System.getProperty("jmh.threads", "1,4,16,64").split(",");
+
+        for (String threadCount : threadCounts) {
+            int threads = Integer.parseInt(threadCount.trim());
+            Options options = new OptionsBuilder()
+                    .include(BenchmarkRunner.class.getPackageName() + "\\." + include)
+                    .threads(threads)
+                    .shouldFailOnError(true)
+                    .result("target/jmh-result-" + threads + "-threads.json")
+                    .resultFormat(ResultFormatType.JSON)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import com.acciojob.bookmyshowapplication.Models.Ticket;
+import com.acciojob.bookmyshowapplication.Requests.BookTicketRequest;
+import com.acciojob.bookmyshowapplication.Service.SeatHoldService;
+import com.acciojob.bookmyshowapplication.Service.TicketService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the full booking path: hold check, seat claim, ticket insert and repricing.
+ * Every thread books its own seats of one shared show, so threads contend on the show only.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class BookingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ShowState {
+        @Param({"100", "1000", "5000"})
+        public int seats;
+
+        BenchmarkFixture fixture;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            fixture = new BenchmarkFixture(seats, 0);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UserState {
+        List<String> seatSlice;
+        String mobNo;
+        int cursor;
+        BookTicketRequest request;
+
+        @Setup(Level.Trial)
+        public void setUp(ShowState showState, ThreadParams threadParams) {
+            seatSlice = showState.fixture.seatSliceFor(threadParams.getThreadIndex(), threadParams.getThreadCount());
+            mobNo = showState.fixture.users.get(threadParams.getThreadIndex()).getMobNo();
+        }
+
+        // Booking is milliseconds long, so per-invocation setup does not skew the measurement
+        @Setup(Level.Invocation)
+        public void holdNextSeat(ShowState showState) {
+            BenchmarkFixture fixture = showState.fixture;
+            String seatNo = seatSlice.get(cursor % seatSlice.size());
+            if (cursor >= seatSlice.size()) {
+                fixture.resetSeat(seatNo);
+            }
+            cursor++;
+            fixture.bean(SeatHoldService.class).hold(fixture.show, mobNo, List.of(seatNo));
+
+            request = new BookTicketRequest();
+            request.setMovieName(BenchmarkFixture.MOVIE_NAME);
+            request.setShowDate(BenchmarkFixture.SHOW_DATE);
+            request.setShowTime(BenchmarkFixture.SHOW_TIME);
+            request.setTheaterId(fixture.theater.getTheaterId());
+            request.setMobNo(mobNo);
+            request.setRequestedSeats(List.of(seatNo));
+        }
+    }
+
+    @Benchmark
+    public Ticket bookTicket(ShowState showState, UserState userState) {
+        return showState.fixture.bean(TicketService.class).bookTicket(userState.request);
+    }
+}
@@ -0,0 +1,69 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Counts the statements and batches sent to the database and delays each by a
+ * fixed time, standing in for the network round trip that in-memory H2 does not
+ * have. Not component-scanned; a benchmark installs it with the property
+ * "spring.main.sources=" + JdbcRoundTrips.class.getName().
+ */
+public class JdbcRoundTrips {
+
+    static final long LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private static final ThreadLocal<long[]> roundTrips = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Round trips made so far by the calling thread
+     */
+    static long count() {
+        return roundTrips.get()[0];
+    }
+
+    @Bean
+    static BeanPostProcessor roundTripDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (target instanceof Statement && name.startsWith("execute")) {
+                roundTrips.get()[0]++;
+                LockSupport.parkNanos(LATENCY_NANOS);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection connection && type == DataSource.class) {
+                return proxy(Connection.class, connection);
+            }
+            if (result instanceof Statement statement && type == Connection.class) {
+                Class<? extends Statement> statementType = method.getReturnType().asSubclass(Statement.class);
+                return proxy((Class<Statement>) statementType, statement);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(JdbcRoundTrips.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,41 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import com.acciojob.bookmyshowapplication.Responses.PricingResponse;
+import com.acciojob.bookmyshowapplication.Service.DynamicPricingService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dynamic price calculation for a show that is 60% booked
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int seats;
+
+    private BenchmarkFixture fixture;
+    private DynamicPricingService dynamicPricingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(seats, 60);
+        dynamicPricingService = fixture.bean(DynamicPricingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public PricingResponse calculateDynamicPricing() {
+        return dynamicPricingService.calculateDynamicPricing(fixture.show);
+    }
+}
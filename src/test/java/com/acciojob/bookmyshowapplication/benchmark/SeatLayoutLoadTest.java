@@ -0,0 +1,124 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP load test of the seat layout endpoint in both request execution modes.
+ * Boots the application on a random port once with the default platform-thread
+ * Tomcat pool and once with the "virtual-threads" profile, then has every client
+ * poll the seat layout at the same time and reports throughput and latency.
+ *
+ * mvn -P benchmark verify -Djmh.skip=true -Dloadtest.skip=false [-Dloadtest.clients=10000] [-Dloadtest.rounds=3]
+ */
+public class SeatLayoutLoadTest {
+
+    private static final int SEATS = 300;
+    private static final int WARMUP_REQUESTS = 500;
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 10000);
+        int rounds = Integer.getInteger("loadtest.rounds", 3);
+
+        List<String> results = new ArrayList<>();
+        results.add(run("platform", clients, rounds));
+        results.add(run("virtual", clients, rounds, "spring.profiles.active=virtual-threads"));
+
+        System.out.printf("%n%d concurrent clients x %d seat layout polls%n", clients, rounds);
+        System.out.printf("%-10s %12s %10s %10s %10s %8s%n", "mode", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        results.forEach(System.out::println);
+    }
+
+    private static String run(String mode, int clients, int rounds, String... profileProperties) throws Exception {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.main.web-application-type=servlet",
+                "server.port=0"));
+        properties.addAll(List.of(profileProperties));
+        BenchmarkFixture fixture = new BenchmarkFixture(SEATS, 50, properties.toArray(String[]::new));
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientThreads)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            HttpRequest request = layoutRequest(fixture);
+
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>(clients * rounds));
+            AtomicInteger errors = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(clients);
+
+            for (int c = 0; c < clients; c++) {
+                clientThreads.execute(() -> {
+                    try {
+                        start.await();
+                        for (int r = 0; r < rounds; r++) {
+                            long sent = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            latenciesNanos.add(System.nanoTime() - sent);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            done.await();
+            double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+
+            List<Long> sorted = new ArrayList<>(latenciesNanos);
+            Collections.sort(sorted);
+            return String.format("%-10s %12.0f %10.1f %10.1f %10.1f %8d", mode,
+                    sorted.size() / elapsedSeconds,
+                    percentileMillis(sorted, 50), percentileMillis(sorted, 99),
+                    percentileMillis(sorted, 100), errors.get());
+        } finally {
+            fixture.close();
+        }
+    }
+
+    private static HttpRequest layoutRequest(BenchmarkFixture fixture) {
+        String port = fixture.context.getEnvironment().getProperty("local.server.port");
+        String body = String.format("{\"movieName\":\"%s\",\"showDate\":\"%s\",\"showTime\":\"%s\",\"theaterId\":%d}",
+                BenchmarkFixture.MOVIE_NAME, BenchmarkFixture.SHOW_DATE, BenchmarkFixture.SHOW_TIME,
+                fixture.theater.getTheaterId());
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/seats/available"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static double percentileMillis(List<Long> sortedNanos, int percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = Math.max(0, (int) Math.ceil(sortedNanos.size() * percentile / 100.0) - 1);
+        return sortedNanos.get(index) / 1e6;
+    }
+}
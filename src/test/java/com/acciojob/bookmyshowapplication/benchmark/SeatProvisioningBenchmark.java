@@ -0,0 +1,96 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
+import com.acciojob.bookmyshowapplication.Requests.AddShowSeatsRequest;
+import com.acciojob.bookmyshowapplication.Requests.AddTheaterSeatsRequest;
+import com.acciojob.bookmyshowapplication.Service.ShowService;
+import com.acciojob.bookmyshowapplication.Service.TheaterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generating the seats of a new show in a 1,000-seat hall, with JDBC batching
+ * switched off and with batches of 50. Since shows reference the theater's seat
+ * layout this writes a single row either way; the batching still matters for the
+ * theater's own seats. In-memory H2 has no network in between, so {@link JdbcRoundTrips}
+ * adds 200µs to every statement or batch sent, and the round trips per show are printed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SeatProvisioningBenchmark {
+
+    private static final int CLASSIC_SEATS = 800;
+    private static final int PREMIUM_SEATS = 200;
+
+    @State(Scope.Benchmark)
+    public static class HallState {
+        @Param({"1", "50"})
+        public int batchSize;
+
+        BenchmarkFixture fixture;
+        final AtomicInteger showCounter = new AtomicInteger();
+        final AtomicLong provisionedShows = new AtomicLong();
+        final AtomicLong roundTrips = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            fixture = new BenchmarkFixture(0, 0,
+                    "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                    "spring.main.sources=" + JdbcRoundTrips.class.getName());
+
+            AddTheaterSeatsRequest request = new AddTheaterSeatsRequest();
+            request.setTheaterId(fixture.theater.getTheaterId());
+            request.setNoOfClassicSeats(CLASSIC_SEATS);
+            request.setNoOfPremiumSeats(PREMIUM_SEATS);
+            fixture.bean(TheaterService.class).addTheaterSeats(request);
+        }
+
+        @TearDown(Level.Iteration)
+        public void printRoundTrips() {
+            System.out.printf("%n%d JDBC round trips per show%n", roundTrips.get() / Math.max(1, provisionedShows.get()));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ShowState {
+        AddShowSeatsRequest request;
+
+        // A fresh show each time, so every invocation inserts the full hall
+        @Setup(Level.Invocation)
+        public void createShow(HallState hall) {
+            BenchmarkFixture fixture = hall.fixture;
+            Show show = fixture.bean(ShowRepository.class).save(Show.builder()
+                    .showDate(BenchmarkFixture.SHOW_DATE)
+                    .showTime(BenchmarkFixture.SHOW_TIME.plusMinutes(hall.showCounter.incrementAndGet()))
+                    .movie(fixture.show.getMovie())
+                    .theater(fixture.theater)
+                    .build());
+
+            request = new AddShowSeatsRequest();
+            request.setShowId(show.getShowId());
+            request.setPriceOfClassicSeats(200);
+            request.setPriceOfPremiumSeats(400);
+        }
+    }
+
+    @Benchmark
+    public String addShowSeats(HallState hall, ShowState showState) {
+        long before = JdbcRoundTrips.count();
+        String result = hall.fixture.bean(ShowService.class).addShowSeats(showState.request);
+        hall.roundTrips.addAndGet(JdbcRoundTrips.count() - before);
+        hall.provisionedShows.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import com.acciojob.bookmyshowapplication.Requests.GetAvailableSeatsRequest;
+import com.acciojob.bookmyshowapplication.Requests.SeatSelectionRequest;
+import com.acciojob.bookmyshowapplication.Service.SeatService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat selection (taking a hold) and the seat layout read, on a show that is half booked
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SeatSelectionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ShowState {
+        @Param({"100", "1000", "5000"})
+        public int seats;
+
+        BenchmarkFixture fixture;
+        SeatService seatService;
+        GetAvailableSeatsRequest layoutRequest;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            fixture = new BenchmarkFixture(seats, 50);
+            seatService = fixture.bean(SeatService.class);
+
+            layoutRequest = new GetAvailableSeatsRequest();
+            layoutRequest.setMovieName(BenchmarkFixture.MOVIE_NAME);
+            layoutRequest.setShowDate(BenchmarkFixture.SHOW_DATE);
+            layoutRequest.setShowTime(BenchmarkFixture.SHOW_TIME);
+            layoutRequest.setTheaterId(fixture.theater.getTheaterId());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UserState {
+        List<String> availableSeats;
+        String mobNo;
+        int threadIndex;
+        int threadCount;
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(ShowState showState, ThreadParams threadParams) {
+            // The second half of the seats is available
+            List<String> seatNos = showState.fixture.seatNos;
+            availableSeats = seatNos.subList(seatNos.size() / 2, seatNos.size());
+            mobNo = showState.fixture.users.get(threadParams.getThreadIndex()).getMobNo();
+            threadIndex = threadParams.getThreadIndex();
+            threadCount = threadParams.getThreadCount();
+        }
+
+        // Threads walk interleaved seats and only collide when there are more threads than free seats
+        SeatSelectionRequest nextRequest(ShowState showState) {
+            int first = (threadIndex + cursor++ * threadCount) % availableSeats.size();
+            SeatSelectionRequest request = new SeatSelectionRequest();
+            request.setShowId(showState.fixture.show.getShowId());
+            request.setUserMobNo(mobNo);
+            request.setSelectedSeats(List.of(
+                    availableSeats.get(first),
+                    availableSeats.get((first + threadCount) % availableSeats.size())));
+            return request;
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> selectSeats(ShowState showState, UserState userState) {
+        return showState.seatService.selectSeats(userState.nextRequest(showState));
+    }
+
+    @Benchmark
+    public Map<String, Object> getAvailableSeatsWithLayout(ShowState showState) {
+        return showState.seatService.getAvailableSeatsWithLayout(showState.layoutRequest);
+    }
+}
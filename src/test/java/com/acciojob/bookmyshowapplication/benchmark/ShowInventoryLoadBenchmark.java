@@ -0,0 +1,88 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Models.ShowSeat;
+import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowSeatRepository;
+import com.acciojob.bookmyshowapplication.Service.ShowInventoryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a show's seats from the database, stored as one show_seats row per seat
+ * and as a single show_inventories row on the theater's cached seat layout. The
+ * rows and column bytes each show takes up are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShowInventoryLoadBenchmark {
+
+    @Param({"1000"})
+    public int seats;
+
+    @Param({"show_seats", "layout"})
+    public String storage;
+
+    private BenchmarkFixture fixture;
+    private Show legacyShow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(seats, 30);
+
+        // The same seats again, as a show stored the way shows were before seat layouts
+        legacyShow = fixture.bean(ShowRepository.class).save(Show.builder()
+                .showDate(BenchmarkFixture.SHOW_DATE)
+                .showTime(BenchmarkFixture.SHOW_TIME.plusHours(3))
+                .movie(fixture.show.getMovie())
+                .theater(fixture.theater)
+                .build());
+        ShowSeatInventory inventory = fixture.bean(ShowInventoryService.class).loadInventory(fixture.show, 0);
+        List<ShowSeat> showSeats = new ArrayList<>();
+        for (int ordinal = 0; ordinal < inventory.size(); ordinal++) {
+            showSeats.add(ShowSeat.builder()
+                    .seatNo(inventory.seatNoOf(ordinal))
+                    .seatType(inventory.seatTypeOf(ordinal))
+                    .price(inventory.priceOf(ordinal))
+                    .isAvailable(!inventory.isBooked(ordinal))
+                    .show(legacyShow)
+                    .build());
+        }
+        fixture.bean(ShowSeatRepository.class).saveAll(showSeats);
+
+        Map<String, Object> legacy = fixture.jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS seat_rows, SUM(OCTET_LENGTH(seat_no) + OCTET_LENGTH(seat_type) + 13) AS bytes " +
+                "FROM show_seats WHERE show_show_id = ?", legacyShow.getShowId());
+        Long layoutBytes = fixture.jdbcTemplate.queryForObject(
+                "SELECT OCTET_LENGTH(booked_seats) + 24 FROM show_inventories WHERE show_id = ?",
+                Long.class, fixture.show.getShowId());
+        Long sharedBytes = fixture.jdbcTemplate.queryForObject(
+                "SELECT SUM(OCTET_LENGTH(seat_numbers) + OCTET_LENGTH(seat_type_codes)) FROM seat_layouts", Long.class);
+        System.out.printf("%nPer show: show_seats %s rows, %s bytes; show_inventories 1 row, %d bytes "
+                        + "(+ %d bytes of seat layout per theater)%n",
+                legacy.get("seat_rows"), legacy.get("bytes"), layoutBytes, sharedBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public ShowSeatInventory loadInventory() {
+        if ("show_seats".equals(storage)) {
+            return new ShowSeatInventory(legacyShow.getShowId(),
+                    fixture.bean(ShowSeatRepository.class).findAllByShow(legacyShow));
+        }
+        return fixture.bean(ShowInventoryService.class).loadInventory(fixture.show, 0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import com.acciojob.bookmyshowapplication.Enums.WaitlistStatus;
+import com.acciojob.bookmyshowapplication.Models.Waitlist;
+import com.acciojob.bookmyshowapplication.Repository.WaitlistRepository;
+import com.acciojob.bookmyshowapplication.Service.WaitlistQueueService;
+import com.acciojob.bookmyshowapplication.Service.WaitlistService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waitlist processing after a cancellation: a 90% booked show with one pending
+ * entry per user, all entries are put back to PENDING and the show's waitlist
+ * queue is rebuilt before every call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitlistBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int seats;
+
+    private BenchmarkFixture fixture;
+    private WaitlistService waitlistService;
+    private WaitlistQueueService waitlistQueueService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(seats, 90);
+        waitlistService = fixture.bean(WaitlistService.class);
+        waitlistQueueService = fixture.bean(WaitlistQueueService.class);
+
+        List<Waitlist> waitlists = new ArrayList<>();
+        for (int i = 0; i < BenchmarkFixture.MAX_USERS; i++) {
+            waitlists.add(Waitlist.builder()
+                    .user(fixture.users.get(i))
+                    .show(fixture.show)
+                    .requestedSeatType(i % 2 == 0 ? "CLASSIC" : "PREMIUM")
+                    .numberOfSeats(1 + i % 3)
+                    .expiresAt(LocalDateTime.now().plusDays(1))
+                    .build());
+        }
+        fixture.bean(WaitlistRepository.class).saveAll(waitlists);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetWaitlist() {
+        fixture.jdbcTemplate.update("UPDATE waitlists SET status = ? WHERE show_show_id = ?",
+                WaitlistStatus.PENDING.name(), fixture.show.getShowId());
+        waitlistQueueService.evict(fixture.show.getShowId());
+        waitlistQueueService.getQueue(fixture.show.getShowId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void processWaitlistForShow() {
+        waitlistService.processWaitlistForShow(fixture.show);
+    }
+}
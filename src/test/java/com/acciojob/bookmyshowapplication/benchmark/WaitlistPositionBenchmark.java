@@ -0,0 +1,76 @@
+package com.acciojob.bookmyshowapplication.benchmark;
+
+import com.acciojob.bookmyshowapplication.Enums.WaitlistStatus;
+import com.acciojob.bookmyshowapplication.Models.Waitlist;
+import com.acciojob.bookmyshowapplication.Repository.WaitlistRepository;
+import com.acciojob.bookmyshowapplication.Service.WaitlistQueueService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue position of the last entry on a show's waitlist: by loading the show's pending
+ * entries and searching them, as positions were computed before, and by a rank lookup
+ * on the show's in-memory waitlist queue
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitlistPositionBenchmark {
+
+    @Param({"1000", "50000"})
+    public int entries;
+
+    @Param({"query", "queue"})
+    public String lookup;
+
+    private BenchmarkFixture fixture;
+    private WaitlistRepository waitlistRepository;
+    private WaitlistQueueService waitlistQueueService;
+    private Integer lastWaitlistId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(100, 100);
+        waitlistRepository = fixture.bean(WaitlistRepository.class);
+        waitlistQueueService = fixture.bean(WaitlistQueueService.class);
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            users.add(new Object[]{"Waitlisted User " + i, "waitlisted" + i + "@example.com", String.format("8%09d", i)});
+        }
+        fixture.jdbcTemplate.batchUpdate("INSERT INTO users (name, email_id, mob_no) VALUES (?, ?, ?)", users);
+        fixture.jdbcTemplate.update("INSERT INTO waitlists (user_user_id, show_show_id, requested_seat_type, " +
+                        "number_of_seats, status, created_at, expires_at) " +
+                        "SELECT user_id, ?, 'CLASSIC', 1, ?, CURRENT_TIMESTAMP, ? FROM users WHERE mob_no LIKE '8%' ORDER BY user_id",
+                fixture.show.getShowId(), WaitlistStatus.PENDING.name(), LocalDateTime.now().plusDays(1));
+        lastWaitlistId = fixture.jdbcTemplate.queryForObject("SELECT MAX(waitlist_id) FROM waitlists", Integer.class);
+        waitlistQueueService.getQueue(fixture.show.getShowId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public int positionOfLastEntry() {
+        if ("query".equals(lookup)) {
+            List<Waitlist> pending = waitlistRepository.findByShowAndStatusOrderByWaitlistIdAsc(
+                    fixture.show, WaitlistStatus.PENDING);
+            for (int i = 0; i < pending.size(); i++) {
+                if (pending.get(i).getWaitlistId().equals(lastWaitlistId)) {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+        return waitlistQueueService.positionOf(fixture.show.getShowId(), lastWaitlistId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.acciojob.bookmyshowapplication.engine;
+
+import com.acciojob.bookmyshowapplication.Engine.PricingRuleTable;
+import com.acciojob.bookmyshowapplication.Enums.PricingFactorType;
+import com.acciojob.bookmyshowapplication.Models.PricingConfig;
+import org.junit.jupiter.api.*;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the compiled pricing rule table
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Pricing Rule Table Tests")
+class PricingRuleTableTest {
+
+    private PricingConfig createConfig(Integer configId, PricingFactorType type, String key, double multiplier,
+                                       Integer from, Integer to, boolean active) {
+        PricingConfig.PricingConfigBuilder builder = PricingConfig.builder()
+                .configId(configId)
+                .factorType(type)
+                .configKey(key)
+                .multiplier(multiplier)
+                .description(key)
+                .isActive(active);
+        if (type == PricingFactorType.DEMAND_BASED) {
+            builder.minOccupancyPercent(from).maxOccupancyPercent(to);
+        } else {
+            builder.startHour(from).endHour(to);
+        }
+        return builder.build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Demand rules resolve by occupancy with half-open bands")
+    void test01_demandRule_HalfOpenBands() {
+        // Arrange
+        PricingRuleTable table = PricingRuleTable.compile(Arrays.asList(
+                createConfig(1, PricingFactorType.DEMAND_BASED, "HIGH_DEMAND", 1.5, 70, 100, true),
+                createConfig(2, PricingFactorType.DEMAND_BASED, "MEDIUM_DEMAND", 1.2, 50, 70, true)));
+
+        // Act & Assert
+        assertNull(table.demandRule(49));
+        assertEquals(1.2, table.demandRule(50).getMultiplier());
+        assertEquals(1.2, table.demandRule(69).getMultiplier());
+        assertEquals(1.5, table.demandRule(70).getMultiplier());
+        assertNull(table.demandRule(100));
+        assertEquals(50, table.demandBandMin(60));
+        assertEquals(70, table.demandBandMax(60));
+        assertEquals(0, table.demandBandMin(10));
+        assertEquals(50, table.demandBandMax(10));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Inactive rules are skipped and the oldest rule wins an overlap")
+    void test02_compile_InactiveAndOverlappingRules() {
+        // Arrange - listed out of order on purpose
+        List<PricingConfig> configs = Arrays.asList(
+                createConfig(3, PricingFactorType.TIME_BASED, "LATE_EVENING", 1.4, 20, 24, true),
+                createConfig(2, PricingFactorType.TIME_BASED, "EVENING_SHOW", 1.3, 18, 22, true),
+                createConfig(1, PricingFactorType.TIME_BASED, "MORNING_SHOW", 0.8, 6, 12, false));
+
+        // Act
+        PricingRuleTable table = PricingRuleTable.compile(configs);
+
+        // Assert
+        assertNull(table.timeRule(10));
+        assertEquals("EVENING_SHOW", table.timeRule(21).getDescription());
+        assertEquals("LATE_EVENING", table.timeRule(22).getDescription());
+        assertNull(table.timeRule(0));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Day rules map weekend and weekday configs to days of the week")
+    void test03_dayRule_WeekendAndWeekday() {
+        // Arrange
+        PricingRuleTable table = PricingRuleTable.compile(Arrays.asList(
+                createConfig(1, PricingFactorType.DAY_BASED, "WEEKEND", 1.25, null, null, true),
+                createConfig(2, PricingFactorType.DAY_BASED, "WEEKDAY", 1.0, null, null, true)));
+
+        // Act & Assert
+        assertEquals(1.25, table.dayRule(DayOfWeek.SATURDAY).getMultiplier());
+        assertEquals(1.25, table.dayRule(DayOfWeek.SUNDAY).getMultiplier());
+        assertEquals(1.0, table.dayRule(DayOfWeek.MONDAY).getMultiplier());
+        assertEquals(1.0, table.dayRule(DayOfWeek.FRIDAY).getMultiplier());
+        assertNull(PricingRuleTable.empty().dayRule(DayOfWeek.SATURDAY));
+    }
+}
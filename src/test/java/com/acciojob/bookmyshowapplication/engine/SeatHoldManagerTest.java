@@ -0,0 +1,150 @@
+package com.acciojob.bookmyshowapplication.engine;
+
+import com.acciojob.bookmyshowapplication.Engine.SeatHoldManager;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory seat hold manager and its timing wheel
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Seat Hold Manager Tests")
+class SeatHoldManagerTest {
+
+    private static final long TTL_MS = 60_000;
+
+    private SeatHoldManager seatHoldManager;
+    private List<String> expiredHolds;
+
+    @BeforeEach
+    void setUp() {
+        expiredHolds = new CopyOnWriteArrayList<>();
+        seatHoldManager = new SeatHoldManager(10, 8,
+                (showId, userMobNo, seatNos) -> expiredHolds.add(showId + ":" + userMobNo));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Hold seats - visible per show and per user")
+    void test01_hold_Success() {
+        // Act
+        List<String> heldByOthers = seatHoldManager.hold(1, "9999999999", Arrays.asList("1A", "1B"), TTL_MS);
+
+        // Assert
+        assertTrue(heldByOthers.isEmpty());
+        assertEquals(Set.of("1A", "1B"), seatHoldManager.getHeldSeats(1));
+        assertEquals(Set.of("1A", "1B"), seatHoldManager.getHeldSeats(1, "9999999999"));
+        assertTrue(seatHoldManager.getHeldSeats(2).isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Hold seats held by another user - rejected")
+    void test02_hold_SeatsHeldByOtherUser() {
+        // Arrange
+        seatHoldManager.hold(1, "9999999999", Arrays.asList("1A", "1B"), TTL_MS);
+
+        // Act
+        List<String> heldByOthers = seatHoldManager.hold(1, "8888888888", Arrays.asList("1B", "1C"), TTL_MS);
+
+        // Assert
+        assertEquals(List.of("1B"), heldByOthers);
+        assertTrue(seatHoldManager.getHeldSeats(1, "8888888888").isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: New hold replaces the user's previous hold")
+    void test03_hold_ReplacesPreviousHold() {
+        // Arrange
+        seatHoldManager.hold(1, "9999999999", Arrays.asList("1A", "1B"), TTL_MS);
+
+        // Act
+        seatHoldManager.hold(1, "9999999999", List.of("1C"), TTL_MS);
+
+        // Assert
+        assertEquals(Set.of("1C"), seatHoldManager.getHeldSeats(1));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Confirm and release drop the seats")
+    void test04_confirmAndRelease() {
+        // Arrange
+        seatHoldManager.hold(1, "9999999999", Arrays.asList("1A", "1B"), TTL_MS);
+
+        // Act
+        seatHoldManager.confirm(1, "9999999999", List.of("1A"));
+
+        // Assert
+        assertEquals(Set.of("1B"), seatHoldManager.getHeldSeats(1, "9999999999"));
+        assertTrue(seatHoldManager.release(1, "9999999999"));
+        assertFalse(seatHoldManager.release(1, "9999999999"));
+        assertTrue(seatHoldManager.getHeldSeats(1).isEmpty());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Expired hold is released by the timing wheel")
+    void test05_expireDue_ReleasesExpiredHold() throws InterruptedException {
+        // Arrange - 150ms spans more than one wheel level (10ms x 8 slots)
+        seatHoldManager.hold(1, "9999999999", List.of("1A"), 150);
+        seatHoldManager.hold(1, "8888888888", List.of("1B"), TTL_MS);
+
+        // Act
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (expiredHolds.isEmpty() && System.currentTimeMillis() < deadline) {
+            seatHoldManager.expireDue(100);
+        }
+
+        // Assert
+        assertEquals(List.of("1:9999999999"), expiredHolds);
+        assertEquals(Set.of("1B"), seatHoldManager.getHeldSeats(1));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Released hold never fires its timer")
+    void test06_expireDue_CancelledHoldDoesNotFire() throws InterruptedException {
+        // Arrange
+        seatHoldManager.hold(1, "9999999999", List.of("1A"), 20);
+        seatHoldManager.release(1, "9999999999");
+
+        // Act
+        Thread.sleep(50);
+        int fired = seatHoldManager.expireDue(50);
+
+        // Assert
+        assertEquals(0, fired);
+        assertTrue(expiredHolds.isEmpty());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test 7: Placing a hold reports the seats of the hold it replaced, nothing when refused")
+    void test07_hold_ReportsReplacedSeats() {
+        // Arrange
+        List<String> placements = new ArrayList<>();
+        SeatHoldManager.PlacementListener listener =
+                (replacedSeats, seatNos) -> placements.add(new TreeSet<>(replacedSeats) + "->" + new TreeSet<>(seatNos));
+        seatHoldManager.hold(1, "8888888888", List.of("1D"), TTL_MS);
+
+        // Act
+        seatHoldManager.hold(1, "9999999999", Arrays.asList("1A", "1B"), TTL_MS, listener);
+        seatHoldManager.hold(1, "9999999999", Arrays.asList("1B", "1C"), TTL_MS, listener);
+        List<String> heldByOthers = seatHoldManager.hold(1, "9999999999", List.of("1D"), TTL_MS, listener);
+
+        // Assert
+        assertEquals(List.of("1D"), heldByOthers);
+        assertEquals(List.of("[]->[1A, 1B]", "[1A, 1B]->[1B, 1C]"), placements);
+        assertEquals(Set.of("1B", "1C"), seatHoldManager.getHeldSeats(1, "9999999999"));
+    }
+}
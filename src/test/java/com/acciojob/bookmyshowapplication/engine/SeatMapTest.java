@@ -0,0 +1,197 @@
+package com.acciojob.bookmyshowapplication.engine;
+
+import com.acciojob.bookmyshowapplication.Engine.SeatMap;
+import com.acciojob.bookmyshowapplication.Engine.SeatNoTemplate;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Models.ShowSeat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the compact seat map and its seat number template
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Seat Map Tests")
+class SeatMapTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 100 rows of 5 seats numbered like theater seats: 1A..1E, 2A..2E, ...; the last 100 are premium
+    private ShowSeatInventory createInventory(int seats) {
+        List<ShowSeat> showSeats = new ArrayList<>();
+        for (int i = 0; i < seats; i++) {
+            boolean premium = i >= seats - 100;
+            ShowSeat seat = new ShowSeat();
+            seat.setShowSeatId(i + 1);
+            seat.setSeatNo((i / 5 + 1) + "" + (char) ('A' + i % 5));
+            seat.setSeatType(premium ? SeatType.PREMIUM : SeatType.CLASSIC);
+            seat.setPrice(premium ? 400 : 200);
+            seat.setIsAvailable(i >= seats / 2);
+            showSeats.add(seat);
+        }
+        return new ShowSeatInventory(1, showSeats);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Seat numbers compress into runs and expand back in order")
+    void test01_seatNoTemplate_RoundTrip() {
+        // Arrange
+        String[] seatNos = {"1A", "1B", "1C", "2A", "2B", "1-9", "1-10", "1-11", "BOX", "07", "08"};
+
+        // Act
+        SeatNoTemplate template = SeatNoTemplate.of(seatNos);
+
+        // Assert
+        assertEquals(6, template.getRuns().size());
+        assertEquals(3, template.getRuns().get(0).getCount());
+        assertEquals(3, template.getRuns().get(2).getCount());
+        assertArrayEquals(seatNos, template.expand());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Statuses and price classes reflect bookings, holds and prices")
+    void test02_seatMap_StatusesAndPriceClasses() {
+        // Arrange
+        ShowSeatInventory inventory = createInventory(500);
+        inventory.markHeld(List.of("100D", "100E"));
+
+        // Act
+        SeatMap seatMap = inventory.seatMap();
+
+        // Assert
+        assertEquals(500, seatMap.getSeatCount());
+        assertEquals(100, seatMap.getSeatNos().getRuns().size());
+        assertArrayEquals(new int[]{SeatMap.BOOKED, 250, SeatMap.AVAILABLE, 248, SeatMap.TEMP_SELECTED, 2},
+                seatMap.getStatusRuns());
+        assertEquals(2, seatMap.getPriceClasses().size());
+        assertArrayEquals(new int[]{0, 400, 1, 100}, seatMap.getPriceClassRuns());
+        assertEquals(new SeatMap.PriceClass(SeatType.PREMIUM, 400), seatMap.priceClassOf(499));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Binary seat map decodes to the same layout")
+    void test03_toBytes_RoundTrip() {
+        // Arrange
+        ShowSeatInventory inventory = createInventory(500);
+        inventory.claim(List.of("80A", "90C"));
+        inventory.markHeld(List.of("60E"));
+        SeatMap seatMap = inventory.seatMap();
+
+        // Act
+        SeatMap decoded = SeatMap.fromBytes(seatMap.toBytes());
+
+        // Assert
+        assertEquals(seatMap.getShowId(), decoded.getShowId());
+        assertEquals(seatMap.getVersion(), decoded.getVersion());
+        assertArrayEquals(seatMap.getSeatNos().expand(), decoded.getSeatNos().expand());
+        assertEquals(seatMap.getPriceClasses(), decoded.getPriceClasses());
+        assertArrayEquals(seatMap.getPriceClassRuns(), decoded.getPriceClassRuns());
+        assertArrayEquals(seatMap.getStatusRuns(), decoded.getStatusRuns());
+        assertEquals(SeatMap.BOOKED, decoded.statusOf(inventory.ordinalOf("80A")));
+        assertEquals(SeatMap.TEMP_SELECTED, decoded.statusOf(inventory.ordinalOf("60E")));
+        assertEquals(SeatMap.AVAILABLE, decoded.statusOf(inventory.ordinalOf("80B")));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Compact forms are an order of magnitude smaller than one object per seat")
+    void test04_seatMap_PayloadSize() throws Exception {
+        // Arrange - the per-seat layout as returned by the default seat layout response
+        ShowSeatInventory inventory = createInventory(500);
+        List<Map<String, Object>> seats = new ArrayList<>();
+        for (int ordinal = 0; ordinal < inventory.size(); ordinal++) {
+            Map<String, Object> seatInfo = new HashMap<>();
+            seatInfo.put("seatNo", inventory.seatNoOf(ordinal));
+            seatInfo.put("seatType", inventory.seatTypeOf(ordinal).toString());
+            seatInfo.put("price", inventory.priceOf(ordinal));
+            seatInfo.put("status", inventory.isBooked(ordinal) ? "BOOKED" : "AVAILABLE");
+            seats.add(seatInfo);
+        }
+        int verboseSize = objectMapper.writeValueAsBytes(seats).length;
+
+        // Act
+        SeatMap seatMap = inventory.seatMap();
+        int compactJsonSize = objectMapper.writeValueAsBytes(seatMap).length;
+        int binarySize = seatMap.toBytes().length;
+
+        // Assert
+        assertTrue(compactJsonSize * 10 < verboseSize, compactJsonSize + " vs " + verboseSize);
+        assertTrue(binarySize * 10 < verboseSize, binarySize + " vs " + verboseSize);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Version advances once per change and deltas list only changed seats")
+    void test05_seatMap_ChangedSinceVersion() {
+        // Arrange
+        ShowSeatInventory inventory = createInventory(500);
+        long start = inventory.getVersion();
+
+        // Act
+        inventory.markHeld(List.of("60A", "60B"));
+        long afterHold = inventory.getVersion();
+        inventory.claim(List.of("70C"));
+        inventory.markHeld(List.of("1A")); // already booked, no change
+
+        // Assert
+        assertEquals(start + 1, afterHold);
+        assertEquals(start + 2, inventory.getVersion());
+        assertArrayEquals(new int[]{inventory.ordinalOf("60A"), inventory.ordinalOf("60B"), inventory.ordinalOf("70C")},
+                inventory.seatMap(start).getChangedOrdinals());
+        assertArrayEquals(new int[]{inventory.ordinalOf("70C")}, inventory.seatMap(afterHold).getChangedOrdinals());
+        assertEquals(0, inventory.seatMap(inventory.getVersion()).getChangedOrdinals().length);
+        assertNull(inventory.seatMap().getChangedOrdinals());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Delta falls back to the full map after a price change or log overflow")
+    void test06_seatMap_ChangedSinceVersion_NotCovered() {
+        // Arrange
+        ShowSeatInventory inventory = createInventory(2500);
+        long start = inventory.getVersion();
+        inventory.markHeld(List.of("300A"));
+        long beforePrices = inventory.getVersion();
+
+        // Act
+        inventory.updatePrices(Map.of("CLASSIC", 250, "PREMIUM", 400));
+        long afterPrices = inventory.getVersion();
+        inventory.updatePrices(Map.of("CLASSIC", 250, "PREMIUM", 400)); // same prices, no change
+
+        // Assert
+        assertEquals(beforePrices + 1, afterPrices);
+        assertEquals(afterPrices, inventory.getVersion());
+        assertNull(inventory.seatMap(start).getChangedOrdinals());
+        assertNull(inventory.seatMap(beforePrices).getChangedOrdinals());
+        assertNull(inventory.seatMap(afterPrices + 1).getChangedOrdinals());
+        assertEquals(0, inventory.seatMap(afterPrices).getChangedOrdinals().length);
+
+        // Holding more seats than the change log keeps drops the older entries
+        List<String> seatNos = new ArrayList<>();
+        for (int row = 301; row <= 500; row++) {
+            for (char seat = 'A'; seat <= 'E'; seat++) {
+                seatNos.add(row + "" + seat);
+            }
+        }
+        inventory.markHeld(seatNos.subList(0, 10));
+        long beforeOverflow = inventory.getVersion();
+        inventory.markHeld(seatNos.subList(10, 1000));
+        long afterOverflow = inventory.getVersion();
+        inventory.clearHeld(seatNos.subList(0, 100));
+
+        assertNull(inventory.seatMap(afterPrices).getChangedOrdinals());
+        assertNull(inventory.seatMap(beforeOverflow).getChangedOrdinals());
+        assertEquals(100, inventory.seatMap(afterOverflow).getChangedOrdinals().length);
+    }
+}
@@ -0,0 +1,195 @@
+package com.acciojob.bookmyshowapplication.engine;
+
+import com.acciojob.bookmyshowapplication.Engine.SeatClaim;
+import com.acciojob.bookmyshowapplication.Engine.ShowOccupancy;
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Models.ShowSeat;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory per-show seat inventory
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Show Seat Inventory Tests")
+class ShowSeatInventoryTest {
+
+    private ShowSeatInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        List<ShowSeat> seats = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ShowSeat seat = new ShowSeat();
+            seat.setShowSeatId(100 + i);
+            seat.setSeatNo("1" + (char) ('A' + i));
+            seat.setSeatType(i < 5 ? SeatType.CLASSIC : SeatType.PREMIUM);
+            seat.setPrice(i < 5 ? 200 : 400);
+            seat.setIsAvailable(i != 0); // 1A is already booked
+            seats.add(seat);
+        }
+        inventory = new ShowSeatInventory(1, seats);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Claim available seats - flips only the requested seats")
+    void test01_claim_AvailableSeats() {
+        // Act
+        SeatClaim claim = inventory.claim(Arrays.asList("1B", "1F"));
+
+        // Assert
+        assertTrue(claim.isSuccessful());
+        assertEquals(600, claim.getTotalAmount());
+        assertEquals("1B", inventory.seatNoOf(claim.getOrdinals()[0]));
+        assertEquals(3, inventory.bookedCount());
+        assertTrue(inventory.isBooked(inventory.ordinalOf("1B")));
+        assertFalse(inventory.isBooked(inventory.ordinalOf("1C")));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Claim with a booked seat - nothing is claimed")
+    void test02_claim_BookedSeatRejectsWholeRequest() {
+        // Act
+        SeatClaim claim = inventory.claim(Arrays.asList("1A", "1B"));
+
+        // Assert
+        assertFalse(claim.isSuccessful());
+        assertEquals(List.of("1A"), claim.getUnavailableSeats());
+        assertEquals(1, inventory.bookedCount());
+        assertFalse(inventory.isBooked(inventory.ordinalOf("1B")));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Claim unknown or duplicated seats - rejected")
+    void test03_claim_UnknownAndDuplicateSeats() {
+        // Act
+        SeatClaim unknown = inventory.claim(List.of("9Z"));
+        SeatClaim duplicate = inventory.claim(Arrays.asList("1C", "1C"));
+
+        // Assert
+        assertFalse(unknown.isSuccessful());
+        assertFalse(duplicate.isSuccessful());
+        assertEquals(1, inventory.bookedCount());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Release returns claimed seats to the pool")
+    void test04_release_ClaimedSeats() {
+        // Arrange
+        SeatClaim claim = inventory.claim(Arrays.asList("1B", "1C"));
+
+        // Act
+        inventory.release(claim.getOrdinals());
+
+        // Assert
+        assertEquals(1, inventory.bookedCount());
+        assertTrue(inventory.findUnavailable(Arrays.asList("1B", "1C")).isEmpty());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Update prices per seat type")
+    void test05_updatePrices_BySeatType() {
+        // Act
+        inventory.updatePrices(Map.of("PREMIUM", 500));
+
+        // Assert
+        assertEquals(200, inventory.priceOf(inventory.ordinalOf("1B")));
+        assertEquals(500, inventory.priceOf(inventory.ordinalOf("1F")));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Occupancy counters follow claims, releases and holds per seat type")
+    void test06_occupancy_TracksBookedAndHeldSeats() {
+        // Arrange
+        ShowOccupancy occupancy = inventory.getOccupancy();
+
+        // Act
+        inventory.markHeld(Arrays.asList("1B", "1C", "1F", "1A"));
+        SeatClaim claim = inventory.claim(Arrays.asList("1B", "1G"));
+
+        // Assert - 1A is booked so never held, claiming 1B drops its hold
+        assertEquals(5, occupancy.getTotalSeats(SeatType.CLASSIC));
+        assertEquals(2, occupancy.getBookedSeats(SeatType.CLASSIC));
+        assertEquals(1, occupancy.getHeldSeats(SeatType.CLASSIC));
+        assertEquals(2, occupancy.getAvailableSeats(SeatType.CLASSIC));
+        assertEquals(1, occupancy.getBookedSeats(SeatType.PREMIUM));
+        assertEquals(1, occupancy.getHeldSeats(SeatType.PREMIUM));
+        assertEquals(30, occupancy.getOccupancyPercent());
+
+        inventory.release(claim.getOrdinals());
+        inventory.clearHeld(Arrays.asList("1C", "1F"));
+        assertEquals(1, occupancy.getBookedSeats());
+        assertEquals(0, occupancy.getHeldSeats());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test 7: Sync held seats - counters match the given holds")
+    void test07_syncHeld_ReplacesHeldSeats() {
+        // Arrange
+        inventory.markHeld(Arrays.asList("1B", "1C"));
+
+        // Act
+        int changed = inventory.syncHeld(Set.of("1C", "1D", "1A"));
+
+        // Assert
+        assertEquals(2, changed);
+        assertEquals(2, inventory.getOccupancy().getHeldSeats(SeatType.CLASSIC));
+        assertFalse(inventory.isHeld(inventory.ordinalOf("1B")));
+        assertEquals(List.of("1B", "1E"), inventory.findAvailable(SeatType.CLASSIC, 5));
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Test 8: Show without seats has zero occupancy")
+    void test08_occupancy_EmptyShow() {
+        // Act
+        ShowSeatInventory empty = new ShowSeatInventory(2, new ArrayList<>());
+
+        // Assert
+        assertEquals(0, empty.getOccupancy().getTotalSeats());
+        assertEquals(0, empty.getOccupancy().getOccupancyPercent());
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Test 9: Pick seats - side by side in one row first, scattered seats when no block is left")
+    void test09_pickSeats_PrefersAdjacentSeatsInRow() {
+        // Arrange - rows 1 and 2, free: 1A 1C 1E | 2A 2B 2D 2E
+        List<ShowSeat> seats = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ShowSeat seat = new ShowSeat();
+            seat.setSeatNo((i < 5 ? "1" : "2") + (char) ('A' + i % 5));
+            seat.setSeatType(SeatType.CLASSIC);
+            seat.setPrice(200);
+            seat.setIsAvailable(i != 1 && i != 3 && i != 7);
+            seats.add(seat);
+        }
+        ShowSeatInventory rows = new ShowSeatInventory(3, seats);
+
+        // Act
+        List<List<String>> picked = rows.pickSeats(SeatType.CLASSIC, List.of(2, 3, 1, 3));
+
+        // Assert - 1E and 2A are not next to each other, and the last request no longer fits
+        assertEquals(List.of("2A", "2B"), picked.get(0));
+        assertEquals(List.of("1A", "1C", "1E"), picked.get(1));
+        assertEquals(List.of("2D"), picked.get(2));
+        assertEquals(List.of(), picked.get(3));
+        assertEquals(3, rows.bookedCount(), "Picking seats does not book them");
+        assertEquals(List.of(), rows.pickSeats(SeatType.PREMIUM, List.of(1)).get(0));
+    }
+}
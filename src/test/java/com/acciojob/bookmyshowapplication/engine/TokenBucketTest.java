@@ -0,0 +1,70 @@
+package com.acciojob.bookmyshowapplication.engine;
+
+import com.acciojob.bookmyshowapplication.Engine.TokenBucket;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the token bucket rate limiter, driven by a fake clock
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Token Bucket Tests")
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: A full bucket hands out one second's worth of permits, then none")
+    void test01_tryAcquire_TakesWhatIsLeft() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, clock::get);
+
+        // Act & Assert
+        assertEquals(4, bucket.tryAcquire(4));
+        assertEquals(6, bucket.tryAcquire(20), "Only the permits left are taken");
+        assertEquals(0, bucket.tryAcquire(1));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Permits refill at the rate, never beyond one second's worth")
+    void test02_refill_CappedAtCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, clock::get);
+        bucket.tryAcquire(10);
+
+        // Act & Assert
+        advanceMillis(250);
+        assertEquals(2, bucket.tryAcquire(10), "A quarter second refills 2.5 permits");
+        advanceMillis(10_000);
+        assertEquals(10, bucket.tryAcquire(100));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: An empty bucket tells how long until the next permit")
+    void test03_millisUntilAvailable() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, clock::get);
+
+        // Act & Assert
+        assertEquals(0, bucket.millisUntilAvailable());
+        bucket.tryAcquire(10);
+        // Within a millisecond, the refill rate is a double
+        assertEquals(100, bucket.millisUntilAvailable(), 1);
+        advanceMillis(60);
+        assertEquals(40, bucket.millisUntilAvailable(), 1);
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, clock::get));
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,200 @@
+package com.acciojob.bookmyshowapplication.engine;
+
+import com.acciojob.bookmyshowapplication.Engine.WaitlistQueue;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-show waitlist queue
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Waitlist Queue Tests")
+class WaitlistQueueTest {
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Positions follow waitlist ID order, whatever order the IDs are loaded in")
+    void test01_positionOf_FollowsIdOrder() {
+        // Arrange
+        WaitlistQueue queue = createQueue(30, 10, 20);
+
+        // Act & Assert
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.positionOf(10));
+        assertEquals(2, queue.positionOf(20));
+        assertEquals(3, queue.positionOf(30));
+        assertEquals(4, queue.positionOf(40), "An entry that is not queued yet goes behind the ones before it");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Removing an entry moves the ones behind it forward")
+    void test02_remove_MovesLaterEntriesForward() {
+        // Arrange
+        WaitlistQueue queue = createQueue(1, 2, 3, 4);
+
+        // Act
+        boolean removed = queue.remove(2);
+        boolean removedAgain = queue.remove(2);
+
+        // Assert
+        assertTrue(removed);
+        assertFalse(removedAgain);
+        assertFalse(queue.contains(2));
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.positionOf(1));
+        assertEquals(2, queue.positionOf(3));
+        assertEquals(3, queue.positionOf(4));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Adding is idempotent, and an entry committed late is placed by its ID")
+    void test03_add_IdempotentAndOrdered() {
+        // Arrange
+        WaitlistQueue queue = createQueue();
+
+        // Act
+        queue.add(entry(5));
+        queue.add(entry(7));
+        queue.add(entry(7));
+        queue.add(entry(6));
+
+        // Assert
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.positionOf(5));
+        assertEquals(2, queue.positionOf(6));
+        assertEquals(3, queue.positionOf(7));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Random adds and removals give the same positions as a sorted set")
+    void test04_randomOperations_MatchSortedSet() {
+        // Arrange
+        Random random = new Random(42);
+        WaitlistQueue queue = createQueue();
+        TreeSet<Integer> expected = new TreeSet<>();
+        int nextId = 1;
+
+        // Act & Assert
+        for (int step = 0; step < 5000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                // Mostly appends, now and then an ID from a transaction that committed late
+                int waitlistId = operation == 0 ? random.nextInt(nextId) + 1 : nextId++;
+                queue.add(entry(waitlistId));
+                expected.add(waitlistId);
+            } else {
+                List<Integer> pending = new ArrayList<>(expected);
+                int waitlistId = pending.get(random.nextInt(pending.size()));
+                assertTrue(queue.remove(waitlistId));
+                expected.remove(waitlistId);
+            }
+            if (step % 50 == 0) {
+                assertEquals(expected.size(), queue.size());
+                int position = 1;
+                for (int waitlistId : expected) {
+                    assertEquals(position++, queue.positionOf(waitlistId), "Position of " + waitlistId);
+                    assertTrue(queue.containsUser(waitlistId + 100));
+                }
+            }
+        }
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: A user is in the queue only while their entry is pending")
+    void test05_containsUser_OnlyWhilePending() {
+        // Arrange
+        WaitlistQueue queue = createQueue(1, 2);
+
+        // Act
+        queue.remove(1);
+        queue.add(entry(3));
+
+        // Assert
+        assertFalse(queue.containsUser(101));
+        assertTrue(queue.containsUser(102));
+        assertTrue(queue.containsUser(103));
+        assertFalse(queue.containsUser(999));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Freed seats go to the earliest entries of the seat type that still fit")
+    void test06_match_FirstFitInQueueOrder() {
+        // Arrange
+        WaitlistQueue queue = new WaitlistQueue(1, List.of(
+                entry(1, SeatType.CLASSIC, 4),
+                entry(2, SeatType.PREMIUM, 1),
+                entry(3, SeatType.CLASSIC, 2),
+                entry(4, SeatType.CLASSIC, 3),
+                entry(5, SeatType.CLASSIC, 1),
+                entry(6, SeatType.CLASSIC, 1)));
+
+        // Act
+        List<WaitlistQueue.Entry> matched = queue.match(SeatType.CLASSIC, 3);
+
+        // Assert - 1 asks for too many, 3 fits, 4 no longer does, 5 takes the last seat
+        assertEquals(List.of(3, 5), matched.stream().map(WaitlistQueue.Entry::waitlistId).toList());
+        assertEquals(6, queue.size(), "Matching leaves the entries in the queue");
+        assertEquals(List.of(2), queue.match(SeatType.PREMIUM, 10).stream().map(WaitlistQueue.Entry::waitlistId).toList());
+
+        queue.remove(3);
+        assertEquals(List.of(4), queue.match(SeatType.CLASSIC, 3).stream().map(WaitlistQueue.Entry::waitlistId).toList());
+        assertTrue(queue.match(SeatType.CLASSIC, 0).isEmpty());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test 7: A user holding a seat offer stays in the queue until the offer is closed")
+    void test07_containsUser_WhileHoldingOffer() {
+        // Arrange - entry 3 was notified before the queue was built
+        WaitlistQueue queue = new WaitlistQueue(1, List.of(entry(1), entry(2)), List.of(entry(3)));
+
+        // Act
+        boolean offered = queue.offer(1);
+
+        // Assert - the offered entry leaves the queue order, its user stays a member
+        assertTrue(offered);
+        assertFalse(queue.contains(1));
+        assertEquals(1, queue.positionOf(2));
+        assertTrue(queue.containsUser(101));
+        assertTrue(queue.containsUser(103));
+        assertFalse(queue.offer(1));
+
+        queue.closeOffer(101, 1);
+        queue.closeOffer(103, 3);
+        assertFalse(queue.containsUser(101));
+        assertFalse(queue.containsUser(103));
+        queue.remove(2);
+        assertTrue(queue.isEmpty());
+    }
+
+    // ==================== Helper Methods ====================
+
+    private WaitlistQueue createQueue(int... waitlistIds) {
+        List<WaitlistQueue.Entry> entries = new ArrayList<>();
+        for (int waitlistId : waitlistIds) {
+            entries.add(entry(waitlistId));
+        }
+        return new WaitlistQueue(1, entries);
+    }
+
+    // Entry of user 100 + waitlist ID
+    private WaitlistQueue.Entry entry(int waitlistId) {
+        return entry(waitlistId, SeatType.CLASSIC, 1);
+    }
+
+    private WaitlistQueue.Entry entry(int waitlistId, SeatType seatType, int seats) {
+        return new WaitlistQueue.Entry(waitlistId, waitlistId + 100, seatType, seats);
+    }
+}
@@ -0,0 +1,149 @@
+package com.acciojob.bookmyshowapplication.integration;
+
+import com.acciojob.bookmyshowapplication.Enums.Genre;
+import com.acciojob.bookmyshowapplication.Enums.Language;
+import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
+import com.acciojob.bookmyshowapplication.Models.Movie;
+import com.acciojob.bookmyshowapplication.Repository.MovieRepository;
+import com.acciojob.bookmyshowapplication.Requests.AddTheaterRequest;
+import com.acciojob.bookmyshowapplication.Requests.UpdateMovieRequest;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.TheaterSummary;
+import com.acciojob.bookmyshowapplication.Service.CatalogCacheService;
+import com.acciojob.bookmyshowapplication.Service.MovieService;
+import com.acciojob.bookmyshowapplication.Service.TheaterService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the cached catalog lookups and their eviction on writes
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Catalog Cache Integration Tests")
+@ActiveProfiles("test")
+class CatalogCacheIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private TheaterService theaterService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CatalogCacheService catalogCacheService;
+
+    @BeforeEach
+    void setUp() {
+        catalogCacheService.evictAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Repeated movie lookups are served from the cache")
+    void test01_findMovie_ServedFromCache() {
+        // Arrange
+        movieService.addMovie(createMovie("Cached Movie"));
+        long misses = regionMetric("movies", "misses");
+        long hits = regionMetric("movies", "hits");
+
+        // Act
+        Movie first = movieRepository.findMovieByMovieName("Cached Movie");
+        Movie second = movieRepository.findMovieByMovieName("Cached Movie");
+        Movie byNativeQuery = movieRepository.findMovie("Cached Movie");
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first, byNativeQuery);
+        assertEquals(misses + 1, regionMetric("movies", "misses"));
+        assertEquals(hits + 2, regionMetric("movies", "hits"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Updating movie attributes evicts the cached movie")
+    void test02_updateMovieAttributes_EvictsMovie() {
+        // Arrange
+        movieService.addMovie(createMovie("Updated Movie"));
+        Movie cached = movieRepository.findMovieByMovieName("Updated Movie");
+        Movie cachedById = movieService.getMovieById(cached.getMovieId());
+        UpdateMovieRequest request = new UpdateMovieRequest();
+        request.setMovieId(cached.getMovieId());
+        request.setRating(9.5);
+        request.setDuration(150);
+
+        // Act
+        movieService.updateMovieAttributes(request);
+
+        // Assert
+        assertEquals(7.0, cachedById.getRating(), "The cached instance is never modified");
+        Movie updated = movieService.getMovieById(cached.getMovieId());
+        assertEquals(9.5, updated.getRating());
+        assertEquals(150, updated.getDuration());
+        assertEquals(9.5, movieRepository.findMovieByMovieName("Updated Movie").getRating());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Updating an unknown movie is rejected")
+    void test03_updateMovieAttributes_UnknownMovie() {
+        // Arrange
+        UpdateMovieRequest request = new UpdateMovieRequest();
+        request.setMovieId(999999);
+        request.setRating(5);
+        request.setDuration(100);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> movieService.updateMovieAttributes(request));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Adding a theater evicts the cached theater pages")
+    void test04_addTheater_EvictsTheaterPages() {
+        // Arrange
+        int before = theaterService.getTheaters(null, CursorPage.MAX_LIMIT).getItems().size();
+        AddTheaterRequest request = new AddTheaterRequest();
+        request.setName("Cache Cinema");
+        request.setAddress("MG Road");
+        request.setNoOfScreens(2);
+
+        // Act
+        theaterService.addTheater(request);
+        CursorPage<TheaterSummary> theaters = theaterService.getTheaters(null, CursorPage.MAX_LIMIT);
+        long hits = regionMetric("theaters", "hits");
+        theaterService.getTheaters(null, CursorPage.MAX_LIMIT);
+
+        // Assert
+        assertEquals(before + 1, theaters.getItems().size());
+        assertEquals(hits + 1, regionMetric("theaters", "hits"));
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Movie createMovie(String movieName) {
+        Movie movie = new Movie();
+        movie.setMovieName(movieName);
+        movie.setDuration(120);
+        movie.setGenre(Genre.DRAMA);
+        movie.setReleaseDate(LocalDate.of(2024, 1, 1));
+        movie.setRating(7.0);
+        movie.setLanguage(Language.HINDI);
+        return movie;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long regionMetric(String region, String metric) {
+        return (Long) ((Map<String, Object>) catalogCacheService.getMetrics().get(region)).get(metric);
+    }
+}
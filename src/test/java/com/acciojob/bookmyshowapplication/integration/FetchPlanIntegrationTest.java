@@ -0,0 +1,209 @@
+package com.acciojob.bookmyshowapplication.integration;
+
+import com.acciojob.bookmyshowapplication.Enums.Genre;
+import com.acciojob.bookmyshowapplication.Enums.Language;
+import com.acciojob.bookmyshowapplication.Enums.RefundStatus;
+import com.acciojob.bookmyshowapplication.Enums.WaitlistStatus;
+import com.acciojob.bookmyshowapplication.Models.*;
+import com.acciojob.bookmyshowapplication.Repository.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the fetch plans behind the read endpoints: each endpoint runs a fixed number of
+ * SQL statements, however many rows and associations its response holds
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Fetch Plan Integration Tests")
+@ActiveProfiles("test")
+class FetchPlanIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private RefundTransactionRepository refundTransactionRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: A show is read with its movie and theater in one statement")
+    void test01_getShow_OneStatement() throws Exception {
+        // Arrange
+        Show show = createShow("Fetch Plan Movie 1", LocalTime.of(10, 0));
+        SqlStatementCounter.reset();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/shows/{showId}", show.getShowId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.movie.movieName").value("Fetch Plan Movie 1"))
+                .andExpect(jsonPath("$.data.theater.name").value("Fetch Plan Cinema"));
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A ticket and its refund are read with their user, show, movie and theater in one statement")
+    void test02_getTicketAndRefund_OneStatementEach() throws Exception {
+        // Arrange
+        User user = createUser("9100000001");
+        Ticket ticket = createTicket(user, createShow("Fetch Plan Movie 2", LocalTime.of(13, 0)));
+        refundTransactionRepository.save(RefundTransaction.builder()
+                .ticket(ticket)
+                .originalAmount(500)
+                .refundAmount(400)
+                .refundStatus(RefundStatus.COMPLETED)
+                .build());
+
+        // Act & Assert
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticket.getTicketId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.user.mobNo").value("9100000001"))
+                .andExpect(jsonPath("$.data.show.movie.movieName").value("Fetch Plan Movie 2"));
+        SqlStatementCounter.assertStatementCount(1);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/v1/tickets/{ticketId}/refund", ticket.getTicketId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.refundAmount").value(400))
+                .andExpect(jsonPath("$.data.ticket.show.theater.name").value("Fetch Plan Cinema"));
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: A user's waitlist is read in one statement once its show queues are built")
+    void test03_getUserWaitlists_OneStatement() throws Exception {
+        // Arrange
+        User user = createUser("9100000002");
+        User other = createUser("9100000003");
+        Show first = createShow("Fetch Plan Movie 3", LocalTime.of(16, 0));
+        Show second = createShow("Fetch Plan Movie 4", LocalTime.of(19, 0));
+        Show third = createShow("Fetch Plan Movie 5", LocalTime.of(22, 0));
+        createWaitlist(other, first);
+        createWaitlist(other, second);
+        createWaitlist(user, first);
+        createWaitlist(user, second);
+        createWaitlist(user, third);
+        mockMvc.perform(get("/api/v1/waitlist/user/{userId}", user.getUserId())).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/waitlist/user/{userId}", user.getUserId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[?(@.movieName == 'Fetch Plan Movie 3')].positionInQueue").value(2))
+                .andExpect(jsonPath("$.data[?(@.movieName == 'Fetch Plan Movie 4')].positionInQueue").value(2))
+                .andExpect(jsonPath("$.data[?(@.movieName == 'Fetch Plan Movie 5')].positionInQueue").value(1));
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: A page of a user's tickets is one statement once the user is cached")
+    void test04_getUserTickets_OneStatement() throws Exception {
+        // Arrange
+        User user = createUser("9100000004");
+        Show show = createShow("Fetch Plan Movie 6", LocalTime.of(11, 0));
+        for (int i = 0; i < 3; i++) {
+            createTicket(user, show);
+        }
+        mockMvc.perform(get("/api/v1/tickets/user/{userId}", user.getUserId())).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/tickets/user/{userId}", user.getUserId()).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(3)));
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Show createShow(String movieName, LocalTime showTime) {
+        Movie movie = new Movie();
+        movie.setMovieName(movieName);
+        movie.setDuration(120);
+        movie.setGenre(Genre.ACTION);
+        movie.setReleaseDate(LocalDate.of(2024, 1, 1));
+        movie.setRating(8.0);
+        movie.setLanguage(Language.HINDI);
+        movie = movieRepository.save(movie);
+
+        Theater theater = theaterRepository.save(Theater.builder()
+                .name("Fetch Plan Cinema")
+                .address("MG Road")
+                .noOfScreens(2)
+                .build());
+
+        return showRepository.save(Show.builder()
+                .showDate(LocalDate.now().plusDays(2))
+                .showTime(showTime)
+                .movie(movie)
+                .theater(theater)
+                .build());
+    }
+
+    private User createUser(String mobNo) {
+        User user = new User();
+        user.setName("Fetch Plan User");
+        user.setEmailId(mobNo + "@example.com");
+        user.setMobNo(mobNo);
+        return userRepository.save(user);
+    }
+
+    private Ticket createTicket(User user, Show show) {
+        return ticketRepository.save(Ticket.builder()
+                .movieName(show.getMovie().getMovieName())
+                .showDate(show.getShowDate())
+                .showTime(show.getShowTime())
+                .totalAmtPaid(500)
+                .user(user)
+                .show(show)
+                .build());
+    }
+
+    private void createWaitlist(User user, Show show) {
+        waitlistRepository.save(Waitlist.builder()
+                .user(user)
+                .show(show)
+                .requestedSeatType("CLASSIC")
+                .numberOfSeats(2)
+                .status(WaitlistStatus.PENDING)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+}
@@ -0,0 +1,213 @@
+package com.acciojob.bookmyshowapplication.integration;
+
+import com.acciojob.bookmyshowapplication.Enums.Genre;
+import com.acciojob.bookmyshowapplication.Enums.Language;
+import com.acciojob.bookmyshowapplication.Exceptions.InvalidRequestException;
+import com.acciojob.bookmyshowapplication.Exceptions.TooManyExportsException;
+import com.acciojob.bookmyshowapplication.Models.Movie;
+import com.acciojob.bookmyshowapplication.Models.Ticket;
+import com.acciojob.bookmyshowapplication.Models.User;
+import com.acciojob.bookmyshowapplication.Repository.MovieRepository;
+import com.acciojob.bookmyshowapplication.Repository.TicketRepository;
+import com.acciojob.bookmyshowapplication.Repository.UserRepository;
+import com.acciojob.bookmyshowapplication.Responses.CursorPage;
+import com.acciojob.bookmyshowapplication.Responses.MovieSummary;
+import com.acciojob.bookmyshowapplication.Responses.TicketSummary;
+import com.acciojob.bookmyshowapplication.Service.ExportService;
+import com.acciojob.bookmyshowapplication.Service.MovieService;
+import com.acciojob.bookmyshowapplication.Service.TicketService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the keyset-paginated listings and NDJSON exports
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Listing Integration Tests")
+@ActiveProfiles("test")
+class ListingIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Paging through movies returns each movie once, in ID order")
+    void test01_getMovies_PagesThroughAllMovies() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            movieService.addMovie(createMovie("Listed Movie " + i));
+        }
+        long total = movieRepository.count();
+
+        // Act
+        List<MovieSummary> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<MovieSummary> page = movieService.getMovies(cursor == null ? null : Integer.valueOf(cursor), 2);
+            assertTrue(page.getItems().size() <= 2);
+            listed.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(total, listed.size());
+        for (int i = 1; i < listed.size(); i++) {
+            assertTrue(listed.get(i - 1).getMovieId() < listed.get(i).getMovieId());
+        }
+        assertTrue(listed.stream().anyMatch(movie -> movie.getMovieName().equals("Listed Movie 4")));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A user's tickets are paged newest first")
+    void test02_getUserTickets_NewestFirst() {
+        // Arrange
+        User user = createUser("9000000001");
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tickets.add(ticketRepository.save(Ticket.builder().movieName("Movie " + i).totalAmtPaid(100 * i).user(user).build()));
+        }
+
+        // Act
+        CursorPage<TicketSummary> first = ticketService.getUserTickets(user.getUserId(), null, 2);
+        CursorPage<TicketSummary> second = ticketService.getUserTickets(user.getUserId(), first.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(List.of(tickets.get(2).getTicketId(), tickets.get(1).getTicketId()),
+                first.getItems().stream().map(TicketSummary::getTicketId).toList());
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of(tickets.get(0).getTicketId()),
+                second.getItems().stream().map(TicketSummary::getTicketId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Invalid page sizes and ticket cursors are rejected")
+    void test03_invalidPageRequests_Rejected() {
+        // Arrange
+        User user = createUser("9000000002");
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> movieService.getMovies(null, 0));
+        assertThrows(InvalidRequestException.class, () -> movieService.getMovies(null, CursorPage.MAX_LIMIT + 1));
+        assertThrows(InvalidRequestException.class, () -> ticketService.getUserTickets(user.getUserId(), "not-a-cursor", 10));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Exports write one JSON object per line")
+    void test04_export_WritesNdjson() throws Exception {
+        // Arrange
+        User user = createUser("9000000003");
+        ticketRepository.save(Ticket.builder().movieName("Exported Movie").totalAmtPaid(250).user(user).build());
+        ByteArrayOutputStream movies = new ByteArrayOutputStream();
+        ByteArrayOutputStream tickets = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportMovies().writeTo(movies);
+        exportService.exportUserTickets(user.getUserId()).writeTo(tickets);
+
+        // Assert
+        String[] movieLines = movies.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(movieRepository.count(), movieLines.length);
+        assertTrue(movieLines[0].startsWith("{\"movieId\":"));
+        String[] ticketLines = tickets.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, ticketLines.length);
+        assertTrue(ticketLines[0].contains("\"movieName\":\"Exported Movie\""));
+        assertFalse(ticketLines[0].contains("\"user\""));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: An export reads page after page and writes each row once")
+    void test05_export_ReadsKeysetPages() throws Exception {
+        // Arrange - more movies than fit in two pages
+        movieRepository.saveAll(List.of(createMovie("Paged Export 1"), createMovie("Paged Export 2"),
+                createMovie("Paged Export 3"), createMovie("Paged Export 4"), createMovie("Paged Export 5")));
+        ReflectionTestUtils.setField(exportService, "pageSize", 2);
+        ByteArrayOutputStream movies = new ByteArrayOutputStream();
+
+        // Act
+        try {
+            exportService.exportMovies().writeTo(movies);
+        } finally {
+            ReflectionTestUtils.setField(exportService, "pageSize", 500);
+        }
+
+        // Assert
+        String[] movieLines = movies.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(movieRepository.count(), movieLines.length);
+        assertEquals(movieLines.length, Arrays.stream(movieLines).distinct().count());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Exports beyond the limit are refused until a running one is written")
+    void test06_export_LimitsConcurrentExports() throws Exception {
+        // Arrange - take every export slot without writing the exports yet
+        List<StreamingResponseBody> running = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            running.add(exportService.exportTheaters());
+        }
+
+        // Act & Assert
+        assertThrows(TooManyExportsException.class, () -> exportService.exportShows());
+        running.get(0).writeTo(new ByteArrayOutputStream());
+        running.add(exportService.exportShows());
+        for (StreamingResponseBody export : running.subList(1, running.size())) {
+            export.writeTo(new ByteArrayOutputStream());
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Movie createMovie(String movieName) {
+        Movie movie = new Movie();
+        movie.setMovieName(movieName);
+        movie.setDuration(120);
+        movie.setGenre(Genre.ACTION);
+        movie.setReleaseDate(LocalDate.of(2024, 1, 1));
+        movie.setRating(8.0);
+        movie.setLanguage(Language.HINDI);
+        return movie;
+    }
+
+    private User createUser(String mobNo) {
+        User user = new User();
+        user.setName("Listing User");
+        user.setEmailId(mobNo + "@example.com");
+        user.setMobNo(mobNo);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,102 @@
+package com.acciojob.bookmyshowapplication.integration;
+
+import com.acciojob.bookmyshowapplication.Models.Theater;
+import com.acciojob.bookmyshowapplication.Models.TheaterSeat;
+import com.acciojob.bookmyshowapplication.Repository.TheaterRepository;
+import com.acciojob.bookmyshowapplication.Repository.TheaterSeatRepository;
+import com.acciojob.bookmyshowapplication.Requests.AddTheaterSeatsRequest;
+import com.acciojob.bookmyshowapplication.Service.TheaterService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for seat inserts: seat IDs come from pooled sequences, so a seat list is
+ * inserted in JDBC batches of hibernate.jdbc.batch_size rows
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Seat Batch Insert Integration Tests")
+@ActiveProfiles("test")
+class SeatBatchInsertIntegrationTest {
+
+    @Autowired
+    private TheaterService theaterService;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private TheaterSeatRepository theaterSeatRepository;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: A theater's seats are inserted in batches, not one statement per seat")
+    void test01_addTheaterSeats_InsertsInBatches() {
+        // Arrange - more seats than fit in two batches
+        Theater theater = createTheater("Batch Cinema 1");
+        SqlStatementCounter.reset();
+
+        // Act
+        theaterService.addTheaterSeats(seatsRequest(theater, 100, 20));
+
+        // Assert - a batched insert is prepared once and reused for every batch, where unbatched
+        // inserts prepare one statement per seat; IDs are fetched a block of 50 at a time
+        List<String> statements = SqlStatementCounter.getStatements();
+        long inserts = statements.stream().filter(sql -> sql.startsWith("insert into theater_seats")).count();
+        long idFetches = statements.stream().filter(sql -> sql.contains("theater_seats_seq")).count();
+        assertEquals(1, inserts, () -> "Statements executed:\n" + String.join("\n", statements));
+        assertTrue(idFetches <= 4, () -> "Statements executed:\n" + String.join("\n", statements));
+        assertEquals(120, theaterSeatRepository.findByTheaterOrderByTheaterSeatId(theater).size());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Seat IDs stay unique across sequence allocation blocks and seat lists")
+    void test02_addTheaterSeats_IdsUniqueAcrossAllocationBlocks() {
+        // Arrange - each list spans more than one block of 50 IDs
+        Theater first = createTheater("Batch Cinema 2");
+        Theater second = createTheater("Batch Cinema 3");
+
+        // Act
+        theaterService.addTheaterSeats(seatsRequest(first, 70, 10));
+        theaterService.addTheaterSeats(seatsRequest(second, 60, 15));
+        theaterService.addTheaterSeats(seatsRequest(first, 5, 45));
+
+        // Assert
+        List<TheaterSeat> seats = new ArrayList<>(theaterSeatRepository.findByTheaterOrderByTheaterSeatId(first));
+        seats.addAll(theaterSeatRepository.findByTheaterOrderByTheaterSeatId(second));
+        assertEquals(205, seats.size());
+        Set<Integer> ids = new HashSet<>();
+        for (TheaterSeat seat : seats) {
+            assertNotNull(seat.getTheaterSeatId());
+            assertTrue(ids.add(seat.getTheaterSeatId()), "Duplicate seat ID " + seat.getTheaterSeatId());
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Theater createTheater(String name) {
+        return theaterRepository.save(Theater.builder()
+                .name(name)
+                .address("Batch Street")
+                .noOfScreens(1)
+                .build());
+    }
+
+    private AddTheaterSeatsRequest seatsRequest(Theater theater, int classic, int premium) {
+        AddTheaterSeatsRequest request = new AddTheaterSeatsRequest();
+        request.setTheaterId(theater.getTheaterId());
+        request.setNoOfClassicSeats(classic);
+        request.setNoOfPremiumSeats(premium);
+        return request;
+    }
+}
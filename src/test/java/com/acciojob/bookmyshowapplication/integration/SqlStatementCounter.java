@@ -0,0 +1,42 @@
+package com.acciojob.bookmyshowapplication.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Records the SQL statements Hibernate prepares on the current thread, registered for the test profile
+ * through hibernate.session_factory.statement_inspector
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        statements.get().add(sql);
+        return sql;
+    }
+
+    /**
+     * Start counting from zero on the current thread
+     */
+    public static void reset() {
+        statements.get().clear();
+    }
+
+    public static List<String> getStatements() {
+        return List.copyOf(statements.get());
+    }
+
+    /**
+     * Assert the number of statements run on the current thread since the last reset, listing them on failure
+     */
+    public static void assertStatementCount(int expected) {
+        List<String> executed = getStatements();
+        assertEquals(expected, executed.size(), () -> "Statements executed:\n" + String.join("\n", executed));
+    }
+}
@@ -0,0 +1,211 @@
+package com.acciojob.bookmyshowapplication.integration;
+
+import com.acciojob.bookmyshowapplication.Enums.Genre;
+import com.acciojob.bookmyshowapplication.Enums.Language;
+import com.acciojob.bookmyshowapplication.Enums.WaitlistStatus;
+import com.acciojob.bookmyshowapplication.Exceptions.WaitlistException;
+import com.acciojob.bookmyshowapplication.Models.*;
+import com.acciojob.bookmyshowapplication.Repository.*;
+import com.acciojob.bookmyshowapplication.Requests.AddToWaitlistRequest;
+import com.acciojob.bookmyshowapplication.Responses.WaitlistResponse;
+import com.acciojob.bookmyshowapplication.Service.WaitlistService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for waitlist queue positions kept in sync with the stored entries
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Waitlist Queue Integration Tests")
+@ActiveProfiles("test")
+class WaitlistQueueIntegrationTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Joining the waitlist returns positions in the order users joined")
+    void test01_addToWaitlist_PositionsInJoinOrder() {
+        // Arrange
+        Show show = createShow("Queue Movie 1");
+        List<User> users = createUsers("92000000", 3);
+
+        // Act
+        List<WaitlistResponse> responses = new ArrayList<>();
+        for (User user : users) {
+            responses.add(waitlistService.addToWaitlist(createRequest(show, user)));
+        }
+
+        // Assert
+        assertEquals(List.of(1, 2, 3), responses.stream().map(WaitlistResponse::getPositionInQueue).toList());
+        assertEquals(3, positionOf(users.get(2), show));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Cancelled and expired entries leave the queue")
+    void test02_cancelAndExpire_MoveQueueForward() {
+        // Arrange
+        Show show = createShow("Queue Movie 2");
+        List<User> users = createUsers("92000001", 4);
+        List<WaitlistResponse> responses = new ArrayList<>();
+        for (User user : users) {
+            responses.add(waitlistService.addToWaitlist(createRequest(show, user)));
+        }
+        Waitlist expiring = waitlistRepository.findById(responses.get(1).getWaitlistId()).orElseThrow();
+        expiring.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        waitlistRepository.save(expiring);
+
+        // Act
+        waitlistService.cancelWaitlistEntry(responses.get(0).getWaitlistId());
+        waitlistService.expireOldWaitlistEntries();
+
+        // Assert
+        assertEquals(1, positionOf(users.get(2), show));
+        assertEquals(2, positionOf(users.get(3), show));
+        assertEquals(3, waitlistService.addToWaitlist(createRequest(show, createUsers("92000002", 1).get(0)))
+                .getPositionInQueue());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: A user can hold one pending entry per show, and rejoin once it is cancelled")
+    void test03_addToWaitlist_OnePendingEntryPerUser() {
+        // Arrange
+        Show show = createShow("Queue Movie 3");
+        User user = createUsers("92000003", 1).get(0);
+        WaitlistResponse first = waitlistService.addToWaitlist(createRequest(show, user));
+
+        // Act & Assert
+        WaitlistException exception = assertThrows(WaitlistException.class,
+                () -> waitlistService.addToWaitlist(createRequest(show, user)));
+        assertEquals("You are already on the waitlist for this show", exception.getMessage());
+
+        waitlistService.cancelWaitlistEntry(first.getWaitlistId());
+        WaitlistResponse rejoined = waitlistService.addToWaitlist(createRequest(show, user));
+        assertEquals(1, rejoined.getPositionInQueue());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Of two concurrent joins by the same user, the unique constraint lets one through")
+    void test04_concurrentAdds_OneSucceeds() throws Exception {
+        // Arrange
+        Show show = createShow("Queue Movie 4");
+        User user = createUsers("92000004", 1).get(0);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<WaitlistResponse>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService clients = Executors.newFixedThreadPool(2)) {
+            for (int i = 0; i < 2; i++) {
+                results.add(clients.submit(() -> {
+                    start.await();
+                    return waitlistService.addToWaitlist(createRequest(show, user));
+                }));
+            }
+            start.countDown();
+        }
+
+        // Assert
+        int succeeded = 0;
+        for (Future<WaitlistResponse> result : results) {
+            try {
+                result.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(WaitlistException.class, e.getCause());
+            }
+        }
+        assertEquals(1, succeeded);
+        assertEquals(1, waitlistRepository.countByShowAndStatus(show, WaitlistStatus.PENDING));
+        assertEquals(1, positionOf(user, show));
+    }
+
+    // ==================== Helper Methods ====================
+
+    private int positionOf(User user, Show show) {
+        return waitlistService.getUserWaitlists(user.getUserId()).stream()
+                .filter(waitlist -> waitlist.getMovieName().equals(show.getMovie().getMovieName()))
+                .findFirst()
+                .orElseThrow()
+                .getPositionInQueue();
+    }
+
+    private AddToWaitlistRequest createRequest(Show show, User user) {
+        AddToWaitlistRequest request = new AddToWaitlistRequest();
+        request.setShowId(show.getShowId());
+        request.setMobNo(user.getMobNo());
+        request.setRequestedSeatType("CLASSIC");
+        request.setNumberOfSeats(2);
+        return request;
+    }
+
+    private Show createShow(String movieName) {
+        Movie movie = new Movie();
+        movie.setMovieName(movieName);
+        movie.setDuration(120);
+        movie.setGenre(Genre.DRAMA);
+        movie.setReleaseDate(LocalDate.of(2024, 1, 1));
+        movie.setRating(8.0);
+        movie.setLanguage(Language.HINDI);
+        movie = movieRepository.save(movie);
+
+        Theater theater = theaterRepository.save(Theater.builder()
+                .name("Queue Cinema")
+                .address("MG Road")
+                .noOfScreens(1)
+                .build());
+
+        return showRepository.save(Show.builder()
+                .showDate(LocalDate.now().plusDays(3))
+                .showTime(LocalTime.of(18, 0))
+                .movie(movie)
+                .theater(theater)
+                .build());
+    }
+
+    private List<User> createUsers(String mobNoPrefix, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setName("Queue User " + i);
+            user.setMobNo(mobNoPrefix + String.format("%02d", i));
+            user.setEmailId(user.getMobNo() + "@example.com");
+            users.add(userRepository.save(user));
+        }
+        return users;
+    }
+}
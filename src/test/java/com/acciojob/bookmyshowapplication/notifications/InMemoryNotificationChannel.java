@@ -0,0 +1,65 @@
+package com.acciojob.bookmyshowapplication.notifications;
+
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Models.Notification;
+import com.acciojob.bookmyshowapplication.Notifications.NotificationChannel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Notification channel for tests: keeps what it is sent and fails the notifications it is told to
+ */
+public class InMemoryNotificationChannel implements NotificationChannel {
+
+    private final NotificationChannelType type;
+    private final int ratePerSecond;
+    private final List<List<Notification>> batches = new CopyOnWriteArrayList<>();
+    private final Set<Long> failingIds = ConcurrentHashMap.newKeySet();
+
+    public InMemoryNotificationChannel(NotificationChannelType type, int ratePerSecond) {
+        this.type = type;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    /**
+     * Fail every send of these notifications
+     */
+    public void failOn(Long... notificationIds) {
+        failingIds.addAll(List.of(notificationIds));
+    }
+
+    /**
+     * Batches received so far, failed notifications included
+     */
+    public List<List<Notification>> getBatches() {
+        return batches;
+    }
+
+    @Override
+    public NotificationChannelType getType() {
+        return type;
+    }
+
+    @Override
+    public int getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    @Override
+    public Map<Long, String> send(List<Notification> batch) {
+        batches.add(new ArrayList<>(batch));
+        Map<Long, String> failures = new HashMap<>();
+        for (Notification notification : batch) {
+            if (failingIds.contains(notification.getNotificationId())) {
+                failures.put(notification.getNotificationId(), "Recipient unreachable");
+            }
+        }
+        return failures;
+    }
+}
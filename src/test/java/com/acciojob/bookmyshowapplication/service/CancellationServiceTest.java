@@ -1,15 +1,21 @@
 package com.acciojob.bookmyshowapplication.service;
 
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
 import com.acciojob.bookmyshowapplication.Enums.RefundStatus;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
 import com.acciojob.bookmyshowapplication.Enums.TicketStatus;
 import com.acciojob.bookmyshowapplication.Models.*;
 import com.acciojob.bookmyshowapplication.Repository.*;
 import com.acciojob.bookmyshowapplication.Requests.CancelTicketRequest;
 import com.acciojob.bookmyshowapplication.Responses.CancellationResponse;
 import com.acciojob.bookmyshowapplication.Service.CancellationService;
-import com.acciojob.bookmyshowapplication.Service.WaitlistService;
+import com.acciojob.bookmyshowapplication.Service.SeatEventService;
+import com.acciojob.bookmyshowapplication.Service.SeatInventoryService;
+import com.acciojob.bookmyshowapplication.Service.ShowInventoryService;
+import com.acciojob.bookmyshowapplication.Service.WaitlistMatchingService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,13 +23,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -39,13 +49,25 @@ class CancellationServiceTest {
     private TicketRepository ticketRepository;
 
     @Mock
-    private ShowSeatRepository showSeatRepository;
+    private ShowInventoryService showInventoryService;
+
+    @Mock
+    private TicketSeatRepository ticketSeatRepository;
 
     @Mock
     private RefundTransactionRepository refundTransactionRepository;
 
     @Mock
-    private WaitlistService waitlistService;
+    private WaitlistMatchingService waitlistMatchingService;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private SeatEventService seatEventService;
+
+    @Mock
+    private SeatSelectionRepository seatSelectionRepository;
 
     @InjectMocks
     private CancellationService cancellationService;
@@ -287,34 +309,43 @@ class CancellationServiceTest {
 
     @Test
     @Order(14)
-    @DisplayName("Test 14: Verify seats are released after cancellation")
+    @DisplayName("Test 14: Verify only the ticket's seats are released after cancellation")
     void test14_cancelTicket_SeatsReleased() throws Exception {
-        // Arrange
+        // Arrange - the show has three booked seats, the ticket holds two of them
         List<ShowSeat> showSeats = new ArrayList<>();
-        ShowSeat seat1 = new ShowSeat();
-        seat1.setSeatNo("A1");
-        seat1.setIsAvailable(false);
-        ShowSeat seat2 = new ShowSeat();
-        seat2.setSeatNo("A2");
-        seat2.setIsAvailable(false);
-        showSeats.add(seat1);
-        showSeats.add(seat2);
+        for (int i = 1; i <= 3; i++) {
+            ShowSeat seat = new ShowSeat();
+            seat.setShowSeatId(i);
+            seat.setSeatNo("A" + i);
+            seat.setSeatType(SeatType.CLASSIC);
+            seat.setPrice(250);
+            seat.setIsAvailable(false);
+            showSeats.add(seat);
+        }
+        ShowSeatInventory inventory = new ShowSeatInventory(1, showSeats);
+        List<TicketSeat> ticketSeats = List.of(
+            TicketSeat.builder().ticket(testTicket).seatNo("A1").price(250).build(),
+            TicketSeat.builder().ticket(testTicket).seatNo("A2").price(250).build());
 
         when(ticketRepository.findById("ticket-123")).thenReturn(Optional.of(testTicket));
         when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
         when(refundTransactionRepository.save(any(RefundTransaction.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(showSeatRepository.findAllByShow(any(Show.class))).thenReturn(showSeats);
-        when(showSeatRepository.saveAll(any(List.class))).thenReturn(showSeats);
-        doNothing().when(waitlistService).processWaitlistForShow(any(Show.class));
+        when(ticketSeatRepository.findByTicketTicketId("ticket-123")).thenReturn(ticketSeats);
+        when(showInventoryService.releaseSeats(testShow.getShowId(), List.of("A1", "A2"))).thenReturn(2);
+        when(seatInventoryService.findInventory(testShow.getShowId())).thenReturn(inventory);
+        doNothing().when(waitlistMatchingService).seatsReleased(any(Show.class));
 
         // Act
         cancellationService.cancelTicket(cancelRequest);
 
         // Assert
-        verify(showSeatRepository, times(1)).findAllByShow(testShow);
-        verify(showSeatRepository, times(1)).saveAll(any(List.class));
-        verify(waitlistService, times(1)).processWaitlistForShow(testShow);
+        verify(showInventoryService, times(1)).releaseSeats(testShow.getShowId(), List.of("A1", "A2"));
+        verify(showInventoryService, never()).loadInventory(any(Show.class), anyLong());
+        verify(seatInventoryService, never()).evict(any());
+        assertEquals(1, inventory.bookedCount());
+        assertTrue(inventory.isBooked(inventory.ordinalOf("A3")));
+        verify(waitlistMatchingService, times(1)).seatsReleased(testShow);
     }
 
     // ==================== Test 6: Waitlist Integration ====================
@@ -328,14 +359,13 @@ class CancellationServiceTest {
         when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
         when(refundTransactionRepository.save(any(RefundTransaction.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(showSeatRepository.findAllByShow(any(Show.class))).thenReturn(new ArrayList<>());
-        doNothing().when(waitlistService).processWaitlistForShow(any(Show.class));
+        doNothing().when(waitlistMatchingService).seatsReleased(any(Show.class));
 
         // Act
         cancellationService.cancelTicket(cancelRequest);
 
         // Assert
-        verify(waitlistService, times(1)).processWaitlistForShow(testShow);
+        verify(waitlistMatchingService, times(1)).seatsReleased(testShow);
     }
 
     @Test
@@ -347,9 +377,8 @@ class CancellationServiceTest {
         when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
         when(refundTransactionRepository.save(any(RefundTransaction.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
-        when(showSeatRepository.findAllByShow(any(Show.class))).thenReturn(new ArrayList<>());
         doThrow(new RuntimeException("Waitlist processing failed"))
-            .when(waitlistService).processWaitlistForShow(any(Show.class));
+            .when(waitlistMatchingService).seatsReleased(any(Show.class));
 
         // Act - Should not throw exception
         CancellationResponse response = cancellationService.cancelTicket(cancelRequest);
@@ -357,7 +386,74 @@ class CancellationServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals(TicketStatus.CANCELLED, response.getTicketStatus());
-        verify(waitlistService, times(1)).processWaitlistForShow(testShow);
+        verify(waitlistMatchingService, times(1)).seatsReleased(testShow);
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Test 17: A ticket booked before seats were recorded releases its confirmed seat selections")
+    void test17_cancelTicket_LegacyTicketSeatsReleased() throws Exception {
+        // Arrange - no ticket seats, the booking marked the user's selections CONFIRMED
+        List<ShowSeat> showSeats = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            ShowSeat seat = new ShowSeat();
+            seat.setShowSeatId(i);
+            seat.setSeatNo("A" + i);
+            seat.setSeatType(SeatType.CLASSIC);
+            seat.setPrice(250);
+            seat.setIsAvailable(false);
+            showSeats.add(seat);
+        }
+        ShowSeatInventory inventory = new ShowSeatInventory(1, showSeats);
+        List<SeatSelection> selections = List.of(
+            SeatSelection.builder().show(testShow).seatNo("A2").userMobNo("9876543210").status("CONFIRMED").build(),
+            SeatSelection.builder().show(testShow).seatNo("A3").userMobNo("9876543210").status("CONFIRMED").build());
+
+        when(ticketRepository.findById("ticket-123")).thenReturn(Optional.of(testTicket));
+        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        when(refundTransactionRepository.save(any(RefundTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(ticketSeatRepository.findByTicketTicketId("ticket-123")).thenReturn(List.of());
+        when(seatSelectionRepository.findConfirmedSelections(eq(1), eq("9876543210"), any(Date.class), any(Date.class)))
+            .thenReturn(selections);
+        when(showInventoryService.releaseSeats(testShow.getShowId(), List.of("A2", "A3"))).thenReturn(2);
+        when(seatInventoryService.findInventory(testShow.getShowId())).thenReturn(inventory);
+
+        // Act
+        cancellationService.cancelTicket(cancelRequest);
+
+        // Assert
+        verify(showInventoryService, times(1)).releaseSeats(testShow.getShowId(), List.of("A2", "A3"));
+        verify(seatSelectionRepository, times(1)).deleteAll(selections);
+        assertEquals(1, inventory.bookedCount());
+        assertTrue(inventory.isBooked(inventory.ordinalOf("A1")));
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Test 18: A legacy ticket only releases selections made after the user's previous ticket on the show")
+    void test18_cancelTicket_LegacyTicketStopsAtPreviousTicket() throws Exception {
+        // Arrange - the user booked another ticket on the show two minutes earlier
+        LocalDateTime previousBookedAt = testTicket.getBookedAt().minusMinutes(2);
+        when(ticketRepository.findById("ticket-123")).thenReturn(Optional.of(testTicket));
+        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        when(refundTransactionRepository.save(any(RefundTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(ticketSeatRepository.findByTicketTicketId("ticket-123")).thenReturn(List.of());
+        when(ticketRepository.findPreviousBookedAt(1, 1, testTicket.getBookedAt())).thenReturn(previousBookedAt);
+        when(seatSelectionRepository.findConfirmedSelections(eq(1), eq("9876543210"), any(Date.class), any(Date.class)))
+            .thenReturn(List.of(SeatSelection.builder().show(testShow).seatNo("A3").userMobNo("9876543210")
+                .status("CONFIRMED").build()));
+
+        // Act
+        cancellationService.cancelTicket(cancelRequest);
+
+        // Assert - the window starts right after the previous booking, not a hold's lifetime back
+        ArgumentCaptor<Date> from = ArgumentCaptor.forClass(Date.class);
+        verify(seatSelectionRepository).findConfirmedSelections(eq(1), eq("9876543210"), from.capture(), any(Date.class));
+        assertEquals(previousBookedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + 1,
+            from.getValue().getTime());
+        verify(showInventoryService, times(1)).releaseSeats(testShow.getShowId(), List.of("A3"));
     }
 
     @AfterEach
@@ -1,12 +1,14 @@
 package com.acciojob.bookmyshowapplication.service;
 
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
 import com.acciojob.bookmyshowapplication.Enums.PricingFactorType;
 import com.acciojob.bookmyshowapplication.Enums.SeatType;
 import com.acciojob.bookmyshowapplication.Models.*;
 import com.acciojob.bookmyshowapplication.Repository.PricingConfigRepository;
-import com.acciojob.bookmyshowapplication.Repository.ShowSeatRepository;
 import com.acciojob.bookmyshowapplication.Responses.PricingResponse;
 import com.acciojob.bookmyshowapplication.Service.DynamicPricingService;
+import com.acciojob.bookmyshowapplication.Service.SeatInventoryService;
+import com.acciojob.bookmyshowapplication.Service.ShowInventoryService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,6 +22,7 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -35,7 +38,10 @@ class DynamicPricingServiceTest {
     private PricingConfigRepository pricingConfigRepository;
 
     @Mock
-    private ShowSeatRepository showSeatRepository;
+    private ShowInventoryService showInventoryService;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
 
     @InjectMocks
     private DynamicPricingService dynamicPricingService;
@@ -133,6 +139,19 @@ class DynamicPricingServiceTest {
                 .build();
     }
 
+    private List<String> seatRange(int from, int to) {
+        List<String> seatNos = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            seatNos.add("A" + i);
+        }
+        return seatNos;
+    }
+
+    private void loadRules(PricingConfig... configs) {
+        when(pricingConfigRepository.findByIsActiveTrue()).thenReturn(Arrays.asList(configs));
+        dynamicPricingService.reloadPricingRules();
+    }
+
     // ==================== Test 1: Demand-Based Pricing ====================
 
     @Test
@@ -141,18 +160,12 @@ class DynamicPricingServiceTest {
     void test01_calculateDynamicPricing_HighDemand() {
         // Arrange - 85% occupancy
         List<ShowSeat> highDemandSeats = createShowSeats(100, 85);
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(highDemandSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, highDemandSeats));
         
         PricingConfig highDemand = pricingConfigs.stream()
             .filter(c -> c.getConfigKey().equals("HIGH_DEMAND"))
             .findFirst().get();
-        when(pricingConfigRepository.findDemandBasedPricing(PricingFactorType.DEMAND_BASED, 85))
-            .thenReturn(Optional.of(highDemand));
-        
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        loadRules(highDemand);
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -162,7 +175,7 @@ class DynamicPricingServiceTest {
         assertTrue(response.getTotalMultiplier() >= 1.5, 
             "High demand should have at least 1.5x multiplier");
         assertTrue(response.getAppliedFactors().contains("High demand"));
-        verify(showSeatRepository, times(1)).findAllByShow(testShow);
+        verify(showInventoryService, never()).loadInventory(any(), anyLong());
     }
 
     @Test
@@ -171,18 +184,12 @@ class DynamicPricingServiceTest {
     void test02_calculateDynamicPricing_MediumDemand() {
         // Arrange - 60% occupancy
         List<ShowSeat> mediumDemandSeats = createShowSeats(100, 60);
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(mediumDemandSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, mediumDemandSeats));
         
         PricingConfig mediumDemand = pricingConfigs.stream()
             .filter(c -> c.getConfigKey().equals("MEDIUM_DEMAND"))
             .findFirst().get();
-        when(pricingConfigRepository.findDemandBasedPricing(PricingFactorType.DEMAND_BASED, 60))
-            .thenReturn(Optional.of(mediumDemand));
-        
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        loadRules(mediumDemand);
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -198,18 +205,12 @@ class DynamicPricingServiceTest {
     void test03_calculateDynamicPricing_NormalDemand() {
         // Arrange - 30% occupancy
         List<ShowSeat> normalDemandSeats = createShowSeats(100, 30);
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(normalDemandSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, normalDemandSeats));
         
         PricingConfig normalDemand = pricingConfigs.stream()
             .filter(c -> c.getConfigKey().equals("NORMAL_DEMAND"))
             .findFirst().get();
-        when(pricingConfigRepository.findDemandBasedPricing(PricingFactorType.DEMAND_BASED, 30))
-            .thenReturn(Optional.of(normalDemand));
-        
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        loadRules(normalDemand);
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -227,18 +228,12 @@ class DynamicPricingServiceTest {
     void test04_calculateDynamicPricing_MorningShow() {
         // Arrange
         testShow.setShowTime(LocalTime.of(10, 0));
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, showSeats));
         
         PricingConfig morningShow = pricingConfigs.stream()
             .filter(c -> c.getConfigKey().equals("MORNING_SHOW"))
             .findFirst().get();
-        when(pricingConfigRepository.findTimeBasedPricing(PricingFactorType.TIME_BASED, 10))
-            .thenReturn(Optional.of(morningShow));
-        
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        loadRules(morningShow);
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -255,18 +250,12 @@ class DynamicPricingServiceTest {
     void test05_calculateDynamicPricing_EveningShow() {
         // Arrange
         testShow.setShowTime(LocalTime.of(19, 0));
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, showSeats));
         
         PricingConfig eveningShow = pricingConfigs.stream()
             .filter(c -> c.getConfigKey().equals("EVENING_SHOW"))
             .findFirst().get();
-        when(pricingConfigRepository.findTimeBasedPricing(PricingFactorType.TIME_BASED, 19))
-            .thenReturn(Optional.of(eveningShow));
-        
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        loadRules(eveningShow);
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -283,18 +272,12 @@ class DynamicPricingServiceTest {
     void test06_calculateDynamicPricing_AfternoonShow() {
         // Arrange
         testShow.setShowTime(LocalTime.of(14, 0));
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, showSeats));
         
         PricingConfig afternoonShow = pricingConfigs.stream()
             .filter(c -> c.getConfigKey().equals("AFTERNOON_SHOW"))
             .findFirst().get();
-        when(pricingConfigRepository.findTimeBasedPricing(PricingFactorType.TIME_BASED, 14))
-            .thenReturn(Optional.of(afternoonShow));
-        
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        loadRules(afternoonShow);
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -312,18 +295,12 @@ class DynamicPricingServiceTest {
     void test07_calculateDynamicPricing_WeekendShow() {
         // Arrange
         testShow.setShowDate(LocalDate.now().with(DayOfWeek.SATURDAY));
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, showSeats));
         
         PricingConfig weekendConfig = pricingConfigs.stream()
             .filter(c -> c.getConfigKey().equals("WEEKEND"))
             .findFirst().get();
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue("WEEKEND"))
-            .thenReturn(Optional.of(weekendConfig));
-        
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
+        loadRules(weekendConfig);
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -340,18 +317,12 @@ class DynamicPricingServiceTest {
     void test08_calculateDynamicPricing_WeekdayShow() {
         // Arrange
         testShow.setShowDate(LocalDate.now().with(DayOfWeek.MONDAY));
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, showSeats));
         
         PricingConfig weekdayConfig = pricingConfigs.stream()
             .filter(c -> c.getConfigKey().equals("WEEKDAY"))
             .findFirst().get();
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue("WEEKDAY"))
-            .thenReturn(Optional.of(weekdayConfig));
-        
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
+        loadRules(weekdayConfig);
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -372,15 +343,10 @@ class DynamicPricingServiceTest {
         testShow.setShowTime(LocalTime.of(19, 0));
         List<ShowSeat> highDemandSeats = createShowSeats(100, 85);
         
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(highDemandSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, highDemandSeats));
         
-        // Setup all pricing configs
-        when(pricingConfigRepository.findDemandBasedPricing(PricingFactorType.DEMAND_BASED, 85))
-            .thenReturn(Optional.of(pricingConfigs.get(0))); // HIGH_DEMAND 1.5x
-        when(pricingConfigRepository.findTimeBasedPricing(PricingFactorType.TIME_BASED, 19))
-            .thenReturn(Optional.of(pricingConfigs.get(5))); // EVENING 1.3x
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue("WEEKEND"))
-            .thenReturn(Optional.of(pricingConfigs.get(7))); // WEEKEND 1.25x
+        // Setup all pricing configs - HIGH_DEMAND 1.5x, EVENING 1.3x and WEEKEND 1.25x match
+        loadRules(pricingConfigs.toArray(new PricingConfig[0]));
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -404,21 +370,16 @@ class DynamicPricingServiceTest {
     @DisplayName("Test 10: Apply dynamic pricing to show seats")
     void test10_applyDynamicPricingToShow_UpdatesSeatPrices() {
         // Arrange
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.of(pricingConfigs.get(2))); // NORMAL 1.0x
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
-        when(showSeatRepository.saveAll(any(List.class))).thenReturn(showSeats);
+        List<ShowSeat> normalDemandSeats = createShowSeats(100, 30);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, normalDemandSeats));
+        loadRules(pricingConfigs.get(2)); // NORMAL 1.0x
 
         // Act
         dynamicPricingService.applyDynamicPricingToShow(testShow);
 
-        // Assert
-        verify(showSeatRepository, times(2)).findAllByShow(testShow); // Called twice
-        verify(showSeatRepository, times(1)).saveAll(any(List.class));
+        // Assert - one stored price per seat type, the show's seats are never reloaded
+        verify(showInventoryService, times(1)).updatePrices(1, Map.of("CLASSIC", 200, "PREMIUM", 400));
+        verify(showInventoryService, never()).loadInventory(any(), anyLong());
     }
 
     // ==================== Test 6: Calculate Individual Seat Price ====================
@@ -429,13 +390,8 @@ class DynamicPricingServiceTest {
     void test11_calculateSeatPrice_AppliesMultiplier() {
         // Arrange
         int basePrice = 200;
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.of(pricingConfigs.get(0))); // HIGH_DEMAND 1.5x
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, createShowSeats(100, 85)));
+        loadRules(pricingConfigs.get(0)); // HIGH_DEMAND 1.5x
 
         // Act
         Integer dynamicPrice = dynamicPricingService.calculateSeatPrice(
@@ -532,13 +488,8 @@ class DynamicPricingServiceTest {
     @DisplayName("Test 17: Calculate pricing with no matching pricing rules")
     void test17_calculateDynamicPricing_NoMatchingRules() {
         // Arrange
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, showSeats));
+        loadRules();
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -554,13 +505,8 @@ class DynamicPricingServiceTest {
     @DisplayName("Test 18: Verify pricing response contains all required fields")
     void test18_calculateDynamicPricing_ResponseHasAllFields() {
         // Arrange
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
-        when(pricingConfigRepository.findDemandBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.of(pricingConfigs.get(2)));
-        when(pricingConfigRepository.findTimeBasedPricing(any(), anyInt()))
-            .thenReturn(Optional.empty());
-        when(pricingConfigRepository.findByConfigKeyAndIsActiveTrue(anyString()))
-            .thenReturn(Optional.empty());
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, showSeats));
+        loadRules(pricingConfigs.toArray(new PricingConfig[0]));
 
         // Act
         PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
@@ -575,6 +521,171 @@ class DynamicPricingServiceTest {
         assertTrue(response.getBasePrices().containsKey("PREMIUM"));
     }
 
+    // ==================== Test 9: Pricing Snapshot Cache ====================
+
+    @Test
+    @Order(19)
+    @DisplayName("Test 19: Pricing is served from the snapshot while occupancy stays in its band")
+    void test19_calculateDynamicPricing_ServedFromSnapshot() {
+        // Arrange - 50% booked falls in the MEDIUM band (50-70)
+        ShowSeatInventory inventory = new ShowSeatInventory(1, showSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+        loadRules(pricingConfigs.get(1)); // MEDIUM 1.2x
+
+        // Act - book 10 more seats, still inside the band
+        PricingResponse first = dynamicPricingService.calculateDynamicPricing(testShow);
+        inventory.claim(seatRange(51, 60));
+        PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
+
+        // Assert - both responses come from the same snapshot
+        assertEquals(1.2, response.getTotalMultiplier(), 0.01);
+        assertTrue(response.getPriceJustification().contains("60%"));
+        assertSame(first.getAppliedFactors(), response.getAppliedFactors());
+        verify(pricingConfigRepository, times(1)).findByIsActiveTrue();
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Test 20: Crossing a demand band boundary recalculates pricing")
+    void test20_calculateDynamicPricing_RecalculatesOnBandChange() {
+        // Arrange
+        ShowSeatInventory inventory = new ShowSeatInventory(1, showSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+        loadRules(pricingConfigs.get(0), pricingConfigs.get(1)); // HIGH 1.5x, MEDIUM 1.2x
+
+        // Act - book 20 more seats, crossing into the HIGH band
+        PricingResponse before = dynamicPricingService.calculateDynamicPricing(testShow);
+        inventory.claim(seatRange(51, 70));
+        PricingResponse after = dynamicPricingService.calculateDynamicPricing(testShow);
+
+        // Assert - base prices are kept, so the new multiplier does not compound on the old one
+        assertEquals(1.2, before.getTotalMultiplier(), 0.01);
+        assertEquals(1.5, after.getTotalMultiplier(), 0.01);
+        assertEquals(before.getBasePrices(), after.getBasePrices());
+        assertEquals(300, after.getDynamicPrices().get("CLASSIC"));
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Test 21: Updating a pricing rule invalidates cached snapshots")
+    void test21_updatePricingConfig_InvalidatesSnapshots() {
+        // Arrange
+        PricingConfig existing = pricingConfigs.get(1);
+        existing.setConfigId(2);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, showSeats));
+        loadRules(existing);
+        when(pricingConfigRepository.findById(2)).thenReturn(Optional.of(existing));
+        when(pricingConfigRepository.save(any(PricingConfig.class))).thenReturn(existing);
+
+        // Act
+        PricingResponse before = dynamicPricingService.calculateDynamicPricing(testShow);
+        PricingConfig updated = createConfig(PricingFactorType.DEMAND_BASED, "MEDIUM_DEMAND", 1.4,
+            "Medium demand", 50, 70, null, null);
+        dynamicPricingService.updatePricingConfig(2, updated);
+        PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
+
+        // Assert
+        assertEquals(1.2, before.getTotalMultiplier(), 0.01);
+        assertEquals(1.4, response.getTotalMultiplier(), 0.01);
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Test 22: Pricing reads the compiled rules without querying pricing configs")
+    void test22_calculateDynamicPricing_DoesNotQueryPricingConfigs() {
+        // Arrange
+        ShowSeatInventory inventory = new ShowSeatInventory(1, createShowSeats(100, 30));
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+        loadRules(pricingConfigs.toArray(new PricingConfig[0]));
+
+        // Act - every calculation lands in a different demand band
+        PricingResponse normal = dynamicPricingService.calculateDynamicPricing(testShow);
+        inventory.claim(seatRange(31, 60));
+        PricingResponse medium = dynamicPricingService.calculateDynamicPricing(testShow);
+        inventory.claim(seatRange(61, 85));
+        PricingResponse high = dynamicPricingService.calculateDynamicPricing(testShow);
+
+        // Assert
+        assertTrue(normal.getAppliedFactors().contains("Normal demand"));
+        assertTrue(medium.getAppliedFactors().contains("Medium demand"));
+        assertTrue(high.getAppliedFactors().contains("High demand"));
+        verify(pricingConfigRepository, times(1)).findByIsActiveTrue();
+        verifyNoMoreInteractions(pricingConfigRepository);
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("Test 23: Calculate pricing for a show without seats")
+    void test23_calculateDynamicPricing_NoSeats() {
+        // Arrange
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, new ArrayList<>()));
+        loadRules(pricingConfigs.get(2)); // NORMAL 1.0x covers 0%
+
+        // Act
+        PricingResponse response = dynamicPricingService.calculateDynamicPricing(testShow);
+
+        // Assert
+        assertEquals(1.0, response.getTotalMultiplier(), 0.01);
+        assertTrue(response.getBasePrices().isEmpty());
+        assertTrue(response.getPriceJustification().contains("0%"));
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Test 24: Repricing after an evicted snapshot starts from the base prices, not the applied ones")
+    void test24_calculateDynamicPricing_DoesNotCompoundAfterEviction() {
+        // Arrange - 50% booked, MEDIUM 1.2x
+        ShowSeatInventory inventory = new ShowSeatInventory(1, showSeats);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+        loadRules(pricingConfigs.get(1));
+
+        // Act - the seats take the dynamic prices, then the snapshot is dropped as after a restart
+        PricingResponse first = dynamicPricingService.calculateDynamicPricing(testShow);
+        inventory.updatePrices(first.getDynamicPrices());
+        dynamicPricingService.evictPricing(1);
+        PricingResponse second = dynamicPricingService.calculateDynamicPricing(testShow);
+
+        // Assert
+        assertEquals(240, inventory.pricesBySeatType().get("CLASSIC"));
+        assertEquals(Map.of("CLASSIC", 200, "PREMIUM", 400), second.getBasePrices());
+        assertEquals(Map.of("CLASSIC", 240, "PREMIUM", 480), second.getDynamicPrices());
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Test 25: Snapshots of past shows are evicted, upcoming ones are kept")
+    void test25_evictPastShows_DropsPastSnapshots() {
+        // Arrange
+        Show pastShow = new Show();
+        pastShow.setShowId(2);
+        pastShow.setShowDate(LocalDate.now().minusDays(1));
+        pastShow.setShowTime(LocalTime.of(19, 0));
+        testShow.setShowDate(LocalDate.now().plusDays(1));
+        when(seatInventoryService.getInventory(any(Show.class))).thenReturn(new ShowSeatInventory(1, showSeats));
+        loadRules(pricingConfigs.get(1));
+        PricingResponse past = dynamicPricingService.calculateDynamicPricing(pastShow);
+        PricingResponse upcoming = dynamicPricingService.calculateDynamicPricing(testShow);
+
+        // Act
+        dynamicPricingService.evictPastShows();
+
+        // Assert - only the past show is priced anew
+        assertNotSame(past.getAppliedFactors(), dynamicPricingService.calculateDynamicPricing(pastShow).getAppliedFactors());
+        assertSame(upcoming.getAppliedFactors(), dynamicPricingService.calculateDynamicPricing(testShow).getAppliedFactors());
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("Test 26: The multiplier at an occupancy combines the demand, time and day rules")
+    void test26_multiplierAt_CombinesMatchingRules() {
+        // Arrange - weekend evening show
+        loadRules(pricingConfigs.toArray(new PricingConfig[0]));
+
+        // Act & Assert - MEDIUM 1.2x, evening 1.3x, weekend 1.25x
+        assertEquals(1.95, dynamicPricingService.multiplierAt(testShow, 60), 0.001);
+        assertEquals(1.625, dynamicPricingService.multiplierAt(testShow, 10), 0.001);
+    }
+
     @AfterEach
     void tearDown() {
         testShow = null;
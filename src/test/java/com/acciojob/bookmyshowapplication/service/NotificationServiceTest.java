@@ -0,0 +1,162 @@
+package com.acciojob.bookmyshowapplication.service;
+
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Enums.NotificationStatus;
+import com.acciojob.bookmyshowapplication.Models.Notification;
+import com.acciojob.bookmyshowapplication.Repository.NotificationRepository;
+import com.acciojob.bookmyshowapplication.Service.NotificationService;
+import com.acciojob.bookmyshowapplication.notifications.InMemoryNotificationChannel;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the notification outbox dispatcher, with in-memory channels
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Notification Service Tests")
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private InMemoryNotificationChannel emailChannel;
+    private InMemoryNotificationChannel smsChannel;
+
+    @BeforeEach
+    void setUp() {
+        emailChannel = new InMemoryNotificationChannel(NotificationChannelType.EMAIL, 1000);
+        smsChannel = new InMemoryNotificationChannel(NotificationChannelType.SMS, 2);
+        ReflectionTestUtils.setField(notificationService, "channels", List.of(emailChannel, smsChannel));
+        notificationService.registerChannels();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationService.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Enqueued notifications are saved and sent in one batch per channel")
+    void test01_enqueue_SavesAndDispatchesPerChannel() {
+        // Arrange
+        List<Notification> outbox = List.of(
+                notification(1L, NotificationChannelType.EMAIL),
+                notification(2L, NotificationChannelType.SMS),
+                notification(3L, NotificationChannelType.EMAIL));
+        when(notificationRepository.findDue(eq(NotificationStatus.PENDING), any(), any(), any()))
+                .thenReturn(outbox, List.of());
+
+        // Act - outside a transaction the dispatcher is woken right away
+        notificationService.enqueue(outbox);
+
+        // Assert
+        // The second read finds the outbox empty, after both batches were marked sent
+        verify(notificationRepository, timeout(5000).times(2)).findDue(any(), any(), any(), any());
+        verify(notificationRepository, times(2)).markSent(any(), any());
+        verify(notificationRepository).saveAll(outbox);
+        assertEquals(1, emailChannel.getBatches().size());
+        assertEquals(List.of(1L, 3L), ids(emailChannel.getBatches().get(0)));
+        assertEquals(List.of(2L), ids(smsChannel.getBatches().get(0)));
+        assertEquals(3L, notificationService.getMetrics().get("sent"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A failed notification is retried later, and given up after the last attempt")
+    void test02_send_RetriesWithBackoffThenFails() {
+        // Arrange
+        Notification retried = notification(1L, NotificationChannelType.EMAIL);
+        Notification exhausted = notification(2L, NotificationChannelType.EMAIL);
+        exhausted.setAttempts(4);
+        emailChannel.failOn(1L, 2L);
+        when(notificationRepository.findDue(eq(NotificationStatus.PENDING), any(), any(), any()))
+                .thenReturn(List.of(retried, exhausted), List.of());
+
+        // Act
+        notificationService.wake();
+
+        // Assert
+        verify(notificationRepository, timeout(5000)).saveAll(List.of(retried, exhausted));
+        verify(notificationRepository, never()).markSent(any(), any());
+        assertEquals(NotificationStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertTrue(retried.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertEquals("Recipient unreachable", retried.getLastError());
+        assertEquals(NotificationStatus.FAILED, exhausted.getStatus());
+        assertEquals(5, exhausted.getAttempts());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: A channel is sent no more than its rate, the rest waits for its permits")
+    void test03_drain_RespectsChannelRate() {
+        // Arrange - SMS is limited to 2 per second
+        List<Notification> sms = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            sms.add(notification(id, NotificationChannelType.SMS));
+        }
+        when(notificationRepository.findDue(eq(NotificationStatus.PENDING), any(), any(), any()))
+                .thenReturn(sms, List.of());
+
+        // Act
+        notificationService.wake();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> sentIds = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository, timeout(5000)).markSent(sentIds.capture(), any());
+        assertEquals(List.of(1L, 2L), sentIds.getValue());
+        assertEquals(List.of(1L, 2L), ids(smsChannel.getBatches().get(0)));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: A notification for a channel without a bean is refused, not left in the outbox")
+    void test04_enqueue_RejectsUnsupportedChannel() {
+        // Arrange - there is no push channel
+        List<Notification> outbox = List.of(
+                notification(1L, NotificationChannelType.EMAIL),
+                notification(2L, NotificationChannelType.PUSH));
+
+        // Act & Assert
+        assertFalse(notificationService.supports(NotificationChannelType.PUSH));
+        assertThrows(IllegalArgumentException.class, () -> notificationService.enqueue(outbox));
+        verify(notificationRepository, never()).saveAll(any());
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Notification notification(Long id, NotificationChannelType channel) {
+        return Notification.builder()
+                .notificationId(id)
+                .channel(channel)
+                .recipient("john@example.com")
+                .subject("Seats Available for Your Waitlisted Show!")
+                .body("Seats P1, P2 are held for you for 15 minutes.")
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private List<Long> ids(List<Notification> notifications) {
+        return notifications.stream().map(Notification::getNotificationId).toList();
+    }
+}
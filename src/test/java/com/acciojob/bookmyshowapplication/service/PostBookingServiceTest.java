@@ -0,0 +1,188 @@
+package com.acciojob.bookmyshowapplication.service;
+
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
+import com.acciojob.bookmyshowapplication.Models.Notification;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Models.Ticket;
+import com.acciojob.bookmyshowapplication.Models.User;
+import com.acciojob.bookmyshowapplication.Service.DynamicPricingService;
+import com.acciojob.bookmyshowapplication.Service.NotificationService;
+import com.acciojob.bookmyshowapplication.Service.PostBookingService;
+import com.acciojob.bookmyshowapplication.Service.SeatHoldService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the asynchronous post-booking pipeline
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Post Booking Service Tests")
+class PostBookingServiceTest {
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private DynamicPricingService dynamicPricingService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PostBookingService postBookingService;
+
+    private Show testShow;
+
+    @BeforeEach
+    void setUp() {
+        testShow = new Show();
+        testShow.setShowId(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postBookingService.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Bookings queued behind a running batch are repriced together")
+    void test01_bookingCommitted_CoalescesPerShow() throws Exception {
+        // Arrange - hold the first batch inside repricing until the others are queued
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).doNothing().when(dynamicPricingService).applyDynamicPricingToShow(testShow);
+
+        // Act
+        postBookingService.bookingCommitted(testShow, createTicket("T1"), "9876543210", List.of("A1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        postBookingService.bookingCommitted(testShow, createTicket("T2"), "9876543211", List.of("A2"));
+        postBookingService.bookingCommitted(testShow, createTicket("T3"), "9876543211", List.of("A3"));
+        postBookingService.bookingCommitted(testShow, createTicket("T2"), "9876543211", List.of("A2"));
+        release.countDown();
+        postBookingService.shutdown();
+
+        // Assert
+        Map<String, Object> metrics = postBookingService.getMetrics();
+        assertEquals(4L, metrics.get("submittedEvents"));
+        assertEquals(2L, metrics.get("coalescedEvents"));
+        assertEquals(1L, metrics.get("duplicateEvents"));
+        assertEquals(2L, metrics.get("processedBatches"));
+        assertEquals(0, metrics.get("pendingShows"));
+        verify(dynamicPricingService, times(2)).applyDynamicPricingToShow(testShow);
+        verify(seatHoldService).confirm(1, "9876543210", Set.of("A1"));
+        verify(seatHoldService).confirm(1, "9876543211", Set.of("A2", "A3"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A failing step does not stop the rest of the batch")
+    void test02_process_FailingStepIsIsolated() {
+        // Arrange
+        doThrow(new RuntimeException("hold store unavailable"))
+                .when(seatHoldService).confirm(eq(1), anyString(), anySet());
+
+        // Act
+        postBookingService.bookingCommitted(testShow, createTicket("T1"), "9876543210", List.of("A1"));
+        postBookingService.shutdown();
+
+        // Assert
+        Map<String, Object> metrics = postBookingService.getMetrics();
+        assertEquals(1L, metrics.get("failedTasks"));
+        assertEquals(1L, metrics.get("processedBatches"));
+        verify(dynamicPricingService).applyDynamicPricingToShow(any(Show.class));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: The confirmations of a batch go to the outbox together, one email per ticket")
+    void test03_process_EnqueuesConfirmationEmails() {
+        // Arrange
+        when(notificationService.supports(NotificationChannelType.EMAIL)).thenReturn(true);
+        Ticket first = createTicket("T1");
+        first.setUser(createUser("john@example.com"));
+        Ticket second = createTicket("T2");
+        second.setUser(createUser("jane@example.com"));
+
+        // Act
+        postBookingService.bookingCommitted(testShow, first, "9876543210", List.of("A1"));
+        postBookingService.bookingCommitted(testShow, second, "9876543211", List.of("A2"));
+        postBookingService.shutdown();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> enqueued = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, atLeastOnce()).enqueue(enqueued.capture());
+        List<Notification> notifications = enqueued.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(List.of("john@example.com", "jane@example.com"),
+                notifications.stream().map(Notification::getRecipient).toList());
+        assertTrue(notifications.stream().allMatch(n -> n.getChannel() == NotificationChannelType.EMAIL));
+        assertTrue(notifications.get(0).getBody().contains("T1"));
+        assertEquals(0L, postBookingService.getMetrics().get("failedTasks"));
+        // Never joined to the booking's transaction, which may already have committed
+        verify(transactionManager, atLeastOnce()).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: A booking after shutdown leaves no batch behind for later bookings to join")
+    void test04_bookingCommitted_AfterShutdownDropsBatch() {
+        // Arrange
+        postBookingService.shutdown();
+
+        // Act
+        postBookingService.bookingCommitted(testShow, createTicket("T1"), "9876543210", List.of("A1"));
+        postBookingService.bookingCommitted(testShow, createTicket("T2"), "9876543211", List.of("A2"));
+
+        // Assert - the second booking started its own batch instead of coalescing
+        Map<String, Object> metrics = postBookingService.getMetrics();
+        assertEquals(0, metrics.get("pendingShows"));
+        assertEquals(0L, metrics.get("coalescedEvents"));
+        assertEquals(0L, metrics.get("callerRunsBatches"));
+        verifyNoInteractions(seatHoldService, dynamicPricingService);
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Ticket createTicket(String ticketId) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setMovieName("Inception");
+        ticket.setTotalAmtPaid(250);
+        return ticket;
+    }
+
+    private User createUser(String emailId) {
+        User user = new User();
+        user.setEmailId(emailId);
+        return user;
+    }
+}
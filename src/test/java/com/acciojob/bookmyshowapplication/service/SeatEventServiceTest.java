@@ -0,0 +1,260 @@
+package com.acciojob.bookmyshowapplication.service;
+
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Models.ShowSeat;
+import com.acciojob.bookmyshowapplication.Service.SeatEventService;
+import com.acciojob.bookmyshowapplication.Service.SeatInventoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the seat availability event stream
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Seat Event Service Tests")
+class SeatEventServiceTest {
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private SeatEventService seatEventService;
+
+    private Show testShow;
+    private ShowSeatInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        testShow = new Show();
+        testShow.setShowId(1);
+        inventory = createInventory();
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatEventService.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Changes are published as one shared event to every subscriber")
+    void test01_publish_SharedEventPerShow() {
+        // Arrange
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            RecordingEmitter emitter = new RecordingEmitter(null);
+            seatEventService.subscribe(testShow, null, emitter);
+            emitters.add(emitter);
+        }
+        when(seatInventoryService.findInventory(1)).thenReturn(inventory);
+
+        // Act
+        inventory.markHeld(List.of("1B", "1C"));
+        inventory.claim(List.of("1D"));
+        seatEventService.publish(1);
+        seatEventService.publish(1); // nothing changed since
+
+        // Assert
+        awaitUntil(() -> emitters.stream().allMatch(emitter -> emitter.events.size() == 2));
+        Set<ResponseBodyEmitter.DataWithMediaType> changes = emitters.get(0).events.get(1);
+        assertTrue(emitters.stream().allMatch(emitter -> emitter.events.get(1) == changes));
+        String frame = text(changes);
+        assertTrue(frame.contains("event:seats"), frame);
+        assertTrue(frame.contains("{\"seatNo\":\"1B\",\"status\":\"TEMP_SELECTED\"}"), frame);
+        assertTrue(frame.contains("{\"seatNo\":\"1D\",\"status\":\"BOOKED\"}"), frame);
+        assertTrue(text(emitters.get(0).events.get(0)).contains("event:snapshot"));
+
+        Map<String, Object> metrics = seatEventService.getMetrics();
+        assertEquals(500, metrics.get("subscribers"));
+        assertEquals(1L, metrics.get("publishedEvents"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A stalled subscriber is dropped without holding up the others")
+    void test02_publish_SlowConsumerDropped() {
+        // Arrange
+        CountDownLatch stall = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(stall);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        seatEventService.subscribe(testShow, null, stalled);
+        seatEventService.subscribe(testShow, null, healthy);
+        when(seatInventoryService.findInventory(1)).thenReturn(inventory);
+
+        // Act
+        for (int i = 1; i < 10; i++) {
+            inventory.markHeld(List.of("1" + (char) ('A' + i)));
+            seatEventService.publish(1);
+            inventory.clearHeld(List.of("1" + (char) ('A' + i)));
+            seatEventService.publish(1);
+        }
+
+        // Assert
+        awaitUntil(() -> healthy.events.size() == 19);
+        awaitUntil(() -> stalled.completed);
+        stall.countDown();
+        assertFalse(healthy.completed);
+        assertEquals(1L, seatEventService.getMetrics().get("droppedSubscribers"));
+        assertEquals(1, seatEventService.getMetrics().get("subscribers"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Reconnecting with Last-Event-ID resumes with only the missed changes")
+    void test03_subscribe_ResumeFromLastEventId() {
+        // Arrange
+        long lastEventId = inventory.getVersion();
+        inventory.claim(List.of("1E"));
+        RecordingEmitter emitter = new RecordingEmitter(null);
+
+        // Act
+        seatEventService.subscribe(testShow, lastEventId, emitter);
+
+        // Assert
+        awaitUntil(() -> emitter.events.size() == 1);
+        String frame = text(emitter.events.get(0));
+        assertTrue(frame.startsWith("id:" + inventory.getVersion()), frame);
+        assertTrue(frame.contains("event:seats"), frame);
+        assertTrue(frame.contains("\"seats\":[{\"seatNo\":\"1E\",\"status\":\"BOOKED\"}]"), frame);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Subscribing while the last subscriber of a show leaves keeps the new subscriber")
+    void test04_subscribe_RacesLastUnsubscribe() throws Exception {
+        // Arrange - on every show one subscriber drops out on its first event while another joins
+        int shows = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<RecordingEmitter> healthy = new ArrayList<>();
+
+        // Act
+        try {
+            for (int showId = 1; showId <= shows; showId++) {
+                testShow.setShowId(showId);
+                RecordingEmitter joining = new RecordingEmitter(null);
+                healthy.add(joining);
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> leaving = executor.submit(() -> {
+                    start.await();
+                    seatEventService.subscribe(testShow, null, new FailingEmitter());
+                    return null;
+                });
+                Future<?> joined = executor.submit(() -> {
+                    start.await();
+                    seatEventService.subscribe(testShow, null, joining);
+                    return null;
+                });
+                start.countDown();
+                leaving.get(5, TimeUnit.SECONDS);
+                joined.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert - every joining subscriber is still reachable through its show's channel
+        awaitUntil(() -> seatEventService.getMetrics().get("subscribers").equals(shows));
+        assertEquals(shows, seatEventService.getMetrics().get("shows"));
+        awaitUntil(() -> healthy.stream().allMatch(emitter -> emitter.events.size() == 1));
+    }
+
+    // ==================== Helper Methods ====================
+
+    private ShowSeatInventory createInventory() {
+        List<ShowSeat> seats = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ShowSeat seat = new ShowSeat();
+            seat.setShowSeatId(100 + i);
+            seat.setSeatNo("1" + (char) ('A' + i));
+            seat.setSeatType(SeatType.CLASSIC);
+            seat.setPrice(200);
+            seat.setIsAvailable(i != 0);
+            seats.add(seat);
+        }
+        return new ShowSeatInventory(1, seats);
+    }
+
+    private String text(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        StringBuilder text = new StringBuilder();
+        event.forEach(data -> text.append(data.getData()));
+        return text.toString();
+    }
+
+    private void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for seat events");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Emitter of a client that went away, every send fails
+     */
+    private static class FailingEmitter extends SseEmitter {
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+
+    /**
+     * Emitter that records what is sent to it, optionally blocking every send like a client that stopped reading
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch stall;
+        private final List<Set<ResponseBodyEmitter.DataWithMediaType>> events = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch stall) {
+            this.stall = stall;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            if (stall != null) {
+                try {
+                    stall.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(items);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
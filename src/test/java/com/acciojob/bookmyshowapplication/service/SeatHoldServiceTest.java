@@ -0,0 +1,171 @@
+package com.acciojob.bookmyshowapplication.service;
+
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
+import com.acciojob.bookmyshowapplication.Models.SeatSelection;
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Models.ShowSeat;
+import com.acciojob.bookmyshowapplication.Repository.SeatSelectionRepository;
+import com.acciojob.bookmyshowapplication.Service.SeatEventService;
+import com.acciojob.bookmyshowapplication.Service.SeatHoldService;
+import com.acciojob.bookmyshowapplication.Service.SeatInventoryService;
+import com.acciojob.bookmyshowapplication.Service.ShowLookupService;
+import com.acciojob.bookmyshowapplication.Service.WaitlistMatchingService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for seat holds taken during seat selection and seat offers to waitlisters
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Seat Hold Service Tests")
+class SeatHoldServiceTest {
+
+    private static final long OFFER_TTL_MS = 15 * 60 * 1000;
+
+    @Mock
+    private SeatSelectionRepository seatSelectionRepository;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private SeatEventService seatEventService;
+
+    @Mock
+    private ShowLookupService showLookupService;
+
+    @Mock
+    private ObjectProvider<WaitlistMatchingService> waitlistMatchingServiceProvider;
+
+    @Mock
+    private WaitlistMatchingService waitlistMatchingService;
+
+    @InjectMocks
+    private SeatHoldService seatHoldService;
+
+    private Show testShow;
+    private ShowSeatInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        testShow = new Show();
+        testShow.setShowId(1);
+
+        List<ShowSeat> showSeats = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            ShowSeat seat = new ShowSeat();
+            seat.setShowSeatId(i);
+            seat.setSeatNo("A" + i);
+            seat.setSeatType(SeatType.CLASSIC);
+            seat.setPrice(250);
+            seat.setIsAvailable(true);
+            showSeats.add(seat);
+        }
+        inventory = new ShowSeatInventory(1, showSeats);
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatHoldService.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Selecting other seats while holding an offer ends the offer and passes its seats on")
+    void test01_hold_EndsOpenOffer() {
+        // Arrange
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+        when(waitlistMatchingServiceProvider.getObject()).thenReturn(waitlistMatchingService);
+        seatHoldService.offer(testShow, "9876543210", List.of("A1", "A2"), OFFER_TTL_MS);
+
+        // Act
+        List<String> heldByOthers = seatHoldService.hold(testShow, "9876543210", List.of("A3"));
+
+        // Assert
+        assertTrue(heldByOthers.isEmpty());
+        assertFalse(seatHoldService.isOffer(1, "9876543210"));
+        assertEquals(Set.of("A3"), seatHoldService.getHeldSeats(1, "9876543210"));
+        assertFalse(inventory.isHeld(inventory.ordinalOf("A1")));
+        assertTrue(inventory.isHeld(inventory.ordinalOf("A3")));
+        verify(waitlistMatchingService).offerEnded(1, "9876543210", false);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A seat selection that fails leaves the offer and its seats in place")
+    void test02_hold_FailedHoldKeepsOffer() {
+        // Arrange - another user holds the seat the waitlister picks
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+        seatHoldService.hold(testShow, "9123456780", List.of("A3"));
+        seatHoldService.offer(testShow, "9876543210", List.of("A1", "A2"), OFFER_TTL_MS);
+
+        // Act
+        List<String> heldByOthers = seatHoldService.hold(testShow, "9876543210", List.of("A3"));
+
+        // Assert
+        assertEquals(List.of("A3"), heldByOthers);
+        assertTrue(seatHoldService.isOffer(1, "9876543210"));
+        assertEquals(Set.of("A1", "A2"), seatHoldService.getHeldSeats(1, "9876543210"));
+        assertTrue(inventory.isHeld(inventory.ordinalOf("A1")));
+        verify(waitlistMatchingServiceProvider, never()).getObject();
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Live holds are restored on the looked-up show, a hold that cannot be restored is skipped")
+    void test03_restoreHolds_UsesLoadedShowAndSkipsFailures() {
+        // Arrange - the selections only carry a show reference, show 2 no longer exists
+        Show removedShow = new Show();
+        removedShow.setShowId(2);
+        when(seatSelectionRepository.findByStatusAndCreatedAtAfter(eq("TEMP"), any(Date.class))).thenReturn(List.of(
+                createSelection(removedShow, "9123456780", "B1"),
+                createSelection(showReference(1), "9876543210", "A1"),
+                createSelection(showReference(1), "9876543210", "A2")));
+        when(showLookupService.getShow(2)).thenThrow(new ResourceNotFoundException("Show", "showId", 2));
+        when(showLookupService.getShow(1)).thenReturn(testShow);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+
+        // Act
+        seatHoldService.restoreHolds();
+
+        // Assert
+        assertEquals(Set.of("A1", "A2"), seatHoldService.getHeldSeats(1, "9876543210"));
+        assertTrue(inventory.isHeld(inventory.ordinalOf("A2")));
+        assertTrue(seatHoldService.getHeldSeats(2, "9123456780").isEmpty());
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Show showReference(Integer showId) {
+        Show show = new Show();
+        show.setShowId(showId);
+        return show;
+    }
+
+    private SeatSelection createSelection(Show show, String userMobNo, String seatNo) {
+        SeatSelection selection = new SeatSelection();
+        selection.setShow(show);
+        selection.setUserMobNo(userMobNo);
+        selection.setSeatNo(seatNo);
+        selection.setStatus("TEMP");
+        selection.setCreatedAt(new Date());
+        return selection;
+    }
+}
@@ -0,0 +1,206 @@
+package com.acciojob.bookmyshowapplication.service;
+
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Models.*;
+import com.acciojob.bookmyshowapplication.Repository.ShowInventoryRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowRepository;
+import com.acciojob.bookmyshowapplication.Repository.ShowSeatRepository;
+import com.acciojob.bookmyshowapplication.Service.DynamicPricingService;
+import com.acciojob.bookmyshowapplication.Service.SeatLayoutService;
+import com.acciojob.bookmyshowapplication.Service.ShowInventoryService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for show seat state stored on shared seat layouts
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Show Inventory Service Tests")
+class ShowInventoryServiceTest {
+
+    @Mock
+    private ShowInventoryRepository showInventoryRepository;
+
+    @Mock
+    private ShowSeatRepository showSeatRepository;
+
+    @Mock
+    private ShowRepository showRepository;
+
+    @Mock
+    private SeatLayoutService seatLayoutService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<DynamicPricingService> dynamicPricingServiceProvider;
+
+    @Mock
+    private DynamicPricingService dynamicPricingService;
+
+    @InjectMocks
+    private ShowInventoryService showInventoryService;
+
+    private Theater testTheater;
+    private Show testShow;
+    private SeatLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        testTheater = Theater.builder().theaterId(1).name("PVR").build();
+        testShow = Show.builder().showId(7).theater(testTheater).build();
+        layout = spy(SeatLayout.of(testTheater,
+                new String[]{"1A", "1B", "1C", "1D"},
+                new SeatType[]{SeatType.CLASSIC, SeatType.CLASSIC, SeatType.CLASSIC, SeatType.PREMIUM}));
+        lenient().when(layout.getLayoutId()).thenReturn(3);
+        lenient().when(seatLayoutService.getLayout(3)).thenReturn(layout);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Claiming seats sets their bits only if every seat is still available")
+    void test01_claimSeats_AllOrNothing() {
+        // Arrange
+        ShowInventory state = createState(1);
+        when(showInventoryRepository.findForUpdate(7)).thenReturn(Optional.of(state));
+
+        // Act
+        boolean taken = showInventoryService.claimSeats(7, List.of("1C", "1B"));
+        boolean claimed = showInventoryService.claimSeats(7, List.of("1C", "1D"));
+        boolean unknown = showInventoryService.claimSeats(7, List.of("9Z"));
+
+        // Assert
+        assertFalse(taken);
+        assertTrue(claimed);
+        assertFalse(unknown);
+        assertEquals(BitSet.valueOf(new long[]{0b1110}), state.booked());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Releasing seats clears only the booked ones and counts them")
+    void test02_releaseSeats_ClearsBits() {
+        // Arrange
+        ShowInventory state = createState(1, 3);
+        when(showInventoryRepository.findForUpdate(7)).thenReturn(Optional.of(state));
+
+        // Act
+        int released = showInventoryService.releaseSeats(7, List.of("1B", "1C", "1D"));
+
+        // Assert
+        assertEquals(2, released);
+        assertTrue(state.booked().isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: A show still stored in show_seats is migrated on first load, with its base prices, and its rows dropped")
+    void test03_loadInventory_MigratesLegacyShow() {
+        // Arrange
+        List<ShowSeat> showSeats = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            showSeats.add(ShowSeat.builder()
+                    .showSeatId(100 + i)
+                    .seatNo("1" + (char) ('A' + i))
+                    .seatType(i == 3 ? SeatType.PREMIUM : SeatType.CLASSIC)
+                    .price(i == 3 ? 500 : 250)
+                    .isAvailable(i != 1)
+                    .show(testShow)
+                    .build());
+        }
+        when(showInventoryRepository.findById(7)).thenReturn(Optional.empty());
+        when(showRepository.findById(7)).thenReturn(Optional.of(testShow));
+        when(showSeatRepository.findAllByShow(testShow)).thenReturn(showSeats);
+        when(seatLayoutService.layoutFor(any(Theater.class), any(), any())).thenReturn(layout);
+        when(showInventoryRepository.save(any(ShowInventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // The stored prices were last repriced at 25% occupancy with a 1.25x multiplier
+        when(dynamicPricingServiceProvider.getObject()).thenReturn(dynamicPricingService);
+        when(dynamicPricingService.multiplierAt(testShow, 25)).thenReturn(1.25);
+
+        // Act
+        ShowSeatInventory inventory = showInventoryService.loadInventory(testShow, 5);
+
+        // Assert
+        ArgumentCaptor<ShowInventory> saved = ArgumentCaptor.forClass(ShowInventory.class);
+        verify(showInventoryRepository).save(saved.capture());
+        assertEquals(7, saved.getValue().getShowId());
+        assertSame(layout, saved.getValue().getLayout());
+        assertEquals(250, saved.getValue().getPriceOfClassicSeats());
+        assertEquals(500, saved.getValue().getPriceOfPremiumSeats());
+        assertEquals(200, saved.getValue().getBasePriceOfClassicSeats());
+        assertEquals(400, saved.getValue().getBasePriceOfPremiumSeats());
+        verify(showSeatRepository).deleteByShowId(7);
+
+        assertEquals(6, inventory.getVersion());
+        assertEquals(1, inventory.bookedCount());
+        assertTrue(inventory.isBooked(inventory.ordinalOf("1B")));
+        assertEquals(500, inventory.priceOf(inventory.ordinalOf("1D")));
+        assertEquals(Map.of("CLASSIC", 250, "PREMIUM", 500), inventory.pricesBySeatType());
+        assertEquals(Map.of("CLASSIC", 200, "PREMIUM", 400), inventory.basePricesBySeatType());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Repricing changes the current prices and keeps the base prices")
+    void test04_updatePrices_KeepsBasePrices() {
+        // Arrange - the second row was stored before base prices were kept
+        ShowInventory state = createState();
+        ShowInventory legacyState = createState();
+        legacyState.setBasePriceOfClassicSeats(null);
+        legacyState.setBasePriceOfPremiumSeats(null);
+        when(showInventoryRepository.findForUpdate(7)).thenReturn(Optional.of(state));
+        when(showInventoryRepository.findForUpdate(8)).thenReturn(Optional.of(legacyState));
+
+        // Act
+        showInventoryService.updatePrices(7, Map.of("CLASSIC", 240, "PREMIUM", 480));
+        showInventoryService.updatePrices(7, Map.of("CLASSIC", 300));
+        showInventoryService.updatePrices(8, Map.of("CLASSIC", 240));
+        showInventoryService.updatePrices(8, Map.of("CLASSIC", 300));
+
+        // Assert
+        assertEquals(300, state.priceOf(SeatType.CLASSIC));
+        assertEquals(480, state.priceOf(SeatType.PREMIUM));
+        assertEquals(200, state.basePriceOf(SeatType.CLASSIC));
+        assertEquals(400, state.basePriceOf(SeatType.PREMIUM));
+        assertEquals(300, legacyState.priceOf(SeatType.CLASSIC));
+        assertEquals(200, legacyState.basePriceOf(SeatType.CLASSIC));
+    }
+
+    // ==================== Helper Methods ====================
+
+    private ShowInventory createState(int... bookedOrdinals) {
+        ShowInventory state = ShowInventory.builder()
+                .showId(7)
+                .layout(layout)
+                .priceOfClassicSeats(200)
+                .priceOfPremiumSeats(400)
+                .basePriceOfClassicSeats(200)
+                .basePriceOfPremiumSeats(400)
+                .build();
+        BitSet booked = new BitSet();
+        for (int ordinal : bookedOrdinals) {
+            booked.set(ordinal);
+        }
+        state.setBooked(booked);
+        return state;
+    }
+}
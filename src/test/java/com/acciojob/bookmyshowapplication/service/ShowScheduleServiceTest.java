@@ -0,0 +1,207 @@
+package com.acciojob.bookmyshowapplication.service;
+
+import com.acciojob.bookmyshowapplication.Enums.ScheduleJobStatus;
+import com.acciojob.bookmyshowapplication.Enums.SeatType;
+import com.acciojob.bookmyshowapplication.Exceptions.InvalidRequestException;
+import com.acciojob.bookmyshowapplication.Exceptions.ResourceNotFoundException;
+import com.acciojob.bookmyshowapplication.Models.*;
+import com.acciojob.bookmyshowapplication.Repository.*;
+import com.acciojob.bookmyshowapplication.Requests.BulkScheduleRequest;
+import com.acciojob.bookmyshowapplication.Responses.BulkScheduleResponse;
+import com.acciojob.bookmyshowapplication.Service.SeatLayoutService;
+import com.acciojob.bookmyshowapplication.Service.ShowInventoryService;
+import com.acciojob.bookmyshowapplication.Service.ShowLookupService;
+import com.acciojob.bookmyshowapplication.Service.ShowScheduleService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for bulk show scheduling
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Show Schedule Service Tests")
+class ShowScheduleServiceTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private TheaterRepository theaterRepository;
+
+    @Mock
+    private ShowRepository showRepository;
+
+    @Mock
+    private SeatLayoutService seatLayoutService;
+
+    @Mock
+    private ShowInventoryService showInventoryService;
+
+    @Mock
+    private ShowLookupService showLookupService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ShowScheduleService showScheduleService;
+
+    private Movie testMovie;
+    private Theater theater1;
+    private Theater theater2;
+    private LocalDate fromDate;
+
+    @BeforeEach
+    void setUp() {
+        testMovie = new Movie();
+        testMovie.setMovieId(1);
+        testMovie.setMovieName("Inception");
+
+        theater1 = Theater.builder().theaterId(1).name("PVR").build();
+        theater2 = Theater.builder().theaterId(2).name("INOX").build();
+        fromDate = LocalDate.now().plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        showScheduleService.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Creates every show of the range on the theater's seat layout, skipping existing shows")
+    void test01_submit_CreatesShowsAndSeats() {
+        // Arrange
+        BulkScheduleRequest request = createRequest(fromDate, fromDate.plusDays(2), List.of(1, 2));
+        stubScheduleLookups();
+        SeatLayout layout1 = createLayout(theater1, 3);
+        when(seatLayoutService.currentLayout(theater1)).thenReturn(layout1);
+        when(seatLayoutService.currentLayout(theater2)).thenReturn(createLayout(theater2, 2));
+        Show existing = Show.builder().showDate(fromDate.plusDays(1)).showTime(LocalTime.of(18, 0)).build();
+        when(showRepository.findByMovieAndTheaterAndShowDateBetween(testMovie, theater1, fromDate, fromDate.plusDays(2)))
+                .thenReturn(List.of(existing));
+        when(showRepository.findByMovieAndTheaterAndShowDateBetween(testMovie, theater2, fromDate, fromDate.plusDays(2)))
+                .thenReturn(List.of());
+        runTransactionsInline();
+
+        // Act
+        BulkScheduleResponse submitted = showScheduleService.submit(request);
+        showScheduleService.shutdown();
+        BulkScheduleResponse finished = showScheduleService.getJob(submitted.getJobId());
+
+        // Assert - 2 theaters x 3 days x 2 times, one of them already scheduled
+        assertEquals(12, submitted.getTotalShows());
+        assertEquals(ScheduleJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(11, finished.getCreatedShows());
+        assertEquals(1, finished.getSkippedShows());
+        assertEquals(5 * 3 + 6 * 2, finished.getCreatedSeats());
+        assertEquals(100, finished.getPercentComplete());
+        verify(transactionTemplate, times(6)).execute(any());
+        verify(showLookupService, times(11)).register(any(Show.class));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Show>> shows = ArgumentCaptor.forClass(List.class);
+        verify(showInventoryService, times(6)).createInventories(shows.capture(), any(SeatLayout.class), eq(200), eq(400));
+        verify(showInventoryService, times(3)).createInventories(anyList(), eq(layout1), anyInt(), anyInt());
+        assertEquals(1, shows.getAllValues().get(1).size()); // theater 1, second day
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Rejects ranges over 31 days and unknown theaters before queueing")
+    void test02_submit_InvalidSchedule() {
+        // Arrange
+        BulkScheduleRequest tooLong = createRequest(fromDate, fromDate.plusDays(31), List.of(1));
+        BulkScheduleRequest unknownTheater = createRequest(fromDate, fromDate, List.of(1, 99));
+        when(movieRepository.findMovie("Inception")).thenReturn(testMovie);
+        when(theaterRepository.findById(1)).thenReturn(Optional.of(theater1));
+        when(theaterRepository.findById(99)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> showScheduleService.submit(tooLong));
+        assertThrows(ResourceNotFoundException.class, () -> showScheduleService.submit(unknownTheater));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: A failing day stops the job and keeps the progress made so far")
+    void test03_submit_FailureKeepsProgress() {
+        // Arrange
+        BulkScheduleRequest request = createRequest(fromDate, fromDate.plusDays(2), List.of(1, 2));
+        stubScheduleLookups();
+        when(seatLayoutService.currentLayout(theater1)).thenReturn(createLayout(theater1, 3));
+        when(showRepository.findByMovieAndTheaterAndShowDateBetween(any(), any(), any(), any())).thenReturn(List.of());
+        runTransactionsInline();
+        when(showInventoryService.createInventories(anyList(), any(SeatLayout.class), anyInt(), anyInt()))
+                .thenReturn(List.of())
+                .thenThrow(new RuntimeException("connection lost"));
+
+        // Act
+        String jobId = showScheduleService.submit(request).getJobId();
+        showScheduleService.shutdown();
+        BulkScheduleResponse finished = showScheduleService.getJob(jobId);
+
+        // Assert
+        assertEquals(ScheduleJobStatus.FAILED, finished.getStatus());
+        assertEquals(2, finished.getCreatedShows());
+        assertEquals(2, finished.getProcessedShows());
+        assertTrue(finished.getMessage().contains("connection lost"));
+        assertNotNull(finished.getFinishedAt());
+    }
+
+    // ==================== Helper Methods ====================
+
+    private BulkScheduleRequest createRequest(LocalDate from, LocalDate to, List<Integer> theaterIds) {
+        BulkScheduleRequest request = new BulkScheduleRequest();
+        request.setMovieName("Inception");
+        request.setTheaterIds(theaterIds);
+        request.setFromDate(from);
+        request.setToDate(to);
+        request.setShowTimes(List.of(LocalTime.of(18, 0), LocalTime.of(10, 0)));
+        request.setPriceOfClassicSeats(200);
+        request.setPriceOfPremiumSeats(400);
+        return request;
+    }
+
+    private void stubScheduleLookups() {
+        when(movieRepository.findMovie("Inception")).thenReturn(testMovie);
+        when(theaterRepository.findById(1)).thenReturn(Optional.of(theater1));
+        when(theaterRepository.findById(2)).thenReturn(Optional.of(theater2));
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    // Classic seats, the last one premium
+    private SeatLayout createLayout(Theater theater, int count) {
+        String[] seatNos = new String[count];
+        SeatType[] seatTypes = new SeatType[count];
+        for (int i = 0; i < count; i++) {
+            seatNos[i] = "1" + (char) ('A' + i);
+            seatTypes[i] = i == count - 1 ? SeatType.PREMIUM : SeatType.CLASSIC;
+        }
+        return SeatLayout.of(theater, seatNos, seatTypes);
+    }
+}
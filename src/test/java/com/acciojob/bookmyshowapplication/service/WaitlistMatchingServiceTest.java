@@ -0,0 +1,122 @@
+package com.acciojob.bookmyshowapplication.service;
+
+import com.acciojob.bookmyshowapplication.Models.Show;
+import com.acciojob.bookmyshowapplication.Service.WaitlistMatchingService;
+import com.acciojob.bookmyshowapplication.Service.WaitlistService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the asynchronous waitlist matching after cancellations and ended seat offers
+ */
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Waitlist Matching Service Tests")
+class WaitlistMatchingServiceTest {
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @InjectMocks
+    private WaitlistMatchingService waitlistMatchingService;
+
+    private Show testShow;
+
+    @BeforeEach
+    void setUp() {
+        testShow = new Show();
+        testShow.setShowId(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistMatchingService.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: A burst of cancellations queued behind a running pass is matched in one more pass")
+    void test01_seatsReleased_CoalescesPerShow() throws Exception {
+        // Arrange - hold the first pass until the rest of the burst is queued
+        Show otherShow = new Show();
+        otherShow.setShowId(2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).doNothing().when(waitlistService).processWaitlistForShow(testShow);
+
+        // Act
+        waitlistMatchingService.seatsReleased(testShow);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            waitlistMatchingService.seatsReleased(testShow);
+        }
+        waitlistMatchingService.seatsReleased(otherShow);
+        release.countDown();
+        waitlistMatchingService.shutdown();
+
+        // Assert
+        Map<String, Object> metrics = waitlistMatchingService.getMetrics();
+        assertEquals(7L, metrics.get("releases"));
+        assertEquals(4L, metrics.get("coalescedReleases"));
+        assertEquals(3L, metrics.get("passes"));
+        assertEquals(0, metrics.get("pendingShows"));
+        verify(waitlistService, times(2)).processWaitlistForShow(testShow);
+        verify(waitlistService, times(1)).processWaitlistForShow(otherShow);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: A failing pass is counted and the next release still gets a pass")
+    void test02_process_FailingPassIsIsolated() {
+        // Arrange
+        doThrow(new RuntimeException("database unavailable")).doNothing()
+                .when(waitlistService).processWaitlistForShow(testShow);
+
+        // Act
+        waitlistMatchingService.seatsReleased(testShow);
+        verify(waitlistService, timeout(5000)).processWaitlistForShow(testShow);
+        waitlistMatchingService.seatsReleased(testShow);
+        waitlistMatchingService.shutdown();
+
+        // Assert
+        Map<String, Object> metrics = waitlistMatchingService.getMetrics();
+        assertEquals(1L, metrics.get("failedPasses"));
+        assertEquals(1L, metrics.get("passes"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: An offer that ran out cascades to a new pass, a booked one does not")
+    void test03_offerEnded_CascadesUnlessBooked() {
+        // Arrange
+        when(waitlistService.closeOffer(1, "9876543210", false)).thenReturn(testShow);
+        when(waitlistService.closeOffer(1, "9123456780", true)).thenReturn(testShow);
+
+        // Act
+        waitlistMatchingService.offerEnded(1, "9876543210", false);
+        waitlistMatchingService.offerEnded(1, "9123456780", true);
+        // The cascaded pass is queued by the first task, wait for it before shutting down
+        verify(waitlistService, timeout(5000)).processWaitlistForShow(testShow);
+        waitlistMatchingService.shutdown();
+
+        // Assert
+        Map<String, Object> metrics = waitlistMatchingService.getMetrics();
+        assertEquals(1L, metrics.get("expiredOffers"));
+        assertEquals(1L, metrics.get("bookedOffers"));
+        verify(waitlistService, times(1)).processWaitlistForShow(testShow);
+    }
+}
@@ -1,16 +1,29 @@
 package com.acciojob.bookmyshowapplication.service;
 
+import com.acciojob.bookmyshowapplication.Engine.ShowSeatInventory;
+import com.acciojob.bookmyshowapplication.Enums.NotificationChannelType;
 import com.acciojob.bookmyshowapplication.Enums.WaitlistStatus;
+import com.acciojob.bookmyshowapplication.Exceptions.WaitlistException;
 import com.acciojob.bookmyshowapplication.Models.*;
 import com.acciojob.bookmyshowapplication.Repository.*;
 import com.acciojob.bookmyshowapplication.Requests.AddToWaitlistRequest;
+import com.acciojob.bookmyshowapplication.Requests.BookTicketRequest;
 import com.acciojob.bookmyshowapplication.Responses.WaitlistResponse;
+import com.acciojob.bookmyshowapplication.Service.NotificationService;
+import com.acciojob.bookmyshowapplication.Service.SeatHoldService;
+import com.acciojob.bookmyshowapplication.Service.SeatInventoryService;
+import com.acciojob.bookmyshowapplication.Service.TicketService;
+import com.acciojob.bookmyshowapplication.Service.WaitlistQueueService;
+import com.acciojob.bookmyshowapplication.Service.ShowLookupService;
 import com.acciojob.bookmyshowapplication.Service.WaitlistService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -51,7 +65,16 @@ class WaitlistServiceTest {
     private ShowRepository showRepository;
 
     @Mock
-    private ShowSeatRepository showSeatRepository;
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private TicketService ticketService;
+
+    @Mock
+    private NotificationService notificationService;
 
     @InjectMocks
     private WaitlistService waitlistService;
@@ -61,9 +84,22 @@ class WaitlistServiceTest {
     private Theater testTheater;
     private Show testShow;
     private AddToWaitlistRequest waitlistRequest;
+    private ShowLookupService showLookupService;
 
     @BeforeEach
     void setUp() {
+        // Resolve shows through a real lookup, backed by the mocked repositories
+        showLookupService = new ShowLookupService();
+        ReflectionTestUtils.setField(showLookupService, "movieRepository", movieRepository);
+        ReflectionTestUtils.setField(showLookupService, "theaterRepository", theaterRepository);
+        ReflectionTestUtils.setField(showLookupService, "showRepository", showRepository);
+        ReflectionTestUtils.setField(waitlistService, "showLookupService", showLookupService);
+
+        // Queue positions come from real show queues, built from the mocked repository
+        WaitlistQueueService waitlistQueueService = new WaitlistQueueService();
+        ReflectionTestUtils.setField(waitlistQueueService, "waitlistRepository", waitlistRepository);
+        ReflectionTestUtils.setField(waitlistService, "waitlistQueueService", waitlistQueueService);
+
         // Setup test user
         testUser = new User();
         testUser.setUserId(1);
@@ -106,12 +142,9 @@ class WaitlistServiceTest {
     @DisplayName("Test 2: Add user to waitlist - Position in queue is correct")
     void test02_addToWaitlist_CorrectQueuePosition() throws Exception {
         // Arrange
-        List<Waitlist> existingWaitlists = new ArrayList<>();
+        List<WaitlistRepository.QueueEntry> existingEntries = new ArrayList<>();
         for (int i = 0; i < 3; i++) {
-            Waitlist w = new Waitlist();
-            w.setWaitlistId(i + 1);
-            w.setUser(testUser);
-            existingWaitlists.add(w);
+            existingEntries.add(createQueueEntry(i + 1, i + 2));
         }
 
         when(userRepository.findUserByMobNo("9876543210")).thenReturn(testUser);
@@ -119,17 +152,10 @@ class WaitlistServiceTest {
         when(theaterRepository.findById(1)).thenReturn(Optional.of(testTheater));
         when(showRepository.findShowByShowDateAndShowTimeAndMovieAndTheater(
             any(), any(), any(), any())).thenReturn(testShow);
-        when(waitlistRepository.findByShowAndStatus(testShow, WaitlistStatus.PENDING))
-            .thenReturn(new ArrayList<>());
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING)).thenReturn(existingEntries);
         
-        Waitlist newWaitlist = new Waitlist();
-        newWaitlist.setWaitlistId(4);
-        newWaitlist.setCreatedAt(LocalDateTime.now());
+        Waitlist newWaitlist = createWaitlist(4, testUser, testShow);
         when(waitlistRepository.save(any(Waitlist.class))).thenReturn(newWaitlist);
-        
-        existingWaitlists.add(newWaitlist);
-        when(waitlistRepository.findByShowAndStatusOrderByCreatedAtAsc(testShow, WaitlistStatus.PENDING))
-            .thenReturn(existingWaitlists);
 
         // Act
         WaitlistResponse response = waitlistService.addToWaitlist(waitlistRequest);
@@ -224,17 +250,13 @@ class WaitlistServiceTest {
     @DisplayName("Test 7: Add to waitlist - User already waitlisted for same show")
     void test07_addToWaitlist_AlreadyWaitlisted() {
         // Arrange
-        Waitlist existingWaitlist = new Waitlist();
-        existingWaitlist.setUser(testUser);
-        existingWaitlist.setWaitlistId(1);
-
         when(userRepository.findUserByMobNo("9876543210")).thenReturn(testUser);
         when(movieRepository.findMovieByMovieName("Inception")).thenReturn(testMovie);
         when(theaterRepository.findById(1)).thenReturn(Optional.of(testTheater));
         when(showRepository.findShowByShowDateAndShowTimeAndMovieAndTheater(
             any(), any(), any(), any())).thenReturn(testShow);
-        when(waitlistRepository.findByShowAndStatus(testShow, WaitlistStatus.PENDING))
-            .thenReturn(Arrays.asList(existingWaitlist));
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING))
+            .thenReturn(Arrays.asList(createQueueEntry(1, testUser.getUserId())));
 
         // Act & Assert
         Exception exception = assertThrows(Exception.class, () -> {
@@ -256,6 +278,7 @@ class WaitlistServiceTest {
         waitlist.setWaitlistId(1);
         waitlist.setStatus(WaitlistStatus.PENDING);
         waitlist.setUser(testUser);
+        waitlist.setShow(testShow);
 
         when(waitlistRepository.findById(1)).thenReturn(Optional.of(waitlist));
         when(waitlistRepository.save(any(Waitlist.class))).thenReturn(waitlist);
@@ -318,8 +341,8 @@ class WaitlistServiceTest {
         List<Waitlist> userWaitlists = Arrays.asList(waitlist1, waitlist2);
         when(waitlistRepository.findByUserUserIdAndStatus(1, WaitlistStatus.PENDING))
             .thenReturn(userWaitlists);
-        when(waitlistRepository.findByShowAndStatusOrderByCreatedAtAsc(testShow, WaitlistStatus.PENDING))
-            .thenReturn(userWaitlists);
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING))
+            .thenReturn(Arrays.asList(createQueueEntry(1, 1), createQueueEntry(2, 1)));
 
         // Act
         List<WaitlistResponse> responses = waitlistService.getUserWaitlists(1);
@@ -327,7 +350,10 @@ class WaitlistServiceTest {
         // Assert
         assertNotNull(responses);
         assertEquals(2, responses.size());
+        assertEquals(1, responses.get(0).getPositionInQueue());
+        assertEquals(2, responses.get(1).getPositionInQueue());
         verify(waitlistRepository, times(1)).findByUserUserIdAndStatus(1, WaitlistStatus.PENDING);
+        verify(waitlistRepository, never()).findByShowAndStatusOrderByWaitlistIdAsc(any(), any());
     }
 
     @Test
@@ -388,8 +414,7 @@ class WaitlistServiceTest {
     @DisplayName("Test 15: Process waitlist - No pending entries")
     void test15_processWaitlistForShow_NoPendingEntries() {
         // Arrange
-        when(waitlistRepository.findByShowAndStatusOrderByCreatedAtAsc(
-            testShow, WaitlistStatus.PENDING)).thenReturn(new ArrayList<>());
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING)).thenReturn(new ArrayList<>());
 
         // Act - Should not throw exception
         assertDoesNotThrow(() -> {
@@ -397,9 +422,9 @@ class WaitlistServiceTest {
         });
 
         // Assert
-        verify(waitlistRepository, times(1))
-            .findByShowAndStatusOrderByCreatedAtAsc(testShow, WaitlistStatus.PENDING);
-        verify(showSeatRepository, never()).findAllByShow(any());
+        verify(waitlistRepository, times(1)).findQueueEntries(1, WaitlistStatus.PENDING);
+        verify(seatInventoryService, never()).getInventory(any());
+        verify(waitlistRepository, never()).findByWaitlistIdInOrderByWaitlistIdAsc(any());
     }
 
     @Test
@@ -411,21 +436,50 @@ class WaitlistServiceTest {
         waitlist1.setRequestedSeatType("PREMIUM");
         waitlist1.setNumberOfSeats(2);
 
-        when(waitlistRepository.findByShowAndStatusOrderByCreatedAtAsc(
-            testShow, WaitlistStatus.PENDING)).thenReturn(Arrays.asList(waitlist1));
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING))
+            .thenReturn(List.of(createQueueEntry(1, 1)));
         
         List<ShowSeat> availableSeats = createAvailableSeats(5);
-        when(showSeatRepository.findAllByShow(testShow)).thenReturn(availableSeats);
-        when(waitlistRepository.save(any(Waitlist.class))).thenReturn(waitlist1);
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, availableSeats));
+        when(waitlistRepository.findByWaitlistIdInOrderByWaitlistIdAsc(Set.of(1))).thenReturn(List.of(waitlist1));
+
+        // Act
+        waitlistService.processWaitlistForShow(testShow);
+
+        // Assert - the matched seats are held for the user before the entry is notified
+        verify(seatInventoryService, times(1)).getInventory(testShow);
+        verify(seatHoldService, times(1)).offer(testShow, "9876543210", List.of("P1", "P2"), WaitlistService.OFFER_TTL_MS);
+        verify(waitlistRepository, times(1)).saveAll(List.of(waitlist1));
+        assertEquals(WaitlistStatus.NOTIFIED, waitlist1.getStatus());
+        assertNotNull(waitlist1.getNotifiedAt());
+        assertEquals("P1,P2", waitlist1.getOfferedSeats());
+        assertTrue(waitlist1.getOfferExpiresAt().isAfter(LocalDateTime.now().plusMinutes(14)));
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("Test 27: Process waitlist - Offer notifications go to the outbox by email")
+    void test27_processWaitlistForShow_EnqueuesNotifications() {
+        // Arrange
+        Waitlist waitlist1 = createWaitlist(1, testUser, testShow);
+        when(notificationService.supports(NotificationChannelType.EMAIL)).thenReturn(true);
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING))
+            .thenReturn(List.of(createQueueEntry(1, 1)));
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, createAvailableSeats(2)));
+        when(waitlistRepository.findByWaitlistIdInOrderByWaitlistIdAsc(Set.of(1))).thenReturn(List.of(waitlist1));
 
         // Act
         waitlistService.processWaitlistForShow(testShow);
 
         // Assert
-        verify(waitlistRepository, times(1))
-            .findByShowAndStatusOrderByCreatedAtAsc(testShow, WaitlistStatus.PENDING);
-        verify(showSeatRepository, times(1)).findAllByShow(testShow);
-        verify(waitlistRepository, times(1)).save(any(Waitlist.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> notifications = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).enqueue(notifications.capture());
+        assertEquals(List.of(NotificationChannelType.EMAIL),
+            notifications.getValue().stream().map(Notification::getChannel).toList());
+        assertEquals(List.of("john@example.com"),
+            notifications.getValue().stream().map(Notification::getRecipient).toList());
+        assertEquals(waitlist1.getNotificationMessage(), notifications.getValue().get(0).getBody());
     }
 
     // ==================== Test 7: Expire Old Waitlists ====================
@@ -470,8 +524,208 @@ class WaitlistServiceTest {
         verify(waitlistRepository, never()).save(any(Waitlist.class));
     }
 
+    @Test
+    @Order(19)
+    @DisplayName("Test 19: Process waitlist - Held seats are not offered to waitlisted users")
+    void test19_processWaitlistForShow_SkipsHeldSeats() {
+        // Arrange - 5 free seats, 2 of them held, enough for the first entry only
+        Waitlist waitlist1 = createWaitlist(1, testUser, testShow);
+        waitlist1.setRequestedSeatType("PREMIUM");
+        waitlist1.setNumberOfSeats(2);
+        Waitlist waitlist2 = createWaitlist(2, testUser, testShow);
+        waitlist2.setRequestedSeatType("PREMIUM");
+        waitlist2.setNumberOfSeats(2);
+
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING))
+            .thenReturn(List.of(createQueueEntry(1, 1), createQueueEntry(2, 2)));
+
+        ShowSeatInventory inventory = new ShowSeatInventory(1, createAvailableSeats(5));
+        inventory.markHeld(Arrays.asList("P1", "P2"));
+        when(seatInventoryService.getInventory(testShow)).thenReturn(inventory);
+        when(waitlistRepository.findByWaitlistIdInOrderByWaitlistIdAsc(Set.of(1))).thenReturn(List.of(waitlist1));
+
+        // Act
+        waitlistService.processWaitlistForShow(testShow);
+
+        // Assert - only the matched entry is loaded
+        assertEquals(WaitlistStatus.NOTIFIED, waitlist1.getStatus());
+        assertEquals(WaitlistStatus.PENDING, waitlist2.getStatus());
+        verify(waitlistRepository, times(1)).findByWaitlistIdInOrderByWaitlistIdAsc(Set.of(1));
+        verify(waitlistRepository, times(1)).saveAll(List.of(waitlist1));
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Test 20: Add to waitlist - Indexed show resolves without querying movie, theater or show")
+    void test20_addToWaitlist_ResolvesIndexedShow() {
+        // Arrange
+        showLookupService.register(testShow);
+        when(userRepository.findUserByMobNo("9876543210")).thenReturn(testUser);
+        Waitlist newWaitlist = createWaitlist(1, testUser, testShow);
+        when(waitlistRepository.save(any(Waitlist.class))).thenReturn(newWaitlist);
+
+        // Act
+        WaitlistResponse response = waitlistService.addToWaitlist(waitlistRequest);
+
+        // Assert
+        assertEquals("Inception", response.getMovieName());
+        assertEquals("PVR Cinemas", response.getTheaterName());
+        verifyNoInteractions(movieRepository, theaterRepository, showRepository);
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Test 21: Add to waitlist - A racing double-add rejected by the unique constraint")
+    void test21_addToWaitlist_ConcurrentDuplicateRejected() {
+        // Arrange - the other request has not committed yet, so the queue does not know the user
+        showLookupService.register(testShow);
+        when(userRepository.findUserByMobNo("9876543210")).thenReturn(testUser);
+        when(waitlistRepository.save(any(Waitlist.class)))
+            .thenThrow(new DataIntegrityViolationException("uk_waitlists_active_entry"));
+
+        // Act & Assert
+        WaitlistException exception = assertThrows(WaitlistException.class, () -> {
+            waitlistService.addToWaitlist(waitlistRequest);
+        });
+        assertTrue(exception.getMessage().contains("already on the waitlist"));
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Test 22: Process waitlist - Entry stays queued when its seats were held by someone else first")
+    void test22_processWaitlistForShow_OfferLostToHold() {
+        // Arrange
+        Waitlist waitlist1 = createWaitlist(1, testUser, testShow);
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING))
+            .thenReturn(List.of(createQueueEntry(1, 1)));
+        when(seatInventoryService.getInventory(testShow)).thenReturn(new ShowSeatInventory(1, createAvailableSeats(2)));
+        when(waitlistRepository.findByWaitlistIdInOrderByWaitlistIdAsc(Set.of(1))).thenReturn(List.of(waitlist1));
+        when(seatHoldService.offer(eq(testShow), anyString(), any(), anyLong())).thenReturn(List.of("P1"));
+
+        // Act
+        waitlistService.processWaitlistForShow(testShow);
+
+        // Assert
+        assertEquals(WaitlistStatus.PENDING, waitlist1.getStatus());
+        assertNull(waitlist1.getOfferedSeats());
+        verify(waitlistRepository, times(1)).saveAll(List.of());
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("Test 23: Book offer - Offered seats are booked and the entry converted")
+    void test23_bookOffer_BooksHeldSeats() {
+        // Arrange
+        Waitlist waitlist = createNotifiedWaitlist(1);
+        Ticket ticket = new Ticket();
+        ticket.setTicketId("T1");
+        when(waitlistRepository.findById(1)).thenReturn(Optional.of(waitlist));
+        when(seatHoldService.getHeldSeats(1, "9876543210")).thenReturn(Set.of("P1", "P2"));
+        when(ticketService.bookTicket(any(BookTicketRequest.class))).thenReturn(ticket);
+
+        // Act
+        Ticket booked = waitlistService.bookOffer(1);
+
+        // Assert
+        ArgumentCaptor<BookTicketRequest> request = ArgumentCaptor.forClass(BookTicketRequest.class);
+        verify(ticketService).bookTicket(request.capture());
+        assertEquals(1, request.getValue().getShowId());
+        assertEquals("9876543210", request.getValue().getMobNo());
+        assertEquals(List.of("P1", "P2"), request.getValue().getRequestedSeats());
+        assertSame(ticket, booked);
+        assertEquals(WaitlistStatus.CONVERTED, waitlist.getStatus());
+        assertNotNull(waitlist.getConvertedAt());
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Test 24: Book offer - Rejected once the offer hold has run out")
+    void test24_bookOffer_ExpiredOfferRejected() {
+        // Arrange
+        Waitlist waitlist = createNotifiedWaitlist(1);
+        when(waitlistRepository.findById(1)).thenReturn(Optional.of(waitlist));
+        when(seatHoldService.getHeldSeats(1, "9876543210")).thenReturn(Set.of());
+
+        // Act & Assert
+        WaitlistException exception = assertThrows(WaitlistException.class, () -> waitlistService.bookOffer(1));
+        assertTrue(exception.getMessage().contains("expired"));
+        verifyNoInteractions(ticketService);
+        assertEquals(WaitlistStatus.NOTIFIED, waitlist.getStatus());
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Test 25: Close offer - An offer that ran out expires the entry")
+    void test25_closeOffer_ExpiresEntry() {
+        // Arrange
+        showLookupService.register(testShow);
+        Waitlist waitlist = createNotifiedWaitlist(1);
+        when(waitlistRepository.findByShowShowIdAndUserMobNoAndStatus(1, "9876543210", WaitlistStatus.NOTIFIED))
+            .thenReturn(List.of(waitlist));
+
+        // Act
+        Show show = waitlistService.closeOffer(1, "9876543210", false);
+
+        // Assert
+        assertSame(testShow, show);
+        assertEquals(WaitlistStatus.EXPIRED, waitlist.getStatus());
+        verify(waitlistRepository, times(1)).saveAll(List.of(waitlist));
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("Test 26: Cancel waitlist - Cancelling a notified entry gives up its offered seats")
+    void test26_cancelWaitlistEntry_ReleasesOffer() {
+        // Arrange
+        Waitlist waitlist = createNotifiedWaitlist(1);
+        when(waitlistRepository.findById(1)).thenReturn(Optional.of(waitlist));
+
+        // Act
+        waitlistService.cancelWaitlistEntry(1);
+
+        // Assert
+        assertEquals(WaitlistStatus.CANCELLED, waitlist.getStatus());
+        verify(seatHoldService, times(1)).release(1, "9876543210");
+    }
+
+    @Test
+    @Order(28)
+    @DisplayName("Test 28: Add to waitlist - Join while holding an offer is rejected, and allowed once the offer is closed")
+    void test28_addToWaitlist_RejectedWhileHoldingOffer() {
+        // Arrange - the user's entry holds a seat offer and is no longer pending; the show is resolved from the lookup index
+        showLookupService.register(testShow);
+        Waitlist offered = createNotifiedWaitlist(1);
+        when(userRepository.findUserByMobNo("9876543210")).thenReturn(testUser);
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.PENDING)).thenReturn(List.of());
+        // Read again when the emptied queue is rebuilt, by then the offer has expired
+        when(waitlistRepository.findQueueEntries(1, WaitlistStatus.NOTIFIED))
+            .thenReturn(List.of(createQueueEntry(1, 1)), List.of());
+        when(waitlistRepository.findByShowShowIdAndUserMobNoAndStatus(1, "9876543210", WaitlistStatus.NOTIFIED))
+            .thenReturn(List.of(offered));
+        when(waitlistRepository.save(any(Waitlist.class))).thenReturn(createWaitlist(2, testUser, testShow));
+
+        // Act & Assert
+        WaitlistException exception = assertThrows(WaitlistException.class,
+            () -> waitlistService.addToWaitlist(waitlistRequest));
+        assertTrue(exception.getMessage().contains("already on the waitlist"));
+        verify(waitlistRepository, never()).save(any(Waitlist.class));
+
+        waitlistService.closeOffer(1, "9876543210", false);
+        WaitlistResponse response = waitlistService.addToWaitlist(waitlistRequest);
+        assertEquals(2, response.getWaitlistId());
+    }
+
     // ==================== Helper Methods ====================
 
+    // Entry notified with seats P1 and P2 held for it
+    private Waitlist createNotifiedWaitlist(int id) {
+        Waitlist waitlist = createWaitlist(id, testUser, testShow);
+        waitlist.setStatus(WaitlistStatus.NOTIFIED);
+        waitlist.setOfferedSeats("P1,P2");
+        waitlist.setOfferExpiresAt(LocalDateTime.now().plusMinutes(15));
+        return waitlist;
+    }
+
     private Waitlist createWaitlist(int id, User user, Show show) {
         Waitlist waitlist = new Waitlist();
         waitlist.setWaitlistId(id);
@@ -500,6 +754,30 @@ class WaitlistServiceTest {
         return seats;
     }
 
+    private WaitlistRepository.QueueEntry createQueueEntry(int waitlistId, int userId) {
+        return new WaitlistRepository.QueueEntry() {
+            @Override
+            public Integer getWaitlistId() {
+                return waitlistId;
+            }
+
+            @Override
+            public Integer getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getRequestedSeatType() {
+                return "PREMIUM";
+            }
+
+            @Override
+            public Integer getNumberOfSeats() {
+                return 2;
+            }
+        };
+    }
+
     @AfterEach
     void tearDown() {
         testUser = null;